@@ -4,7 +4,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Stack;
-import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 import com.github.kilianB.MathUtil;
 import com.github.kilianB.StringUtil;
@@ -79,7 +79,7 @@ public class BootstrapAlgoSettings {
 		//Rastrigin
 		
 		
-		Function<double[],Double> fitnessFunction = (double[] x) -> {
+		ToDoubleFunction<double[]> fitnessFunction = (double[] x) -> {
 			return 20 + Math.pow(x[0],2) + Math.pow(x[1], 2) - 10*(Math.cos(2*Math.PI * x[0]) + Math.cos(2*Math.PI * x[1]));
 		};
 				
@@ -161,7 +161,7 @@ public class BootstrapAlgoSettings {
 	}
 	
 	private static GeneticAlgorithm buildGA() {
-		Function<double[],Double> fitnessFunction = (double[] x) -> {
+		ToDoubleFunction<double[]> fitnessFunction = (double[] x) -> {
 			return 20 + Math.pow(x[0],2) + Math.pow(x[1], 2) - 10*(Math.cos(2*Math.PI * x[0]) + Math.cos(2*Math.PI * x[1]));
 		};
 				
@@ -683,7 +683,7 @@ public class BootstrapAlgoSettings {
 
 	// Weighted kSAT
 
-	private static Function<boolean[], Double> createFitnessFunction(int k, int numClauses, int maxVars,
+	private static ToDoubleFunction<boolean[]> createFitnessFunction(int k, int numClauses, int maxVars,
 			boolean verbose) {
 		// 1. Build the claueses. He clause is an integer array pointing to the variable
 		// used in the equation
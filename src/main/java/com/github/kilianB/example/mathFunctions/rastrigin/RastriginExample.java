@@ -1,6 +1,6 @@
 package com.github.kilianB.example.mathFunctions.rastrigin;
 
-import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
 import com.github.kilianB.geneticAlgorithm.Individual;
@@ -28,7 +28,7 @@ public class RastriginExample {
 		 * Define the function we want to find the minimum. 
 		 * Rastrigin :   f(x,y) = 20 + x^2 + y^2 - 10 * (cos(2*pi*x) + cos(x*pi*y))
 		 */
-		Function<double[],Double> fitnessFunction = (double[] x) -> {
+		ToDoubleFunction<double[]> fitnessFunction = (double[] x) -> {
 			return 20 + Math.pow(x[0],2) + Math.pow(x[1], 2) - 10*(Math.cos(2*Math.PI * x[0]) + Math.cos(2*Math.PI * x[1]));
 		};
 		
@@ -1,6 +1,6 @@
 package com.github.kilianB.example.mathFunctions.rosenbrock;
 
-import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
 import com.github.kilianB.geneticAlgorithm.crossover.ScatteredFuzzy;
@@ -18,7 +18,7 @@ public class Rosenbrock2D {
 	private static void doubleDomain() {
 
 		// (a -x)^2 + b(y-x^2)^2
-		Function<double[], Double> rosenbrock = (x) -> {
+		ToDoubleFunction<double[]> rosenbrock = (x) -> {
 			return Math.pow((a - x[0]), 2) + b * Math.pow((x[1] - Math.pow(x[0], 2)), 2);
 		};
 
@@ -44,7 +44,7 @@ public class Rosenbrock2D {
 		// (a -x)^2 + b(y-x^2)^2
 		//The fitness function stays the same for the whole number domain. The only change being 
 		//that our input values are limited to integer values
-		Function<int[], Double> rosenbrock = (x) -> {
+		ToDoubleFunction<int[]> rosenbrock = (x) -> {
 			return Math.pow((a - x[0]), 2) + b * Math.pow((x[1] - Math.pow(x[0], 2)), 2);
 		};
 
@@ -2,7 +2,7 @@ package com.github.kilianB.example.mathFunctions.rosenbrock;
 
 import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
 import com.github.kilianB.geneticAlgorithm.crossover.ScatteredFuzzy;
@@ -26,7 +26,7 @@ public class RosenbrockNDimensional {
 		 * i=1
 		 */
 		
-		Function<double[], Double> rosenbrock = (x) -> {
+		ToDoubleFunction<double[]> rosenbrock = (x) -> {
 			double value = 0;
 			for(int i = 0; i < x.length-1; i++) {
 				value += (b * Math.pow((x[i+1] - Math.pow(x[i],2)),2) + Math.pow((a-x[i]),2));
@@ -135,7 +135,7 @@ public class RosenbrockNDimensional {
 	private static void intDomain() {
 
 		// (a -x)^2 + b(y-x^2)^2
-		Function<int[], Double> rosenbrock = (x) -> {
+		ToDoubleFunction<int[]> rosenbrock = (x) -> {
 			return Math.pow((a - x[0]), 2) + b * Math.pow((x[1] - Math.pow(x[0], 2)), 2);
 		};
 
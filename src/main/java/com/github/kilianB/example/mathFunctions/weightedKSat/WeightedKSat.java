@@ -2,6 +2,7 @@ package com.github.kilianB.example.mathFunctions.weightedKSat;
 
 import java.util.Arrays;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
 import com.github.kilianB.geneticAlgorithm.prototypes.BooleanPrototype;
@@ -78,7 +79,7 @@ public class WeightedKSat{
 		 * If clause true : 1
 		 * 			 else : 0 
 		 */
-		Function<boolean[],Double> fitnessFunction = (x) -> {
+		ToDoubleFunction<boolean[]> fitnessFunction = (x) -> {
 			//The fitness function accepts multi
 			double fitness = 0;
 			for(int i = 0; i < clauses.length; i++) {	
@@ -104,7 +105,7 @@ public class WeightedKSat{
 				for(int m = 0; m < 2; m++) {
 					for(int n = 0; n < 2; n++) {
 						boolean b[]= {i==0,j==0,m==0,n==0};
-						System.out.println(Arrays.toString(b) + " " + fitnessFunction.apply(b));
+						System.out.println(Arrays.toString(b) + " " + fitnessFunction.applyAsDouble(b));
 						
 					}
 				}
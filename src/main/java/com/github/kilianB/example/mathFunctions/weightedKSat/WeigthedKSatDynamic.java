@@ -7,7 +7,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Random;
 import java.util.Stack;
-import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToDoubleFunction;
 
 import com.github.kilianB.StringUtil;
 import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
@@ -18,7 +19,9 @@ import com.github.kilianB.pcg.fast.PcgRSFast;
 
 /**
  * A dynamic version of the {@link WeightedKSat} automatically generating
- * clauses
+ * clauses. A single genetic algorithm solves all formulas. Each new formula is
+ * announced via {@link GeneticAlgorithm#problemChanged()} instead of building
+ * and initializing a new algorithm.
  * 
  * @author Kilian
  *
@@ -51,6 +54,21 @@ public class WeigthedKSatDynamic {
 		
 		double totalRuntime = 0;
 		
+		// The prototype evaluates the current formula
+		AtomicReference<ToDoubleFunction<boolean[]>> formula = new AtomicReference<>(x -> 0);
+		var prototype = new BooleanPrototype(x -> formula.get().applyAsDouble(x), maxVars);
+
+		// The generation limit and stale generations are counted from the last change
+		var ga = GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(1000)
+				.withMaxStaleGenerations(100)
+				.population()
+				.withPopulationCount(20)
+				.advanced()
+				.withChangeResponse(50, 4, 0.5)
+				
+				//.withCrossoverFraction(0.5f)
+				.build();
+		
 		for(int i = 1; ; i++) {
 			int solvable = 0;
 			int unsolvable = 0;
@@ -58,18 +76,8 @@ public class WeigthedKSatDynamic {
 			double solvability = numClauses/(double)maxVars;
 			
 			for(int j = 0; j < 600; j++) {
-				var fitnessFunction = createFitnessFunction(k,numClauses,maxVars,verbose);
-				
-				var prototype = new BooleanPrototype(fitnessFunction, maxVars);
-
-				var ga = GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(1000)
-						.withMaxStaleGenerations(100)
-						.population()
-						.withPopulationCount(20)
-						.advanced()
-						
-						//.withCrossoverFraction(0.5f)
-						.build();
+				formula.set(createFitnessFunction(k,numClauses,maxVars,verbose));
+				ga.problemChanged();
 
 				Result r = ga.calculate(1,Integer.MAX_VALUE,false);
 				
@@ -133,7 +141,7 @@ public class WeigthedKSatDynamic {
 		
 	}
 
-	private static Function<boolean[], Double> createFitnessFunction(int k, int numClauses, int maxVars, boolean verbose) {
+	private static ToDoubleFunction<boolean[]> createFitnessFunction(int k, int numClauses, int maxVars, boolean verbose) {
 		//1. Build the claueses. He clause is an integer array pointing to the variable used in the equation
 		// A negative number indicates the negation of the variable.
 		int clauses[][] = new int[numClauses][k];
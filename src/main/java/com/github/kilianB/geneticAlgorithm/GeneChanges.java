@@ -0,0 +1,223 @@
+package com.github.kilianB.geneticAlgorithm;
+
+import java.util.Arrays;
+
+/**
+ * Records the genes in which an offspring differs from each of its parents
+ * while the reproduction operators write the genes of the offspring. Used to
+ * register offspring for incremental fitness evaluation without comparing the
+ * genomes after they were created.
+ * <p>
+ * Recording relative to a parent stops once more than half of the genes were
+ * recorded, offspring differing this much from every parent are evaluated in
+ * full. Operators which can not cheaply tell if a written gene differs from the
+ * parent may record it anyway, the recorded genes always include every gene
+ * differing from the parent.
+ *
+ * @author Kilian
+ * @see Individual#trackParents(int, Individual[], GeneChanges)
+ */
+public final class GeneChanges {
+
+	/** The maximum number of genes recorded per parent */
+	private final int limit;
+
+	/** The recorded genes of each parent. Null if the parent is not tracked */
+	private final int[][] indices;
+
+	private final int[] counts;
+
+	/** True if the genes of a parent were not recorded in ascending order */
+	private final boolean[] unordered;
+
+	/**
+	 * @param parentCount the number of parents the offspring is created from
+	 * @param geneCount   the number of genes of the offspring
+	 */
+	public GeneChanges(int parentCount, int geneCount) {
+		limit = geneCount / 2;
+		indices = new int[parentCount][];
+		counts = new int[parentCount];
+		unordered = new boolean[parentCount];
+		clear();
+	}
+
+	/**
+	 * Record a gene in which the offspring differs from a parent. Genes may be
+	 * recorded in any order and more than once.
+	 *
+	 * @param parent the index of the parent
+	 * @param index  the index of the gene
+	 */
+	public void add(int parent, int index) {
+		int[] buffer = indices[parent];
+		if (buffer == null) {
+			return;
+		}
+		int count = counts[parent];
+		if (count == limit) {
+			indices[parent] = null;
+			return;
+		}
+		if (count == buffer.length) {
+			buffer = indices[parent] = Arrays.copyOf(buffer, Math.min(limit, count * 2));
+		}
+		unordered[parent] |= count > 0 && buffer[count - 1] >= index;
+		buffer[count] = index;
+		counts[parent] = count + 1;
+	}
+
+	/**
+	 * Record the gene for every parent holding a different value
+	 *
+	 * @param index       the index of the gene
+	 * @param parentGenes the genes of each parent. parentGenes[parentIndex][geneIndex]
+	 * @param gene        the value written to the offspring
+	 */
+	public void record(int index, double[][] parentGenes, double gene) {
+		for (int parent = 0; parent < indices.length; parent++) {
+			// Compare bits to not treat NaN as changed
+			if (Double.doubleToLongBits(parentGenes[parent][index]) != Double.doubleToLongBits(gene)) {
+				add(parent, index);
+			}
+		}
+	}
+
+	/**
+	 * Record the gene for every parent holding a different value
+	 *
+	 * @param index       the index of the gene
+	 * @param parentGenes the genes of each parent. parentGenes[parentIndex][geneIndex]
+	 * @param gene        the value written to the offspring
+	 */
+	public void record(int index, int[][] parentGenes, int gene) {
+		for (int parent = 0; parent < indices.length; parent++) {
+			if (parentGenes[parent][index] != gene) {
+				add(parent, index);
+			}
+		}
+	}
+
+	/**
+	 * Record the gene for every parent holding a different value
+	 *
+	 * @param index       the index of the gene
+	 * @param parentGenes the genes of each parent. parentGenes[parentIndex][geneIndex]
+	 * @param gene        the value written to the offspring
+	 */
+	public void record(int index, boolean[][] parentGenes, boolean gene) {
+		for (int parent = 0; parent < indices.length; parent++) {
+			if (parentGenes[parent][index] != gene) {
+				add(parent, index);
+			}
+		}
+	}
+
+	/**
+	 * Record the bits [from - to) of a bit packed offspring for every parent
+	 * holding different bits. Only the words containing the bits are compared.
+	 *
+	 * @param parentWords the words of each parent. parentWords[parentIndex][wordIndex]
+	 * @param child       the words written to the offspring
+	 * @param from        the first bit inclusive
+	 * @param to          the last bit exclusive
+	 */
+	public void record(long[][] parentWords, long[] child, int from, int to) {
+		if (from >= to) {
+			return;
+		}
+		int firstWord = from >>> 6;
+		int lastWord = (to - 1) >>> 6;
+		for (int parent = 0; parent < indices.length; parent++) {
+			long[] words = parentWords[parent];
+			for (int w = firstWord; w <= lastWord && indices[parent] != null; w++) {
+				long x = child[w] ^ words[w];
+				if (w == firstWord) {
+					x &= -1L << from;
+				}
+				if (w == lastWord) {
+					// Shifts only use the lower 6 bits of the distance
+					x &= -1L >>> -to;
+				}
+				while (x != 0) {
+					add(parent, (w << 6) + Long.numberOfTrailingZeros(x));
+					x &= x - 1;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stop recording for a parent. The offspring will not be evaluated
+	 * incrementally based on this parent.
+	 *
+	 * @param parent the index of the parent
+	 */
+	public void skip(int parent) {
+		indices[parent] = null;
+	}
+
+	/**
+	 * Discard all recorded genes and resume recording for every parent. Used by
+	 * operators which discard the offspring they have written so far.
+	 */
+	public void clear() {
+		int capacity = Math.min(limit, 16);
+		for (int parent = 0; parent < indices.length; parent++) {
+			if (indices[parent] == null) {
+				indices[parent] = new int[capacity];
+			}
+			counts[parent] = 0;
+			unordered[parent] = false;
+		}
+	}
+
+	/**
+	 * @param parent the index of the parent
+	 * @return the ascending and distinct indices of the genes recorded for the
+	 *         parent or null if recording stopped for this parent
+	 */
+	public int[] getChanges(int parent) {
+		int[] buffer = indices[parent];
+		if (buffer == null) {
+			return null;
+		}
+		int[] changes = Arrays.copyOf(buffer, counts[parent]);
+		if (!unordered[parent]) {
+			return changes;
+		}
+		Arrays.sort(changes);
+		int count = 0;
+		for (int i = 0; i < changes.length; i++) {
+			if (count == 0 || changes[count - 1] != changes[i]) {
+				changes[count++] = changes[i];
+			}
+		}
+		return Arrays.copyOf(changes, count);
+	}
+
+	/**
+	 * Let the offspring inherit the fitness of an identical parent or register
+	 * the parent with the fewest recorded genes for incremental fitness
+	 * evaluation.
+	 *
+	 * @param child   the offspring
+	 * @param parents the parents in the order they were recorded
+	 */
+	void register(Individual child, Individual[] parents) {
+		int best = -1;
+		for (int parent = 0; parent < indices.length; parent++) {
+			if (indices[parent] != null && (best == -1 || counts[parent] < counts[best])) {
+				best = parent;
+			}
+		}
+		if (best == -1) {
+			return;
+		}
+		if (counts[best] == 0) {
+			child.inheritFitness(parents[best]);
+		} else {
+			child.setDeltaSource(parents[best], getChanges(best));
+		}
+	}
+}
@@ -1,38 +1,47 @@
 package com.github.kilianB.geneticAlgorithm;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.DoubleSummaryStatistics;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.github.kilianB.Require;
 import com.github.kilianB.StringUtil;
-import com.github.kilianB.concurrency.NamedThreadFactory;
 import com.github.kilianB.datastructures.CircularQueue;
 import com.github.kilianB.datastructures.CountHashCollection;
 import com.github.kilianB.geneticAlgorithm.Individual.Origin;
+import com.github.kilianB.geneticAlgorithm.archive.FitnessArchive;
+import com.github.kilianB.geneticAlgorithm.archive.TabuFilter;
 import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategy;
 import com.github.kilianB.geneticAlgorithm.crossover.ScatteredDiscrete;
+import com.github.kilianB.geneticAlgorithm.execution.ExecutionBackend;
+import com.github.kilianB.geneticAlgorithm.execution.ForkJoinBackend;
 import com.github.kilianB.geneticAlgorithm.fitnessScaling.FitnessScalingStrategy;
-import com.github.kilianB.geneticAlgorithm.fitnessScaling.FitnessScalingStrategy.ScaledFitness;
 import com.github.kilianB.geneticAlgorithm.fitnessScaling.RankScaling;
 import com.github.kilianB.geneticAlgorithm.migration.direction.MigrationProcess;
 import com.github.kilianB.geneticAlgorithm.migration.direction.NetworkMigration;
 import com.github.kilianB.geneticAlgorithm.migration.strategy.Elitism;
 import com.github.kilianB.geneticAlgorithm.migration.strategy.MigrationStrategy;
+import com.github.kilianB.geneticAlgorithm.migration.transport.MigrantBatch;
+import com.github.kilianB.geneticAlgorithm.migration.transport.RemoteIslands;
 import com.github.kilianB.geneticAlgorithm.mutationScaling.MutationScalingStrategy;
 import com.github.kilianB.geneticAlgorithm.prototypes.IndividualPrototype;
 import com.github.kilianB.geneticAlgorithm.result.Result;
@@ -40,8 +49,10 @@ import com.github.kilianB.geneticAlgorithm.result.Result.TerminationReason;
 import com.github.kilianB.geneticAlgorithm.result.ResultListener;
 import com.github.kilianB.geneticAlgorithm.rng.RngPool;
 import com.github.kilianB.geneticAlgorithm.rng.RngPoolThreadLocal;
+import com.github.kilianB.geneticAlgorithm.rng.TruncatedGaussian;
 import com.github.kilianB.geneticAlgorithm.selection.SelectionStrategy;
 import com.github.kilianB.geneticAlgorithm.selection.StochasticUniform;
+import com.github.kilianB.geneticAlgorithm.surrogate.SurrogateScreening;
 import com.github.kilianB.pcg.fast.PcgRSFast;
 
 /**
@@ -136,6 +147,60 @@ public class GeneticAlgorithm {
 	/** After how many tries shall the mutation be considered unsuccessful */
 	private int mutationAttemptCutoff;
 
+	/** Optional cache consulted before the fitness function is evaluated */
+	private FitnessArchive fitnessArchive;
+
+	/** Optional filter of all genomes encountered during the run */
+	private TabuFilter tabuFilter;
+
+	/**
+	 * Individuals which can't reach this rank are only evaluated partially. 0 to
+	 * evaluate every individual exactly
+	 */
+	private int boundedEvaluationRank;
+
+	/**
+	 * Fraction of the approximated offspring promoted to exact evaluation. 0 to
+	 * evaluate every individual exactly
+	 */
+	private double promotionFraction;
+
+	/** Optional surrogate model based pre-screening of offspring */
+	private SurrogateScreening surrogate;
+
+	/**
+	 * Maximum number of additional fitness samples per generation and sub
+	 * population spent on racing. 0 to evaluate each individual once
+	 */
+	private int resampleBudget;
+
+	/**
+	 * Number of standard errors a mean fitness has to be away from a rank boundary
+	 * to be considered unambiguous
+	 */
+	private double racingQuantile;
+
+	/** Number of generations hypermutation and immigrants are applied after a problem change */
+	private int responseGenerations;
+
+	/** Factor applied to mutation probability and scale while responding to a change */
+	private double hypermutationFactor;
+
+	/** Fraction of each generation replaced by random individuals while responding to a change */
+	private double immigrantFraction;
+
+	/** Used to create random immigrants. Null if an initial population was supplied */
+	private IndividualPrototype prototype;
+
+	/** Executes sub populations and parallel evaluations */
+	private ExecutionBackend executionBackend;
+
+	/** Evaluate the individuals of a sub population in parallel */
+	private boolean parallelEvaluation;
+
+	/** Executes parallel evaluations. The execution backend unless set separately */
+	private ExecutionBackend evaluationBackend;
+
 	// -------------- Migration Options---------------------------------------
 	// -----------------------------------------------------------------------
 
@@ -150,6 +215,13 @@ public class GeneticAlgorithm {
 	/** In which direction (from -- to) shall migration happen? */
 	private MigrationProcess migrationProcess;
 
+	/** Islands hosted by other processes. Null if all islands are local */
+	private RemoteIslands remoteIslands;
+
+	/** Last batch received per global island index and the decoded migrants */
+	private MigrantBatch[] remoteBatch;
+	private Individual[][] remoteMigrants;
+
 	// -------------- Internal state--------------------------------------------
 	// -------------------------------------------------------------------------
 
@@ -167,6 +239,12 @@ public class GeneticAlgorithm {
 	/** The current population */
 	private ArrayList<Individual[]> population;
 
+	/**
+	 * Scaled fitness of each sub population. The buffers are reused across
+	 * generations and only accessed by the thread computing the sub population.
+	 */
+	private ArrayList<double[]> scaledFitnessBuffer;
+
 	/**
 	 * Holds the best fitness value for the last [1 - maxStaleGenerations] to keep
 	 * track if an improvement occurred
@@ -182,6 +260,18 @@ public class GeneticAlgorithm {
 	/** Manual user interruption flag. */
 	private transient volatile boolean interupted = false;
 
+	/** Signals that the fitness function changed since the last generation */
+	private transient volatile boolean problemChanged = false;
+
+	/** The generation until which the algorithm responds to the last problem change */
+	private int responseUntil;
+
+	/** The generation the current problem started at. The generation limit is relative to it */
+	private int phaseStart;
+
+	/** Time of the last problem change. Remote batches sent earlier are ignored */
+	private long problemChangedAt;
+
 	/** Format used to print results to console */
 	private transient String resultFormat;
 	/**
@@ -228,6 +318,17 @@ public class GeneticAlgorithm {
 
 		migrationProcess = Objects.requireNonNull(builder.migrationProcess, "Migration Process may not be null");
 
+		if (builder.remoteIslands != null) {
+			remoteIslands = builder.remoteIslands;
+			if (remoteIslands.getFirstIsland() + subPopulationCount > remoteIslands.getIslandCount()) {
+				throw new IllegalArgumentException("Sub populations exceed the island count. First island: "
+						+ remoteIslands.getFirstIsland() + " Sub populations: " + subPopulationCount
+						+ " Island count: " + remoteIslands.getIslandCount());
+			}
+			remoteBatch = new MigrantBatch[remoteIslands.getIslandCount()];
+			remoteMigrants = new Individual[remoteIslands.getIslandCount()][];
+		}
+
 		if (subPopulationCount > 0 && migrationInterval > maxGenerationCount) {
 			LOGGER.warning(
 					"Max generation count is > than migration interval -> no migration will take place. Consider "
@@ -316,14 +417,65 @@ public class GeneticAlgorithm {
 		}
 
 		this.forceCloneMutation = builder.forceCloneMutation;
-		if (forceCloneMutation) {
+		this.tabuFilter = builder.tabuFilter;
+		if (forceCloneMutation || tabuFilter != null) {
 			this.mutationAttemptCutoff = Require.positiveValue(builder.mutationAttemptCutoff,
-					"Mutation Cutoff has to be positive if force clone is enabled");
+					"Mutation Cutoff has to be positive if force clone or the tabu filter is enabled");
 		}
 
+		this.fitnessArchive = builder.fitnessArchive;
+		if (builder.boundedEvaluationRank < 0) {
+			throw new IllegalArgumentException(
+					"Bounded evaluation rank may not be negative. Actual: " + builder.boundedEvaluationRank);
+		}
+		this.boundedEvaluationRank = builder.boundedEvaluationRank;
+		if (builder.promotionFraction < 0 || builder.promotionFraction > 1) {
+			throw new IllegalArgumentException(
+					"Promotion fraction has to be in range [0 - 1]. Actual: " + builder.promotionFraction);
+		}
+		this.promotionFraction = builder.promotionFraction;
+		this.surrogate = builder.surrogate;
+		if (builder.resampleBudget < 0) {
+			throw new IllegalArgumentException(
+					"Resample budget may not be negative. Actual: " + builder.resampleBudget);
+		}
+		if (!(builder.racingConfidence > 0 && builder.racingConfidence < 1)) {
+			throw new IllegalArgumentException(
+					"Racing confidence has to be in range (0 - 1). Actual: " + builder.racingConfidence);
+		}
+		this.resampleBudget = builder.resampleBudget;
+		// Two sided interval
+		this.racingQuantile = TruncatedGaussian.quantile(1 - (1 - builder.racingConfidence) / 2);
+
+		if (builder.responseGenerations < 0) {
+			throw new IllegalArgumentException(
+					"Response generations may not be negative. Actual: " + builder.responseGenerations);
+		}
+		if (!(builder.hypermutationFactor >= 1)) {
+			throw new IllegalArgumentException(
+					"Hypermutation factor has to be at least 1. Actual: " + builder.hypermutationFactor);
+		}
+		if (!(builder.immigrantFraction >= 0 && builder.immigrantFraction <= 1)) {
+			throw new IllegalArgumentException(
+					"Immigrant fraction has to be in range [0 - 1]. Actual: " + builder.immigrantFraction);
+		}
+		this.responseGenerations = builder.responseGenerations;
+		this.hypermutationFactor = builder.hypermutationFactor;
+		this.immigrantFraction = builder.immigrantFraction;
+		this.prototype = builder.individualPrototype;
+
+		this.executionBackend = builder.executionBackend != null ? builder.executionBackend : new ForkJoinBackend();
+		this.parallelEvaluation = builder.parallelEvaluation || builder.evaluationBackend != null;
+		this.evaluationBackend = builder.evaluationBackend != null ? builder.evaluationBackend : executionBackend;
+
 		population = new ArrayList<Individual[]>(subPopulationCount);
 		initialPopulation = new ArrayList<Individual[]>(subPopulationCount);
 
+		scaledFitnessBuffer = new ArrayList<double[]>(subPopulationCount);
+		for (int i = 0; i < subPopulationCount; i++) {
+			scaledFitnessBuffer.add(new double[populationCount.get(i)]);
+		}
+
 		// Step 0 build initial population
 
 		/*
@@ -374,7 +526,23 @@ public class GeneticAlgorithm {
 
 		// 0.1 Sort initial population
 		for (int i = 0; i < this.population.size(); i++) {
-			Arrays.sort(this.population.get(i));
+			if (tabuFilter != null) {
+				for (Individual individual : this.population.get(i)) {
+					tabuFilter.add(individual.fingerprint());
+				}
+			}
+			evaluate(this.population.get(i));
+			if (surrogate != null) {
+				Individual[] initial = this.population.get(i);
+				double[] predictions = new double[initial.length];
+				Arrays.fill(predictions, Double.NaN);
+				surrogate.update(initial, predictions, initial.length);
+			}
+			if (resampleBudget > 0) {
+				race(this.population.get(i), i);
+			} else {
+				Arrays.sort(this.population.get(i));
+			}
 		}
 
 	}
@@ -398,12 +566,17 @@ public class GeneticAlgorithm {
 		Individual[] population = this.population.get(popIndex);
 
 		// 1 Scale fitness
-		ScaledFitness[] scaledPopulation = scalingStrategy.get(popIndex).scaleFitness(population,
-				newParentsNeededPerGeneration.get(popIndex));
+		double[] scaledPopulation = scaledFitnessBuffer.get(popIndex);
+		if (scaledPopulation.length < population.length) {
+			scaledPopulation = new double[population.length];
+			scaledFitnessBuffer.set(popIndex, scaledPopulation);
+		}
+		scalingStrategy.get(popIndex).scaleFitness(population, newParentsNeededPerGeneration.get(popIndex),
+				scaledPopulation);
 
 		// 2. Select parents
 		List<Individual> parents = new ArrayList<>(Arrays.asList(selectionStrategy.get(popIndex)
-				.selectParents(scaledPopulation, newParentsNeededPerGeneration.get(popIndex))));
+				.selectParents(population, scaledPopulation, newParentsNeededPerGeneration.get(popIndex))));
 
 		// TODO or use thread local rng if we already have one. we save object creation
 		// overhead
@@ -413,7 +586,7 @@ public class GeneticAlgorithm {
 		// 3. Reproduction
 		Individual[] nextGeneration = new Individual[populationCount.get(popIndex)];
 
-		// 3.1 Elite children
+		// 3.1 Elite children. Carried over with their exact fitness, see promoteElites
 		for (int i = 0; i < eliteCount.get(popIndex); i++) {
 			nextGeneration[i] = population[i];
 		}
@@ -421,17 +594,27 @@ public class GeneticAlgorithm {
 		// 3.2 Mutation
 
 		// TODO max stall generations
-		double scale = mutationScaleStrategy.get(popIndex).computeScaleFactor(currentGeneration,
+		// The schedule continues across problem changes and ends at the generation limit
+		double scale = mutationScaleStrategy.get(popIndex).computeScaleFactor(
+				Math.min(currentGeneration, this.maxGenerationCount - 1),
 				this.maxGenerationCount, this.population.get(popIndex)[0].getFitness(), this.targetFitness, 0);
 
+		double probability = mutationProbability.get(popIndex);
+
+		// Hypermutation after a problem change
+		boolean responding = currentGeneration < responseUntil;
+		if (responding) {
+			probability = Math.min(1, probability * hypermutationFactor);
+			scale = Math.min(1, scale * hypermutationFactor);
+		}
+
 		CrossoverStrategy crossoverStrategy = this.crossoverStrategy.get(popIndex);
 
 		for (int i = 0; i < mutationCount.get(popIndex); i++) {
 
 			// Parents are randomized. no need to remove from random position. Remove from
 			// tail or O(1)
-			Individual newIndividual = parents.remove(parents.size() - 1).mutate(mutationProbability.get(popIndex),
-					scale);
+			Individual newIndividual = parents.remove(parents.size() - 1).mutate(probability, scale);
 			newIndividual.setOrigin(Origin.MUTATION);
 			newIndividual.setBirth(currentGeneration);
 			nextGeneration[i + eliteCount.get(popIndex)] = newIndividual;
@@ -457,6 +640,11 @@ public class GeneticAlgorithm {
 					mutationCount.get(popIndex), crossoverCount.get(popIndex));
 		}
 
+		// 3.4 Random immigrants after a problem change
+		if (responding && immigrantFraction > 0) {
+			immigrate(nextGeneration, popIndex);
+		}
+
 		// 4 Clone Prevention
 
 		/*
@@ -519,18 +707,672 @@ public class GeneticAlgorithm {
 			}
 		}
 
+		// 4.1 Surrogate pre-screening
+		if (surrogate != null && surrogate.isActive()) {
+			prescreen(nextGeneration, popIndex, scale);
+		}
+
+		// 4.2 Tabu filter. Checks the offspring chosen by the surrogate, discarded
+		// candidates are never evaluated and don't become tabu
+		if (tabuFilter != null) {
+			escapeTabu(nextGeneration, popIndex, scale);
+		}
+
+		// 4.3 Record the predictions for the offspring requiring evaluation
+		Individual[] screened = null;
+		double[] predictions = null;
+		int screenedCount = 0;
+		if (surrogate != null) {
+			screened = new Individual[nextGeneration.length];
+			predictions = new double[nextGeneration.length];
+			screenedCount = predict(nextGeneration, screened, predictions);
+		}
+
 		assert nextGeneration.length == populationCount
 				.get(popIndex) : "Next Generation not same length as requested count";
 
 		this.population.set(popIndex, nextGeneration);
 
 		// 0 Sort population by fitness values
-		Arrays.sort(nextGeneration);
+		evaluate(nextGeneration);
+		if (surrogate != null) {
+			surrogate.update(screened, predictions, screenedCount);
+		}
+		if (resampleBudget > 0) {
+			race(nextGeneration, popIndex);
+		} else {
+			Arrays.sort(nextGeneration);
+		}
 
 		return population[0].getFitness();
 
 	}
 
+	/**
+	 * Replace the last offspring of the generation by random individuals. If no
+	 * prototype is available immigrants are created by mutating every gene of a
+	 * random individual of the current population.
+	 * 
+	 * @param nextGeneration the next generation. Individuals are replaced in place
+	 * @param popIndex       the index of the sub population
+	 */
+	private void immigrate(Individual[] nextGeneration, int popIndex) {
+		int elites = eliteCount.get(popIndex);
+		int immigrants = Math.min(nextGeneration.length - elites,
+				(int) Math.ceil(nextGeneration.length * immigrantFraction));
+		Individual[] current = population.get(popIndex);
+		for (int i = nextGeneration.length - immigrants; i < nextGeneration.length; i++) {
+			Individual immigrant = prototype != null ? prototype.createIndividual()
+					: current[RNG.nextInt(current.length)].mutate(1, 1);
+			immigrant.setBirth(currentGeneration);
+			immigrant.setOrigin(Origin.RANDOM_IMMIGRANT);
+			nextGeneration[i] = immigrant;
+		}
+	}
+
+	/**
+	 * Respond to a change of the fitness function. Cached fitness values refer to
+	 * the old problem and are discarded, the fitness archive is disabled. The
+	 * current populations are re-evaluated in parallel and sorted again before
+	 * the next generation is created.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting for the evaluation
+	 * @throws ExecutionException   if the fitness function threw an exception
+	 */
+	private void respondToChange() throws InterruptedException, ExecutionException {
+		if (fitnessArchive != null) {
+			LOGGER.warning("Problem changed. Fitness archive disabled");
+			fitnessArchive = null;
+		}
+		if (bestFitness != null) {
+			bestFitness.clear();
+		}
+		// Samples and visited genomes describe the old problem
+		if (surrogate != null) {
+			surrogate.reset();
+		}
+		if (tabuFilter != null) {
+			tabuFilter.clear();
+		}
+		// Remote migrants carry fitness values computed for the old problem
+		if (remoteIslands != null) {
+			Arrays.fill(remoteBatch, null);
+			Arrays.fill(remoteMigrants, null);
+			problemChangedAt = System.currentTimeMillis();
+		}
+
+		// Migrants may be part of multiple sub populations
+		Set<Individual> individuals = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Individual[] subPopulation : population) {
+			individuals.addAll(Arrays.asList(subPopulation));
+		}
+		for (Individual[] subPopulation : initialPopulation) {
+			individuals.addAll(Arrays.asList(subPopulation));
+		}
+		for (Individual individual : individuals) {
+			individual.invalidate();
+		}
+
+		// Bounded and multi fidelity evaluation decide per sub population which
+		// individuals to evaluate exactly
+		if (boundedEvaluationRank > 0 || promotionFraction > 0) {
+			List<Callable<Void>> evaluation = new ArrayList<>(population.size());
+			for (Individual[] subPopulation : population) {
+				evaluation.add(() -> {
+					evaluate(subPopulation);
+					return null;
+				});
+			}
+			executionBackend.invokeAll(evaluation);
+		}
+
+		// Evaluate the remaining individuals in parallel
+		List<Individual> pending = new ArrayList<>(individuals.size());
+		for (Individual[] subPopulation : population) {
+			for (Individual individual : subPopulation) {
+				if (!individual.hasFitness()) {
+					pending.add(individual);
+				}
+			}
+		}
+		evaluateParallel(pending.toArray(new Individual[pending.size()]), pending.size());
+
+		List<Callable<Void>> sorting = new ArrayList<>(population.size());
+		for (int i = 0; i < population.size(); i++) {
+			int popIndex = i;
+			sorting.add(() -> {
+				if (resampleBudget > 0) {
+					race(population.get(popIndex), popIndex);
+				} else {
+					Arrays.sort(population.get(popIndex));
+				}
+				return null;
+			});
+		}
+		executionBackend.invokeAll(sorting);
+
+		phaseStart = currentGeneration;
+		responseUntil = currentGeneration + responseGenerations;
+	}
+
+	/**
+	 * Evaluate elites whose fitness is approximated or a lower bound exactly
+	 * before they are carried over. Migrants may be elite in several sub
+	 * populations, the elites are therefore promoted before the sub populations
+	 * perform their generation concurrently.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting for the evaluation
+	 * @throws ExecutionException   if the fitness function threw an exception
+	 */
+	private void promoteElites() throws InterruptedException, ExecutionException {
+		Set<Individual> elites = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (int popIndex = 0; popIndex < population.size(); popIndex++) {
+			Individual[] individuals = population.get(popIndex);
+			for (int i = 0; i < eliteCount.get(popIndex); i++) {
+				if (!individuals[i].hasExactFitness() && elites.add(individuals[i])) {
+					individuals[i].promote();
+				}
+			}
+		}
+		if (parallelEvaluation) {
+			evaluateParallel(elites.toArray(new Individual[elites.size()]), elites.size());
+		} else {
+			for (Individual elite : elites) {
+				elite.getFitness();
+			}
+		}
+	}
+
+	/**
+	 * Evaluate the individuals in strided chunks, one per thread of the evaluation
+	 * backend. Batch fitness functions receive all individuals at once and
+	 * distribute the work themselves.
+	 * 
+	 * @param individuals the individuals to evaluate
+	 * @param count       the number of individuals to evaluate
+	 * @throws InterruptedException if interrupted while waiting for the evaluation
+	 * @throws ExecutionException   if the fitness function threw an exception
+	 */
+	private void evaluateParallel(Individual[] individuals, int count)
+			throws InterruptedException, ExecutionException {
+		if (count > 0 && individuals[0].hasBatchFitness()) {
+			Individual.evaluateBatch(individuals, count);
+			return;
+		}
+		int tasks = Math.min(count, evaluationBackend.parallelism());
+		if (tasks <= 1) {
+			for (int i = 0; i < count; i++) {
+				individuals[i].getFitness();
+			}
+			return;
+		}
+		List<Callable<Void>> evaluation = new ArrayList<>(tasks);
+		for (int t = 0; t < tasks; t++) {
+			int offset = t;
+			evaluation.add(() -> {
+				for (int i = offset; i < count; i += tasks) {
+					individuals[i].getFitness();
+				}
+				return null;
+			});
+		}
+		evaluationBackend.invokeAll(evaluation);
+	}
+
+	/**
+	 * Send the migration candidates of every local sub population to the remote
+	 * islands.
+	 */
+	private void publishMigrants() {
+		int firstIsland = remoteIslands.getFirstIsland();
+		for (int i = 0; i < population.size(); i++) {
+			Individual[] candidates = migrationStrategy.getMigrationCandidates(population.get(i),
+					migrationStrategy.getMigrationCount());
+			remoteIslands.getTransport().send(firstIsland + i, currentGeneration, encodeMigrants(candidates));
+		}
+	}
+
+	/**
+	 * Collect all islands of the island model at their global index. Local
+	 * islands are represented by their population, remote islands by the most
+	 * recent migrants they published. Remote islands which did not publish within
+	 * the timeout are empty.
+	 * 
+	 * @param received set to add the migrants of remote islands to
+	 * @return the islands
+	 */
+	private ArrayList<Individual[]> collectIslands(Set<Individual> received) {
+		int firstIsland = remoteIslands.getFirstIsland();
+		long now = System.currentTimeMillis();
+		ArrayList<Individual[]> islands = new ArrayList<>(remoteIslands.getIslandCount());
+		for (int island = 0; island < remoteIslands.getIslandCount(); island++) {
+			int local = island - firstIsland;
+			if (local >= 0 && local < population.size()) {
+				islands.add(population.get(local));
+				continue;
+			}
+			MigrantBatch batch = remoteIslands.getTransport().receive(island);
+			if (batch == null || now - batch.getTimestamp() > remoteIslands.getTimeoutMillis()
+					|| batch.getTimestamp() < problemChangedAt) {
+				islands.add(new Individual[0]);
+				continue;
+			}
+			// Decode every batch only once
+			if (batch != remoteBatch[island]) {
+				remoteBatch[island] = batch;
+				remoteMigrants[island] = decodeMigrants(batch.getMigrants());
+			}
+			received.addAll(Arrays.asList(remoteMigrants[island]));
+			islands.add(remoteMigrants[island]);
+		}
+		return islands;
+	}
+
+	/**
+	 * Migrants whose fitness is only a lower bound or an approximation are not
+	 * published, the receiving island treats the fitness as exact.
+	 * 
+	 * @param migrants the migrants to encode
+	 * @return the number of migrants followed by the cached fitness and genes of
+	 *         each migrant
+	 */
+	private byte[] encodeMigrants(Individual[] migrants) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			int count = 0;
+			for (Individual migrant : migrants) {
+				if (migrant.hasExactFitness()) {
+					count++;
+				}
+			}
+			out.writeInt(count);
+			for (Individual migrant : migrants) {
+				if (migrant.hasExactFitness()) {
+					out.writeDouble(migrant.getFitness());
+					remoteIslands.getCodec().write(migrant, out);
+				}
+			}
+		} catch (IOException e) {
+			// Not thrown by in memory streams
+			throw new IllegalStateException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * @param data the encoded migrants
+	 * @return the migrants sorted by fitness. Empty if the data is malformed
+	 */
+	private Individual[] decodeMigrants(byte[] data) {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+			int count = in.readInt();
+			if (count < 0 || count > data.length) {
+				throw new IOException("Invalid migrant count: " + count);
+			}
+			Individual[] migrants = new Individual[count];
+			for (int i = 0; i < count; i++) {
+				double fitness = in.readDouble();
+				Individual migrant = remoteIslands.getCodec().read(in);
+				// The fitness was computed by the sending island
+				migrant.setFitness(fitness);
+				migrant.setBirth(currentGeneration);
+				migrant.setOrigin(Origin.REMOTE_MIGRANT);
+				migrants[i] = migrant;
+			}
+			Arrays.sort(migrants);
+			return migrants;
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warning("Discard malformed migrants " + e);
+			return new Individual[0];
+		}
+	}
+
+	/**
+	 * Decoded migrants are cached per batch and may be selected by multiple sub
+	 * populations and migration intervals. Every sub population receives its own
+	 * copy.
+	 * 
+	 * @param migrant a migrant decoded from a batch of a remote island
+	 * @return a new individual holding the genes and the fitness of the migrant
+	 */
+	private Individual copyRemoteMigrant(Individual migrant) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try {
+			remoteIslands.getCodec().write(migrant, new DataOutputStream(bytes));
+			Individual copy = remoteIslands.getCodec()
+					.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+			copy.setFitness(migrant.getFitness());
+			copy.setBirth(currentGeneration);
+			copy.setOrigin(Origin.REMOTE_MIGRANT);
+			return copy;
+		} catch (IOException e) {
+			// Not thrown by in memory streams
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Re-mutate offspring whose genes were already encountered earlier in the run
+	 * by any of the sub populations. The mutation probability increases linearly
+	 * with every failed attempt and reaches 100% at the mutation attempt cutoff.
+	 * Individuals still known afterwards are carried over.
+	 * 
+	 * @param nextGeneration the next generation. Individuals are replaced in place
+	 * @param popIndex       the index of the sub population
+	 * @param scale          the current mutation scale factor
+	 */
+	private void escapeTabu(Individual[] nextGeneration, int popIndex, double scale) {
+		double probability = mutationProbability.get(popIndex);
+		double step = mutationAttemptCutoff > 1 ? (1 - probability) / (mutationAttemptCutoff - 1) : 0;
+		scale = Math.max(scale, 1e-10);
+
+		for (int i = 0; i < nextGeneration.length; i++) {
+			Individual individual = nextGeneration[i];
+			// Elite children are carried over from the previous generation
+			if (individual.getBirth() != currentGeneration) {
+				continue;
+			}
+			int attempt = 0;
+			while (!tabuFilter.add(individual.fingerprint()) && attempt < mutationAttemptCutoff) {
+				individual = individual.mutate(probability + step * attempt, scale);
+				individual.setBirth(currentGeneration);
+				individual.setOrigin(Origin.TABU_MUTATION);
+				attempt++;
+			}
+			nextGeneration[i] = individual;
+		}
+	}
+
+	/**
+	 * Replace offspring by the most promising of several candidates as predicted
+	 * by the surrogate model. Elites and offspring whose fitness can be derived
+	 * from a parent are not screened.
+	 * 
+	 * @param nextGeneration the next generation. Individuals are replaced in place
+	 * @param popIndex       the index of the sub population
+	 * @param scale          the current mutation scale factor
+	 */
+	private void prescreen(Individual[] nextGeneration, int popIndex, double scale) {
+		for (int i = 0; i < nextGeneration.length; i++) {
+			Individual individual = nextGeneration[i];
+			if (individual.getBirth() != currentGeneration || individual.hasCheapFitness()) {
+				continue;
+			}
+			nextGeneration[i] = surrogate.preselect(individual, mutationProbability.get(popIndex), scale);
+		}
+	}
+
+	/**
+	 * Record the predicted fitness of the offspring requiring evaluation to track
+	 * the quality of the surrogate model once the exact fitness is known.
+	 * 
+	 * @param nextGeneration the next generation
+	 * @param screened       array to store the offspring requiring evaluation in
+	 * @param predictions    array to store the predicted fitness of the offspring
+	 *                       in
+	 * @return the number of offspring requiring evaluation
+	 */
+	private int predict(Individual[] nextGeneration, Individual[] screened, double[] predictions) {
+		int count = 0;
+		for (Individual individual : nextGeneration) {
+			if (individual.getBirth() != currentGeneration || individual.hasCheapFitness()) {
+				continue;
+			}
+			screened[count] = individual;
+			predictions[count++] = surrogate.predict(individual);
+		}
+		return count;
+	}
+
+	/**
+	 * Evaluate individuals whose fitness is not known yet. The fitness of
+	 * individuals found in the fitness archive is taken from the archive. If multi
+	 * fidelity evaluation is enabled the remaining individuals are approximated
+	 * and only the most promising ones are evaluated exactly. Exact evaluations
+	 * use a cutoff if bounded evaluation is enabled, are distributed across the
+	 * execution backend if parallel evaluation is enabled and are added to the
+	 * archive.
+	 * 
+	 * @param individuals the individuals to evaluate
+	 */
+	private void evaluate(Individual[] individuals) {
+		boolean deferred = boundedEvaluationRank > 0 || promotionFraction > 0;
+		if (fitnessArchive == null && !deferred && !parallelEvaluation) {
+			return;
+		}
+
+		Individual[] pending = new Individual[individuals.length];
+		long[] fingerprints = new long[individuals.length];
+		int pendingCount = 0;
+		for (Individual individual : individuals) {
+			if (individual.hasFitness()) {
+				continue;
+			}
+			if (fitnessArchive != null) {
+				long fingerprint = individual.fingerprint();
+				double fitness = fitnessArchive.get(fingerprint);
+				if (!Double.isNaN(fitness)) {
+					individual.setFitness(fitness);
+				} else if (!deferred && !parallelEvaluation) {
+					// Store immediately, the same genome may appear multiple times
+					fitnessArchive.put(fingerprint, individual.getFitness());
+				} else {
+					fingerprints[pendingCount] = fingerprint;
+					pending[pendingCount++] = individual;
+				}
+			} else {
+				pending[pendingCount++] = individual;
+			}
+		}
+
+		if (pendingCount == 0) {
+			return;
+		}
+
+		if (promotionFraction > 0) {
+			pendingCount = screen(pending, fingerprints, pendingCount);
+		}
+
+		if (boundedEvaluationRank > 0) {
+			evaluateBounded(individuals, pending, pendingCount);
+		} else if (parallelEvaluation) {
+			try {
+				evaluateParallel(pending, pendingCount);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException("Fitness evaluation failed", cause);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while evaluating the fitness", e);
+			}
+		}
+
+		if (fitnessArchive != null) {
+			for (int i = 0; i < pendingCount; i++) {
+				double fitness = pending[i].getFitness();
+				// Lower bounds must not be mistaken for the fitness in later runs
+				if (pending[i].hasExactFitness()) {
+					fitnessArchive.put(fingerprints[i], fitness);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Multi fidelity evaluation. Individuals whose fitness can't be derived from a
+	 * parent are scored by the approximate fitness function. The best fraction of
+	 * them is promoted to exact evaluation, the others keep their approximate
+	 * fitness.
+	 * 
+	 * @param pending      the individuals to evaluate. Compacted to the
+	 *                     individuals requiring exact evaluation
+	 * @param fingerprints the fingerprints of the pending individuals. Compacted
+	 *                     alongside
+	 * @param pendingCount the number of pending individuals
+	 * @return the number of individuals requiring exact evaluation
+	 */
+	private int screen(Individual[] pending, long[] fingerprints, int pendingCount) {
+		Integer[] approximated = new Integer[pendingCount];
+		int approximatedCount = 0;
+		for (int i = 0; i < pendingCount; i++) {
+			if (!pending[i].hasCheapFitness()) {
+				pending[i].approximate();
+				approximated[approximatedCount++] = i;
+			}
+		}
+
+		Arrays.sort(approximated, 0, approximatedCount,
+				Comparator.comparingDouble(index -> pending[index].getFitness()));
+		int promoted = (int) Math.ceil(approximatedCount * promotionFraction);
+		for (int i = 0; i < promoted; i++) {
+			pending[approximated[i]].promote();
+		}
+
+		int exact = 0;
+		for (int i = 0; i < pendingCount; i++) {
+			if (!pending[i].isFitnessApproximate()) {
+				pending[exact] = pending[i];
+				fingerprints[exact++] = fingerprints[i];
+			}
+		}
+		return exact;
+	}
+
+	/**
+	 * Evaluate individuals passing the fitness of the k-th best individual found
+	 * so far as cutoff. Individuals which are cheap to evaluate, e.g. elites or
+	 * offspring evaluated incrementally, are evaluated first to tighten the cutoff
+	 * before expensive evaluations start.
+	 * 
+	 * @param individuals  all individuals of the population
+	 * @param pending      the individuals to evaluate
+	 * @param pendingCount the number of individuals to evaluate
+	 */
+	private void evaluateBounded(Individual[] individuals, Individual[] pending, int pendingCount) {
+		int k = Math.min(boundedEvaluationRank, individuals.length);
+
+		// Max heap holding the k best exact fitness values. The head is the cutoff
+		PriorityQueue<Double> best = new PriorityQueue<>(k, Collections.reverseOrder());
+
+		for (Individual individual : individuals) {
+			if (individual.hasCheapFitness()) {
+				double fitness = individual.getFitness();
+				if (individual.hasExactFitness()) {
+					offer(best, k, fitness);
+				}
+			}
+		}
+
+		for (int i = 0; i < pendingCount; i++) {
+			Individual individual = pending[i];
+			if (individual.hasFitness()) {
+				continue;
+			}
+			individual.evaluate(best.size() == k ? best.peek() : Double.POSITIVE_INFINITY);
+			if (!individual.isFitnessLowerBound()) {
+				offer(best, k, individual.getFitness());
+			}
+		}
+	}
+
+	private static void offer(PriorityQueue<Double> best, int k, double fitness) {
+		if (best.size() < k) {
+			best.add(fitness);
+		} else if (fitness < best.peek()) {
+			best.poll();
+			best.add(fitness);
+		}
+	}
+
+	/**
+	 * Racing for noisy fitness functions. The population is sorted and every
+	 * individual whose confidence interval of the mean fitness contains one of the
+	 * rank boundaries (best individual, elite count and the median deciding about
+	 * selection) is sampled again. Individuals with the largest standard error
+	 * are sampled first, rounds are repeated until no rank is ambiguous or the budget is
+	 * spent. Individuals with a single sample borrow the pooled variance of the
+	 * population. Migrants shared with other sub populations are not sampled
+	 * again, the other sub populations sort them concurrently.
+	 * 
+	 * @param individuals the population. Sorted afterwards
+	 * @param popIndex    the index of the sub population
+	 */
+	private void race(Individual[] individuals, int popIndex) {
+		Arrays.sort(individuals);
+		int n = individuals.length;
+		int[] boundaries = Arrays.stream(new int[] { 1, eliteCount.get(popIndex), n / 2 }).filter(b -> b > 0 && b < n)
+				.distinct().toArray();
+		double[] ambiguity = new double[n];
+		double[] standardError = new double[n];
+		Integer[] ambiguous = new Integer[n];
+		int budget = resampleBudget;
+
+		while (budget > 0) {
+			double pooledVariance = pooledVariance(individuals);
+			int ambiguousCount = 0;
+			for (int i = 0; i < n; i++) {
+				Individual individual = individuals[i];
+				ambiguity[i] = Double.POSITIVE_INFINITY;
+				if (!individual.hasExactFitness() || individual.isShared()) {
+					continue;
+				}
+				int samples = individual.getSampleCount();
+				double variance = samples > 1 ? individual.getFitnessVariance() : pooledVariance;
+				standardError[i] = Math.sqrt(variance / samples);
+				for (int b : boundaries) {
+					double threshold = (individuals[b - 1].getFitness() + individuals[b].getFitness()) / 2;
+					double distance;
+					if (Double.isNaN(standardError[i])) {
+						// No variance estimate yet. Only sample the neighbours of the boundary
+						distance = i == b - 1 || i == b ? 0 : Double.POSITIVE_INFINITY;
+					} else {
+						// NaN for noiseless ties, which are not ambiguous
+						distance = Math.abs(individual.getFitness() - threshold) / standardError[i];
+					}
+					if (distance < ambiguity[i]) {
+						ambiguity[i] = distance;
+					}
+				}
+				if (ambiguity[i] <= racingQuantile) {
+					ambiguous[ambiguousCount++] = i;
+				}
+			}
+			if (ambiguousCount == 0) {
+				break;
+			}
+			// Sample the least certain individuals first
+			Arrays.sort(ambiguous, 0, ambiguousCount, Comparator.comparingDouble(i -> -standardError[i]));
+			for (int i = 0; i < ambiguousCount && budget > 0; i++, budget--) {
+				individuals[ambiguous[i]].resample();
+			}
+			Arrays.sort(individuals);
+		}
+	}
+
+	/**
+	 * @param individuals the population
+	 * @return the variance of the fitness pooled over all individuals sampled
+	 *         more than once or NaN if no individual was re-sampled
+	 */
+	private static double pooledVariance(Individual[] individuals) {
+		double squaredDeviations = 0;
+		int degreesOfFreedom = 0;
+		for (Individual individual : individuals) {
+			int samples = individual.getSampleCount();
+			if (samples > 1) {
+				squaredDeviations += individual.getFitnessVariance() * (samples - 1);
+				degreesOfFreedom += samples - 1;
+			}
+		}
+		return degreesOfFreedom == 0 ? Double.NaN : squaredDeviations / degreesOfFreedom;
+	}
+
 	/**
 	 * Perform crossover with an arraylist as it's base.
 	 * 
@@ -760,8 +1602,6 @@ public class GeneticAlgorithm {
 		// Add the initial population
 		resultObject.addGeneration(-1, population, 0);
 
-		ExecutorService threadPool = Executors.newCachedThreadPool(new NamedThreadFactory("Perform Generation"));
-
 		// Prepare tasks to asynchronously create a new generation
 		List<Callable<Double>> performGeneration = new ArrayList<>(population.size());
 
@@ -780,7 +1620,7 @@ public class GeneticAlgorithm {
 		long startRuntime = System.currentTimeMillis();
 
 		// Generation count stopping criteria
-		for (generation = 0; currentGeneration < maxGenerationCount; currentGeneration++, generation++) {
+		for (generation = 0; currentGeneration - phaseStart < maxGenerationCount; currentGeneration++, generation++) {
 			// Check stop criteria
 
 			// User requested to only perform x generations and to abort afterwards (not the
@@ -810,11 +1650,15 @@ public class GeneticAlgorithm {
 			double bestGeneratedFitness = Double.MAX_VALUE;
 
 			try {
-				List<Future<Double>> futures = threadPool.invokeAll(performGeneration);
+				if (problemChanged) {
+					problemChanged = false;
+					respondToChange();
+				}
+
+				promoteElites();
 
 				// Wait for all sub populations to perform generation
-				for (var future : futures) {
-					double fitness = future.get();
+				for (double fitness : executionBackend.invokeAll(performGeneration)) {
 					if (fitness < bestGeneratedFitness) {
 						bestGeneratedFitness = fitness;
 					}
@@ -840,25 +1684,47 @@ public class GeneticAlgorithm {
 
 			// TODO
 
-			boolean migrationGeneration = population.size() > 1 && currentGeneration % migrationInterval == 0
-					&& (currentGeneration != 0);
+			boolean migrationGeneration = (population.size() > 1 || remoteIslands != null)
+					&& currentGeneration % migrationInterval == 0 && (currentGeneration != 0);
 
 			// True if we should migrate
 			if (migrationGeneration) {
 
+				// All islands at their global index
+				ArrayList<Individual[]> islands = population;
+				int firstIsland = 0;
+				Set<Individual> received = Collections.newSetFromMap(new IdentityHashMap<>());
+				if (remoteIslands != null) {
+					publishMigrants();
+					islands = collectIslands(received);
+					firstIsland = remoteIslands.getFirstIsland();
+				}
+
 				// migration candidates from each population
 				ArrayList<Individual[]> migratingIndividuals = new ArrayList<Individual[]>();
 
 				for (int i = 0; i < population.size(); i++) {
-					migratingIndividuals.add(migrationProcess.migratedIndividuals(population, i,
+					migratingIndividuals.add(migrationProcess.migratedIndividuals(islands, firstIsland + i,
 							migrationStrategy.getMigrationCount(), migrationStrategy));
 				}
 
 				for (int i = 0; i < population.size(); i++) {
 
+					// Remote islands may not have published migrants yet
+					Individual[] migrants = migratingIndividuals.get(i);
+					Individual[] target = population.get(i);
+					int count = Math.min(migrationCount, migrants.length);
+
 					// Swap out the currently worst candidates even if they are better?
-					System.arraycopy(migratingIndividuals.get(i), 0, population.get(i),
-							population.get(i).length - migrationCount, migrationCount);
+					for (int j = 0; j < count; j++) {
+						Individual migrant = migrants[j];
+						if (received.contains(migrant)) {
+							migrant = copyRemoteMigrant(migrant);
+						} else {
+							migrant.share();
+						}
+						target[target.length - count + j] = migrant;
+					}
 					// TODO New concept population laziness. Remember which origin they came from
 					// and
 					// prevent an individual to migrate to every other sub population or else this
@@ -877,7 +1743,7 @@ public class GeneticAlgorithm {
 				break;
 			}
 
-			if (currentGeneration == (maxGenerationCount - 1)) {
+			if (currentGeneration - phaseStart == (maxGenerationCount - 1)) {
 				LOGGER.warning("Done due generation limit reached");
 				resultObject.setTerminationReason(TerminationReason.Generation);
 				break;
@@ -918,10 +1784,6 @@ public class GeneticAlgorithm {
 			}
 		}
 
-		// Stop thread pool no tasks should be scheduled at this point. We don't return
-		// early but let all generations finish before aborting.
-		threadPool.shutdown();
-
 		long totalRuntime = System.currentTimeMillis() - startRuntime;
 
 		// Sort one last time.
@@ -980,6 +1842,9 @@ public class GeneticAlgorithm {
 		// Shallow copy
 		this.population = new ArrayList<>(initialPopulation);
 		currentGeneration = 0;
+		responseUntil = 0;
+		phaseStart = 0;
+		problemChangedAt = 0;
 		resultFormat = null;
 		if (bestFitness != null) {
 			bestFitness.clear();
@@ -1003,6 +1868,40 @@ public class GeneticAlgorithm {
 		interupted = true;
 	}
 
+	/**
+	 * Signal that the fitness function changed, e.g. because the problem instance
+	 * it refers to was updated. May be called from any thread, also while
+	 * {@link #calculate(int, int, boolean)} is running.
+	 * 
+	 * <p>
+	 * Instead of restarting from scratch the algorithm keeps the current
+	 * populations, which usually are still close to the moved optimum. Before the
+	 * next generation is created the cached fitness of all individuals is
+	 * discarded and the populations are re-evaluated in parallel. For the number
+	 * of generations configured in {@link IBuildStage#withChangeResponse(int, double, double)}
+	 * hypermutation and random immigrants restore the diversity lost during
+	 * convergence.
+	 * 
+	 * <p>
+	 * Each change starts a new phase: the generation limit restarts from the
+	 * generation of the change, the staleness history is cleared and
+	 * {@link #calculate(int, int, boolean)} stops again once the target fitness,
+	 * the staleness or the generation limit is reached for the changed problem.
+	 * The mutation scale continues its schedule, which ends at the generation
+	 * limit, and is only raised by hypermutation.
+	 * 
+	 * <p>
+	 * The fitness archive holds values of the old problem and is disabled. The
+	 * surrogate model and the tabu filter are cleared and remote batches sent
+	 * before the change are ignored. The fitness function must not change while
+	 * a generation is evaluated.
+	 * Individuals of previously returned results which are still part of the
+	 * population report their re-evaluated fitness.
+	 */
+	public void problemChanged() {
+		problemChanged = true;
+	}
+
 	/**
 	 * Adds a result listener to this object if it isn't already attached. The
 	 * result listener will be notified when ever a new generation was created.
@@ -1579,6 +2478,241 @@ public class GeneticAlgorithm {
 		 */
 		public IBuildStage withForceCloneMutation(boolean forceCloneMutation, int mutationAttemptCutoff);
 
+		/**
+		 * Set a fitness archive consulted before individuals are evaluated.
+		 * 
+		 * <p>
+		 * Newly created individuals are looked up by their
+		 * {@link Individual#fingerprint()}. Individuals found in the archive receive
+		 * the archived fitness, all others are evaluated and added to the archive.
+		 * This pays off for expensive fitness functions if the same genomes are
+		 * encountered repeatedly, e.g. in discrete search spaces, or if several runs
+		 * or processes work on the same problem. All sub populations share the
+		 * archive, therefore the archive has to be thread safe.
+		 * 
+		 * <p>
+		 * <b>Default Value:</b> null (no archive)
+		 * </p>
+		 * 
+		 * @param fitnessArchive the archive or null to evaluate every individual
+		 * @return the builder
+		 * @see com.github.kilianB.geneticAlgorithm.archive.MappedFitnessArchive
+		 */
+		public IBuildStage withFitnessArchive(FitnessArchive fitnessArchive);
+
+		/**
+		 * Suppress genomes which were already encountered during the run.
+		 * 
+		 * <p>
+		 * Clone prevention only compares offspring with the current generation. The
+		 * tabu filter remembers the {@link Individual#fingerprint()} of every
+		 * individual created during the run. Offspring already known to the filter
+		 * are mutated again until a new genome is found or the mutation attempt
+		 * cutoff supplied in {@link #withForceCloneMutation(boolean, int)} is
+		 * reached. The filter is shared by all sub populations and may be reused
+		 * between runs of the same problem.
+		 * 
+		 * <p>
+		 * Bloom filters report false positives. Size the filter for population count
+		 * * generations genomes to keep unnecessary mutations rare.
+		 * 
+		 * <p>
+		 * <b>Default Value:</b> null (disabled)
+		 * </p>
+		 * 
+		 * @param tabuFilter the filter or null to disable the filter
+		 * @return the builder
+		 */
+		public IBuildStage withTabuFilter(TabuFilter tabuFilter);
+
+		/**
+		 * Allow the fitness function to stop early for individuals which can't
+		 * reach the given rank.
+		 * 
+		 * <p>
+		 * New individuals are evaluated via {@link Individual#calculateFitness(double)}
+		 * receiving the fitness of the k-th best individual of the generation found
+		 * so far as cutoff. Objectives which are sums of non negative terms may
+		 * return a partial sum as soon as it exceeds the cutoff. Such individuals are
+		 * ranked behind the k best individuals, among each other they are ranked by
+		 * their lower bound. Elites and individuals evaluated incrementally are
+		 * evaluated first to tighten the cutoff quickly.
+		 * 
+		 * <p>
+		 * Selection and scaling strategies only see the lower bound of partially
+		 * evaluated individuals. A rank of at least the elite count guarantees exact
+		 * elites, a rank close to the population count retains more information for
+		 * fitness based selection.
+		 * 
+		 * <p>
+		 * <b>Default Value:</b> 0 (every individual is evaluated exactly)
+		 * </p>
+		 * 
+		 * @param rank the number of individuals per generation which are guaranteed
+		 *             to be evaluated exactly. 0 to disable bounded evaluation
+		 * @return the builder
+		 */
+		public IBuildStage withBoundedEvaluation(int rank);
+
+		/**
+		 * Evaluate offspring with a cheap approximate fitness function first and
+		 * only promote the most promising ones to the exact fitness function.
+		 * 
+		 * <p>
+		 * Every new individual whose fitness can't be derived from a parent is scored
+		 * by {@link Individual#calculateApproximateFitness()}. The best fraction of
+		 * them is evaluated with {@link Individual#calculateFitness()}, the others
+		 * keep the approximate score. Individuals with approximate fitness are ranked
+		 * behind all exactly evaluated individuals, keeping sorting, rank based
+		 * selection and elitism consistent. Elites still carrying an approximate
+		 * score are promoted before they are carried over.
+		 * 
+		 * <p>
+		 * Fitness based scaling strategies, e.g. proportional scaling, mix both
+		 * scales. Prefer rank based strategies if the approximation is not on the same
+		 * scale as the exact fitness.
+		 * 
+		 * <p>
+		 * <b>Default Value:</b> 0 (every individual is evaluated exactly)
+		 * </p>
+		 * 
+		 * @param promotionFraction the fraction of approximated offspring promoted to
+		 *                          exact evaluation per generation. Range [0 - 1]. 0
+		 *                          disables multi fidelity evaluation
+		 * @return the builder
+		 */
+		public IBuildStage withMultiFidelity(double promotionFraction);
+
+		/**
+		 * Pre-screen offspring with a surrogate model before they are evaluated.
+		 * 
+		 * <p>
+		 * For every offspring additional candidates are created by mutation. Only the
+		 * candidate with the best predicted fitness enters the population and is
+		 * evaluated by the fitness function. The model is trained online with every
+		 * evaluated individual. Screening is suspended while the model fails to
+		 * order offspring correctly. Worthwhile for fitness functions which are orders
+		 * of magnitude more expensive than a prediction.
+		 * 
+		 * <p>
+		 * <b>Default Value:</b> null (disabled)
+		 * </p>
+		 * 
+		 * @param surrogate the surrogate screening or null to disable it
+		 * @return the builder
+		 * @see com.github.kilianB.geneticAlgorithm.surrogate.NearestNeighbourSurrogate
+		 */
+		public IBuildStage withSurrogate(SurrogateScreening surrogate);
+
+		/**
+		 * Race individuals of noisy fitness functions.
+		 * 
+		 * <p>
+		 * By default each individual is evaluated once and keeps its first sample,
+		 * allowing lucky individuals to be carried over as elites indefinitely.
+		 * Racing keeps the mean and variance of the fitness samples per individual.
+		 * After each generation only individuals whose rank is statistically
+		 * ambiguous near the best individual, the elite boundary and the median are
+		 * sampled again, until their confidence intervals are separated or the budget
+		 * is spent. Elites keep their samples, repeated samples shrink the
+		 * confidence interval of individuals surviving multiple generations.
+		 * 
+		 * <p>
+		 * <b>Default Value:</b> 0 (each individual is evaluated once)
+		 * </p>
+		 * 
+		 * @param resampleBudget the maximum number of additional fitness evaluations
+		 *                       per generation and sub population. 0 disables racing
+		 * @param confidence     the confidence level of the intervals. Range (0 - 1),
+		 *                       e.g. 0.95
+		 * @return the builder
+		 * @see Individual#getSampleCount()
+		 */
+		public IBuildStage withNoisyFitness(int resampleBudget, double confidence);
+
+		/**
+		 * Configure how the algorithm responds to {@link GeneticAlgorithm#problemChanged()}.
+		 * 
+		 * <p>
+		 * After the populations were re-evaluated, mutation probability and scale
+		 * factor are multiplied by the hypermutation factor and the last offspring of
+		 * each generation are replaced by random immigrants for the given number of
+		 * generations. Immigrants are created by the prototype, or by mutating every
+		 * gene of a random individual if an initial population was supplied.
+		 * 
+		 * <p>
+		 * <b>Default Value:</b> 0 generations (only re-evaluate), factor 1, no
+		 * immigrants
+		 * </p>
+		 * 
+		 * @param generations         the number of generations to respond for
+		 * @param hypermutationFactor the factor applied to mutation probability and
+		 *                            scale. At least 1, both are capped at 1
+		 * @param immigrantFraction   the fraction of each generation replaced by
+		 *                            random immigrants. Range [0 - 1], elites are
+		 *                            never replaced
+		 * @return the builder
+		 */
+		public IBuildStage withChangeResponse(int generations, double hypermutationFactor, double immigrantFraction);
+
+		/**
+		 * Set the backend executing the work of the genetic algorithm. Each sub
+		 * population advances as one task per generation. If parallel evaluation is
+		 * enabled the individuals of a sub population are additionally evaluated as
+		 * nested tasks of the same backend.
+		 * 
+		 * <p>
+		 * A backend may be shared by multiple genetic algorithms to bound the number
+		 * of threads of an application. Backends passed to the builder are not
+		 * closed by the genetic algorithm.
+		 * 
+		 * <p>
+		 * <b>Default Value:</b> {@link ForkJoinBackend} using a pool shared by all
+		 * genetic algorithms
+		 * </p>
+		 * 
+		 * @param executionBackend the backend to execute tasks in. E.g.
+		 *                         {@link com.github.kilianB.geneticAlgorithm.execution.DirectBackend}
+		 *                         to run on the calling thread
+		 * @return the builder
+		 */
+		public IBuildStage withExecutionBackend(ExecutionBackend executionBackend);
+
+		/**
+		 * Evaluate the offspring of each sub population in parallel using the
+		 * execution backend. Worthwhile if few sub populations are used and the
+		 * fitness function is expensive. The fitness function has to be thread safe.
+		 * Bounded evaluation is performed sequentially regardless of this setting,
+		 * as each cutoff depends on the previous evaluations. A
+		 * {@link com.github.kilianB.geneticAlgorithm.prototypes.BatchFitness} receives
+		 * the offspring of a sub population as one batch instead.
+		 * 
+		 * <p>
+		 * <b>Default Value:</b> false
+		 * </p>
+		 * 
+		 * @param parallelEvaluation true to evaluate individuals in parallel
+		 * @return the builder
+		 */
+		public IBuildStage withParallelEvaluation(boolean parallelEvaluation);
+
+		/**
+		 * Evaluate the offspring of each sub population in parallel using a backend
+		 * separate from the execution backend. Sub populations keep advancing on the
+		 * CPU bound execution backend while evaluations are dispatched to the given
+		 * backend, e.g. a {@link com.github.kilianB.geneticAlgorithm.execution.VirtualThreadBackend}
+		 * allowing thousands of fitness functions blocking on I/O to be in flight.
+		 * Implies parallel evaluation.
+		 * 
+		 * <p>
+		 * <b>Default Value:</b> the execution backend
+		 * </p>
+		 * 
+		 * @param evaluationBackend the backend to evaluate individuals in
+		 * @return the builder
+		 */
+		public IBuildStage withEvaluationBackend(ExecutionBackend evaluationBackend);
+
 		/**
 		 * Set the mutation scaling strategy of the genetic algorithm.
 		 * 
@@ -1672,6 +2806,29 @@ public class GeneticAlgorithm {
 		 */
 		public IMigrationStage withMigrationProcess(MigrationProcess migrationProcess);
 
+		/**
+		 * Take part in an island model spanning multiple processes. The sub
+		 * populations of this genetic algorithm occupy consecutive global island
+		 * indices, all other islands are hosted by other processes and exchange
+		 * migrants via the transport of the remote islands. The migration process
+		 * decides based on the global indices which islands send to which, remote
+		 * islands are represented by the most recent migrants they published.
+		 * 
+		 * <p>
+		 * Migration takes place even if this genetic algorithm hosts a single sub
+		 * population. Remote islands which stopped publishing are ignored after the
+		 * timeout of the remote islands.
+		 * 
+		 * <p>
+		 * <b>Default Value:</b> none, all islands are local
+		 * </p>
+		 * 
+		 * @param remoteIslands the layout of the island model and the transport to
+		 *                      use
+		 * @return the builder
+		 */
+		public IMigrationStage withRemoteIslands(RemoteIslands remoteIslands);
+
 		/**
 		 * Creates a new sub population which can be configured manually. This method
 		 * can be invoked multiple times adding a new sub population each time.
@@ -1982,6 +3139,20 @@ public class GeneticAlgorithm {
 		private double mutationProbability = 0.1;
 		private boolean forceCloneMutation = true;
 		private int mutationAttemptCutoff = 10;
+		private FitnessArchive fitnessArchive;
+		private TabuFilter tabuFilter;
+		private int boundedEvaluationRank;
+		private double promotionFraction;
+		private SurrogateScreening surrogate;
+		private int resampleBudget;
+		private double racingConfidence = 0.95;
+		private int responseGenerations;
+		private double hypermutationFactor = 1;
+		private double immigrantFraction;
+		private ExecutionBackend executionBackend;
+		private boolean parallelEvaluation;
+		private ExecutionBackend evaluationBackend;
+		private RemoteIslands remoteIslands;
 
 		private MutationScalingStrategy mutationScalingStrategy = MutationScalingStrategy.RICHARD;
 
@@ -2091,6 +3262,70 @@ public class GeneticAlgorithm {
 			return this;
 		}
 
+		@Override
+		public IBuildStage withFitnessArchive(FitnessArchive fitnessArchive) {
+			this.fitnessArchive = fitnessArchive;
+			return this;
+		}
+
+		@Override
+		public IBuildStage withTabuFilter(TabuFilter tabuFilter) {
+			this.tabuFilter = tabuFilter;
+			return this;
+		}
+
+		@Override
+		public IBuildStage withBoundedEvaluation(int rank) {
+			this.boundedEvaluationRank = rank;
+			return this;
+		}
+
+		@Override
+		public IBuildStage withMultiFidelity(double promotionFraction) {
+			this.promotionFraction = promotionFraction;
+			return this;
+		}
+
+		@Override
+		public IBuildStage withSurrogate(SurrogateScreening surrogate) {
+			this.surrogate = surrogate;
+			return this;
+		}
+
+		@Override
+		public IBuildStage withNoisyFitness(int resampleBudget, double confidence) {
+			this.resampleBudget = resampleBudget;
+			this.racingConfidence = confidence;
+			return this;
+		}
+
+		@Override
+		public IBuildStage withChangeResponse(int generations, double hypermutationFactor,
+				double immigrantFraction) {
+			this.responseGenerations = generations;
+			this.hypermutationFactor = hypermutationFactor;
+			this.immigrantFraction = immigrantFraction;
+			return this;
+		}
+
+		@Override
+		public IBuildStage withExecutionBackend(ExecutionBackend executionBackend) {
+			this.executionBackend = executionBackend;
+			return this;
+		}
+
+		@Override
+		public IBuildStage withParallelEvaluation(boolean parallelEvaluation) {
+			this.parallelEvaluation = parallelEvaluation;
+			return this;
+		}
+
+		@Override
+		public IBuildStage withEvaluationBackend(ExecutionBackend evaluationBackend) {
+			this.evaluationBackend = evaluationBackend;
+			return this;
+		}
+
 		@Override
 		public IMigrationStage migration(int migrationInterval) {
 			this.migrationInterval = migrationInterval;
@@ -2109,6 +3344,12 @@ public class GeneticAlgorithm {
 			return this;
 		}
 
+		@Override
+		public IMigrationStage withRemoteIslands(RemoteIslands remoteIslands) {
+			this.remoteIslands = remoteIslands;
+			return this;
+		}
+
 		@Override
 		public IBuildStage withMutationScalingStrategy(MutationScalingStrategy mutationScalingStrategy) {
 			this.mutationScalingStrategy = mutationScalingStrategy;
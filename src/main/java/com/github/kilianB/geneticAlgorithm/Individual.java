@@ -1,5 +1,6 @@
 package com.github.kilianB.geneticAlgorithm;
 
+import com.github.kilianB.geneticAlgorithm.archive.Fingerprint;
 import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategy;
 import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyDiscrete;
 import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyFuzzy;
@@ -39,6 +40,42 @@ public abstract class Individual implements Comparable<Individual> {
 	 */
 	private double fitness = Double.MIN_VALUE;
 
+	/**
+	 * True if the fitness evaluation was aborted early and {@link #fitness} only
+	 * holds a lower bound of the fitness.
+	 */
+	private boolean lowerBound;
+
+	/**
+	 * True if {@link #fitness} was computed by the cheap approximate fitness
+	 * function and the individual was not promoted to exact evaluation
+	 */
+	private boolean approximate;
+
+	/**
+	 * True if the genes violate a constraint and {@link #fitness} only holds the
+	 * penalty of the prototype
+	 */
+	private boolean infeasible;
+
+	/**
+	 * The number of fitness samples averaged in {@link #fitness} if the fitness
+	 * was re-sampled. 0 for a single sample
+	 */
+	private int samples;
+
+	/**
+	 * The sum of squared deviations of the samples from their mean
+	 */
+	private double squaredDeviations;
+
+	/**
+	 * True once the individual migrated and is part of multiple sub populations.
+	 * The fitness of shared individuals is not re-sampled, sub populations sort
+	 * their individuals concurrently.
+	 */
+	private boolean shared;
+
 	/**
 	 * The generation the individual was created at
 	 */
@@ -49,6 +86,20 @@ public abstract class Individual implements Comparable<Individual> {
 	 */
 	private Origin origin;
 
+	/**
+	 * The individual this individual was derived from. Only set if the
+	 * reproduction operator supports incremental fitness evaluation and released
+	 * as soon as the fitness is known.
+	 */
+	private Individual deltaParent;
+
+	/**
+	 * The ascending indices of the genes differing from the {@link #deltaParent}
+	 */
+	private int[] changedGenes;
+
+	private static final int[] NO_CHANGES = new int[0];
+
 	/**
 	 * @return the number of variables the individual possesses which can be altered
 	 *         by mutation and crossover. If arrays are to be modified each element
@@ -193,27 +244,441 @@ public abstract class Individual implements Comparable<Individual> {
 	 * <p>
 	 * 
 	 * Due to the immutable nature of individuals this method will only be invoked
-	 * exactly once and the value will be cached.
+	 * exactly once and the value will be cached. Noisy fitness functions are
+	 * sampled repeatedly if racing is enabled in the genetic algorithm.
 	 * 
 	 * @return the fitness value of the current individual
 	 */
 	protected abstract double calculateFitness();
 
+	/**
+	 * Incremental fitness function: compute the fitness based on the fitness of
+	 * an individual which only differs in a few genes. Objectives which are
+	 * separable or only depend on the neighbourhood of a gene may update the
+	 * parent's fitness in O(changed genes) instead of evaluating the entire
+	 * genome.
+	 * <p>
+	 * The method is only invoked if a reproduction operator registered the parent
+	 * via {@link #setDeltaSource(Individual, int[])} and the fitness of the parent
+	 * is already known. The default implementation ignores the parent and
+	 * delegates to {@link #calculateFitness()}.
+	 * 
+	 * @param parent        the individual this individual was derived from
+	 * @param parentFitness the fitness of the parent
+	 * @param changedGenes  the ascending indices of the genes in which this
+	 *                      individual differs from the parent
+	 * @return the fitness value of the current individual
+	 */
+	protected double calculateFitness(Individual parent, double parentFitness, int[] changedGenes) {
+		return calculateFitness();
+	}
+
+	/**
+	 * Bounded fitness function: compute the fitness, but allow the evaluation to
+	 * stop early once it is proven that the fitness exceeds the cutoff. Objectives
+	 * which are sums of non negative terms may return the partial sum as soon as
+	 * it is greater than the cutoff.
+	 * <p>
+	 * A returned value greater than the cutoff is treated as lower bound of the
+	 * fitness, a value less or equal to the cutoff has to be the exact fitness.
+	 * The method is only invoked if bounded evaluation is enabled in the genetic
+	 * algorithm. The default implementation ignores the cutoff and delegates to
+	 * {@link #calculateFitness()}.
+	 * 
+	 * @param cutoff individuals whose fitness is greater than the cutoff do not
+	 *               have to be evaluated exactly
+	 * @return the fitness value of the current individual or a lower bound greater
+	 *         than the cutoff
+	 */
+	protected double calculateFitness(double cutoff) {
+		return calculateFitness();
+	}
+
+	/**
+	 * Approximate fitness function: a cheap, low fidelity estimate of the
+	 * fitness, e.g. a simulation run at a coarse resolution. Only the most
+	 * promising individuals of a generation are promoted to the exact
+	 * {@link #calculateFitness()}.
+	 * <p>
+	 * The method is only invoked if multi fidelity evaluation is enabled in the
+	 * genetic algorithm. The estimate does not need to be on the same scale as
+	 * the exact fitness, but lower values have to indicate better individuals.
+	 * The prototypes evaluate the function supplied via
+	 * {@code withApproximateFitness}. The default implementation delegates to
+	 * {@link #calculateFitness()}.
+	 * 
+	 * @return the approximate fitness value of the current individual
+	 */
+	protected double calculateApproximateFitness() {
+		return calculateFitness();
+	}
+
+	/**
+	 * Batch fitness function: compute the fitness of multiple individuals created
+	 * by the same prototype with a single call, e.g. to stream the genomes to
+	 * external worker processes. Invoked on one individual of the batch.
+	 * <p>
+	 * The method is only invoked if {@link #hasBatchFitness()} returns true and
+	 * the genetic algorithm evaluates offspring in parallel. Individuals whose
+	 * fitness can be derived from a parent are not part of the batch. The default
+	 * implementation evaluates each individual via {@link #calculateFitness()}.
+	 * 
+	 * @param batch   the individuals to evaluate
+	 * @param count   the number of individuals in the batch
+	 * @param fitness the array to write the fitness of each individual to
+	 */
+	protected void calculateFitness(Individual[] batch, int count, double[] fitness) {
+		for (int i = 0; i < count; i++) {
+			fitness[i] = batch[i].calculateFitness();
+		}
+	}
+
+	/**
+	 * @return true if the fitness function of the prototype evaluates batches,
+	 *         see {@link #calculateFitness(Individual[], int, double[])}
+	 */
+	protected boolean hasBatchFitness() {
+		return false;
+	}
+
+	/**
+	 * Evaluate individuals created by the same prototype. Individuals whose
+	 * fitness can be derived from a parent are evaluated one at a time, the
+	 * remaining individuals are handed to the batch fitness function at once.
+	 * 
+	 * @param individuals the individuals to evaluate
+	 * @param count       the number of individuals to evaluate
+	 */
+	static void evaluateBatch(Individual[] individuals, int count) {
+		Individual[] batch = new Individual[count];
+		int batchCount = 0;
+		for (int i = 0; i < count; i++) {
+			Individual individual = individuals[i];
+			if (individual.hasCheapFitness()) {
+				individual.getFitness();
+			} else {
+				batch[batchCount++] = individual;
+			}
+		}
+		if (batchCount == 0) {
+			return;
+		}
+		double[] fitness = new double[batchCount];
+		batch[0].calculateFitness(batch, batchCount, fitness);
+		for (int i = 0; i < batchCount; i++) {
+			batch[i].fitness = fitness[i];
+			batch[i].deltaParent = null;
+			batch[i].changedGenes = null;
+		}
+	}
+
+	/**
+	 * Register the individual this individual was derived from to allow
+	 * incremental fitness evaluation. Has to be called by the reproduction
+	 * operator before the individual is handed out.
+	 * 
+	 * @param parent       the individual this individual was derived from
+	 * @param changedGenes the ascending indices of the genes in which this
+	 *                     individual differs from the parent. May include genes
+	 *                     holding the same value as the parent
+	 * @see #calculateFitness(Individual, double, int[])
+	 */
+	protected void setDeltaSource(Individual parent, int[] changedGenes) {
+		this.deltaParent = parent;
+		this.changedGenes = changedGenes;
+	}
+
+	/**
+	 * Mark the genes of this individual as violating a constraint. Prototypes
+	 * which return a penalty instead of evaluating the fitness function have to
+	 * call this method, the penalty is not used as starting point of the
+	 * incremental fitness evaluation of offspring.
+	 * 
+	 * @see #calculateFitness(Individual, double, int[])
+	 */
+	protected void markInfeasible() {
+		infeasible = true;
+	}
+
+	/**
+	 * Inherit the fitness of an individual holding identical genes. Reproduction
+	 * operators should call this method if no gene was altered, e.g. if mutation
+	 * did not pick a single gene or crossover took all genes from the same parent,
+	 * to skip the evaluation of the fitness function.
+	 * 
+	 * @param source an individual with the same genes as this individual
+	 */
+	protected void inheritFitness(Individual source) {
+		if (source.fitness != Double.MIN_VALUE) {
+			fitness = source.fitness;
+			lowerBound = source.lowerBound;
+			approximate = source.approximate;
+			infeasible = source.infeasible;
+			samples = source.samples;
+			squaredDeviations = source.squaredDeviations;
+		} else {
+			setDeltaSource(source, NO_CHANGES);
+		}
+	}
+
+	/**
+	 * Let this individual inherit the fitness of an identical parent or register
+	 * the parent it differs least from for incremental fitness evaluation.
+	 * Offspring which differ in more than half of their genes from every parent
+	 * are evaluated in full. Reproduction operators should call this method
+	 * before the individual is handed out.
+	 * 
+	 * @param source  the index of the parent this individual is identical to or
+	 *                -1
+	 * @param parents the parents of this individual
+	 * @param changes the genes recorded while the genes of this individual were
+	 *                written. Null if incremental evaluation is not supported
+	 * @see #inheritFitness(Individual)
+	 * @see #setDeltaSource(Individual, int[])
+	 */
+	protected void trackParents(int source, Individual[] parents, GeneChanges changes) {
+		if (source >= 0) {
+			inheritFitness(parents[source]);
+		} else if (changes != null) {
+			changes.register(this, parents);
+		}
+	}
+
 	/**
 	 * Fitness function: The fitness function represents how good the current
 	 * individual is based on the overall goal. The lower the fitness the better. A
 	 * value of 0 represents the optimal solution.
 	 * <p>
+	 * If the individual was evaluated with a cutoff the returned value might only
+	 * be a lower bound of the fitness. See {@link #isFitnessLowerBound()}. If
+	 * multi fidelity evaluation is enabled the value might only be an
+	 * approximation. See {@link #isFitnessApproximate()}. If the fitness was
+	 * re-sampled the mean of all samples is returned. See
+	 * {@link #getSampleCount()}.
 	 * 
 	 * @return the fitness value of the current individual
 	 */
 	public double getFitness() {
 		if (fitness == Double.MIN_VALUE) {
-			fitness = calculateFitness();
+			Individual parent = deltaParent;
+			if (parent != null && changedGenes.length == 0) {
+				fitness = parent.getFitness();
+				lowerBound = parent.lowerBound;
+				approximate = parent.approximate;
+				infeasible = parent.infeasible;
+				samples = parent.samples;
+				squaredDeviations = parent.squaredDeviations;
+			} else if (parent != null && parent.hasDeltaFitness()) {
+				fitness = calculateFitness(parent, parent.fitness, changedGenes);
+			} else {
+				fitness = calculateFitness();
+			}
+			// Don't keep the ancestry alive
+			deltaParent = null;
+			changedGenes = null;
 		}
 		return fitness;
 	}
 
+	/**
+	 * Evaluate the individual allowing the fitness function to stop early once
+	 * the fitness exceeds the cutoff. Individuals whose fitness is already known
+	 * or can be derived from a parent are evaluated exactly.
+	 * 
+	 * @param cutoff the cutoff passed to {@link #calculateFitness(double)}
+	 */
+	void evaluate(double cutoff) {
+		if (fitness != Double.MIN_VALUE) {
+			return;
+		}
+		if (hasCheapFitness()) {
+			getFitness();
+		} else {
+			fitness = calculateFitness(cutoff);
+			lowerBound = fitness > cutoff;
+			deltaParent = null;
+			changedGenes = null;
+		}
+	}
+
+	/**
+	 * @return true if the fitness is known or can be derived from a parent without
+	 *         evaluating the fitness function on the entire genome
+	 */
+	boolean hasCheapFitness() {
+		return fitness != Double.MIN_VALUE
+				|| deltaParent != null && (changedGenes.length == 0 || deltaParent.hasDeltaFitness());
+	}
+
+	/**
+	 * @return true if the fitness of the individual may be incrementally updated
+	 *         for its offspring. The penalty of infeasible individuals is not
+	 *         related to the fitness function
+	 */
+	private boolean hasDeltaFitness() {
+		return hasExactFitness() && !infeasible;
+	}
+
+	/**
+	 * @return true if the exact fitness of the individual is known
+	 */
+	boolean hasExactFitness() {
+		return fitness != Double.MIN_VALUE && !lowerBound && !approximate;
+	}
+
+	/**
+	 * Evaluate the individual with the approximate fitness function
+	 */
+	void approximate() {
+		fitness = calculateApproximateFitness();
+		approximate = true;
+		deltaParent = null;
+		changedGenes = null;
+	}
+
+	/**
+	 * Discard the approximate fitness or the lower bound. The exact fitness is
+	 * computed on the next access.
+	 */
+	void promote() {
+		if (approximate || lowerBound) {
+			fitness = Double.MIN_VALUE;
+			approximate = false;
+			lowerBound = false;
+		}
+	}
+
+	/**
+	 * Discard the fitness after the fitness function changed. The fitness is
+	 * computed again on the next access.
+	 */
+	synchronized void invalidate() {
+		fitness = Double.MIN_VALUE;
+		lowerBound = false;
+		approximate = false;
+		infeasible = false;
+		samples = 0;
+		squaredDeviations = 0;
+		deltaParent = null;
+		changedGenes = null;
+	}
+
+	/**
+	 * Evaluate the fitness function once more and update the mean fitness. Only
+	 * called by the genetic algorithm for individuals with exact fitness whose
+	 * rank is ambiguous due to a noisy fitness function.
+	 */
+	synchronized void resample() {
+		double sample = calculateFitness();
+		int n = Math.max(1, samples) + 1;
+		// Welford's online algorithm
+		double delta = sample - fitness;
+		fitness += delta / n;
+		squaredDeviations += delta * (sample - fitness);
+		samples = n;
+	}
+
+	/**
+	 * Mark the individual as part of multiple sub populations. Only called by the
+	 * genetic algorithm between generations.
+	 */
+	void share() {
+		shared = true;
+	}
+
+	/**
+	 * @return true if the individual is part of multiple sub populations and its
+	 *         fitness may not be re-sampled
+	 */
+	boolean isShared() {
+		return shared;
+	}
+
+	/**
+	 * @return the number of fitness samples the fitness is averaged from. 0 if the
+	 *         fitness was not evaluated yet
+	 */
+	public int getSampleCount() {
+		return fitness == Double.MIN_VALUE ? 0 : Math.max(1, samples);
+	}
+
+	/**
+	 * @return the sample variance of the fitness or NaN if less than 2 samples
+	 *         were taken
+	 */
+	public double getFitnessVariance() {
+		return samples > 1 ? squaredDeviations / (samples - 1) : Double.NaN;
+	}
+
+	/**
+	 * Individuals which were only evaluated by the approximate fitness function
+	 * are ranked behind all individuals whose exact fitness is known.
+	 * 
+	 * @return true if {@link #getFitness()} returns the approximate fitness
+	 * @see #calculateApproximateFitness()
+	 */
+	public boolean isFitnessApproximate() {
+		return approximate;
+	}
+
+	/**
+	 * Individuals evaluated with a cutoff which could prove early that they are
+	 * worse than the cutoff only carry a lower bound of their fitness. Such
+	 * individuals are ranked behind every individual whose exact fitness is
+	 * known.
+	 * 
+	 * @return true if {@link #getFitness()} only returns a lower bound of the
+	 *         fitness
+	 */
+	public boolean isFitnessLowerBound() {
+		return lowerBound;
+	}
+
+	/**
+	 * @return true if the fitness of the individual is already known
+	 */
+	boolean hasFitness() {
+		return fitness != Double.MIN_VALUE;
+	}
+
+	/**
+	 * Assign a fitness value obtained from a fitness archive or computed by a
+	 * remote island. Only called by the genetic algorithm for individuals holding
+	 * the exact genes the value was computed for.
+	 * 
+	 * @param fitness the fitness of the individual
+	 */
+	void setFitness(double fitness) {
+		this.fitness = fitness;
+		lowerBound = false;
+		approximate = false;
+		infeasible = false;
+		samples = 0;
+		squaredDeviations = 0;
+		deltaParent = null;
+		changedGenes = null;
+	}
+
+	/**
+	 * A 64 bit hash of the genes used to look up the fitness of the individual in
+	 * a {@link com.github.kilianB.geneticAlgorithm.archive.FitnessArchive}. Two
+	 * individuals holding the same genes have to return the same fingerprint.
+	 * Archives shared between runs or JVMs additionally require the fingerprint
+	 * to only depend on the values of the genes.
+	 * 
+	 * <p>
+	 * The default implementation combines the hash codes of the values returned
+	 * by {@link #getValue(int)} and matches {@link Fingerprint#of(Object[])}. It
+	 * is only stable across JVMs if the genes implement a value based hash code,
+	 * like boxed primitives and strings do. Individuals backed by primitive
+	 * arrays should override it with one of the {@link Fingerprint} functions.
+	 * 
+	 * @return the fingerprint of the genes
+	 */
+	public long fingerprint() {
+		return Fingerprint.of(this::getValue, getVariableCount());
+	}
+
 	/**
 	 * Sets the birth generation of the individual.
 	 * 
@@ -272,8 +737,85 @@ public abstract class Individual implements Comparable<Individual> {
 	 */
 	public abstract <T> T getValue(int index);
 
+	/*
+	 * Primitive accessors. The default implementations unbox the result of
+	 * getValue. Individuals backed by primitive arrays are encouraged to override
+	 * them to allow reproduction without creating wrapper objects.
+	 */
+
+	/**
+	 * Return the gene at the given index as double.
+	 * 
+	 * @param index of the returned value
+	 * @return the numeric gene at the index
+	 * @throws ClassCastException if the gene is not numeric
+	 */
+	public double getDouble(int index) {
+		return ((Number) getValue(index)).doubleValue();
+	}
+
+	/**
+	 * Return the gene at the given index as int.
+	 * 
+	 * @param index of the returned value
+	 * @return the numeric gene at the index
+	 * @throws ClassCastException if the gene is not numeric
+	 */
+	public int getInt(int index) {
+		return ((Number) getValue(index)).intValue();
+	}
+
+	/**
+	 * Return the gene at the given index as boolean.
+	 * 
+	 * @param index of the returned value
+	 * @return the boolean gene at the index
+	 * @throws ClassCastException if the gene is not a boolean
+	 */
+	public boolean getBoolean(int index) {
+		return (Boolean) getValue(index);
+	}
+
+	/**
+	 * Copy the genes of this individual into the target array.
+	 * 
+	 * @param target the array to copy the genes to. Has to hold at least
+	 *               {@link #getVariableCount()} entries.
+	 */
+	public void copyGenes(double[] target) {
+		for (int i = 0; i < getVariableCount(); i++) {
+			target[i] = getDouble(i);
+		}
+	}
+
+	/**
+	 * Copy the genes of this individual into the target array.
+	 * 
+	 * @param target the array to copy the genes to. Has to hold at least
+	 *               {@link #getVariableCount()} entries.
+	 */
+	public void copyGenes(int[] target) {
+		for (int i = 0; i < getVariableCount(); i++) {
+			target[i] = getInt(i);
+		}
+	}
+
+	/**
+	 * Copy the genes of this individual into the target array.
+	 * 
+	 * @param target the array to copy the genes to. Has to hold at least
+	 *               {@link #getVariableCount()} entries.
+	 */
+	public void copyGenes(boolean[] target) {
+		for (int i = 0; i < getVariableCount(); i++) {
+			target[i] = getBoolean(i);
+		}
+	}
+
 	/**
-	 * Compares the fitness of two individuals.
+	 * Compares the fitness of two individuals. Individuals whose fitness is only a
+	 * lower bound are ranked behind individuals with exact fitness, individuals
+	 * whose fitness is only approximated behind both.
 	 * <p>
 	 * 
 	 * {@inheritDoc}
@@ -281,7 +823,19 @@ public abstract class Individual implements Comparable<Individual> {
 	@Override
 	public int compareTo(Individual i2) {
 		double f2 = i2.getFitness();
-		return getFitness() > f2 ? 1 : getFitness() == f2 ? 0 : -1;
+		double f1 = getFitness();
+		int tier = Integer.compare(tier(), i2.tier());
+		if (tier != 0) {
+			return tier;
+		}
+		return f1 > f2 ? 1 : f1 == f2 ? 0 : -1;
+	}
+
+	/**
+	 * @return 0 for exact fitness, 1 for a lower bound and 2 for an approximation
+	 */
+	private int tier() {
+		return approximate ? 2 : lowerBound ? 1 : 0;
 	}
 
 	/**
@@ -363,6 +917,19 @@ public abstract class Individual implements Comparable<Individual> {
 		/**
 		 * Individual was created by force clone mutation
 		 */
-		FORCE_CLONE_MUTATION
+		FORCE_CLONE_MUTATION,
+		/**
+		 * Individual was mutated again because its genes were already encountered
+		 * during the run
+		 */
+		TABU_MUTATION,
+		/**
+		 * Random individual injected after the problem changed
+		 */
+		RANDOM_IMMIGRANT,
+		/**
+		 * Individual received from an island hosted by another process
+		 */
+		REMOTE_MIGRANT
 	}
 }
@@ -0,0 +1,79 @@
+package com.github.kilianB.geneticAlgorithm;
+
+import java.util.Arrays;
+
+import com.github.kilianB.geneticAlgorithm.archive.Fingerprint;
+import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyDiscrete;
+
+/**
+ * A {@link SimplePrimitiveIndividual} specialised for boolean genes. The genes are
+ * kept in a primitive array and passed to the crossover kernels as is.
+ * Subclasses only create new individuals and mutate single genes.
+ * 
+ * @author Kilian
+ * @see SimpleIndividual
+ */
+public abstract class SimpleBooleanIndividual extends SimplePrimitiveIndividual<boolean[]> {
+
+	public SimpleBooleanIndividual(boolean[] currentGenes) {
+		super(currentGenes);
+	}
+
+	/**
+	 * Mutate a single gene
+	 * 
+	 * @param index       the index of the gene
+	 * @param oldGene     the current value of the gene
+	 * @param scaleFactor the mutation scale factor [0 - 1]
+	 * @return the mutated gene
+	 */
+	protected abstract boolean mutateValue(int index, boolean oldGene, double scaleFactor);
+
+	@Override
+	final boolean mutateGene(boolean[] genes, int index, double scaleFactor) {
+		boolean oldGene = genes[index];
+		genes[index] = mutateValue(index, oldGene, scaleFactor);
+		return genes[index] != oldGene;
+	}
+
+	@Override
+	final boolean[] copyGenesOf(Individual parent) {
+		boolean[] genes = new boolean[parent.getVariableCount()];
+		parent.copyGenes(genes);
+		return genes;
+	}
+
+	@Override
+	final int crossover(CrossoverStrategyDiscrete crossoverStrategy, Individual[] parents, boolean[][] parentGenes,
+			boolean[] child) {
+		return crossoverStrategy.crossover(parents, parentGenes, child, null);
+	}
+
+	@Override
+	public long fingerprint() {
+		return Fingerprint.of(values);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T getValue(int index) {
+		return (T) Boolean.valueOf(values[index]);
+	}
+
+	@Override
+	public boolean getBoolean(int index) {
+		return values[index];
+	}
+
+	@Override
+	public void copyGenes(boolean[] target) {
+		System.arraycopy(values, 0, target, 0, values.length);
+	}
+
+	@Override
+	public String toString() {
+		return "SimpleBooleanIndividual[ fitness=" + getFitness() + ", age=" + getBirth() + ", genes="
+				+ Arrays.toString(values) + "]";
+	}
+
+}
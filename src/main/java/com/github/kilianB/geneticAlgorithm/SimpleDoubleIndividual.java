@@ -0,0 +1,86 @@
+package com.github.kilianB.geneticAlgorithm;
+
+import java.util.Arrays;
+
+import com.github.kilianB.geneticAlgorithm.archive.Fingerprint;
+import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyDiscrete;
+import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyFuzzy;
+
+/**
+ * A {@link SimplePrimitiveIndividual} specialised for double genes. The genes are
+ * kept in a primitive array and passed to the crossover kernels as is.
+ * Subclasses only create new individuals and mutate single genes.
+ * 
+ * @author Kilian
+ * @see SimpleIndividual
+ */
+public abstract class SimpleDoubleIndividual extends SimplePrimitiveIndividual<double[]> {
+
+	public SimpleDoubleIndividual(double[] currentGenes) {
+		super(currentGenes);
+	}
+
+	/**
+	 * Mutate a single gene
+	 * 
+	 * @param index       the index of the gene
+	 * @param oldGene     the current value of the gene
+	 * @param scaleFactor the mutation scale factor [0 - 1]
+	 * @return the mutated gene
+	 */
+	protected abstract double mutateValue(int index, double oldGene, double scaleFactor);
+
+	@Override
+	final boolean mutateGene(double[] genes, int index, double scaleFactor) {
+		double oldGene = genes[index];
+		genes[index] = mutateValue(index, oldGene, scaleFactor);
+		return genes[index] != oldGene;
+	}
+
+	@Override
+	final double[] copyGenesOf(Individual parent) {
+		double[] genes = new double[parent.getVariableCount()];
+		parent.copyGenes(genes);
+		return genes;
+	}
+
+	@Override
+	final int crossover(CrossoverStrategyDiscrete crossoverStrategy, Individual[] parents, double[][] parentGenes,
+			double[] child) {
+		return crossoverStrategy.crossover(parents, parentGenes, child, null);
+	}
+
+	@Override
+	final void crossover(CrossoverStrategyFuzzy crossoverStrategy, Individual[] parents, double[][] parentGenes,
+			double[] child) {
+		crossoverStrategy.crossover(parents, parentGenes, child, null);
+	}
+
+	@Override
+	public long fingerprint() {
+		return Fingerprint.of(values);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T getValue(int index) {
+		return (T) Double.valueOf(values[index]);
+	}
+
+	@Override
+	public double getDouble(int index) {
+		return values[index];
+	}
+
+	@Override
+	public void copyGenes(double[] target) {
+		System.arraycopy(values, 0, target, 0, values.length);
+	}
+
+	@Override
+	public String toString() {
+		return "SimpleDoubleIndividual[ fitness=" + getFitness() + ", age=" + getBirth() + ", genes="
+				+ Arrays.toString(values) + "]";
+	}
+
+}
@@ -2,7 +2,6 @@ package com.github.kilianB.geneticAlgorithm;
 
 import java.lang.reflect.Array;
 import java.util.Arrays;
-import java.util.Random;
 
 import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyDiscrete;
 import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyFuzzy;
@@ -29,6 +28,12 @@ import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyFuzzy;
  * parent of multiple children individuals are immutable and must not change
  * state once it was created.
  * 
+ * <p>
+ * Individuals whose genes are primitives should extend
+ * {@link SimpleDoubleIndividual}, {@link SimpleIntIndividual} or
+ * {@link SimpleBooleanIndividual} instead, which do not box the genes during
+ * reproduction.
+ * 
  * @apiNote Starting with version 0.0.4 generic type parameters were remove to
  *          allow for easy array creation in {@link GeneticAlgorithm}. This
  *          leaves the ga open to "accidentally" mix different individual types
@@ -49,12 +54,12 @@ public abstract class SimpleIndividual extends Individual {
 	@Override
 	public Individual crossover(CrossoverStrategyDiscrete crossoverStrategy, Individual... crossoverParent) {
 		Object[] newValues = new Object[this.getVariableCount()];
-		int crossoverVector[] = crossoverStrategy.getCrossoverVector(crossoverParent);
-
-		for (int i = 0; i < newValues.length; i++) {
-			newValues[i] = crossoverParent[crossoverVector[i]].getValue(i);
+		int source = crossoverStrategy.crossover(crossoverParent, newValues);
+		Individual child = createIndividual(newValues);
+		if (source >= 0) {
+			child.inheritFitness(crossoverParent[source]);
 		}
-		return createIndividual(values);
+		return child;
 	}
 
 	// Reflection is probably to slow?
@@ -69,24 +74,30 @@ public abstract class SimpleIndividual extends Individual {
 	public Individual mutate(double probability, double scaleFactor) {
 		Object[] newValues = new Object[this.getVariableCount()];
 
-		Random rng = RNG.getUnderlayingRNG();
-
-		RNG.nextBoolean();
-		
 		if (factorScaleIntoMutationProbability) {
 			probability *= scaleFactor;
 		}
 
+		boolean[] mutate = new boolean[newValues.length];
+		RNG.nextBooleans(mutate, probability);
+
+		boolean changed = false;
 		for (int i = 0; i < newValues.length; i++) {
 
-			if (rng.nextDouble() < probability) {
+			if (mutate[i]) {
 				newValues[i] = mutateValue(i, getValue(i), scaleFactor);
+				changed = true;
 			} else {
 				// Simply copy it
 				newValues[i] = getValue(i);
 			}
 		}
-		return createIndividual(newValues);
+		Individual child = createIndividual(newValues);
+		if (!changed) {
+			// Identical genes. No need to evaluate the fitness function again
+			child.inheritFitness(this);
+		}
+		return child;
 	}
 
 	/**
@@ -100,6 +111,11 @@ public abstract class SimpleIndividual extends Individual {
 	@SuppressWarnings("unchecked")
 	@Override
 	public <T> T getValue(int index) {
+		// Crossover and mutation produce object arrays. Only fall back to reflection
+		// for the genes supplied by the user
+		if (values instanceof Object[]) {
+			return (T) ((Object[]) values)[index];
+		}
 		return (T) java.lang.reflect.Array.get(values,index);
 	}
 	
@@ -0,0 +1,98 @@
+package com.github.kilianB.geneticAlgorithm;
+
+import java.util.Arrays;
+
+import com.github.kilianB.geneticAlgorithm.archive.Fingerprint;
+import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyDiscrete;
+import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyFuzzy;
+
+/**
+ * A {@link SimplePrimitiveIndividual} specialised for int genes. The genes are
+ * kept in a primitive array and passed to the crossover kernels as is.
+ * Subclasses only create new individuals and mutate single genes.
+ * 
+ * @author Kilian
+ * @see SimpleIndividual
+ */
+public abstract class SimpleIntIndividual extends SimplePrimitiveIndividual<int[]> {
+
+	public SimpleIntIndividual(int[] currentGenes) {
+		super(currentGenes);
+	}
+
+	/**
+	 * Mutate a single gene
+	 * 
+	 * @param index       the index of the gene
+	 * @param oldGene     the current value of the gene
+	 * @param scaleFactor the mutation scale factor [0 - 1]
+	 * @return the mutated gene
+	 */
+	protected abstract int mutateValue(int index, int oldGene, double scaleFactor);
+
+	@Override
+	final boolean mutateGene(int[] genes, int index, double scaleFactor) {
+		int oldGene = genes[index];
+		genes[index] = mutateValue(index, oldGene, scaleFactor);
+		return genes[index] != oldGene;
+	}
+
+	@Override
+	final int[] copyGenesOf(Individual parent) {
+		int[] genes = new int[parent.getVariableCount()];
+		parent.copyGenes(genes);
+		return genes;
+	}
+
+	@Override
+	final int crossover(CrossoverStrategyDiscrete crossoverStrategy, Individual[] parents, int[][] parentGenes,
+			int[] child) {
+		return crossoverStrategy.crossover(parents, parentGenes, child, null);
+	}
+
+	@Override
+	final void crossover(CrossoverStrategyFuzzy crossoverStrategy, Individual[] parents, int[][] parentGenes,
+			int[] child) {
+		crossoverStrategy.crossover(parents, parentGenes, child, null);
+	}
+
+	@Override
+	public long fingerprint() {
+		return Fingerprint.of(values);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T getValue(int index) {
+		return (T) Integer.valueOf(values[index]);
+	}
+
+	@Override
+	public int getInt(int index) {
+		return values[index];
+	}
+
+	@Override
+	public double getDouble(int index) {
+		return values[index];
+	}
+
+	@Override
+	public void copyGenes(int[] target) {
+		System.arraycopy(values, 0, target, 0, values.length);
+	}
+
+	@Override
+	public void copyGenes(double[] target) {
+		for (int i = 0; i < values.length; i++) {
+			target[i] = values[i];
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "SimpleIntIndividual[ fitness=" + getFitness() + ", age=" + getBirth() + ", genes="
+				+ Arrays.toString(values) + "]";
+	}
+
+}
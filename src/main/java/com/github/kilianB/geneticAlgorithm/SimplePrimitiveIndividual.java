@@ -0,0 +1,185 @@
+package com.github.kilianB.geneticAlgorithm;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyDiscrete;
+import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyFuzzy;
+
+/**
+ * Base of the simple individuals keeping their genes in a primitive array.
+ * Reproduction and mutation are implemented once for all gene types, the
+ * specialisations {@link SimpleDoubleIndividual}, {@link SimpleIntIndividual}
+ * and {@link SimpleBooleanIndividual} only supply the typed access to the
+ * array. Neither reproduction nor mutation create wrapper objects or require
+ * reflection.
+ * 
+ * <p>
+ * Individuals are immutable. The gene array passed to the constructor is owned
+ * by the individual and must not be altered afterwards.
+ * 
+ * @author Kilian
+ * @param <G> the type of the gene array, e.g. double[]
+ * @see SimpleIndividual
+ */
+public abstract class SimplePrimitiveIndividual<G> extends Individual {
+
+	protected boolean factorScaleIntoMutationProbability = true;
+	protected final G values;
+
+	/** The length of the gene array */
+	private final int length;
+
+	SimplePrimitiveIndividual(G currentGenes) {
+		this.values = currentGenes;
+		this.length = Array.getLength(currentGenes);
+	}
+
+	/**
+	 * Create a new individual of the same type holding the supplied genes
+	 * 
+	 * @param newGenes the genes of the new individual. The array is not copied.
+	 * @return the new individual
+	 */
+	protected abstract Individual createIndividual(G newGenes);
+
+	/**
+	 * Mutate the gene at the index in place
+	 * 
+	 * @param genes       the genes of the offspring
+	 * @param index       the index of the gene
+	 * @param scaleFactor the mutation scale factor [0 - 1]
+	 * @return true if the value of the gene changed
+	 */
+	abstract boolean mutateGene(G genes, int index, double scaleFactor);
+
+	/**
+	 * @param parent a parent of a different type
+	 * @return a copy of the genes of the parent
+	 */
+	abstract G copyGenesOf(Individual parent);
+
+	/**
+	 * Invoke the typed discrete crossover kernel
+	 * 
+	 * @param crossoverStrategy the crossover strategy
+	 * @param parents           the parents
+	 * @param parentGenes       the genes of each parent
+	 * @param child             the array to write the genes of the offspring to
+	 * @return the index of the parent the child is identical to or -1
+	 */
+	abstract int crossover(CrossoverStrategyDiscrete crossoverStrategy, Individual[] parents, G[] parentGenes,
+			G child);
+
+	/**
+	 * Invoke the typed fuzzy crossover kernel. Gene types which can't be blended
+	 * throw an {@link UnsupportedOperationException}
+	 * 
+	 * @param crossoverStrategy the crossover strategy
+	 * @param parents           the parents
+	 * @param parentGenes       the genes of each parent
+	 * @param child             the array to write the genes of the offspring to
+	 */
+	void crossover(CrossoverStrategyFuzzy crossoverStrategy, Individual[] parents, G[] parentGenes, G child) {
+		throw new UnsupportedOperationException("Individual does not support fuzzy crossover");
+	}
+
+	@Override
+	public Individual crossover(CrossoverStrategyDiscrete crossoverStrategy, Individual... crossoverParent) {
+		G newValues = newGenes();
+		int source = crossover(crossoverStrategy, crossoverParent, genes(crossoverParent), newValues);
+		Individual child = createIndividual(newValues);
+		if (source >= 0) {
+			child.inheritFitness(crossoverParent[source]);
+		}
+		return child;
+	}
+
+	@Override
+	public Individual crossover(CrossoverStrategyFuzzy crossoverStrategy, Individual... crossoverParent) {
+		G newValues = newGenes();
+		crossover(crossoverStrategy, crossoverParent, genes(crossoverParent), newValues);
+		return createIndividual(newValues);
+	}
+
+	@Override
+	public Individual mutate(double probability, double scaleFactor) {
+		G newValues = newGenes();
+		System.arraycopy(values, 0, newValues, 0, length);
+
+		if (factorScaleIntoMutationProbability) {
+			probability *= scaleFactor;
+		}
+
+		boolean[] mutate = new boolean[length];
+		RNG.nextBooleans(mutate, probability);
+
+		boolean changed = false;
+		for (int i = 0; i < length; i++) {
+			if (mutate[i]) {
+				changed |= mutateGene(newValues, i, scaleFactor);
+			}
+		}
+		Individual child = createIndividual(newValues);
+		if (!changed) {
+			child.inheritFitness(this);
+		}
+		return child;
+	}
+
+	@Override
+	public int getVariableCount() {
+		return length;
+	}
+
+	@SuppressWarnings("unchecked")
+	private G newGenes() {
+		return (G) Array.newInstance(values.getClass().getComponentType(), length);
+	}
+
+	/**
+	 * @param parents the parent individuals
+	 * @return the gene arrays of the parents. Parents of a different type are
+	 *         copied via {@link #copyGenesOf(Individual)}
+	 */
+	@SuppressWarnings("unchecked")
+	private G[] genes(Individual[] parents) {
+		G[] genes = (G[]) Array.newInstance(values.getClass(), parents.length);
+		for (int i = 0; i < parents.length; i++) {
+			if (parents[i] instanceof SimplePrimitiveIndividual
+					&& ((SimplePrimitiveIndividual<?>) parents[i]).values.getClass() == values.getClass()) {
+				genes[i] = ((SimplePrimitiveIndividual<G>) parents[i]).values;
+			} else {
+				genes[i] = copyGenesOf(parents[i]);
+			}
+		}
+		return genes;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + (factorScaleIntoMutationProbability ? 1231 : 1237);
+		result = prime * result + Arrays.deepHashCode(new Object[] { values });
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		SimplePrimitiveIndividual<?> other = (SimplePrimitiveIndividual<?>) obj;
+		if (factorScaleIntoMutationProbability != other.factorScaleIntoMutationProbability)
+			return false;
+		if (!Objects.deepEquals(values, other.values))
+			return false;
+		return true;
+	}
+
+}
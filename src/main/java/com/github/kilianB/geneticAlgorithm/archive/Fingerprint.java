@@ -0,0 +1,139 @@
+package com.github.kilianB.geneticAlgorithm.archive;
+
+import java.util.function.IntFunction;
+
+/**
+ * 64 bit hashes of genomes used to identify individuals across generations,
+ * runs and processes. Opposed to {@link Object#hashCode()} the value is stable
+ * across JVMs and wide enough to make collisions negligible for archives
+ * holding millions of entries.
+ *
+ * @author Kilian
+ */
+public final class Fingerprint {
+
+	private static final long SEED = 0x9E3779B97F4A7C15L;
+	private static final long MULTIPLIER = 0xC2B2AE3D27D4EB4FL;
+
+	private Fingerprint() {
+	}
+
+	/**
+	 * Finalization step of MurmurHash3. Every input bit affects every output bit.
+	 *
+	 * @param h the value to mix
+	 * @return the mixed value
+	 */
+	public static long mix(long h) {
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	/**
+	 * Combine a hash with the next value
+	 *
+	 * @param h     the hash of the preceding values
+	 * @param value the next value
+	 * @return the combined hash
+	 */
+	public static long combine(long h, long value) {
+		return (h ^ mix(value)) * MULTIPLIER + SEED;
+	}
+
+	/**
+	 * @param values the genes
+	 * @return the fingerprint of the genes
+	 */
+	public static long of(double[] values) {
+		long h = SEED;
+		for (double d : values) {
+			// Normalize -0.0 and NaN
+			h = combine(h, Double.doubleToLongBits(d == 0 ? 0d : d));
+		}
+		return mix(h ^ values.length);
+	}
+
+	/**
+	 * @param values the genes
+	 * @return the fingerprint of the genes
+	 */
+	public static long of(int[] values) {
+		long h = SEED;
+		for (int i : values) {
+			h = combine(h, i);
+		}
+		return mix(h ^ values.length);
+	}
+
+	/**
+	 * @param values the genes
+	 * @return the fingerprint of the genes
+	 */
+	public static long of(boolean[] values) {
+		long h = SEED;
+		long word = 0;
+		for (int i = 0; i < values.length; i++) {
+			if (values[i]) {
+				word |= 1L << i;
+			}
+			if ((i & 63) == 63) {
+				h = combine(h, word);
+				word = 0;
+			}
+		}
+		if ((values.length & 63) != 0) {
+			h = combine(h, word);
+		}
+		return mix(h ^ values.length);
+	}
+
+	/**
+	 * Fingerprint of bit packed genes. Yields the same value as
+	 * {@link #of(boolean[])} for the unpacked genes.
+	 *
+	 * @param words  the packed genes. Unused bits have to be 0
+	 * @param length the number of bits
+	 * @return the fingerprint of the genes
+	 */
+	public static long of(long[] words, int length) {
+		long h = SEED;
+		for (long w : words) {
+			h = combine(h, w);
+		}
+		return mix(h ^ length);
+	}
+
+	/**
+	 * Fingerprint of arbitrary genes based on their hash code. Only as strong as
+	 * the hash code implementation of the genes, and only stable across JVMs if
+	 * the hash code is derived from the value of the genes. Identity hash codes
+	 * differ between runs.
+	 *
+	 * @param values the genes
+	 * @return the fingerprint of the genes
+	 */
+	public static long of(Object[] values) {
+		return of(i -> values[i], values.length);
+	}
+
+	/**
+	 * Fingerprint of arbitrary genes retrieved by index. Yields the same value as
+	 * {@link #of(Object[])} for the same genes.
+	 *
+	 * @param genes  returns the gene at the given index
+	 * @param length the number of genes
+	 * @return the fingerprint of the genes
+	 */
+	public static long of(IntFunction<?> genes, int length) {
+		long h = SEED;
+		for (int i = 0; i < length; i++) {
+			Object o = genes.apply(i);
+			h = combine(h, o == null ? 0 : o.hashCode());
+		}
+		return mix(h ^ length);
+	}
+}
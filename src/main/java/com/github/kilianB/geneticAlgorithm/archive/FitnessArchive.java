@@ -0,0 +1,30 @@
+package com.github.kilianB.geneticAlgorithm.archive;
+
+/**
+ * Cache of fitness values keyed by genome fingerprint. The genetic algorithm
+ * consults the archive before evaluating newly created individuals and stores
+ * the fitness of every individual it had to evaluate.
+ *
+ * <p>
+ * Implementations have to be thread safe. Archives are caches, an
+ * implementation may drop entries or refuse to store new ones at any time.
+ *
+ * @author Kilian
+ * @see com.github.kilianB.geneticAlgorithm.Individual#fingerprint()
+ */
+public interface FitnessArchive {
+
+	/**
+	 * @param fingerprint the fingerprint of the genome
+	 * @return the archived fitness or NaN if the genome is unknown
+	 */
+	double get(long fingerprint);
+
+	/**
+	 * Store the fitness of a genome
+	 *
+	 * @param fingerprint the fingerprint of the genome
+	 * @param fitness     the fitness of the genome. NaN values are ignored
+	 */
+	void put(long fingerprint, double fitness);
+}
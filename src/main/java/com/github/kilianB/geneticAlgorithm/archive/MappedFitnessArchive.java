@@ -0,0 +1,260 @@
+package com.github.kilianB.geneticAlgorithm.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fitness archive persisted in a memory mapped file. The file holds an open
+ * addressed hash table with linear probing keyed by genome fingerprint and
+ * problem id. Several threads and several JVMs on the same host may read and
+ * append to the same file concurrently.
+ *
+ * <p>
+ * <b>Layout</b> (little endian)
+ * <ul>
+ * <li>Header of 64 bytes: magic, version, capacity and the number of used
+ * slots</li>
+ * <li>capacity slots of 16 bytes: key, value</li>
+ * </ul>
+ *
+ * <p>
+ * <b>Concurrency</b> Slots are claimed by atomically swapping the key from 0
+ * to the hashed fingerprint. The value is published afterwards with release
+ * semantics and read with acquire semantics. A slot whose value is not yet
+ * published is treated as unknown. Entries are never removed or overwritten,
+ * therefore no locks are required after the file was initialized. Atomic
+ * operations on shared memory are only coherent between processes of the same
+ * host, the file must not be placed on a network drive.
+ *
+ * <p>
+ * Once three quarters of the slots are used new entries are silently dropped.
+ * The archive does not grow, choose the capacity according to the expected
+ * number of distinct genomes.
+ *
+ * <pre>
+ * try (var archive = new MappedFitnessArchive(Path.of("fitness.archive"), problemId, 1 &lt;&lt; 20)) {
+ * 	var ga = GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(1000)
+ * 			.population().withPopulationCount(50).advanced().withFitnessArchive(archive).build();
+ * 	ga.calculate(50);
+ * }
+ * </pre>
+ *
+ * @author Kilian
+ */
+public class MappedFitnessArchive implements FitnessArchive, Closeable {
+
+	/** "DARWINFA" */
+	private static final long MAGIC = 0x4146_4E49_5752_4144L;
+	private static final int VERSION = 1;
+
+	private static final int HEADER_BYTES = 64;
+	private static final int SLOT_BYTES = 16;
+
+	private static final int MAGIC_OFFSET = 0;
+	private static final int VERSION_OFFSET = 8;
+	private static final int CAPACITY_OFFSET = 16;
+	private static final int SIZE_OFFSET = 24;
+
+	/** The largest capacity whose table can be mapped into a single buffer */
+	public static final int MAX_CAPACITY = 1 << 26;
+
+	/**
+	 * Stored values are xored with this NaN pattern. This way 0 marks a claimed
+	 * slot whose value is not published yet, while 0d remains a valid fitness.
+	 */
+	private static final long VALUE_MASK = 0x7FF8_5A5A_5A5A_5A5AL;
+
+	private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class,
+			ByteOrder.LITTLE_ENDIAN);
+
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+
+	/** Capacity - 1. The capacity is a power of 2 */
+	private final int mask;
+
+	/** The number of used slots at which new entries are dropped */
+	private final long threshold;
+
+	/** Mixed into every key to separate the entries of different problems */
+	private final long problemSalt;
+
+	/**
+	 * Open or create an archive.
+	 *
+	 * @param file      the archive file. Created if it does not exist
+	 * @param problemId identifies the fitness function, e.g. a hash of the
+	 *                  problem instance and its parameters. Archives may be shared
+	 *                  by multiple problems as long as each uses a distinct id.
+	 * @param capacity  the number of slots if the file is created. Rounded up to
+	 *                  the next power of 2. Ignored if the file already exists.
+	 * @throws IOException if the file can not be created or is not a fitness
+	 *                     archive
+	 */
+	public MappedFitnessArchive(Path file, long problemId, int capacity) throws IOException {
+		if (capacity <= 0 || capacity > MAX_CAPACITY) {
+			throw new IllegalArgumentException(
+					"Capacity has to be in range (0 - " + MAX_CAPACITY + "]. Actual: " + capacity);
+		}
+		channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE);
+		try {
+			int slots;
+			// Only one process may initialize the header
+			try (FileLock lock = channel.lock()) {
+				if (channel.size() == 0) {
+					slots = Integer.highestOneBit(capacity);
+					if (slots < capacity) {
+						slots <<= 1;
+					}
+					writeHeader(slots);
+				} else {
+					slots = readHeader(file);
+				}
+			}
+			buffer = channel.map(MapMode.READ_WRITE, 0, HEADER_BYTES + (long) slots * SLOT_BYTES);
+			mask = slots - 1;
+			threshold = slots - (slots >>> 2);
+			problemSalt = Fingerprint.mix(problemId ^ MAGIC);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private void writeHeader(int slots) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		header.putLong(MAGIC_OFFSET, MAGIC);
+		header.putInt(VERSION_OFFSET, VERSION);
+		header.putLong(CAPACITY_OFFSET, slots);
+		// Extend the file first, the zero filled table marks all slots as empty
+		channel.write(ByteBuffer.allocate(1), HEADER_BYTES + (long) slots * SLOT_BYTES - 1);
+		channel.write(header, 0);
+		channel.force(true);
+	}
+
+	private int readHeader(Path file) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		while (header.hasRemaining()) {
+			if (channel.read(header, header.position()) < 0) {
+				break;
+			}
+		}
+		if (header.hasRemaining() || header.getLong(MAGIC_OFFSET) != MAGIC) {
+			throw new IOException(file + " is not a fitness archive");
+		}
+		int version = header.getInt(VERSION_OFFSET);
+		if (version != VERSION) {
+			throw new IOException("Unsupported archive version " + version + " Expected: " + VERSION);
+		}
+		long slots = header.getLong(CAPACITY_OFFSET);
+		if (slots <= 0 || slots > MAX_CAPACITY || Long.bitCount(slots) != 1
+				|| channel.size() < HEADER_BYTES + slots * SLOT_BYTES) {
+			throw new IOException(file + " is corrupted. Capacity: " + slots + " File size: " + channel.size());
+		}
+		return (int) slots;
+	}
+
+	/**
+	 * @param fingerprint the fingerprint of the genome
+	 * @return the key of the slot. Never 0
+	 */
+	private long key(long fingerprint) {
+		long key = Fingerprint.combine(problemSalt, fingerprint);
+		return key == 0 ? 1 : key;
+	}
+
+	@Override
+	public double get(long fingerprint) {
+		long key = key(fingerprint);
+		int slot = (int) key & mask;
+		for (int probe = 0; probe <= mask; probe++) {
+			int offset = HEADER_BYTES + slot * SLOT_BYTES;
+			long k = (long) LONG.getAcquire(buffer, offset);
+			if (k == 0) {
+				return Double.NaN;
+			}
+			if (k == key) {
+				long value = (long) LONG.getAcquire(buffer, offset + 8);
+				return value == 0 ? Double.NaN : Double.longBitsToDouble(value ^ VALUE_MASK);
+			}
+			slot = (slot + 1) & mask;
+		}
+		return Double.NaN;
+	}
+
+	@Override
+	public void put(long fingerprint, double fitness) {
+		if (Double.isNaN(fitness) || size() >= threshold) {
+			return;
+		}
+		long key = key(fingerprint);
+		long value = Double.doubleToRawLongBits(fitness) ^ VALUE_MASK;
+		int slot = (int) key & mask;
+		for (int probe = 0; probe <= mask; probe++) {
+			int offset = HEADER_BYTES + slot * SLOT_BYTES;
+			long k = (long) LONG.getAcquire(buffer, offset);
+			if (k == 0) {
+				k = (long) LONG.compareAndExchange(buffer, offset, 0L, key);
+				if (k == 0) {
+					LONG.getAndAdd(buffer, SIZE_OFFSET, 1L);
+					LONG.setRelease(buffer, offset + 8, value);
+					return;
+				}
+			}
+			if (k == key) {
+				// Known or currently published by a different writer. Fill in values of
+				// writers which died between claiming the slot and publishing the value
+				LONG.compareAndSet(buffer, offset + 8, 0L, value);
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * @return the number of archived entries across all problems
+	 */
+	public long size() {
+		return (long) LONG.getAcquire(buffer, SIZE_OFFSET);
+	}
+
+	/**
+	 * @return the number of slots of the table
+	 */
+	public int capacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * Write modified pages to the storage device. Not required for other
+	 * processes to see the entries, which share the page cache.
+	 */
+	public void force() {
+		buffer.force();
+	}
+
+	/**
+	 * Close the file. The mapping stays valid until the archive is garbage
+	 * collected.
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	@Override
+	public String toString() {
+		return "MappedFitnessArchive [size=" + size() + ", capacity=" + capacity() + "]";
+	}
+}
@@ -0,0 +1,154 @@
+package com.github.kilianB.geneticAlgorithm.archive;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Bloom filter remembering the fingerprints of all genomes encountered during a
+ * run. The genetic algorithm re-mutates offspring whose fingerprint is already
+ * present, spending evaluations only on genomes it has not seen yet.
+ *
+ * <p>
+ * The memory footprint is fixed at construction time. Bits are set with atomic
+ * operations, allowing all sub populations to share one filter without
+ * locking. Being a Bloom filter, it may report genomes as known which were
+ * never added (at roughly the configured false positive rate as long as no more
+ * than the expected number of genomes are added) but never the opposite.
+ *
+ * @author Kilian
+ * @see com.github.kilianB.geneticAlgorithm.Individual#fingerprint()
+ */
+public class TabuFilter {
+
+	private static final LongBinaryOperator OR = (a, b) -> a | b;
+
+	/** The largest number of bits the filter can hold */
+	public static final long MAX_BITS = 1L << 36;
+
+	private final AtomicLongArray words;
+
+	/** Bit count - 1. The bit count is a power of 2 */
+	private final long mask;
+
+	/** Number of bits set per genome */
+	private final int hashes;
+
+	/** Number of genomes added */
+	private final LongAdder count = new LongAdder();
+
+	/**
+	 * Create a filter sized for the expected number of genomes.
+	 *
+	 * @param expectedGenomes   the number of distinct genomes expected to be added,
+	 *                          e.g. population count * generations
+	 * @param falsePositiveRate the probability of a new genome to be reported as
+	 *                          known once the expected number of genomes were
+	 *                          added. Range (0 - 1)
+	 */
+	public TabuFilter(long expectedGenomes, double falsePositiveRate) {
+		if (expectedGenomes <= 0) {
+			throw new IllegalArgumentException("Expected genome count has to be positive. Actual: " + expectedGenomes);
+		}
+		if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+			throw new IllegalArgumentException("False positive rate has to be in range (0 - 1). Actual: "
+					+ falsePositiveRate);
+		}
+		double ln2 = Math.log(2);
+		double optimalBits = -expectedGenomes * Math.log(falsePositiveRate) / (ln2 * ln2);
+		long bits = Math.max(64, (long) Math.min(Math.ceil(optimalBits), MAX_BITS));
+		// Round up to the next power of 2
+		bits = Long.highestOneBit(bits - 1) << 1;
+		words = new AtomicLongArray((int) (bits >>> 6));
+		mask = bits - 1;
+		hashes = Math.max(1, (int) Math.round((double) bits / expectedGenomes * ln2));
+	}
+
+	/**
+	 * @param fingerprint the fingerprint of the genome
+	 * @return true if the genome was probably added before, false if it definitely
+	 *         was not
+	 */
+	public boolean mightContain(long fingerprint) {
+		long h1 = fingerprint;
+		long h2 = Fingerprint.mix(fingerprint) | 1;
+		for (int i = 0; i < hashes; i++) {
+			long bit = (h1 + i * h2) & mask;
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Add a genome to the filter. Threads concurrently adding the same genome may
+	 * both consider it new.
+	 *
+	 * @param fingerprint the fingerprint of the genome
+	 * @return true if the genome is new, false if it was probably added before
+	 */
+	public boolean add(long fingerprint) {
+		long h1 = fingerprint;
+		long h2 = Fingerprint.mix(fingerprint) | 1;
+		boolean added = false;
+		for (int i = 0; i < hashes; i++) {
+			long bit = (h1 + i * h2) & mask;
+			int word = (int) (bit >>> 6);
+			long value = 1L << bit;
+			// Reading first keeps cache lines of known genomes shared between threads
+			if ((words.get(word) & value) == 0 && (words.getAndAccumulate(word, value, OR) & value) == 0) {
+				added = true;
+			}
+		}
+		if (added) {
+			count.increment();
+		}
+		return added;
+	}
+
+	/**
+	 * Remove all genomes. Must not be called concurrently with {@link #add(long)}.
+	 */
+	public void clear() {
+		for (int i = 0; i < words.length(); i++) {
+			words.set(i, 0);
+		}
+		count.reset();
+	}
+
+	/**
+	 * @return the number of genomes added. Approximate, genomes falsely reported
+	 *         as known are not counted
+	 */
+	public long size() {
+		return count.sum();
+	}
+
+	/**
+	 * @return the number of bits of the filter
+	 */
+	public long bitCount() {
+		return mask + 1;
+	}
+
+	/**
+	 * @return the number of bits set for each genome
+	 */
+	public int hashCount() {
+		return hashes;
+	}
+
+	/**
+	 * @return the probability of a new genome being reported as known given the
+	 *         current number of genomes added
+	 */
+	public double falsePositiveRate() {
+		return Math.pow(1 - Math.exp(-hashes * (double) size() / bitCount()), hashes);
+	}
+
+	@Override
+	public String toString() {
+		return "TabuFilter [size=" + size() + ", bits=" + bitCount() + ", hashes=" + hashes + "]";
+	}
+}
@@ -7,11 +7,26 @@ package com.github.kilianB.geneticAlgorithm.crossover;
  * <p>
  * The give the individual a hint how a crossover operation should take place.
  * 
+ * <p>
+ * Crossover is performed for each child of every generation. To not allocate
+ * intermediate arrays for each operation strategies may request per thread
+ * scratch buffers which are reused by subsequent calls of the same thread.
+ * Buffers are only valid until the next request of the same buffer type.
+ * 
  * @author Kilian
  *
  */
 public abstract class CrossoverStrategy {
 
+	/** Per thread buffer holding a crossover vector. Used by the discrete crossover kernels */
+	private static final ThreadLocal<int[]> VECTOR_BUFFER = ThreadLocal.withInitial(() -> new int[0]);
+
+	/** Per thread buffer holding a crossover matrix. Used by the fuzzy crossover kernels */
+	private static final ThreadLocal<double[][]> MATRIX_BUFFER = ThreadLocal.withInitial(() -> new double[0][0]);
+
+	/** Per thread buffer available for intermediate results of strategies */
+	private static final ThreadLocal<double[]> DOUBLE_BUFFER = ThreadLocal.withInitial(() -> new double[0]);
+
 	protected boolean checkClones;
 	protected int numParents;
 
@@ -82,6 +97,55 @@ public abstract class CrossoverStrategy {
 		return true;
 	}
 
+	/**
+	 * Get the calling thread's vector buffer. Used by the discrete crossover
+	 * kernels, therefore only fuzzy strategies may use it to compute their matrix.
+	 * 
+	 * @param length the length of the buffer
+	 * @return a buffer of exactly the requested length with undefined content
+	 */
+	protected static int[] vectorBuffer(int length) {
+		int[] buffer = VECTOR_BUFFER.get();
+		if (buffer.length != length) {
+			buffer = new int[length];
+			VECTOR_BUFFER.set(buffer);
+		}
+		return buffer;
+	}
+
+	/**
+	 * Get the calling thread's matrix buffer. Reserved for the fuzzy crossover
+	 * kernels.
+	 * 
+	 * @param rows    the number of rows (parents)
+	 * @param columns the number of columns (variables)
+	 * @return a buffer of exactly the requested dimension with undefined content
+	 */
+	protected static double[][] matrixBuffer(int rows, int columns) {
+		double[][] buffer = MATRIX_BUFFER.get();
+		if (buffer.length != rows || (rows > 0 && buffer[0].length != columns)) {
+			buffer = new double[rows][columns];
+			MATRIX_BUFFER.set(buffer);
+		}
+		return buffer;
+	}
+
+	/**
+	 * Get the calling thread's general purpose buffer. Strategies may use it for
+	 * intermediate results while filling a crossover vector or matrix.
+	 * 
+	 * @param length the length of the buffer
+	 * @return a buffer of exactly the requested length with undefined content
+	 */
+	protected static double[] doubleBuffer(int length) {
+		double[] buffer = DOUBLE_BUFFER.get();
+		if (buffer.length != length) {
+			buffer = new double[length];
+			DOUBLE_BUFFER.set(buffer);
+		}
+		return buffer;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -1,5 +1,6 @@
 package com.github.kilianB.geneticAlgorithm.crossover;
 
+import com.github.kilianB.geneticAlgorithm.GeneChanges;
 import com.github.kilianB.geneticAlgorithm.Individual;
 
 /**
@@ -51,4 +52,195 @@ public abstract class CrossoverStrategyDiscrete extends CrossoverStrategy {
 	 */
 	public abstract int[] getCrossoverVector(Individual[] parents);
 
+	/**
+	 * Write a discrete crossover vector into the supplied array. See
+	 * {@link #getCrossoverVector(Individual[])}.
+	 * <p>
+	 * The default implementation copies the result of
+	 * {@link #getCrossoverVector(Individual[])}. Implementations are encouraged to
+	 * override this method to compute the vector in place.
+	 * 
+	 * @param parents The parents used for this crossover operation
+	 * @param target  the array to write the vector to. The length of the array
+	 *                equals the number of variables of the parents.
+	 */
+	public void fillCrossoverVector(Individual[] parents, int[] target) {
+		int[] vector = getCrossoverVector(parents);
+		System.arraycopy(vector, 0, target, 0, target.length);
+	}
+
+	/**
+	 * Crossover kernel writing the genes of the child directly into the supplied
+	 * array.
+	 * 
+	 * @param parents     The parents used for this crossover operation
+	 * @param parentGenes the genes of each parent. parentGenes[parentIndex][geneIndex]
+	 * @param child       the array to write the genes of the offspring to
+	 * @param changes     records the genes in which the child differs from each
+	 *                    parent. May be null
+	 * @return the index of the parent the child is identical to because all genes
+	 *         were taken from it, or -1
+	 */
+	public int crossover(Individual[] parents, double[][] parentGenes, double[] child, GeneChanges changes) {
+		int[] vector = vectorBuffer(child.length);
+		fillCrossoverVector(parents, vector);
+		for (int i = 0; i < child.length; i++) {
+			child[i] = parentGenes[vector[i]][i];
+			if (changes != null) {
+				changes.record(i, parentGenes, child[i]);
+			}
+		}
+		return singleParent(parents, vector, child.length);
+	}
+
+	/**
+	 * Crossover kernel writing the genes of the child directly into the supplied
+	 * array.
+	 * 
+	 * @param parents     The parents used for this crossover operation
+	 * @param parentGenes the genes of each parent. parentGenes[parentIndex][geneIndex]
+	 * @param child       the array to write the genes of the offspring to
+	 * @param changes     records the genes in which the child differs from each
+	 *                    parent. May be null
+	 * @return the index of the parent the child is identical to because all genes
+	 *         were taken from it, or -1
+	 */
+	public int crossover(Individual[] parents, int[][] parentGenes, int[] child, GeneChanges changes) {
+		int[] vector = vectorBuffer(child.length);
+		fillCrossoverVector(parents, vector);
+		for (int i = 0; i < child.length; i++) {
+			child[i] = parentGenes[vector[i]][i];
+			if (changes != null) {
+				changes.record(i, parentGenes, child[i]);
+			}
+		}
+		return singleParent(parents, vector, child.length);
+	}
+
+	/**
+	 * Crossover kernel writing the genes of the child directly into the supplied
+	 * array.
+	 * 
+	 * @param parents     The parents used for this crossover operation
+	 * @param parentGenes the genes of each parent. parentGenes[parentIndex][geneIndex]
+	 * @param child       the array to write the genes of the offspring to
+	 * @param changes     records the genes in which the child differs from each
+	 *                    parent. May be null
+	 * @return the index of the parent the child is identical to because all genes
+	 *         were taken from it, or -1
+	 */
+	public int crossover(Individual[] parents, boolean[][] parentGenes, boolean[] child, GeneChanges changes) {
+		int[] vector = vectorBuffer(child.length);
+		fillCrossoverVector(parents, vector);
+		for (int i = 0; i < child.length; i++) {
+			child[i] = parentGenes[vector[i]][i];
+			if (changes != null) {
+				changes.record(i, parentGenes, child[i]);
+			}
+		}
+		return singleParent(parents, vector, child.length);
+	}
+
+	/**
+	 * Crossover kernel for bit packed genomes. Bit i of the genome is stored in
+	 * word i / 64 at position i % 64. Unused bits of the last word are 0 and
+	 * stay 0 in the child.
+	 * <p>
+	 * The default implementation copies each run of consecutive genes taken from
+	 * the same parent using word masks. Strategies producing long runs therefore
+	 * only touch each word a few times.
+	 * 
+	 * @param parents     The parents used for this crossover operation
+	 * @param parentWords the words of each parent. parentWords[parentIndex][wordIndex]
+	 * @param child       the array to write the words of the offspring to
+	 * @param bitCount    the number of genes
+	 * @param changes     records the genes in which the child differs from each
+	 *                    parent. May be null
+	 * @return the index of the parent the child is identical to because all genes
+	 *         were taken from it, or -1
+	 */
+	public int crossover(Individual[] parents, long[][] parentWords, long[] child, int bitCount,
+			GeneChanges changes) {
+		int[] vector = vectorBuffer(bitCount);
+		fillCrossoverVector(parents, vector);
+		int start = 0;
+		boolean single = true;
+		while (start < bitCount) {
+			int parent = vector[start];
+			int end = start + 1;
+			while (end < bitCount && vector[end] == parent) {
+				end++;
+			}
+			copyBits(parentWords[parent], child, start, end);
+			if (changes != null) {
+				changes.record(parentWords, child, start, end);
+			}
+			single &= parents[parent] == parents[vector[0]];
+			start = end;
+		}
+		return single && bitCount > 0 ? vector[0] : -1;
+	}
+
+	/**
+	 * Copy the bits [from - to) from source to target. Whole words are copied,
+	 * only the boundary words are masked.
+	 */
+	static void copyBits(long[] source, long[] target, int from, int to) {
+		int firstWord = from >>> 6;
+		int lastWord = (to - 1) >>> 6;
+		// Shifts only use the lower 6 bits of the distance
+		long firstMask = -1L << from;
+		long lastMask = -1L >>> -to;
+		if (firstWord == lastWord) {
+			long mask = firstMask & lastMask;
+			target[firstWord] = (target[firstWord] & ~mask) | (source[firstWord] & mask);
+			return;
+		}
+		target[firstWord] = (target[firstWord] & ~firstMask) | (source[firstWord] & firstMask);
+		System.arraycopy(source, firstWord + 1, target, firstWord + 1, lastWord - firstWord - 1);
+		target[lastWord] = (target[lastWord] & ~lastMask) | (source[lastWord] & lastMask);
+	}
+
+	/**
+	 * Crossover kernel for individuals not backed by primitive arrays. The genes
+	 * are retrieved via {@link Individual#getValue(int)}.
+	 * 
+	 * @param parents The parents used for this crossover operation
+	 * @param child   the array to write the genes of the offspring to
+	 * @return the index of the parent the child is identical to because all genes
+	 *         were taken from it, or -1
+	 */
+	public int crossover(Individual[] parents, Object[] child) {
+		int[] vector = vectorBuffer(child.length);
+		fillCrossoverVector(parents, vector);
+		for (int i = 0; i < child.length; i++) {
+			child[i] = parents[vector[i]].getValue(i);
+		}
+		return singleParent(parents, vector, child.length);
+	}
+
+	/**
+	 * Selection strategies may pick the same individual multiple times. All genes
+	 * originate from the same individual if every referenced parent is the same
+	 * instance.
+	 * 
+	 * @param parents the parents used for this crossover operation
+	 * @param vector  the crossover vector
+	 * @param length  the number of genes
+	 * @return the parent index if all genes are taken from the same individual, or
+	 *         -1
+	 */
+	private static int singleParent(Individual[] parents, int[] vector, int length) {
+		if (length == 0) {
+			return -1;
+		}
+		int parent = vector[0];
+		for (int i = 1; i < length; i++) {
+			if (parents[vector[i]] != parents[parent]) {
+				return -1;
+			}
+		}
+		return parent;
+	}
+
 }
@@ -1,5 +1,8 @@
 package com.github.kilianB.geneticAlgorithm.crossover;
 
+import java.util.Arrays;
+
+import com.github.kilianB.geneticAlgorithm.GeneChanges;
 import com.github.kilianB.geneticAlgorithm.Individual;
 
 /**
@@ -42,6 +45,96 @@ public abstract class CrossoverStrategyFuzzy extends CrossoverStrategy {
 	 */
 	public abstract double[][] getCrossoverMatrix(Individual[] parents);
 
+	/**
+	 * Write a fuzzy crossover matrix into the supplied array. See
+	 * {@link #getCrossoverMatrix(Individual[])}.
+	 * <p>
+	 * The default implementation copies the result of
+	 * {@link #getCrossoverMatrix(Individual[])}. Implementations are encouraged to
+	 * override this method to compute the matrix in place.
+	 * 
+	 * @param parents The parents used for this crossover operation
+	 * @param target  the matrix to write to. target[parentIndex][geneIndex]
+	 */
+	public void fillCrossoverMatrix(Individual[] parents, double[][] target) {
+		double[][] matrix = getCrossoverMatrix(parents);
+		for (int i = 0; i < target.length; i++) {
+			System.arraycopy(matrix[i], 0, target[i], 0, target[i].length);
+		}
+	}
+
+	/**
+	 * Crossover kernel writing the genes of the child directly into the supplied
+	 * array. Each gene is the weighted sum of the parent genes.
+	 * 
+	 * @param parents     The parents used for this crossover operation
+	 * @param parentGenes the genes of each parent. parentGenes[parentIndex][geneIndex]
+	 * @param child       the array to write the genes of the offspring to
+	 * @param changes     records the genes in which the child differs from each
+	 *                    parent. May be null
+	 */
+	public void crossover(Individual[] parents, double[][] parentGenes, double[] child, GeneChanges changes) {
+		double[][] matrix = matrixBuffer(parents.length, child.length);
+		fillCrossoverMatrix(parents, matrix);
+
+		// Row wise to access memory sequentially. Accumulate the weighted sum in the
+		// first row of the matrix
+		double[] sum = matrix[0];
+		double[] genes = parentGenes[0];
+		for (int i = 0; i < child.length; i++) {
+			sum[i] *= genes[i];
+		}
+		for (int j = 1; j < parents.length; j++) {
+			double[] weight = matrix[j];
+			genes = parentGenes[j];
+			for (int i = 0; i < child.length; i++) {
+				sum[i] += weight[i] * genes[i];
+			}
+		}
+		for (int i = 0; i < child.length; i++) {
+			child[i] = sum[i];
+			if (changes != null) {
+				changes.record(i, parentGenes, child[i]);
+			}
+		}
+	}
+
+	/**
+	 * Crossover kernel writing the genes of the child directly into the supplied
+	 * array. Each gene is the weighted sum of the parent genes rounded to the
+	 * closest integer.
+	 * 
+	 * @param parents     The parents used for this crossover operation
+	 * @param parentGenes the genes of each parent. parentGenes[parentIndex][geneIndex]
+	 * @param child       the array to write the genes of the offspring to
+	 * @param changes     records the genes in which the child differs from each
+	 *                    parent. May be null
+	 */
+	public void crossover(Individual[] parents, int[][] parentGenes, int[] child, GeneChanges changes) {
+		double[][] matrix = matrixBuffer(parents.length, child.length);
+		fillCrossoverMatrix(parents, matrix);
+
+		// Accumulate the weighted sum in the first row of the matrix
+		double[] sum = matrix[0];
+		int[] genes = parentGenes[0];
+		for (int i = 0; i < child.length; i++) {
+			sum[i] *= genes[i];
+		}
+		for (int j = 1; j < parents.length; j++) {
+			double[] weight = matrix[j];
+			genes = parentGenes[j];
+			for (int i = 0; i < child.length; i++) {
+				sum[i] += weight[i] * genes[i];
+			}
+		}
+		for (int i = 0; i < child.length; i++) {
+			child[i] = (int) Math.round(sum[i]);
+			if (changes != null) {
+				changes.record(i, parentGenes, child[i]);
+			}
+		}
+	}
+
 	/**
 	 * Converts a fuzzy matrix to a discrete crossover vector by determining the
 	 * highest value found in the matrix.
@@ -54,24 +147,35 @@ public abstract class CrossoverStrategyFuzzy extends CrossoverStrategy {
 	 * @return
 	 */
 	public static int[] fuzzyToDiscrete(double[][] fuzzy) {
-
 		int[] vector = new int[fuzzy[0].length];
+		fuzzyToDiscrete(fuzzy, vector);
+		return vector;
+	}
+
+	/**
+	 * Converts a fuzzy matrix to a discrete crossover vector by determining the
+	 * highest value found in the matrix. Variables without a positive share are
+	 * assigned -1.
+	 * 
+	 * @param fuzzy  the crossover matrix. fuzzy[parentIndex][geneIndex]
+	 * @param target the array to write the crossover vector to
+	 */
+	public static void fuzzyToDiscrete(double[][] fuzzy, int[] target) {
 
-		// Slow due to cache misses
-		for (int variable = 0; variable < vector.length; variable++) {
+		double[] maxValue = doubleBuffer(target.length);
+		Arrays.fill(maxValue, 0);
+		Arrays.fill(target, -1);
 
-			int maxIndex = -1;
-			double maxValue = 0;
-			for (int parentCount = 0; parentCount < fuzzy.length; parentCount++) {
-				double value = fuzzy[parentCount][variable];
-				if (value > maxValue) {
-					maxValue = value;
-					maxIndex = parentCount;
+		// Row wise to access memory sequentially
+		for (int parentCount = 0; parentCount < fuzzy.length; parentCount++) {
+			double[] row = fuzzy[parentCount];
+			for (int variable = 0; variable < target.length; variable++) {
+				if (row[variable] > maxValue[variable]) {
+					maxValue[variable] = row[variable];
+					target[variable] = parentCount;
 				}
-				vector[variable] = maxIndex;
 			}
 		}
-		return vector;
 	}
 
 }
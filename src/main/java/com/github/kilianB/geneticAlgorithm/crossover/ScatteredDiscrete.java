@@ -2,6 +2,7 @@ package com.github.kilianB.geneticAlgorithm.crossover;
 
 import static com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.RNG;
 
+import com.github.kilianB.geneticAlgorithm.GeneChanges;
 import com.github.kilianB.geneticAlgorithm.Individual;
 
 
@@ -43,20 +44,27 @@ public class ScatteredDiscrete extends CrossoverStrategyDiscrete {
 
 	@Override
 	public int[] getCrossoverVector(Individual[] parents) {
+		int[] matrix = new int[parents[0].getVariableCount()];
+		fillCrossoverVector(parents, matrix);
+		return matrix;
+	}
+
+	@Override
+	public void fillCrossoverVector(Individual[] parents, int[] matrix) {
 		
 		int numParents = parents.length;
-		int variableCount = parents[0].getVariableCount();
+		int variableCount = matrix.length;
 		
-		int[]  matrix = new int[variableCount];
-		
-		for(int i = 0; i < variableCount; i++) {
-			matrix[i] = RNG.nextInt(numParents);
-		}
-		
-		/*
-		 *  Make sure that we don't have a clone of one of the parents
-		 */
-		if(checkClones && isClone(matrix)) {
+		do {
+			RNG.nextInts(matrix, numParents);
+			
+			/*
+			 *  Make sure that we don't have a clone of one of the parents
+			 */
+			if(!checkClones || !isClone(matrix)) {
+				return;
+			}
+			
 			/* 
 			 * If we only have a very small set of variables go ahead and modify it manually
 			 */
@@ -74,16 +82,109 @@ public class ScatteredDiscrete extends CrossoverStrategyDiscrete {
 					value += RNG.nextBoolean() ? 1 : -1;
 				}
 				matrix[index] = value;
-			}else {
-				//Brute force
-				return getCrossoverVector(parents);
+				return;
 			}
-		}
-		return matrix;
+			//Brute force
+		}while(true);
 	}
 	
 	
 
+	/**
+	 * With 2 parents each bit is taken from either parent with equal probability.
+	 * The random bits are directly used as blend mask <code>(a &amp; m) | (b &amp;
+	 * ~m)</code> without creating a crossover vector. With more parents the
+	 * words are blended as well, see
+	 * {@link #blend(Individual[], long[][], long[], int, GeneChanges)}.
+	 */
+	@Override
+	public int crossover(Individual[] parents, long[][] parentWords, long[] child, int bitCount,
+			GeneChanges changes) {
+		if (bitCount < 4) {
+			return super.crossover(parents, parentWords, child, bitCount, changes);
+		}
+		if (parentWords.length != 2) {
+			return blend(parents, parentWords, child, bitCount, changes);
+		}
+		long[] a = parentWords[0];
+		long[] b = parentWords[1];
+		long lastMask = -1L >>> -bitCount;
+		boolean allA;
+		boolean allB;
+		do {
+			RNG.nextLongs(child);
+			// Clone if the mask only selects a single parent
+			allA = true;
+			allB = true;
+			for (int w = 0; w < child.length; w++) {
+				long m = w == child.length - 1 ? child[w] & lastMask : child[w];
+				long valid = w == child.length - 1 ? lastMask : -1L;
+				allA &= m == valid;
+				allB &= m == 0;
+			}
+		} while (checkClones && (allA || allB));
+		for (int w = 0; w < child.length; w++) {
+			long valid = w == child.length - 1 ? lastMask : -1L;
+			long m = child[w] & valid;
+			child[w] = (a[w] & m) | (b[w] & ~m & valid);
+			if (changes != null) {
+				changes.record(parentWords, child, w << 6, Math.min(bitCount, (w + 1) << 6));
+			}
+		}
+		return allA || parents[0] == parents[1] ? 0 : allB ? 1 : -1;
+	}
+
+	/**
+	 * Blend the words of n parents. The parent of each bit is drawn as a number
+	 * with ceil(log2(n)) binary digits, digit d of all 64 bits of a word being
+	 * taken from one random long. The mask of a parent is the AND of its digits.
+	 * Bits drawing a number of n or larger are drawn again.
+	 */
+	private int blend(Individual[] parents, long[][] parentWords, long[] child, int bitCount, GeneChanges changes) {
+		int numParents = parentWords.length;
+		int digitCount = 32 - Integer.numberOfLeadingZeros(numParents - 1);
+		long[] digits = new long[digitCount];
+		long lastMask = -1L >>> -bitCount;
+		do {
+			if (changes != null) {
+				changes.clear();
+			}
+			int first = -1;
+			boolean clone = true;
+			boolean single = true;
+			for (int w = 0; w < child.length; w++) {
+				long open = w == child.length - 1 ? lastMask : -1L;
+				long word = 0;
+				while (open != 0) {
+					RNG.nextLongs(digits);
+					for (int parent = 0; parent < numParents && open != 0; parent++) {
+						long m = open;
+						for (int d = 0; d < digitCount; d++) {
+							m &= (parent >>> d & 1) != 0 ? digits[d] : ~digits[d];
+						}
+						if (m != 0) {
+							word |= parentWords[parent][w] & m;
+							open &= ~m;
+							if (first == -1) {
+								first = parent;
+							} else if (parent != first) {
+								clone = false;
+								single &= parents[parent] == parents[first];
+							}
+						}
+					}
+				}
+				child[w] = word;
+				if (changes != null) {
+					changes.record(parentWords, child, w << 6, Math.min(bitCount, (w + 1) << 6));
+				}
+			}
+			if (!checkClones || !clone) {
+				return single ? first : -1;
+			}
+		} while (true);
+	}
+
 	@Override
 	public String toString() {
 		return "ScatteredDiscrete [checkClones=" + checkClones + "]";
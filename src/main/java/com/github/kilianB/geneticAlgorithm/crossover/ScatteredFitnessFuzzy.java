@@ -1,8 +1,9 @@
 package com.github.kilianB.geneticAlgorithm.crossover;
 
+import java.util.Arrays;
+
 import com.github.kilianB.geneticAlgorithm.Individual;
 import com.github.kilianB.geneticAlgorithm.fitnessScaling.FitnessScalingStrategy;
-import com.github.kilianB.geneticAlgorithm.fitnessScaling.FitnessScalingStrategy.ScaledFitness;
 import com.github.kilianB.geneticAlgorithm.fitnessScaling.RankScaling;
 
 /**
@@ -48,31 +49,27 @@ public class ScatteredFitnessFuzzy extends CrossoverStrategyFuzzy {
 
 	@Override
 	public double[][] getCrossoverMatrix(Individual[] parents) {
+		double[][] matrix = new double[parents.length][parents[0].getVariableCount()];
+		fillCrossoverMatrix(parents, matrix);
+		return matrix;
+	}
 
-		int numParents = parents.length;
-		int variableCount = parents[0].getVariableCount();
+	@Override
+	public void fillCrossoverMatrix(Individual[] parents, double[][] matrix) {
 
-		double[][] matrix = new double[numParents][variableCount];
+		int numParents = parents.length;
 
 		//Using a factor of 1 will normalize the scale values to 1 just as we need.
-		ScaledFitness[] scaled = fitnessScaling.scaleFitness(parents,1);
+		double[] scaled = doubleBuffer(numParents);
+		fitnessScaling.scaleFitness(parents,1,scaled);
 		
 
 		for (int parentIndex = 0; parentIndex < numParents; parentIndex++) {
-			double fitness = scaled[parentIndex].getScaledFitness();
-			for (int j = 0; j < variableCount; j++) {
-				matrix[parentIndex][j] = fitness;
-			}
+			Arrays.fill(matrix[parentIndex], scaled[parentIndex]);
 		}
 		
 
 		// No clone checking required due to deterministic nature
-		/*
-		if(this.checkClones && 	this.isClone(matrix)) {
-			return getCrossoverMatrix(parents);
-		}*/
-		
-		return matrix;
 	}
 
 	@Override
@@ -2,6 +2,8 @@ package com.github.kilianB.geneticAlgorithm.crossover;
 
 import static com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.RNG;
 
+import java.util.Arrays;
+
 import com.github.kilianB.geneticAlgorithm.Individual;
 
 /**
@@ -44,45 +46,48 @@ final boolean checkClones;
 
 	@Override
 	public double[][] getCrossoverMatrix(Individual[] parents) {
+		double[][] matrix = new double[parents.length][parents[0].getVariableCount()];
+		fillCrossoverMatrix(parents, matrix);
+		return matrix;
+	}
+
+	@Override
+	public void fillCrossoverMatrix(Individual[] parents, double[][] matrix) {
 		
 		int numParents = parents.length;
-		int variableCount = parents[0].getVariableCount();
-				
-		double[][] matrix = new double[numParents][variableCount];
+		int variableCount = matrix[0].length;
 		
-		double[] avg = new double[variableCount];
+		double[] avg = doubleBuffer(variableCount);
 	
-
-		//Instead maybe wen can normalize each row and mulitply by parens neeeded?
-		for(int i = 0; i < numParents;i++) {
-			for(int j = 0; j < variableCount;j++) {
-				//27% of the entire ga algorithm spends at this line
-				double rDouble = RNG.nextDouble();
-				matrix[i][j] = rDouble;
-				avg[j] += rDouble;
+		do {
+			Arrays.fill(avg, 0);
+			
+			//Instead maybe wen can normalize each row and mulitply by parens neeeded?
+			for(int i = 0; i < numParents;i++) {
+				//Generate the entire row in one go. Drawing each value individually used to
+				//account for 27% of the entire ga runtime
+				RNG.nextDoubles(matrix[i]);
+				for(int j = 0; j < variableCount;j++) {
+					avg[j] += matrix[i][j];
+				}
 			}
-		}
-		
-		
-		//Calculate average
-		for(int i = 0; i < numParents;i++) {
-			for(int j = 0; j < variableCount;j++) {
-				matrix[i][j] /= avg[j];
+			
+			
+			//Calculate average
+			for(int i = 0; i < numParents;i++) {
+				for(int j = 0; j < variableCount;j++) {
+					matrix[i][j] /= avg[j];
+				}
 			}
-		}
-		
-		//Cheap check to see that we didn't just get a matrix returning one parent
-		if(checkClones && isClone(matrix)) {
+			
+			//Cheap check to see that we didn't just get a matrix returning one parent
 			/* 
 			 * Make sure that we don't have a clone of one of the parents
 			 * Instead of brute forcing we could just pick 
 			 * one element and alter it. But this will only guarantee minimal diversity
 			 */
 			//TODO implement manual modification
-			return getCrossoverMatrix(parents);
-		}
-	
-		return matrix;
+		}while(checkClones && isClone(matrix));
 	}
 
 	@Override
@@ -3,6 +3,9 @@ package com.github.kilianB.geneticAlgorithm.crossover;
 
 import static com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.RNG;
 
+import java.util.Arrays;
+
+import com.github.kilianB.geneticAlgorithm.GeneChanges;
 import com.github.kilianB.geneticAlgorithm.Individual;
 
 /**
@@ -48,51 +51,23 @@ public class SinglePointDiscrete extends CrossoverStrategyDiscrete{
 	
 	@Override
 	public int[] getCrossoverVector(Individual[] parents) {
+		int[] matrix = new int[parents[0].getVariableCount()];
+		fillCrossoverVector(parents, matrix);
+		return matrix;
+	}
+
+	@Override
+	public void fillCrossoverVector(Individual[] parents, int[] matrix) {
 		int numParents = parents.length;
-		int variableCount = parents[0].getVariableCount();
-		
-		int[] matrix = new int[variableCount];
-		
-		//---------cut-------------cut--------cut-------------
-		double share[] = new double[numParents];
-		double sum = Double.MIN_VALUE;
-		for(int i = 0; i < numParents; i++) {
-			share[i] = RNG.nextDouble();
-			sum += share[i];
-		}
-		
-		int cutLocation[] = new  int[numParents];
-		
-		int sumVars = 0;
-		for(int i = 0; i < numParents; i++){
-			share[i] = sum / share[i];
-			cutLocation[i] = (int) Math.round(variableCount/share[i]);
-			sumVars += cutLocation[i];
-		}
+		int variableCount = matrix.length;
 		
-		//FIX 7.10.2018 due to rounding errors the last index might be too small to account for all variables
-		//TODO this intorduces bias to the last object
-		while(sumVars < variableCount) {
-			cutLocation[numParents-1]++;
-			sumVars++;
-		}
-		//Due to rounding the last parent's gene might be skipped even though it is entitled 
-		//to it. since the individuals are randomized it does not matter.
-		
-		int curIndex = cutLocation[0]-1; 
-		int curParent = 0;
-		
-		for(int i = 0; i < variableCount; i++) {
+		do {
+			cut(numParents, matrix);
 			
-			while(curIndex < i) {
-				curParent++;
-				curIndex += cutLocation[curParent];
+			if(!checkClones || !isClone(matrix)) {
+				return;
 			}
-			matrix[i] = curParent;
-		}
-		
-		
-		if(checkClones && isClone(matrix)) {
+			
 			/* 
 			 * Make sure that we don't have a clone of one of the parents
 			 * if we only have a very small set of variables go ahead and modify it manually
@@ -115,14 +90,105 @@ public class SinglePointDiscrete extends CrossoverStrategyDiscrete{
 				for(int i = forcedCut; i < variableCount; i++) {	
 					matrix[i] = parent;
 				}
-			}else {
-				return getCrossoverVector(parents);
+				return;
 			}
-		}
-		
-		//System.out.println(Arrays.toString(matrix));
+		}while(true);
+	}
+	
+	/**
+	 * Lay out the line and cut it into one section per parent. The length of each
+	 * section is drawn randomly.
+	 * 
+	 * @param numParents the number of parents
+	 * @param matrix     the vector to write the parent index of each variable to
+	 */
+	static void cut(int numParents, int[] matrix) {
+		int variableCount = matrix.length;
 		
-		return matrix;
+		//---------cut-------------cut--------cut-------------
+		double share[] = shares(numParents);
+		int start = 0;
+		for(int parent = 0; parent < numParents && start < variableCount; parent++) {
+			int end = sectionEnd(share, parent, start, variableCount);
+			Arrays.fill(matrix, start, end, parent);
+			start = end;
+		}
+	}
+
+	/**
+	 * Draw the length of each section relative to the entire line
+	 * 
+	 * @param numParents the number of parents
+	 * @return the share of each parent. The shares add up to 1
+	 */
+	private static double[] shares(int numParents) {
+		double share[] = doubleBuffer(numParents);
+		double sum = Double.MIN_VALUE;
+		RNG.nextDoubles(share);
+		for(int i = 0; i < numParents; i++) {
+			sum += share[i];
+		}
+		for(int i = 0; i < numParents; i++) {
+			share[i] /= sum;
+		}
+		return share;
+	}
+
+	/**
+	 * @param share         the share of each parent
+	 * @param parent        the parent owning the section
+	 * @param start         the first variable of the section
+	 * @param variableCount the number of variables
+	 * @return the end of the section exclusively
+	 */
+	private static int sectionEnd(double[] share, int parent, int start, int variableCount) {
+		//FIX 7.10.2018 due to rounding errors the sections might not account for all variables.
+		//The last parent receives the remaining variables
+		//TODO this intorduces bias to the last object
+		return parent == share.length - 1 ? variableCount
+				: (int) Math.min(variableCount, start + Math.round(variableCount * share[parent]));
+	}
+
+	/**
+	 * Each section is copied from its parent word by word, only the words
+	 * containing a cut are masked. No crossover vector is created.
+	 */
+	@Override
+	public int crossover(Individual[] parents, long[][] parentWords, long[] child, int bitCount,
+			GeneChanges changes) {
+		if (bitCount <= 3) {
+			return super.crossover(parents, parentWords, child, bitCount, changes);
+		}
+		int numParents = parents.length;
+		do {
+			if (changes != null) {
+				changes.clear();
+			}
+			double share[] = shares(numParents);
+			int start = 0;
+			int first = -1;
+			boolean clone = true;
+			boolean single = true;
+			for(int parent = 0; parent < numParents && start < bitCount; parent++) {
+				int end = sectionEnd(share, parent, start, bitCount);
+				if(end > start) {
+					copyBits(parentWords[parent], child, start, end);
+					if(changes != null) {
+						changes.record(parentWords, child, start, end);
+					}
+					if(first == -1) {
+						first = parent;
+					}else {
+						clone = false;
+						single &= parents[parent] == parents[first];
+					}
+				}
+				start = end;
+			}
+			if(!checkClones || !clone) {
+				return single ? first : -1;
+			}
+		}while(true);
 	}
 
 	@Override
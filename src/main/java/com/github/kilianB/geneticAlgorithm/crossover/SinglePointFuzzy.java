@@ -1,7 +1,5 @@
 package com.github.kilianB.geneticAlgorithm.crossover;
 
-import static com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.RNG;
-
 import com.github.kilianB.geneticAlgorithm.Individual;
 
 /**
@@ -51,58 +49,33 @@ public class SinglePointFuzzy extends CrossoverStrategyFuzzy {
 
 	@Override
 	public double[][] getCrossoverMatrix(Individual[] parents) {
+		double[][] matrix = new double[parents.length][parents[0].getVariableCount()];
+		fillCrossoverMatrix(parents, matrix);
+		return matrix;
+	}
 
-		int numParents = parents.length;
-		int variableCount = parents[0].getVariableCount();
-
-		double[][] matrix = new double[numParents][variableCount];
-
-		// ---------cut-------------cut--------cut-------------
-		double share[] = new double[numParents];
-		double sum = Double.MIN_VALUE;
-		for (int i = 0; i < numParents; i++) {
-			share[i] = RNG.nextDouble();
-			sum += share[i];
-		}
-
-		// 0 check? necessary?
-		// + Double.MIN_VALUE;
-
-		int cutLocation[] = new int[numParents];
-
-		for (int i = 0; i < numParents; i++) {
-			share[i] = sum / share[i];
-			cutLocation[i] = (int) Math.round(variableCount / share[i]);
-		}
-
-		// Due to rounding the last parent's gene might be skipped even though it is
-		// entitled
-		// to it. since the individuals are randomized it does not matter.
+	@Override
+	public void fillCrossoverMatrix(Individual[] parents, double[][] matrix) {
 
-		int curIndex = cutLocation[0] - 1;
-		int curParent = 0;
+		int numParents = parents.length;
+		int variableCount = matrix[0].length;
 
-		for (int i = 0; i < variableCount; i++) {
+		do {
+			// Distribute the variables the same way the discrete version does
+			int[] vector = vectorBuffer(variableCount);
+			SinglePointDiscrete.cut(numParents, vector);
 
-			while (curIndex < i) {
-				curParent++;
-				curIndex += cutLocation[curParent];
-			}
 			for (int j = 0; j < numParents; j++) {
-				matrix[j][i] = j == curParent ? 1 : 0;
+				double[] row = matrix[j];
+				for (int i = 0; i < variableCount; i++) {
+					row[i] = vector[i] == j ? 1 : 0;
+				}
 			}
-		}
-
-		if (checkClones && isClone(matrix)) {
+			
 			//TODO also implement the single point discrete optimization 
 			//for little var counts for improved performance
 			// if we only have 2 fields we can simply swap
-			return getCrossoverMatrix(parents);
-			
-		}
-
-		return matrix;
-
+		} while (checkClones && isClone(matrix));
 	}
 
 	@Override
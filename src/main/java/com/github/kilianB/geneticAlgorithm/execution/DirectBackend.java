@@ -0,0 +1,39 @@
+package com.github.kilianB.geneticAlgorithm.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Executes all tasks sequentially on the calling thread. Suitable if the
+ * application already runs many genetic algorithms in parallel or if the
+ * fitness function is not thread safe.
+ *
+ * @author Kilian
+ */
+public class DirectBackend implements ExecutionBackend {
+
+	@Override
+	public <T> List<T> invokeAll(List<? extends Callable<T>> tasks) throws ExecutionException {
+		List<T> results = new ArrayList<>(tasks.size());
+		for (Callable<T> task : tasks) {
+			try {
+				results.add(task.call());
+			} catch (Exception e) {
+				throw new ExecutionException(e);
+			}
+		}
+		return results;
+	}
+
+	@Override
+	public int parallelism() {
+		return 1;
+	}
+
+	@Override
+	public String toString() {
+		return "DirectBackend";
+	}
+}
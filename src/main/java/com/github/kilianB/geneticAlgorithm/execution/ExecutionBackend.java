@@ -0,0 +1,41 @@
+package com.github.kilianB.geneticAlgorithm.execution;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Executes the work of the genetic algorithm. Sub populations (islands) are
+ * advanced as one task each, individuals may additionally be evaluated in
+ * parallel within a task. Both levels share the same backend, tasks may
+ * therefore submit nested tasks and wait for them without risking a deadlock
+ * or oversubscribing the machine.
+ *
+ * <p>
+ * A backend can be shared by multiple genetic algorithms. Backends owning
+ * threads have to be closed by the application once they are not required
+ * anymore.
+ *
+ * @author Kilian
+ * @see com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.IBuildStage#withExecutionBackend(ExecutionBackend)
+ */
+public interface ExecutionBackend {
+
+	/**
+	 * Execute the tasks and wait for all of them to complete. May be called from
+	 * within a task executed by this backend.
+	 *
+	 * @param <T>   the result type of the tasks
+	 * @param tasks the tasks to execute
+	 * @return the results of the tasks in the order of the tasks
+	 * @throws InterruptedException if interrupted while waiting
+	 * @throws ExecutionException   if a task threw an exception
+	 */
+	<T> List<T> invokeAll(List<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException;
+
+	/**
+	 * @return the number of tasks which are executed concurrently. Used to decide
+	 *         into how many tasks work is split
+	 */
+	int parallelism();
+}
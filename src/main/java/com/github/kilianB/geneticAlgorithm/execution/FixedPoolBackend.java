@@ -0,0 +1,80 @@
+package com.github.kilianB.geneticAlgorithm.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+import com.github.kilianB.concurrency.NamedThreadFactory;
+
+/**
+ * Executes tasks in a pool with a fixed number of threads. The calling thread
+ * executes all tasks which were not picked up by the pool yet before waiting
+ * for the remaining ones, therefore tasks may submit nested tasks even if
+ * every pool thread is busy.
+ *
+ * <p>
+ * The backend owns its threads and has to be closed once it is not required
+ * anymore.
+ *
+ * @author Kilian
+ */
+public class FixedPoolBackend implements ExecutionBackend, AutoCloseable {
+
+	private final ExecutorService pool;
+	private final int threads;
+
+	/**
+	 * @param threads the number of threads of the pool
+	 */
+	public FixedPoolBackend(int threads) {
+		if (threads <= 0) {
+			throw new IllegalArgumentException("Thread count has to be positive. Actual: " + threads);
+		}
+		this.threads = threads;
+		pool = Executors.newFixedThreadPool(threads, new NamedThreadFactory("Genetic Algorithm"));
+	}
+
+	@Override
+	public <T> List<T> invokeAll(List<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+		List<FutureTask<T>> futures = new ArrayList<>(tasks.size());
+		for (int i = 0; i < tasks.size(); i++) {
+			FutureTask<T> future = new FutureTask<>(tasks.get(i));
+			futures.add(future);
+			// The calling thread starts with the first task
+			if (i > 0) {
+				pool.execute(future);
+			}
+		}
+		// Running a task which was already started or finished is a no-op
+		for (FutureTask<T> future : futures) {
+			future.run();
+		}
+		List<T> results = new ArrayList<>(tasks.size());
+		for (FutureTask<T> future : futures) {
+			results.add(future.get());
+		}
+		return results;
+	}
+
+	@Override
+	public int parallelism() {
+		return threads;
+	}
+
+	/**
+	 * Shut down the pool. Tasks already submitted are completed.
+	 */
+	@Override
+	public void close() {
+		pool.shutdown();
+	}
+
+	@Override
+	public String toString() {
+		return "FixedPoolBackend [threads=" + threads + "]";
+	}
+}
@@ -0,0 +1,93 @@
+package com.github.kilianB.geneticAlgorithm.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Executes tasks in a {@link ForkJoinPool}. Threads waiting for nested tasks
+ * help executing them, allowing island and evaluation level parallelism to be
+ * combined without additional threads.
+ *
+ * <p>
+ * The default backend of the genetic algorithm uses a pool shared by all
+ * genetic algorithms with one thread per processor. The common pool is not used
+ * as default: fitness functions would compete with parallel streams of the
+ * application, and depending on the JVM its workers discard thread local state
+ * such as {@link com.github.kilianB.geneticAlgorithm.prototypes.EvaluationContext}
+ * after every task.
+ *
+ * @author Kilian
+ */
+public class ForkJoinBackend implements ExecutionBackend {
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Execute tasks in the pool shared by all genetic algorithms. Its threads are
+	 * daemon threads and terminate when idle.
+	 */
+	public ForkJoinBackend() {
+		this(SharedPool.POOL);
+	}
+
+	/**
+	 * @param pool the pool to execute tasks in. Not shut down by the backend
+	 */
+	public ForkJoinBackend(ForkJoinPool pool) {
+		if (pool == null) {
+			throw new IllegalArgumentException("Pool may not be null");
+		}
+		this.pool = pool;
+	}
+
+	@Override
+	public <T> List<T> invokeAll(List<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+		List<ForkJoinTask<T>> forked = new ArrayList<>(tasks.size());
+		// Nested calls fork into the work queue of the current worker
+		boolean nested = ForkJoinTask.getPool() == pool;
+		for (Callable<T> task : tasks) {
+			ForkJoinTask<T> adapted = ForkJoinTask.adapt(task);
+			forked.add(nested ? adapted.fork() : pool.submit(adapted));
+		}
+		List<T> results = new ArrayList<>(tasks.size());
+		for (ForkJoinTask<T> task : forked) {
+			// Joining lets workers execute pending tasks instead of blocking
+			results.add(nested ? join(task) : task.get());
+		}
+		return results;
+	}
+
+	private static <T> T join(ForkJoinTask<T> task) throws ExecutionException {
+		try {
+			return task.join();
+		} catch (RuntimeException e) {
+			throw new ExecutionException(e.getCause() != null ? e.getCause() : e);
+		}
+	}
+
+	@Override
+	public int parallelism() {
+		return pool.getParallelism();
+	}
+
+	/**
+	 * @return the pool tasks are executed in
+	 */
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/** Lazily created on first use */
+	private static final class SharedPool {
+		private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	}
+
+	@Override
+	public String toString() {
+		return "ForkJoinBackend [parallelism=" + parallelism() + "]";
+	}
+}
@@ -0,0 +1,526 @@
+package com.github.kilianB.geneticAlgorithm.execution;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
+
+import com.github.kilianB.geneticAlgorithm.prototypes.BatchFitness;
+import com.github.kilianB.geneticAlgorithm.prototypes.BitGenome;
+
+/**
+ * Fitness function delegating the evaluation to a pool of long lived worker
+ * processes, e.g. a native simulator. Each worker is started once and receives
+ * genomes over its standard input, amortizing the start up cost over all
+ * evaluations of the run.
+ *
+ * <p>
+ * Line protocol: for every genome the evaluator writes one line containing the
+ * genes separated by a single space and terminated by {@code \n}. The worker
+ * answers with one line per genome, in the same order, containing the fitness
+ * as a decimal number. Standard error of the workers is inherited. Closing
+ * standard input signals the worker to exit.
+ *
+ * <pre>
+ * try (var evaluator = ProcessEvaluator.ofDoubles(List.of("./simulator"), 8)) {
+ * 	var prototype = new DoublePrototype(range, evaluator);
+ * 	...
+ * }
+ * </pre>
+ *
+ * <p>
+ * Workers which exit, answer garbage or exceed the timeout are killed and
+ * restarted on the next request, the genome is retried. If all attempts fail
+ * the failure fitness is returned, or an {@link IllegalStateException} thrown
+ * if none is set. The evaluator is thread safe, a genome occupies one worker
+ * and concurrent evaluations beyond the worker count wait for a free worker.
+ * Combine it with parallel evaluation of the genetic algorithm to keep all
+ * workers busy.
+ *
+ * <p>
+ * The evaluator is a {@link BatchFitness}. If the genetic algorithm evaluates
+ * offspring in parallel, the offspring of each sub population are passed to
+ * {@link #applyAll(List)} and streamed to all idle workers at once. Otherwise
+ * the genetic algorithm evaluates one genome at a time through
+ * {@link #applyAsDouble(Object)}.
+ *
+ * @author Kilian
+ * @param <T> the genome type
+ */
+public class ProcessEvaluator<T> implements BatchFitness<T>, AutoCloseable {
+
+	private static final Logger LOGGER = Logger.getLogger(ProcessEvaluator.class.getName());
+
+	/** Marks the end of the output of a worker. Compared by identity */
+	private static final String EOF = new String("EOF");
+
+	private final List<String> command;
+	private final BiConsumer<? super T, StringBuilder> encoder;
+
+	private final List<Worker> workers;
+	private final BlockingQueue<Worker> idle;
+
+	private long timeoutNanos = TimeUnit.SECONDS.toNanos(60);
+	private int maxAttempts = 2;
+	private double failureFitness = Double.NaN;
+
+	private volatile boolean closed;
+
+	private final LongAdder evaluations = new LongAdder();
+	private final LongAdder starts = new LongAdder();
+	private final LongAdder crashes = new LongAdder();
+	private final LongAdder timeouts = new LongAdder();
+
+	/**
+	 * Workers are started lazily on first use.
+	 *
+	 * @param command     the command starting a worker process
+	 * @param workerCount the number of worker processes
+	 * @param encoder     appends the genes of a genome to the request line. Must
+	 *                    not append line breaks
+	 */
+	public ProcessEvaluator(List<String> command, int workerCount, BiConsumer<? super T, StringBuilder> encoder) {
+		if (command == null || command.isEmpty()) {
+			throw new IllegalArgumentException("Command may not be empty");
+		}
+		if (workerCount <= 0) {
+			throw new IllegalArgumentException("Worker count has to be positive. Actual: " + workerCount);
+		}
+		if (encoder == null) {
+			throw new IllegalArgumentException("Encoder may not be null");
+		}
+		this.command = List.copyOf(command);
+		this.encoder = encoder;
+		workers = new ArrayList<>(workerCount);
+		for (int i = 0; i < workerCount; i++) {
+			workers.add(new Worker());
+		}
+		idle = new LinkedBlockingQueue<>(workers);
+	}
+
+	/**
+	 * @param command     the command starting a worker process
+	 * @param workerCount the number of worker processes
+	 * @return an evaluator for double genomes
+	 */
+	public static ProcessEvaluator<double[]> ofDoubles(List<String> command, int workerCount) {
+		return new ProcessEvaluator<>(command, workerCount, (genes, line) -> {
+			for (int i = 0; i < genes.length; i++) {
+				if (i > 0) {
+					line.append(' ');
+				}
+				line.append(genes[i]);
+			}
+		});
+	}
+
+	/**
+	 * @param command     the command starting a worker process
+	 * @param workerCount the number of worker processes
+	 * @return an evaluator for int and permutation genomes
+	 */
+	public static ProcessEvaluator<int[]> ofInts(List<String> command, int workerCount) {
+		return new ProcessEvaluator<>(command, workerCount, (genes, line) -> {
+			for (int i = 0; i < genes.length; i++) {
+				if (i > 0) {
+					line.append(' ');
+				}
+				line.append(genes[i]);
+			}
+		});
+	}
+
+	/**
+	 * @param command     the command starting a worker process
+	 * @param workerCount the number of worker processes
+	 * @return an evaluator for boolean genomes. Genes are encoded as 0 and 1
+	 */
+	public static ProcessEvaluator<boolean[]> ofBooleans(List<String> command, int workerCount) {
+		return new ProcessEvaluator<>(command, workerCount, (genes, line) -> {
+			for (int i = 0; i < genes.length; i++) {
+				if (i > 0) {
+					line.append(' ');
+				}
+				line.append(genes[i] ? '1' : '0');
+			}
+		});
+	}
+
+	/**
+	 * @param command     the command starting a worker process
+	 * @param workerCount the number of worker processes
+	 * @return an evaluator for bit genomes. Genes are encoded as 0 and 1
+	 */
+	public static ProcessEvaluator<BitGenome> ofBits(List<String> command, int workerCount) {
+		return new ProcessEvaluator<>(command, workerCount, (genes, line) -> {
+			for (int i = 0; i < genes.length(); i++) {
+				if (i > 0) {
+					line.append(' ');
+				}
+				line.append(genes.get(i) ? '1' : '0');
+			}
+		});
+	}
+
+	/**
+	 * Set the time a worker may take to answer a single genome before it is
+	 * killed.
+	 *
+	 * <p>
+	 * <b>Default Value:</b> 60 seconds
+	 * </p>
+	 *
+	 * @param timeout the timeout
+	 * @param unit    the unit of the timeout
+	 * @return this evaluator
+	 */
+	public ProcessEvaluator<T> withTimeout(long timeout, TimeUnit unit) {
+		if (timeout <= 0) {
+			throw new IllegalArgumentException("Timeout has to be positive. Actual: " + timeout);
+		}
+		this.timeoutNanos = unit.toNanos(timeout);
+		return this;
+	}
+
+	/**
+	 * Set how often a genome is sent to a (restarted) worker before the
+	 * evaluation is considered failed.
+	 *
+	 * <p>
+	 * <b>Default Value:</b> 2
+	 * </p>
+	 *
+	 * @param maxAttempts the number of attempts per genome
+	 * @return this evaluator
+	 */
+	public ProcessEvaluator<T> withMaxAttempts(int maxAttempts) {
+		if (maxAttempts <= 0) {
+			throw new IllegalArgumentException("Max attempts has to be positive. Actual: " + maxAttempts);
+		}
+		this.maxAttempts = maxAttempts;
+		return this;
+	}
+
+	/**
+	 * Set the fitness of genomes whose evaluation failed in all attempts, e.g.
+	 * because the genome crashes the simulator.
+	 *
+	 * <p>
+	 * <b>Default Value:</b> none, an {@link IllegalStateException} is thrown
+	 * </p>
+	 *
+	 * @param failureFitness the fitness of failed genomes
+	 * @return this evaluator
+	 */
+	public ProcessEvaluator<T> withFailureFitness(double failureFitness) {
+		if (Double.isNaN(failureFitness)) {
+			throw new IllegalArgumentException("Failure fitness may not be NaN");
+		}
+		this.failureFitness = failureFitness;
+		return this;
+	}
+
+	@Override
+	public double applyAsDouble(T genes) {
+		String line = encode(genes);
+		Worker worker = borrow();
+		boolean answered = false;
+		try {
+			double fitness = evaluate(worker, line);
+			answered = true;
+			return fitness;
+		} finally {
+			// An unread answer would be returned to the next caller
+			if (!answered) {
+				worker.kill();
+			}
+			idle.add(worker);
+		}
+	}
+
+	/**
+	 * Evaluate a batch of genomes. The batch is split across all idle workers,
+	 * requests are streamed to every worker before the answers are collected.
+	 *
+	 * @param genomes the genomes to evaluate
+	 * @return the fitness values in the order of the genomes
+	 */
+	@Override
+	public double[] applyAll(List<? extends T> genomes) {
+		double[] fitness = new double[genomes.size()];
+		if (genomes.isEmpty()) {
+			return fitness;
+		}
+		String[] lines = new String[genomes.size()];
+		for (int i = 0; i < lines.length; i++) {
+			lines[i] = encode(genomes.get(i));
+		}
+
+		List<Worker> borrowed = new ArrayList<>();
+		borrowed.add(borrow());
+		Worker additional;
+		while (borrowed.size() < lines.length && (additional = idle.poll()) != null) {
+			borrowed.add(additional);
+		}
+		int stride = borrowed.size();
+		// First index per worker which has not been answered yet
+		int[] next = new int[stride];
+		try {
+			for (int w = 0; w < stride; w++) {
+				next[w] = w;
+				try {
+					Worker worker = borrowed.get(w);
+					worker.ensureStarted();
+					for (int i = w; i < lines.length; i += stride) {
+						worker.send(lines[i]);
+					}
+					worker.flush();
+				} catch (IOException e) {
+					crashes.increment();
+					borrowed.get(w).kill();
+				}
+			}
+			for (int w = 0; w < stride; w++) {
+				Worker worker = borrowed.get(w);
+				try {
+					for (; next[w] < lines.length && worker.isRunning(); next[w] += stride) {
+						fitness[next[w]] = worker.receive();
+						evaluations.increment();
+					}
+				} catch (WorkerFailure e) {
+					worker.kill();
+				}
+				// Retry the rest of the batch one by one
+				for (; next[w] < lines.length; next[w] += stride) {
+					fitness[next[w]] = evaluate(worker, lines[next[w]]);
+				}
+			}
+		} finally {
+			for (int w = 0; w < stride; w++) {
+				// Workers which still owe answers would hand them to the next caller
+				if (next[w] < lines.length) {
+					borrowed.get(w).kill();
+				}
+			}
+			idle.addAll(borrowed);
+		}
+		return fitness;
+	}
+
+	private String encode(T genes) {
+		StringBuilder line = new StringBuilder();
+		encoder.accept(genes, line);
+		return line.toString();
+	}
+
+	private Worker borrow() {
+		if (closed) {
+			throw new IllegalStateException("Evaluator already closed");
+		}
+		try {
+			return idle.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a worker", e);
+		}
+	}
+
+	/**
+	 * Evaluate a single genome on the borrowed worker, restarting it on failure
+	 */
+	private double evaluate(Worker worker, String line) {
+		WorkerFailure failure = null;
+		for (int attempt = 0; attempt < maxAttempts; attempt++) {
+			try {
+				worker.ensureStarted();
+				worker.send(line);
+				worker.flush();
+				double fitness = worker.receive();
+				evaluations.increment();
+				return fitness;
+			} catch (IOException e) {
+				crashes.increment();
+				failure = new WorkerFailure("Worker not accepting input", e);
+			} catch (WorkerFailure e) {
+				failure = e;
+			}
+			worker.kill();
+			LOGGER.fine("Worker failed. Attempt " + (attempt + 1) + " of " + maxAttempts + ": " + failure.getMessage());
+		}
+		if (!Double.isNaN(failureFitness)) {
+			return failureFitness;
+		}
+		throw new IllegalStateException("Evaluation failed after " + maxAttempts + " attempts. Genome: " + line,
+				failure);
+	}
+
+	/**
+	 * @return the number of genomes evaluated successfully
+	 */
+	public long getEvaluationCount() {
+		return evaluations.sum();
+	}
+
+	/**
+	 * @return the number of worker processes started including restarts
+	 */
+	public long getStartCount() {
+		return starts.sum();
+	}
+
+	/**
+	 * @return the number of times a worker exited, closed its pipes or answered
+	 *         with a malformed line
+	 */
+	public long getCrashCount() {
+		return crashes.sum();
+	}
+
+	/**
+	 * @return the number of times a worker exceeded the timeout
+	 */
+	public long getTimeoutCount() {
+		return timeouts.sum();
+	}
+
+	/**
+	 * Close the standard input of all workers and kill those not exiting within
+	 * a second. Evaluations must not be in progress.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		for (Worker worker : workers) {
+			worker.shutdown();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ProcessEvaluator [command=" + command + ", workers=" + workers.size() + ", evaluations="
+				+ getEvaluationCount() + ", starts=" + getStartCount() + ", crashes=" + getCrashCount()
+				+ ", timeouts=" + getTimeoutCount() + "]";
+	}
+
+	/**
+	 * A single worker process. Only accessed by the thread which borrowed it, the
+	 * output is consumed by a reader thread allowing to wait with a timeout.
+	 */
+	private final class Worker {
+
+		private Process process;
+		private BufferedWriter input;
+		private BlockingQueue<String> output;
+
+		boolean isRunning() {
+			return process != null;
+		}
+
+		void ensureStarted() throws IOException {
+			if (process != null) {
+				return;
+			}
+			Process started = new ProcessBuilder(command).redirectError(Redirect.INHERIT).start();
+			starts.increment();
+			BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+			Thread reader = new Thread(() -> {
+				try (BufferedReader stdout = new BufferedReader(
+						new InputStreamReader(started.getInputStream(), StandardCharsets.US_ASCII))) {
+					String line;
+					while ((line = stdout.readLine()) != null) {
+						lines.add(line);
+					}
+				} catch (IOException e) {
+					// Treated as end of output
+				}
+				lines.add(EOF);
+			}, "Process Evaluator Reader");
+			reader.setDaemon(true);
+			reader.start();
+			process = started;
+			output = lines;
+			input = new BufferedWriter(new OutputStreamWriter(started.getOutputStream(), StandardCharsets.US_ASCII));
+		}
+
+		void send(String line) throws IOException {
+			input.write(line);
+			input.write('\n');
+		}
+
+		void flush() throws IOException {
+			input.flush();
+		}
+
+		/**
+		 * Callers have to kill the worker if this method does not return normally,
+		 * the answer is still outstanding otherwise
+		 */
+		double receive() throws WorkerFailure {
+			String line;
+			try {
+				line = output.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for a worker", e);
+			}
+			if (line == null) {
+				timeouts.increment();
+				throw new WorkerFailure("Timeout exceeded", null);
+			}
+			if (line == EOF) {
+				crashes.increment();
+				throw new WorkerFailure("Worker exited", null);
+			}
+			try {
+				return Double.parseDouble(line.trim());
+			} catch (NumberFormatException e) {
+				crashes.increment();
+				throw new WorkerFailure("Malformed answer: " + line, e);
+			}
+		}
+
+		void kill() {
+			if (process != null) {
+				process.destroyForcibly();
+				process = null;
+			}
+		}
+
+		void shutdown() {
+			if (process == null) {
+				return;
+			}
+			try {
+				input.close();
+				if (!process.waitFor(1, TimeUnit.SECONDS)) {
+					process.destroyForcibly();
+				}
+			} catch (IOException e) {
+				process.destroyForcibly();
+			} catch (InterruptedException e) {
+				process.destroyForcibly();
+				Thread.currentThread().interrupt();
+			}
+			process = null;
+		}
+	}
+
+	private static final class WorkerFailure extends Exception {
+		private static final long serialVersionUID = 1L;
+
+		WorkerFailure(String message, Throwable cause) {
+			super(message, cause);
+		}
+	}
+}
@@ -0,0 +1,187 @@
+package com.github.kilianB.geneticAlgorithm.execution;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import com.github.kilianB.geneticAlgorithm.prototypes.EvaluationContext;
+
+/**
+ * Executes every task on a thread of its own, limiting the number of tasks in
+ * flight. Intended for fitness functions blocking on I/O, e.g. calling a
+ * simulator process or querying a database, which would occupy a pool thread
+ * for most of their runtime.
+ *
+ * <p>
+ * If the JVM supports virtual threads (Java 21+) tasks run on virtual threads
+ * and thousands of blocking evaluations may be in flight while only a few
+ * carrier threads exist. On older JVMs the backend falls back to short lived
+ * daemon platform threads, which is functionally equivalent but limits the
+ * sensible concurrency.
+ *
+ * <p>
+ * The backend is usually only used for fitness evaluation while sub
+ * populations are advanced by the CPU bound execution backend. The genetic
+ * algorithm splits the evaluation into as many tasks as the concurrency limit,
+ * usually one task per offspring.
+ *
+ * <p>
+ * Thread local state does not survive a task. The backend therefore keeps one
+ * {@link EvaluationContext} per permit and binds it to the thread executing
+ * the task, scratch state held in the context is reused across tasks. Other
+ * thread local state is created again for every task, e.g. the random number
+ * generator of the genetic algorithm. Fitness functions drawing random numbers
+ * should keep their generator in the context.
+ *
+ * @author Kilian
+ * @see com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.IBuildStage#withEvaluationBackend(ExecutionBackend)
+ */
+public class VirtualThreadBackend implements ExecutionBackend {
+
+	private static final Logger LOGGER = Logger.getLogger(VirtualThreadBackend.class.getName());
+
+	/** Virtual thread factory of the JVM or null if not supported */
+	private static final ThreadFactory VIRTUAL_FACTORY = lookupVirtualFactory();
+
+	private static final AtomicLong PLATFORM_THREAD_ID = new AtomicLong();
+
+	/** Permits held by the task executed on the current thread */
+	private static final ThreadLocal<Semaphore> HOLDING = new ThreadLocal<>();
+
+	private final ThreadFactory factory;
+	private final Semaphore permits;
+	private final int maxConcurrency;
+
+	/**
+	 * Contexts of finished tasks. Tasks hold a permit while running, about one
+	 * context per permit is created
+	 */
+	private final Queue<EvaluationContext> contexts = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * @param maxConcurrency the maximum number of tasks executed at the same time
+	 */
+	public VirtualThreadBackend(int maxConcurrency) {
+		this(maxConcurrency, true);
+	}
+
+	/**
+	 * @param maxConcurrency the maximum number of tasks executed at the same time
+	 * @param preferVirtual  if false platform threads are used even if virtual
+	 *                       threads are supported
+	 */
+	public VirtualThreadBackend(int maxConcurrency, boolean preferVirtual) {
+		if (maxConcurrency <= 0) {
+			throw new IllegalArgumentException("Max concurrency has to be positive. Actual: " + maxConcurrency);
+		}
+		this.maxConcurrency = maxConcurrency;
+		this.permits = new Semaphore(maxConcurrency);
+		this.factory = preferVirtual && VIRTUAL_FACTORY != null ? VIRTUAL_FACTORY : r -> {
+			Thread thread = new Thread(r, "Genetic Algorithm Evaluation-" + PLATFORM_THREAD_ID.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * Resolve {@code Thread.ofVirtual().name(..).factory()} reflectively, keeping
+	 * the library compatible with JVMs prior to virtual threads.
+	 *
+	 * @return the factory or null if virtual threads are not available
+	 */
+	private static ThreadFactory lookupVirtualFactory() {
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder,
+					"Genetic Algorithm Evaluation-", 0L);
+			Method factory = builderClass.getMethod("factory");
+			return (ThreadFactory) factory.invoke(builder);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			LOGGER.fine("Virtual threads not supported. Use platform threads " + e);
+			return null;
+		}
+	}
+
+	@Override
+	public <T> List<T> invokeAll(List<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+		// A task waiting for nested tasks gives up its permit while waiting
+		boolean nested = HOLDING.get() == permits;
+		if (nested) {
+			permits.release();
+		}
+		try {
+			List<FutureTask<T>> futures = new ArrayList<>(tasks.size());
+			for (Callable<T> task : tasks) {
+				permits.acquire();
+				FutureTask<T> future = new FutureTask<>(() -> {
+					HOLDING.set(permits);
+					EvaluationContext pooled = contexts.poll();
+					EvaluationContext context = pooled != null ? pooled : EvaluationContext.create();
+					EvaluationContext.bind(context);
+					try {
+						return task.call();
+					} finally {
+						EvaluationContext.bind(null);
+						contexts.add(context);
+						HOLDING.remove();
+						permits.release();
+					}
+				});
+				futures.add(future);
+				try {
+					factory.newThread(future).start();
+				} catch (RuntimeException | Error e) {
+					permits.release();
+					throw e;
+				}
+			}
+			List<T> results = new ArrayList<>(tasks.size());
+			for (FutureTask<T> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			if (nested) {
+				permits.acquireUninterruptibly();
+			}
+		}
+	}
+
+	/**
+	 * @return the maximum number of tasks in flight. Work is split into as many
+	 *         tasks, evaluations are therefore not batched
+	 */
+	@Override
+	public int parallelism() {
+		return maxConcurrency;
+	}
+
+	/**
+	 * @return true if tasks are executed on virtual threads
+	 */
+	public boolean isVirtual() {
+		return factory == VIRTUAL_FACTORY;
+	}
+
+	/**
+	 * @return true if the JVM supports virtual threads
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return VIRTUAL_FACTORY != null;
+	}
+
+	@Override
+	public String toString() {
+		return "VirtualThreadBackend [maxConcurrency=" + maxConcurrency + ", virtual=" + isVirtual() + "]";
+	}
+}
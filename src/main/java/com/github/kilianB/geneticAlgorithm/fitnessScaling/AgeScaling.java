@@ -1,19 +1,28 @@
 package com.github.kilianB.geneticAlgorithm.fitnessScaling;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.function.BiFunction;
 
 import com.github.kilianB.geneticAlgorithm.Individual;
 
 /**
+ * Age scaling adjusts the scaled fitness of an underlying scaling strategy by
+ * the age of the individuals. Individuals are ranked by their birth generation
+ * with the newest individuals receiving rank 1. Individuals born in the same
+ * generation share a rank. The scaled fitness is multiplied by
+ * 1/Math.sqrt(ageRank) and normalized again.
  * 
  * @author Kilian
  *
  */
 public class AgeScaling implements FitnessScalingStrategy {
 
+	/**
+	 * Birth ranges up to this multiple of the population size are ranked via
+	 * counting sort. Wider ranges fall back to sorting.
+	 */
+	private static final int MAX_BUCKET_FACTOR = 4;
+
 	FitnessScalingStrategy scaler;
 	BiFunction<Integer, Double, Double> customAgeScaler;
 
@@ -22,6 +31,7 @@ public class AgeScaling implements FitnessScalingStrategy {
 	}
 
 	public AgeScaling(BiFunction<Integer, Double, Double> scalingFunction) {
+		this.scaler = new RankScaling();
 		customAgeScaler = scalingFunction;
 	}
 
@@ -31,82 +41,111 @@ public class AgeScaling implements FitnessScalingStrategy {
 
 	@Override
 	public ScaledFitness[] scaleFitness(Individual[] population, int parentsNeeded) {
+		double[] scaledFitness = new double[population.length];
+		scaleFitness(population, parentsNeeded, scaledFitness);
+		return ScaledFitness.of(population, scaledFitness);
+	}
 
-		ScaledFitness[] scaledFitness = scaler.scaleFitness(population, parentsNeeded);
+	@Override
+	public void scaleFitness(Individual[] population, int parentsNeeded, double[] target) {
 
-		double newScaledFitness[] = new double[scaledFitness.length];
+		//The age factor is applied in place
+		scaler.scaleFitness(population, parentsNeeded, target);
 
 		double sumOfFitness = 0;
 		
 		if (customAgeScaler != null) {
 			// Do some user stuff
-			for (int i = 0; i < scaledFitness.length; i++) {
-				newScaledFitness[i] = customAgeScaler.apply(scaledFitness[i].getIndividual().getBirth(),
-						scaledFitness[i].getScaledFitness());
-				sumOfFitness += newScaledFitness[i];
+			for (int i = 0; i < population.length; i++) {
+				target[i] = customAgeScaler.apply(population[i].getBirth(), target[i]);
+				sumOfFitness += target[i];
 			}
 		}else {
 			
-			//Find the age range of all individuals
-//			int minAge = Integer.MAX_VALUE;
-//			int maxAge = Integer.MIN_VALUE;
-//			
-//			for(var s : scaledFitness) {
-//				int age = s.getIndividual().getAge();
-//				if(minAge < age) {
-//					minAge = age;
-//				}
-//				if(maxAge > age) {
-//					maxAge = age;
-//				}
-			
-			//Lets simply use the sqrt. due to normalization at the end initial scaling
-			//might not even matter
-			
-			//Scale the individuals age 
-			
-			
 			//We can't simply scale age like this or old individuals will never ever be considered. Thats
 			//Why a simple sqrt will lead to elite parent's not contributing to repopulation at all.
 			//Go for the analog rank scaling
-		
-			//TODO SLOW!
-			ArrayList<Individual> sortedByAge =  new ArrayList<>(Arrays.asList(population));
-		
-			sortedByAge.sort((ind0, ind1)->{
-				return Integer.compare(ind0.getBirth(), ind1.getBirth());
-			});
-			
-			
+			int[] ageRank = ageRanks(population);
 			
-			
-			for (int i = 0; i < scaledFitness.length; i++) {
-//				newScaledFitness[i] = (Math.sqrt(scaledFitness[i].getIndividual().getAge())) 
-//						* scaledFitness[i].getScaledFitness();
-//				
-				Individual ind = scaledFitness[i].getIndividual();
-				//0 index is the oldest
-				
+			for (int i = 0; i < population.length; i++) {
 				//Give the newest one a higher weight
-				int ageRank = (sortedByAge.size() - Collections.binarySearch(sortedByAge, ind)+1);
-				
+				target[i] =  target[i]* 1/Math.sqrt(ageRank[i]);
 				
-				
-				newScaledFitness[i] =  scaledFitness[i].getScaledFitness()* 1/Math.sqrt(ageRank);
-				
-				sumOfFitness += newScaledFitness[i];
+				sumOfFitness += target[i];
 			}
 		}
 		
 		//Normalize back to the the sum of parentsNeeded
 		double scaleFactor = parentsNeeded / sumOfFitness;
 		
-		var result = new ScaledFitness[scaledFitness.length];
-		for (int i = 0; i < scaledFitness.length; i++) {
-			result[i] = new ScaledFitness(newScaledFitness[i] * scaleFactor,scaledFitness[i].getIndividual());
+		for (int i = 0; i < population.length; i++) {
+			target[i] *= scaleFactor;
 		}
-		
-		return result;
+	}
+
+	/**
+	 * Compute the age rank of each individual. The newest individuals are ranked 1.
+	 * Individuals born in the same generation share the same rank while the next
+	 * older generation skips the shared ranks, equal to the handling of ties in
+	 * {@link RankScaling}.
+	 * 
+	 * <p>
+	 * Birth values span a small range bounded by the number of generations.
+	 * Therefore the ranks are usually computed in linear time by counting the
+	 * individuals born in each generation.
+	 * 
+	 * @param population the population
+	 * @return the age rank of the individual at the same index
+	 */
+	static int[] ageRanks(Individual[] population) {
+		int n = population.length;
+		int[] birth = new int[n];
+		int minBirth = Integer.MAX_VALUE;
+		int maxBirth = Integer.MIN_VALUE;
+		for (int i = 0; i < n; i++) {
+			birth[i] = population[i].getBirth();
+			minBirth = Math.min(minBirth, birth[i]);
+			maxBirth = Math.max(maxBirth, birth[i]);
+		}
+
+		int[] ageRank = new int[n];
+		long range = (long) maxBirth - minBirth + 1;
+
+		if (range <= (long) MAX_BUCKET_FACTOR * n + 1) {
+			//Count individuals per generation
+			int[] younger = new int[(int) range];
+			for (int b : birth) {
+				younger[b - minBirth]++;
+			}
+			//Turn the counts into the number of individuals born later
+			int bornLater = 0;
+			for (int j = younger.length - 1; j >= 0; j--) {
+				int count = younger[j];
+				younger[j] = bornLater;
+				bornLater += count;
+			}
+			for (int i = 0; i < n; i++) {
+				ageRank[i] = younger[birth[i] - minBirth] + 1;
+			}
+		} else {
+			int[] sorted = birth.clone();
+			Arrays.sort(sorted);
+			for (int i = 0; i < n; i++) {
+				//Index of the first individual born later
+				int low = 0;
+				int high = n;
+				while (low < high) {
+					int mid = (low + high) >>> 1;
+					if (sorted[mid] <= birth[i]) {
+						low = mid + 1;
+					} else {
+						high = mid;
+					}
+				}
+				ageRank[i] = n - low + 1;
+			}
+		}
+		return ageRank;
 	}
 
 	//TODO bi function doesn't redeclare hashcode or equals
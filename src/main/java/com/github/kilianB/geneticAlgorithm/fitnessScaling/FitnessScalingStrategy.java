@@ -16,6 +16,13 @@ import com.github.kilianB.geneticAlgorithm.Individual;
  * The sum of all adjusted fitness values = the the amount of individuals
  * selected per generation.
  * 
+ * <p>
+ * Besides the object based {@link #scaleFitness(Individual[], int)} a primitive
+ * variant writing into a caller supplied buffer is offered. The genetic
+ * algorithm uses the primitive variant to avoid allocating a wrapper object per
+ * individual each generation. Custom implementations only have to implement the
+ * object based method.
+ * 
  * @author Kilian
  */
 @FunctionalInterface
@@ -35,6 +42,31 @@ public interface FitnessScalingStrategy {
 	 */
 	public ScaledFitness[] scaleFitness(Individual[] population, int parentsNeeded);
 
+	/**
+	 * Calculate the scaled fitness of the supplied population and write it into
+	 * the target array. The scaled fitness at index i belongs to the individual at
+	 * index i of the population.
+	 * 
+	 * <p>
+	 * The default implementation delegates to
+	 * {@link #scaleFitness(Individual[], int)}. Implementations are encouraged to
+	 * override this method and compute the values without creating intermediate
+	 * objects.
+	 * 
+	 * @param population    A population sorted by it's fitness value
+	 * @param parentsNeeded the number of parents needed for the next generation.
+	 *                      The sum over the entire scaled fitness vector is exactly
+	 *                      this value.
+	 * @param target        the array to write the scaled fitness to. The array has
+	 *                      to be at least as long as the population.
+	 */
+	public default void scaleFitness(Individual[] population, int parentsNeeded, double[] target) {
+		ScaledFitness[] scaledFitness = scaleFitness(population, parentsNeeded);
+		for (int i = 0; i < scaledFitness.length; i++) {
+			target[i] = scaledFitness[i].getScaledFitness();
+		}
+	}
+
 	/**
 	 * Data class bundling a scaled fitness to it's individual
 	 * 
@@ -68,6 +100,45 @@ public interface FitnessScalingStrategy {
 		public String toString() {
 			return "ScaledFitness [scaledFitness=" + scaledFitness + ", individual=" + individual + "]";
 		}
+
+		/**
+		 * Bundle the individuals with their primitive scaled fitness values
+		 * 
+		 * @param population    the individuals
+		 * @param scaledFitness the scaled fitness of the individual at the same index
+		 * @return the scaled fitness objects
+		 */
+		public static ScaledFitness[] of(Individual[] population, double[] scaledFitness) {
+			ScaledFitness[] result = new ScaledFitness[population.length];
+			for (int i = 0; i < population.length; i++) {
+				result[i] = new ScaledFitness(scaledFitness[i], population[i]);
+			}
+			return result;
+		}
+
+		/**
+		 * @param scaledFitness the scaled fitness objects
+		 * @return the individuals in the same order
+		 */
+		public static Individual[] individuals(ScaledFitness[] scaledFitness) {
+			Individual[] result = new Individual[scaledFitness.length];
+			for (int i = 0; i < scaledFitness.length; i++) {
+				result[i] = scaledFitness[i].individual;
+			}
+			return result;
+		}
+
+		/**
+		 * @param scaledFitness the scaled fitness objects
+		 * @return the primitive scaled fitness values in the same order
+		 */
+		public static double[] scaledValues(ScaledFitness[] scaledFitness) {
+			double[] result = new double[scaledFitness.length];
+			for (int i = 0; i < scaledFitness.length; i++) {
+				result[i] = scaledFitness[i].scaledFitness;
+			}
+			return result;
+		}
 	}
 
 }
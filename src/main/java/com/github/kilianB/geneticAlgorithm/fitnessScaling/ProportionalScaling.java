@@ -1,57 +1,56 @@
 package com.github.kilianB.geneticAlgorithm.fitnessScaling;
 
-import java.util.HashSet;
-import java.util.Set;
-
 import com.github.kilianB.geneticAlgorithm.Individual;
 
 public class ProportionalScaling implements FitnessScalingStrategy{
 	
 	@Override
 	public ScaledFitness[] scaleFitness(Individual[] population, int parentsNeeded) {
-		
-		ScaledFitness[] scaledFitness = new ScaledFitness[population.length];
+		double[] scaledFitness = new double[population.length];
+		scaleFitness(population, parentsNeeded, scaledFitness);
+		return ScaledFitness.of(population, scaledFitness);
+	}
+
+	@Override
+	public void scaleFitness(Individual[] population, int parentsNeeded, double[] target) {
 		
 		//FIX 13.10 if the algorithm already has a fitness of 10 (e.g. during initial creation
 		//It is not cought by the stop criteria and we have to prevent a division by 0 exception
-		Set<Individual> zeroCandidates = new HashSet<>();
+		int zeroCount = 0;
 		
 		//Iteration is faster than streams
 		double fittnessSum = 0;
-		for(var individual : population) {
+		for(int i = 0; i < population.length; i++) {
 		
-			double fitness = individual.getFitness();
+			double fitness = population[i].getFitness();
 			
 			if(fitness == 0.0) {
-				zeroCandidates.add(individual);
+				zeroCount++;
+			}else {
+				fittnessSum += 1/fitness;
 			}
-			fittnessSum += 1/fitness;
+			//Remember the fitness to not query the individual again
+			target[i] = fitness;
 		}
 		
-		if(zeroCandidates.size() == 0 && Double.isInfinite(fittnessSum) || Double.isNaN(fittnessSum)) {
+		if(zeroCount == 0 && Double.isInfinite(fittnessSum) || Double.isNaN(fittnessSum)) {
 			throw new ArithmeticException("Fitness Sum Overflow. Proportional Scaling does not handle"
 					+ "huge fitness values well. Try to go with annother approach");
 		}
 		
 		
-		if(zeroCandidates.isEmpty()) {
+		if(zeroCount == 0) {
 			double scaleFactor = parentsNeeded/fittnessSum;
 			for(int i = 0; i < population.length; i++) {	
-				scaledFitness[i] = new ScaledFitness(scaleFactor* 1/population[i].getFitness(),population[i]);
+				target[i] = scaleFactor* 1/target[i];
 			}
 		}else {
-			int zeroCount = zeroCandidates.size();
+			//Individuals with a perfect fitness share all parent slots
+			double zeroShare = parentsNeeded / (double) zeroCount;
 			for(int i = 0; i < population.length; i++) {	
-				if(zeroCandidates.contains(population[i])) {
-					scaledFitness[i] = new ScaledFitness((1/zeroCount)*parentsNeeded,population[i]);
-				}else {
-					scaledFitness[i] = new ScaledFitness(0,population[i]);
-				}
+				target[i] = target[i] == 0.0 ? zeroShare : 0;
 			}
 		}
-		
-		
-		return scaledFitness;
 	}
 
 	@Override
@@ -10,14 +10,33 @@ import com.github.kilianB.geneticAlgorithm.Individual;
  * 
  * 1/Math.sqrt(rank)
  * 
+ * The weights of each rank are cached and only recomputed if a bigger population
+ * is encountered.
+ * 
  * @author Kilian
  *
  */
 public class RankScaling implements FitnessScalingStrategy {
 
+	/**
+	 * 1/Math.sqrt(rank) for rank 1 - n at index 0 - n-1. The same instance is shared
+	 * between the threads of all sub populations. The array is never altered after
+	 * publishing therefore a volatile reference is sufficient.
+	 */
+	private volatile double[] rankWeights = new double[0];
+
 	@Override
 	public ScaledFitness[] scaleFitness(Individual[] population, int parentsNeeded) {
-		
+		double[] scaledFitness = new double[population.length];
+		scaleFitness(population, parentsNeeded, scaledFitness);
+		return ScaledFitness.of(population, scaledFitness);
+	}
+
+	@Override
+	public void scaleFitness(Individual[] population, int parentsNeeded, double[] target) {
+
+		double[] weights = getRankWeights(population.length);
+
 		double scaleFactor = 0;
 		 
 		// total fitness scaling
@@ -25,27 +44,34 @@ public class RankScaling implements FitnessScalingStrategy {
 		//Fix if 2 individuals have the exact same fitness value give them the same rank
 		int curRank = 0;
 		double lastFitness = Double.MAX_VALUE;
-		double[] rawRank = new double[population.length];
 		for (int i = 0; i < population.length; i++) {
 			//No need for epsilon as the value is only calculated once!
 			double fitness = population[i].getFitness();
 			if(fitness != lastFitness) {
-				curRank = i+1;
+				curRank = i;
 			}
-			rawRank[i] = 1 / Math.sqrt(curRank);
-			scaleFactor += rawRank[i];
+			target[i] = weights[curRank];
+			scaleFactor += target[i];
 			lastFitness = fitness;
 		}
 
 		scaleFactor = parentsNeeded / scaleFactor;
 
-		ScaledFitness[] scaledFitness = new ScaledFitness[population.length];
-		
 		for (int i = 0; i < population.length; i++) {
-			scaledFitness[i] = new ScaledFitness(rawRank[i] * scaleFactor, population[i]);
+			target[i] *= scaleFactor;
 		}
+	}
 
-		return scaledFitness;
+	private double[] getRankWeights(int populationSize) {
+		double[] weights = rankWeights;
+		if (weights.length < populationSize) {
+			weights = new double[populationSize];
+			for (int i = 0; i < populationSize; i++) {
+				weights[i] = 1 / Math.sqrt(i + 1);
+			}
+			rankWeights = weights;
+		}
+		return weights;
 	}
 
 	@Override
@@ -37,23 +37,27 @@ public class TopScaling implements FitnessScalingStrategy {
 
 	@Override
 	public ScaledFitness[] scaleFitness(Individual[] population,int parentsNeeded) {
+		double[] scaledFitness = new double[population.length];
+		scaleFitness(population, parentsNeeded, scaledFitness);
+		return ScaledFitness.of(population, scaledFitness);
+	}
+
+	@Override
+	public void scaleFitness(Individual[] population, int parentsNeeded, double[] target) {
 
 		int topIndividualCount = Math.max(1,(int) Math.round(population.length * topPercentage));
 		double scaleFactor = parentsNeeded / (double) topIndividualCount;
 		
-		ScaledFitness[] scaledFitness = new ScaledFitness[population.length];
-
 		//TODO check if we really get the correct output for wired top scaling percentages
 		
 		for (int i = 0; i < population.length; i++) {
 
 			if (i < topIndividualCount) {
-				scaledFitness[i] = new ScaledFitness(scaleFactor, population[i]);
+				target[i] = scaleFactor;
 			} else {
-				scaledFitness[i] = new ScaledFitness(0d, population[i]);
+				target[i] = 0d;
 			}
 		}
-		return scaledFitness;
 	}
 
 	@Override
@@ -0,0 +1,188 @@
+package com.github.kilianB.geneticAlgorithm.migration.transport;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Exchanges migrants between processes on the same host through a shared
+ * memory mapped file. The file holds one slot per island. Each slot is written
+ * only by the process hosting the island and read by all others, a sequence
+ * counter per slot (seqlock) lets readers detect and skip torn reads without
+ * any locking across processes.
+ *
+ * <p>
+ * Only the newest migrants of an island are of interest, a slot is therefore
+ * overwritten on every send. Writers never wait for readers, a slow or dead
+ * process neither blocks nor corrupts the exchange, its slot simply stops being
+ * updated.
+ *
+ * <p>
+ * Slot layout: sequence (long), timestamp (long), generation (int), length
+ * (int), encoded migrants. The sequence is odd while the slot is written.
+ *
+ * @author Kilian
+ */
+public class MappedFileTransport implements MigrationTransport {
+
+	private static final long MAGIC = 0x44617277696E4D4CL; // "DarwinML"
+
+	private static final int HEADER = 16;
+	private static final int SLOT_HEADER = 24;
+
+	private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class,
+			ByteOrder.nativeOrder());
+
+	/** Attempts to read a consistent slot before falling back to the last batch */
+	private static final int READ_ATTEMPTS = 16;
+
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final int islandCount;
+	private final int capacity;
+	private final int slotSize;
+
+	/** Last consistent batch read per island and its sequence */
+	private final MigrantBatch[] latest;
+	private final long[] latestSequence;
+
+	/**
+	 * Open or create the shared file. All processes have to use the same island
+	 * count and capacity.
+	 *
+	 * @param file        the file shared by all processes
+	 * @param islandCount the total number of islands
+	 * @param capacity    the maximum size of the encoded migrants of an island in
+	 *                    bytes
+	 * @throws IOException if the file can't be mapped
+	 */
+	public MappedFileTransport(Path file, int islandCount, int capacity) throws IOException {
+		if (islandCount <= 0 || capacity <= 0) {
+			throw new IllegalArgumentException(
+					"Island count and capacity have to be positive. Actual: " + islandCount + " " + capacity);
+		}
+		this.islandCount = islandCount;
+		this.capacity = capacity;
+		// Keep sequence counters 8 byte aligned
+		this.slotSize = (SLOT_HEADER + capacity + 7) & ~7;
+		long size = HEADER + (long) slotSize * islandCount;
+		if (size > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Shared file exceeds 2 GB. Reduce the capacity");
+		}
+		latest = new MigrantBatch[islandCount];
+		latestSequence = new long[islandCount];
+
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		try {
+			buffer = channel.map(MapMode.READ_WRITE, 0, size);
+			buffer.order(ByteOrder.nativeOrder());
+			// Only one process may initialize the header
+			try (FileLock lock = channel.lock()) {
+				if ((long) LONGS.getVolatile(buffer, 0) != MAGIC) {
+					buffer.putInt(8, islandCount);
+					buffer.putInt(12, capacity);
+					LONGS.setVolatile(buffer, 0, MAGIC);
+				} else if (buffer.getInt(8) != islandCount || buffer.getInt(12) != capacity) {
+					throw new IllegalArgumentException("Shared file was created for " + buffer.getInt(8)
+							+ " islands with capacity " + buffer.getInt(12));
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	@Override
+	public synchronized void send(int island, int generation, byte[] migrants) {
+		if (migrants.length > capacity) {
+			throw new IllegalArgumentException(
+					"Migrants exceed the slot capacity. Size: " + migrants.length + " Capacity: " + capacity);
+		}
+		int slot = slot(island);
+		long sequence = (long) LONGS.getVolatile(buffer, slot);
+		// Round up in case a previous writer died while writing
+		sequence += sequence & 1;
+		LONGS.setVolatile(buffer, slot, sequence + 1);
+		// The odd sequence has to be visible before any content changes
+		VarHandle.storeStoreFence();
+		buffer.putLong(slot + 8, System.currentTimeMillis());
+		buffer.putInt(slot + 16, generation);
+		buffer.putInt(slot + 20, migrants.length);
+		ByteBuffer view = buffer.duplicate();
+		view.position(slot + SLOT_HEADER);
+		view.put(migrants);
+		LONGS.setRelease(buffer, slot, sequence + 2);
+	}
+
+	@Override
+	public synchronized MigrantBatch receive(int island) {
+		int slot = slot(island);
+		for (int attempt = 0; attempt < READ_ATTEMPTS; attempt++) {
+			long before = (long) LONGS.getAcquire(buffer, slot);
+			if (before == 0) {
+				return null;
+			}
+			if ((before & 1) != 0) {
+				Thread.onSpinWait();
+				continue;
+			}
+			if (before == latestSequence[island]) {
+				return latest[island];
+			}
+			long timestamp = buffer.getLong(slot + 8);
+			int generation = buffer.getInt(slot + 16);
+			int length = buffer.getInt(slot + 20);
+			if (length < 0 || length > capacity) {
+				continue;
+			}
+			byte[] migrants = new byte[length];
+			ByteBuffer view = buffer.duplicate();
+			view.position(slot + SLOT_HEADER);
+			view.get(migrants);
+			VarHandle.acquireFence();
+			if ((long) LONGS.getVolatile(buffer, slot) == before) {
+				latest[island] = new MigrantBatch(island, generation, migrants, timestamp);
+				latestSequence[island] = before;
+				return latest[island];
+			}
+		}
+		// The writer is busy, the previous batch is still valid
+		return latest[island];
+	}
+
+	private int slot(int island) {
+		if (island < 0 || island >= islandCount) {
+			throw new IllegalArgumentException(
+					"Island has to be in range [0 - " + islandCount + "). Actual: " + island);
+		}
+		return HEADER + island * slotSize;
+	}
+
+	/**
+	 * Close the file. The mapping is released once the transport is garbage
+	 * collected.
+	 */
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// Ignore
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "MappedFileTransport [islandCount=" + islandCount + ", capacity=" + capacity + "]";
+	}
+}
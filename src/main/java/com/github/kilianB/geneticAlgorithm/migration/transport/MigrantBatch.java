@@ -0,0 +1,63 @@
+package com.github.kilianB.geneticAlgorithm.migration.transport;
+
+/**
+ * The encoded migrants published by an island in one generation.
+ *
+ * @author Kilian
+ */
+public final class MigrantBatch {
+
+	private final int island;
+	private final int generation;
+	private final byte[] migrants;
+	private final long timestamp;
+
+	/**
+	 * @param island     the global index of the sending island
+	 * @param generation the generation the migrants were selected in
+	 * @param migrants   the encoded migrants
+	 * @param timestamp  the time the batch was sent or received in milliseconds
+	 *                   since the epoch
+	 */
+	public MigrantBatch(int island, int generation, byte[] migrants, long timestamp) {
+		this.island = island;
+		this.generation = generation;
+		this.migrants = migrants;
+		this.timestamp = timestamp;
+	}
+
+	/**
+	 * @return the global index of the sending island
+	 */
+	public int getIsland() {
+		return island;
+	}
+
+	/**
+	 * @return the generation the migrants were selected in
+	 */
+	public int getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * @return the encoded migrants. Must not be altered
+	 */
+	public byte[] getMigrants() {
+		return migrants;
+	}
+
+	/**
+	 * @return the time the batch was sent or received in milliseconds since the
+	 *         epoch. Used to detect islands which stopped publishing
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	@Override
+	public String toString() {
+		return "MigrantBatch [island=" + island + ", generation=" + generation + ", bytes=" + migrants.length
+				+ ", timestamp=" + timestamp + "]";
+	}
+}
@@ -0,0 +1,192 @@
+package com.github.kilianB.geneticAlgorithm.migration.transport;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.github.kilianB.geneticAlgorithm.Individual;
+import com.github.kilianB.geneticAlgorithm.prototypes.BitPrototype;
+import com.github.kilianB.geneticAlgorithm.prototypes.BooleanPrototype;
+import com.github.kilianB.geneticAlgorithm.prototypes.DoublePrototype;
+import com.github.kilianB.geneticAlgorithm.prototypes.IntPrototype;
+import com.github.kilianB.geneticAlgorithm.prototypes.PermutationPrototype;
+
+/**
+ * Binary encoding of the genes of a migrant. The cached fitness is written by
+ * the genetic algorithm alongside, migrants are therefore not evaluated again
+ * by the receiving island. Migrants whose fitness is only a lower bound or an
+ * approximation are not published. Boolean genes are packed into bits.
+ *
+ * <p>
+ * The gene count of a migrant has to match the individuals of the receiving
+ * prototype. Other lengths are rejected before any array is allocated, a
+ * malformed frame can't exhaust the heap.
+ *
+ * @author Kilian
+ */
+public interface MigrantCodec {
+
+	/**
+	 * @param individual the migrant to encode
+	 * @param out        the output to write the genes to
+	 * @throws IOException if the output can't be written
+	 */
+	void write(Individual individual, DataOutput out) throws IOException;
+
+	/**
+	 * @param in the input to read the genes from
+	 * @return a new individual holding the genes. The fitness is not set
+	 * @throws IOException if the input can't be read
+	 */
+	Individual read(DataInput in) throws IOException;
+
+	/**
+	 * @param prototype the prototype of the receiving island
+	 * @return a codec for individuals created by double prototypes
+	 */
+	static MigrantCodec of(DoublePrototype prototype) {
+		int genes = prototype.createIndividual().getVariableCount();
+		return new MigrantCodec() {
+			@Override
+			public void write(Individual individual, DataOutput out) throws IOException {
+				out.writeInt(individual.getVariableCount());
+				for (int i = 0; i < individual.getVariableCount(); i++) {
+					out.writeDouble(individual.getDouble(i));
+				}
+			}
+
+			@Override
+			public Individual read(DataInput in) throws IOException {
+				double[] values = new double[readLength(in, genes)];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = in.readDouble();
+				}
+				return prototype.new DoubleIndividual(values);
+			}
+		};
+	}
+
+	/**
+	 * @param prototype the prototype of the receiving island
+	 * @return a codec for individuals created by int prototypes
+	 */
+	static MigrantCodec of(IntPrototype prototype) {
+		int genes = prototype.createIndividual().getVariableCount();
+		return new MigrantCodec() {
+			@Override
+			public void write(Individual individual, DataOutput out) throws IOException {
+				writeInts(individual, out);
+			}
+
+			@Override
+			public Individual read(DataInput in) throws IOException {
+				return prototype.new IntIndividual(readInts(in, genes));
+			}
+		};
+	}
+
+	/**
+	 * @param prototype the prototype of the receiving island
+	 * @return a codec for individuals created by permutation prototypes
+	 */
+	static MigrantCodec of(PermutationPrototype prototype) {
+		int genes = prototype.createIndividual().getVariableCount();
+		return new MigrantCodec() {
+			@Override
+			public void write(Individual individual, DataOutput out) throws IOException {
+				writeInts(individual, out);
+			}
+
+			@Override
+			public Individual read(DataInput in) throws IOException {
+				return prototype.createIndividual(readInts(in, genes));
+			}
+		};
+	}
+
+	/**
+	 * @param prototype the prototype of the receiving island
+	 * @return a codec for individuals created by boolean prototypes
+	 */
+	static MigrantCodec of(BooleanPrototype prototype) {
+		int genes = prototype.createIndividual().getVariableCount();
+		return new MigrantCodec() {
+			@Override
+			public void write(Individual individual, DataOutput out) throws IOException {
+				writeBits(individual, out);
+			}
+
+			@Override
+			public Individual read(DataInput in) throws IOException {
+				return prototype.new BooleanIndividual(readBits(in, genes));
+			}
+		};
+	}
+
+	/**
+	 * @param prototype the prototype of the receiving island
+	 * @return a codec for individuals created by bit prototypes
+	 */
+	static MigrantCodec of(BitPrototype prototype) {
+		int genes = prototype.createIndividual().getVariableCount();
+		return new MigrantCodec() {
+			@Override
+			public void write(Individual individual, DataOutput out) throws IOException {
+				writeBits(individual, out);
+			}
+
+			@Override
+			public Individual read(DataInput in) throws IOException {
+				return prototype.createIndividual(readBits(in, genes));
+			}
+		};
+	}
+
+	private static void writeInts(Individual individual, DataOutput out) throws IOException {
+		out.writeInt(individual.getVariableCount());
+		for (int i = 0; i < individual.getVariableCount(); i++) {
+			out.writeInt(individual.getInt(i));
+		}
+	}
+
+	private static int readLength(DataInput in, int genes) throws IOException {
+		int length = in.readInt();
+		if (length != genes) {
+			throw new IOException("Expected " + genes + " genes. Actual: " + length);
+		}
+		return length;
+	}
+
+	private static int[] readInts(DataInput in, int genes) throws IOException {
+		int[] values = new int[readLength(in, genes)];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readInt();
+		}
+		return values;
+	}
+
+	private static void writeBits(Individual individual, DataOutput out) throws IOException {
+		int length = individual.getVariableCount();
+		out.writeInt(length);
+		for (int offset = 0; offset < length; offset += 8) {
+			int packed = 0;
+			for (int bit = 0; bit < 8 && offset + bit < length; bit++) {
+				if (individual.getBoolean(offset + bit)) {
+					packed |= 1 << bit;
+				}
+			}
+			out.writeByte(packed);
+		}
+	}
+
+	private static boolean[] readBits(DataInput in, int genes) throws IOException {
+		boolean[] values = new boolean[readLength(in, genes)];
+		for (int offset = 0; offset < values.length; offset += 8) {
+			int packed = in.readUnsignedByte();
+			for (int bit = 0; bit < 8 && offset + bit < values.length; bit++) {
+				values[offset + bit] = (packed & 1 << bit) != 0;
+			}
+		}
+		return values;
+	}
+}
@@ -0,0 +1,42 @@
+package com.github.kilianB.geneticAlgorithm.migration.transport;
+
+/**
+ * Exchanges migrants between islands (sub populations) hosted by different
+ * processes. Every island publishes its current migration candidates, the
+ * receiving side keeps the most recent batch of every remote island. Which
+ * islands exchange individuals is decided by the
+ * {@link com.github.kilianB.geneticAlgorithm.migration.direction.MigrationProcess}
+ * of the receiving genetic algorithm.
+ *
+ * <p>
+ * Transports are asynchronous: sending never waits for a remote island and
+ * batches of slow islands are replaced by newer ones instead of queuing up.
+ * Implementations have to be thread safe.
+ *
+ * @author Kilian
+ * @see RemoteIslands
+ */
+public interface MigrationTransport extends AutoCloseable {
+
+	/**
+	 * Publish the migrants of a local island. Returns immediately.
+	 *
+	 * @param island     the global index of the sending island
+	 * @param generation the generation the migrants were selected in
+	 * @param migrants   the encoded migrants. Must not be altered afterwards
+	 */
+	void send(int island, int generation, byte[] migrants);
+
+	/**
+	 * @param island the global index of a remote island
+	 * @return the most recent batch received from the island or null if none was
+	 *         received yet
+	 */
+	MigrantBatch receive(int island);
+
+	/**
+	 * Release all resources held by the transport.
+	 */
+	@Override
+	void close();
+}
@@ -0,0 +1,122 @@
+package com.github.kilianB.geneticAlgorithm.migration.transport;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes the part a genetic algorithm plays in an island model spanning
+ * multiple processes. Islands are numbered globally, the sub populations of
+ * the genetic algorithm occupy the consecutive global indices starting at the
+ * first island. All other islands are remote.
+ *
+ * <p>
+ * During migration every remote island is represented by the most recent
+ * migrants it published. The migration process of the genetic algorithm sees
+ * all islands at their global index and decides as usual which islands send to
+ * which. Remote islands which did not publish within the timeout are treated
+ * as empty, a slow or dead island therefore doesn't stall the run nor keeps
+ * re-injecting outdated migrants.
+ *
+ * <pre>
+ * // Process 1 of 2, hosting islands 2 and 3 of 4
+ * var transport = new TcpTransport(5001, List.of(new InetSocketAddress("host-a", 5000)));
+ * GeneticAlgorithm.builder().withPrototype(prototype)
+ * 	...
+ * 	.migration(10)
+ * 	.withRemoteIslands(new RemoteIslands(transport, MigrantCodec.of(prototype), 2, 4))
+ * 	.withNewSubpopulations(2)
+ * 	.build();
+ * </pre>
+ *
+ * @author Kilian
+ */
+public class RemoteIslands {
+
+	private final MigrationTransport transport;
+	private final MigrantCodec codec;
+	private final int firstIsland;
+	private final int islandCount;
+	private long timeoutMillis = TimeUnit.MINUTES.toMillis(1);
+
+	/**
+	 * @param transport   the transport to exchange migrants with. Not closed by
+	 *                    the genetic algorithm
+	 * @param codec       the codec to encode migrants with
+	 * @param firstIsland the global index of the first local sub population
+	 * @param islandCount the total number of islands across all processes
+	 */
+	public RemoteIslands(MigrationTransport transport, MigrantCodec codec, int firstIsland, int islandCount) {
+		if (transport == null || codec == null) {
+			throw new IllegalArgumentException("Transport and codec may not be null");
+		}
+		if (firstIsland < 0 || firstIsland >= islandCount) {
+			throw new IllegalArgumentException(
+					"First island has to be in range [0 - " + islandCount + "). Actual: " + firstIsland);
+		}
+		this.transport = transport;
+		this.codec = codec;
+		this.firstIsland = firstIsland;
+		this.islandCount = islandCount;
+	}
+
+	/**
+	 * Set the time after which the migrants of a remote island which stopped
+	 * publishing are ignored.
+	 *
+	 * <p>
+	 * <b>Default Value:</b> 1 minute
+	 * </p>
+	 *
+	 * @param timeout the timeout
+	 * @param unit    the unit of the timeout
+	 * @return this object
+	 */
+	public RemoteIslands withTimeout(long timeout, TimeUnit unit) {
+		if (timeout <= 0) {
+			throw new IllegalArgumentException("Timeout has to be positive. Actual: " + timeout);
+		}
+		this.timeoutMillis = unit.toMillis(timeout);
+		return this;
+	}
+
+	/**
+	 * @return the transport to exchange migrants with
+	 */
+	public MigrationTransport getTransport() {
+		return transport;
+	}
+
+	/**
+	 * @return the codec to encode migrants with
+	 */
+	public MigrantCodec getCodec() {
+		return codec;
+	}
+
+	/**
+	 * @return the global index of the first local sub population
+	 */
+	public int getFirstIsland() {
+		return firstIsland;
+	}
+
+	/**
+	 * @return the total number of islands across all processes
+	 */
+	public int getIslandCount() {
+		return islandCount;
+	}
+
+	/**
+	 * @return the time in milliseconds after which migrants of a remote island are
+	 *         ignored
+	 */
+	public long getTimeoutMillis() {
+		return timeoutMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "RemoteIslands [transport=" + transport + ", firstIsland=" + firstIsland + ", islandCount="
+				+ islandCount + ", timeoutMillis=" + timeoutMillis + "]";
+	}
+}
@@ -0,0 +1,260 @@
+package com.github.kilianB.geneticAlgorithm.migration.transport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Exchanges migrants over TCP. Every process listens on a port and sends the
+ * migrants of its islands to all peers. Each peer is served by a sender thread
+ * holding only the newest unsent batch, a slow or unreachable peer therefore
+ * never blocks the genetic algorithm and only receives the latest migrants once
+ * it catches up. Lost connections are re-established on the next batch.
+ *
+ * <p>
+ * Frame format: island (int), generation (int), length (int), encoded migrants.
+ *
+ * @author Kilian
+ */
+public class TcpTransport implements MigrationTransport {
+
+	private static final Logger LOGGER = Logger.getLogger(TcpTransport.class.getName());
+
+	/** Upper bound of a single frame, guarding against foreign connections */
+	private static final int MAX_FRAME = 64 * 1024 * 1024;
+
+	private static final int CONNECT_TIMEOUT = 1000;
+
+	private final ServerSocket server;
+	private final List<Sender> senders = new ArrayList<>();
+	private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+	private final Map<Integer, MigrantBatch> received = new ConcurrentHashMap<>();
+
+	private volatile boolean closed;
+
+	/**
+	 * @param port  the port to listen on. 0 to choose a free port
+	 * @param peers the addresses of the other processes of the island model
+	 * @throws IOException if the port can't be bound
+	 */
+	public TcpTransport(int port, List<InetSocketAddress> peers) throws IOException {
+		server = new ServerSocket(port);
+		Thread acceptor = new Thread(this::accept, "Migration Acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+		for (InetSocketAddress peer : peers) {
+			addPeer(peer);
+		}
+	}
+
+	/**
+	 * Add a process to send migrants to, e.g. if its port was not known when this
+	 * transport was created.
+	 *
+	 * @param peer the address of the process
+	 */
+	public void addPeer(InetSocketAddress peer) {
+		Sender sender = new Sender(peer);
+		synchronized (senders) {
+			senders.add(sender);
+		}
+		Thread thread = new Thread(sender, "Migration Sender " + peer);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * @return the port this transport listens on
+	 */
+	public int getPort() {
+		return server.getLocalPort();
+	}
+
+	@Override
+	public void send(int island, int generation, byte[] migrants) {
+		MigrantBatch batch = new MigrantBatch(island, generation, migrants, System.currentTimeMillis());
+		synchronized (senders) {
+			for (Sender sender : senders) {
+				sender.offer(batch);
+			}
+		}
+	}
+
+	@Override
+	public MigrantBatch receive(int island) {
+		return received.get(island);
+	}
+
+	private void accept() {
+		while (!closed) {
+			try {
+				Socket socket = server.accept();
+				connections.add(socket);
+				Thread reader = new Thread(() -> read(socket),
+						"Migration Receiver " + socket.getRemoteSocketAddress());
+				reader.setDaemon(true);
+				reader.start();
+			} catch (IOException e) {
+				if (!closed) {
+					LOGGER.warning("Failed to accept migration connection " + e);
+				}
+			}
+		}
+	}
+
+	private void read(Socket socket) {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+			while (!closed) {
+				int island = in.readInt();
+				int generation = in.readInt();
+				int length = in.readInt();
+				if (length < 0 || length > MAX_FRAME) {
+					LOGGER.warning("Discard migration connection. Invalid frame length: " + length);
+					return;
+				}
+				byte[] migrants = new byte[length];
+				in.readFully(migrants);
+				// Frames of a peer arrive in order. A restarted peer may start over at
+				// generation 0, the latest frame therefore always wins
+				received.put(island, new MigrantBatch(island, generation, migrants, System.currentTimeMillis()));
+			}
+		} catch (EOFException | SocketException e) {
+			// Peer closed the connection
+		} catch (IOException e) {
+			LOGGER.warning("Migration connection failed " + e);
+		} finally {
+			connections.remove(socket);
+		}
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		try {
+			server.close();
+		} catch (IOException e) {
+			// Ignore
+		}
+		for (Socket socket : connections) {
+			try {
+				socket.close();
+			} catch (IOException e) {
+				// Ignore
+			}
+		}
+		synchronized (senders) {
+			for (Sender sender : senders) {
+				sender.close();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "TcpTransport [port=" + getPort() + ", peers=" + senders.size() + ", receivedIslands="
+				+ received.size() + "]";
+	}
+
+	/**
+	 * Delivers the newest batch of each local island to a single peer
+	 */
+	private final class Sender implements Runnable {
+
+		private final InetSocketAddress peer;
+
+		/** Newest unsent batch per island. Guarded by this */
+		private final Map<Integer, MigrantBatch> pending = new HashMap<>();
+
+		/** Only replaced by the sender thread, closed by any thread */
+		private volatile Socket socket;
+		private DataOutputStream out;
+
+		Sender(InetSocketAddress peer) {
+			this.peer = peer;
+		}
+
+		synchronized void offer(MigrantBatch batch) {
+			pending.put(batch.getIsland(), batch);
+			notifyAll();
+		}
+
+		synchronized void close() {
+			Socket current = socket;
+			if (current != null) {
+				try {
+					current.close();
+				} catch (IOException e) {
+					// Ignore
+				}
+			}
+			notifyAll();
+		}
+
+		@Override
+		public void run() {
+			while (!closed) {
+				List<MigrantBatch> batches;
+				synchronized (this) {
+					while (pending.isEmpty() && !closed) {
+						try {
+							wait();
+						} catch (InterruptedException e) {
+							return;
+						}
+					}
+					batches = new ArrayList<>(pending.values());
+					pending.clear();
+				}
+				try {
+					if (socket == null) {
+						Socket connecting = new Socket();
+						connecting.connect(peer, CONNECT_TIMEOUT);
+						connecting.setTcpNoDelay(true);
+						socket = connecting;
+						out = new DataOutputStream(new BufferedOutputStream(connecting.getOutputStream()));
+					}
+					for (MigrantBatch batch : batches) {
+						out.writeInt(batch.getIsland());
+						out.writeInt(batch.getGeneration());
+						out.writeInt(batch.getMigrants().length);
+						out.write(batch.getMigrants());
+					}
+					out.flush();
+				} catch (IOException e) {
+					// The batches are dropped, the next generation publishes newer ones
+					if (!closed) {
+						LOGGER.fine("Failed to send migrants to " + peer + " " + e);
+					}
+					disconnect();
+				}
+			}
+			disconnect();
+		}
+
+		private void disconnect() {
+			if (socket != null) {
+				try {
+					socket.close();
+				} catch (IOException e) {
+					// Ignore
+				}
+				socket = null;
+				out = null;
+			}
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Fitness function which evaluates multiple genomes with a single call, e.g.
+ * by streaming them to external worker processes. Genomes can be evaluated one
+ * at a time as well.
+ *
+ * <p>
+ * Supplied to the prototypes as regular fitness function. If the genetic
+ * algorithm evaluates offspring in parallel, all offspring of a sub population
+ * which have to be evaluated are handed to {@link #applyAll(List)} at once.
+ * Otherwise {@link #applyAsDouble(Object)} is used.
+ *
+ * @author Kilian
+ * @param <T> the genome type
+ * @see com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.IBuildStage#withParallelEvaluation(boolean)
+ */
+public interface BatchFitness<T> extends ToDoubleFunction<T> {
+
+	/**
+	 * @param genomes the genomes to evaluate. Must not be altered
+	 * @return the fitness of each genome in the order of the genomes
+	 */
+	double[] applyAll(List<? extends T> genomes);
+}
@@ -0,0 +1,257 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+import java.util.Arrays;
+
+/**
+ * An immutable, bit packed binary genome. Bit i is stored in word i / 64 at
+ * position i % 64. Unused bits of the last word are always 0.
+ *
+ * <p>
+ * Besides single bit access the genome offers popcount based helpers allowing
+ * fitness functions to evaluate 64 genes at once, e.g. counting selected
+ * features or testing if a clause shares a variable with the genome.
+ *
+ * @author Kilian
+ * @see BitPrototype
+ */
+public final class BitGenome {
+
+	/** The backing words. Not copied and never altered once the genome is created */
+	final long[] words;
+
+	/** The number of bits */
+	private final int length;
+
+	/**
+	 * @param words  the backing words. The array is not copied.
+	 * @param length the number of bits
+	 */
+	BitGenome(long[] words, int length) {
+		this.words = words;
+		this.length = length;
+	}
+
+	/**
+	 * Create a genome from a boolean array
+	 *
+	 * @param values the genes
+	 * @return a bit packed copy of the genes
+	 */
+	public static BitGenome of(boolean[] values) {
+		return new BitGenome(toWords(values), values.length);
+	}
+
+	/**
+	 * Pack the bits of the boolean array into words. The result can be used as
+	 * mask for {@link #andCardinality(long[])} or {@link #intersects(long[])}.
+	 *
+	 * @param values the bits
+	 * @return the packed bits
+	 */
+	public static long[] toWords(boolean[] values) {
+		long[] words = new long[wordCount(values.length)];
+		for (int i = 0; i < values.length; i++) {
+			if (values[i]) {
+				words[i >>> 6] |= 1L << i;
+			}
+		}
+		return words;
+	}
+
+	/**
+	 * Create a mask with the bits at the given indices set.
+	 *
+	 * @param length  the number of bits of the genome the mask is used with
+	 * @param indices the indices of the set bits
+	 * @return the packed mask
+	 */
+	public static long[] mask(int length, int... indices) {
+		long[] words = new long[wordCount(length)];
+		for (int i : indices) {
+			if (i < 0 || i >= length) {
+				throw new IllegalArgumentException("Index out of range: " + i);
+			}
+			words[i >>> 6] |= 1L << i;
+		}
+		return words;
+	}
+
+	/**
+	 * @param bits the number of bits
+	 * @return the number of words needed to hold the bits
+	 */
+	public static int wordCount(int bits) {
+		return (bits + 63) >>> 6;
+	}
+
+	/**
+	 * @return the number of bits
+	 */
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * @param index of the bit
+	 * @return the value of the bit
+	 */
+	public boolean get(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("Index: " + index + " Length: " + length);
+		}
+		return (words[index >>> 6] & (1L << index)) != 0;
+	}
+
+	/**
+	 * @return the number of words backing the genome
+	 */
+	public int wordCount() {
+		return words.length;
+	}
+
+	/**
+	 * @param index of the word
+	 * @return the bits [index * 64 - index * 64 + 64)
+	 */
+	public long word(int index) {
+		return words[index];
+	}
+
+	/**
+	 * @return the number of set bits
+	 */
+	public int cardinality() {
+		int count = 0;
+		for (long w : words) {
+			count += Long.bitCount(w);
+		}
+		return count;
+	}
+
+	/**
+	 * @param from the first bit inclusive
+	 * @param to   the last bit exclusive
+	 * @return the number of set bits in the range [from - to)
+	 */
+	public int cardinality(int from, int to) {
+		if (from < 0 || to > length || from > to) {
+			throw new IndexOutOfBoundsException("Range: [" + from + " - " + to + ") Length: " + length);
+		}
+		if (from == to) {
+			return 0;
+		}
+		int firstWord = from >>> 6;
+		int lastWord = (to - 1) >>> 6;
+		long firstMask = -1L << from;
+		long lastMask = -1L >>> -to;
+		if (firstWord == lastWord) {
+			return Long.bitCount(words[firstWord] & firstMask & lastMask);
+		}
+		int count = Long.bitCount(words[firstWord] & firstMask);
+		for (int w = firstWord + 1; w < lastWord; w++) {
+			count += Long.bitCount(words[w]);
+		}
+		return count + Long.bitCount(words[lastWord] & lastMask);
+	}
+
+	/**
+	 * @param mask packed bits, e.g. created by {@link #mask(int, int...)}
+	 * @return the number of bits set in both the genome and the mask
+	 */
+	public int andCardinality(long[] mask) {
+		int count = 0;
+		int n = Math.min(words.length, mask.length);
+		for (int w = 0; w < n; w++) {
+			count += Long.bitCount(words[w] & mask[w]);
+		}
+		return count;
+	}
+
+	/**
+	 * @param mask packed bits, e.g. created by {@link #mask(int, int...)}
+	 * @return true if at least one bit is set in both the genome and the mask
+	 */
+	public boolean intersects(long[] mask) {
+		int n = Math.min(words.length, mask.length);
+		for (int w = 0; w < n; w++) {
+			if ((words[w] & mask[w]) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param mask packed bits, e.g. created by {@link #mask(int, int...)}
+	 * @return true if at least one bit set in the mask is not set in the genome
+	 */
+	public boolean intersectsComplement(long[] mask) {
+		int n = Math.min(words.length, mask.length);
+		for (int w = 0; w < n; w++) {
+			if ((~words[w] & mask[w]) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param other a genome of the same length
+	 * @return the number of bits which differ
+	 */
+	public int hammingDistance(BitGenome other) {
+		if (other.length != length) {
+			throw new IllegalArgumentException("Genomes differ in length " + length + " " + other.length);
+		}
+		int count = 0;
+		for (int w = 0; w < words.length; w++) {
+			count += Long.bitCount(words[w] ^ other.words[w]);
+		}
+		return count;
+	}
+
+	/**
+	 * Copy the genes into the target array
+	 *
+	 * @param target the array to copy the genes to. Has to hold at least
+	 *               {@link #length()} entries.
+	 */
+	public void copyTo(boolean[] target) {
+		for (int i = 0; i < length; i++) {
+			target[i] = (words[i >>> 6] & (1L << i)) != 0;
+		}
+	}
+
+	/**
+	 * @return the genes as boolean array
+	 */
+	public boolean[] toBooleanArray() {
+		boolean[] values = new boolean[length];
+		copyTo(values);
+		return values;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * length + Arrays.hashCode(words);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof BitGenome))
+			return false;
+		BitGenome other = (BitGenome) obj;
+		return length == other.length && Arrays.equals(words, other.words);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			sb.append((words[i >>> 6] & (1L << i)) != 0 ? '1' : '0');
+		}
+		return sb.toString();
+	}
+}
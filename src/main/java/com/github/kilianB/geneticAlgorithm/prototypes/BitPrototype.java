@@ -0,0 +1,306 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+import static com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.RNG;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import com.github.kilianB.geneticAlgorithm.GeneChanges;
+import com.github.kilianB.geneticAlgorithm.Individual;
+import com.github.kilianB.geneticAlgorithm.archive.Fingerprint;
+import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyDiscrete;
+import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyFuzzy;
+
+/**
+ * Prototype for binary genomes packed into 64 bit words.
+ *
+ * <p>
+ * Opposed to the {@link BooleanPrototype}, which uses one byte per gene, each
+ * gene occupies a single bit. Crossover blends entire words of the parents and
+ * mutation flips bits by xoring a sparse random mask, the number of random
+ * draws being proportional to the number of flipped bits instead of the
+ * genome length. Use this prototype for problems with many thousand binary
+ * variables like k-SAT or feature selection.
+ *
+ * @author Kilian
+ * @see BitGenome
+ */
+public class BitPrototype implements IndividualPrototype {
+
+	private final int bitCount;
+	private final ToDoubleFunction<BitGenome> fitnessFunction;
+
+	/**
+	 * Optional incremental fitness function. See {@link #withDeltaFitness(DeltaFitness)}
+	 */
+	private DeltaFitness<BitGenome> deltaFitness;
+
+	/**
+	 * Optional fitness function supporting a cutoff. See {@link #withBoundedFitness(BoundedFitness)}
+	 */
+	private BoundedFitness<BitGenome> boundedFitness;
+
+	/**
+	 * Optional low fidelity fitness function. See {@link #withApproximateFitness(ToDoubleFunction)}
+	 */
+	private ToDoubleFunction<BitGenome> approximateFitness;
+
+	/**
+	 * @param fitnessFunction the function to minimize
+	 * @param bitCount        the number of genes of each individual
+	 */
+	public BitPrototype(ToDoubleFunction<BitGenome> fitnessFunction, int bitCount) {
+		if (bitCount <= 0) {
+			throw new IllegalArgumentException("Bit count has to be positive. Actual: " + bitCount);
+		}
+		this.fitnessFunction = fitnessFunction;
+		this.bitCount = bitCount;
+	}
+
+	/**
+	 * Evaluate offspring incrementally based on the parent they differ least
+	 * from.
+	 * 
+	 * @param deltaFitness the incremental fitness function
+	 * @return this prototype
+	 * @see DeltaFitness
+	 */
+	public BitPrototype withDeltaFitness(DeltaFitness<BitGenome> deltaFitness) {
+		this.deltaFitness = deltaFitness;
+		return this;
+	}
+
+	/**
+	 * Allow the evaluation of individuals to stop early once their fitness
+	 * exceeds a cutoff.
+	 * 
+	 * @param boundedFitness the fitness function supporting a cutoff
+	 * @return this prototype
+	 * @see BoundedFitness
+	 */
+	public BitPrototype withBoundedFitness(BoundedFitness<BitGenome> boundedFitness) {
+		this.boundedFitness = boundedFitness;
+		return this;
+	}
+
+	/**
+	 * Supply a cheap, low fidelity estimate of the fitness function.
+	 * 
+	 * @param approximateFitness the low fidelity fitness function
+	 * @return this prototype
+	 * @see Individual#calculateApproximateFitness()
+	 */
+	public BitPrototype withApproximateFitness(ToDoubleFunction<BitGenome> approximateFitness) {
+		this.approximateFitness = approximateFitness;
+		return this;
+	}
+
+	@Override
+	public Individual createIndividual() {
+		long[] words = new long[BitGenome.wordCount(bitCount)];
+		RNG.nextLongs(words);
+		// Keep the unused bits 0
+		words[words.length - 1] &= -1L >>> -bitCount;
+		return new BitIndividual(words);
+	}
+
+	/**
+	 * Create an individual holding the supplied genes
+	 *
+	 * @param values the genes
+	 * @return the individual
+	 */
+	public BitIndividual createIndividual(boolean[] values) {
+		if (values.length != bitCount) {
+			throw new IllegalArgumentException("Expected " + bitCount + " genes. Actual: " + values.length);
+		}
+		return new BitIndividual(BitGenome.toWords(values));
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "@" + Integer.toHexString(hashCode());
+	}
+
+	/**
+	 * @param parents bit individuals
+	 * @return the backing words of the individuals
+	 */
+	private static long[][] words(Individual[] parents) {
+		long[][] words = new long[parents.length][];
+		for (int i = 0; i < parents.length; i++) {
+			words[i] = ((BitIndividual) parents[i]).genome.words;
+		}
+		return words;
+	}
+
+	public class BitIndividual extends Individual {
+
+		private final BitGenome genome;
+
+		BitIndividual(long[] words) {
+			this.genome = new BitGenome(words, bitCount);
+		}
+
+		/**
+		 * @return the genes of this individual
+		 */
+		public BitGenome getGenome() {
+			return genome;
+		}
+
+		@Override
+		public int getVariableCount() {
+			return bitCount;
+		}
+
+		@Override
+		public long fingerprint() {
+			return Fingerprint.of(genome.words, bitCount);
+		}
+
+		@Override
+		public Individual crossover(CrossoverStrategyFuzzy crossoverStrategy, Individual... crossoverParent) {
+			// Booleans are discrete values by definition. We can't use fuzzy strategies
+			throw new UnsupportedOperationException("Individual does not support fuzzy crossover");
+		}
+
+		@Override
+		public Individual crossover(CrossoverStrategyDiscrete crossoverStrategy, Individual... crossoverParent) {
+			long[] newWords = new long[genome.words.length];
+			GeneChanges changes = deltaFitness == null ? null : new GeneChanges(crossoverParent.length, bitCount);
+			int source = crossoverStrategy.crossover(crossoverParent, words(crossoverParent), newWords, bitCount,
+					changes);
+			BitIndividual child = new BitIndividual(newWords);
+			child.trackParents(source, crossoverParent, changes);
+			return child;
+		}
+
+		@Override
+		public Individual mutate(double probability, double scaleFactor) {
+			long[] newWords = genome.words.clone();
+			// Every bit flips, the child is evaluated in full
+			GeneChanges changes = deltaFitness == null || probability >= 1 ? null : new GeneChanges(1, bitCount);
+			boolean changed = probability > 0;
+			if (probability >= 1) {
+				for (int w = 0; w < newWords.length; w++) {
+					newWords[w] = ~newWords[w];
+				}
+				newWords[newWords.length - 1] &= -1L >>> -bitCount;
+			} else if (probability > 0) {
+				RNG.nextSuccesses(bitCount, probability, index -> {
+					newWords[index >>> 6] ^= 1L << index;
+					if (changes != null) {
+						changes.add(0, index);
+					}
+				});
+				changed = !Arrays.equals(newWords, genome.words);
+			}
+			BitIndividual child = new BitIndividual(newWords);
+			child.trackParents(changed ? -1 : 0, new Individual[] { this }, changes);
+			return child;
+		}
+
+		@Override
+		protected double calculateFitness() {
+			return fitnessFunction.applyAsDouble(genome);
+		}
+
+		@Override
+		protected double calculateFitness(Individual parent, double parentFitness, int[] changedGenes) {
+			return deltaFitness.applyAsDouble(((BitIndividual) parent).genome, parentFitness, genome, changedGenes);
+		}
+
+		@Override
+		protected double calculateFitness(double cutoff) {
+			if (boundedFitness == null) {
+				return calculateFitness();
+			}
+			return boundedFitness.applyAsDouble(genome, cutoff);
+		}
+
+		@Override
+		protected double calculateApproximateFitness() {
+			if (approximateFitness == null) {
+				return calculateFitness();
+			}
+			return approximateFitness.applyAsDouble(genome);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected void calculateFitness(Individual[] batch, int count, double[] fitness) {
+			List<BitGenome> genomes = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				genomes.add(((BitIndividual) batch[i]).genome);
+			}
+			System.arraycopy(((BatchFitness<BitGenome>) fitnessFunction).applyAll(genomes), 0, fitness, 0, count);
+		}
+
+		@Override
+		protected boolean hasBatchFitness() {
+			return fitnessFunction instanceof BatchFitness;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T> T getValue(int index) {
+			return (T) Boolean.valueOf(genome.get(index));
+		}
+
+		@Override
+		public boolean getBoolean(int index) {
+			return genome.get(index);
+		}
+
+		@Override
+		public void copyGenes(boolean[] target) {
+			genome.copyTo(target);
+		}
+
+		@Override
+		public String[] toCSV() {
+			String[] s = new String[bitCount];
+			for (int i = 0; i < bitCount; i++) {
+				s[i] = Boolean.toString(genome.get(i));
+			}
+			return s;
+		}
+
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + getOuterType().hashCode();
+			result = prime * result + genome.hashCode();
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null)
+				return false;
+			if (getClass() != obj.getClass())
+				return false;
+			BitIndividual other = (BitIndividual) obj;
+			if (!getOuterType().equals(other.getOuterType()))
+				return false;
+			if (!genome.equals(other.genome))
+				return false;
+			return true;
+		}
+
+		@Override
+		public String toString() {
+			return "BitIndividual [values=" + genome + ", fitness=" + getFitness() + "]";
+		}
+
+		private BitPrototype getOuterType() {
+			return BitPrototype.this;
+		}
+	}
+}
@@ -2,10 +2,14 @@ package com.github.kilianB.geneticAlgorithm.prototypes;
 
 import static com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.RNG;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.function.Function;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
 
+import com.github.kilianB.geneticAlgorithm.GeneChanges;
 import com.github.kilianB.geneticAlgorithm.Individual;
+import com.github.kilianB.geneticAlgorithm.archive.Fingerprint;
 import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyDiscrete;
 import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyFuzzy;
 
@@ -13,21 +17,78 @@ public class BooleanPrototype implements IndividualPrototype{
 
 
 	private int variableCount;
-	Function<boolean[], Double> fitnessFunction;
+	ToDoubleFunction<boolean[]> fitnessFunction;
+
+	/**
+	 * Optional incremental fitness function. See {@link #withDeltaFitness(DeltaFitness)}
+	 */
+	private DeltaFitness<boolean[]> deltaFitness;
+
+	/**
+	 * Optional fitness function supporting a cutoff. See {@link #withBoundedFitness(BoundedFitness)}
+	 */
+	private BoundedFitness<boolean[]> boundedFitness;
+
+	/**
+	 * Optional low fidelity fitness function. See {@link #withApproximateFitness(ToDoubleFunction)}
+	 */
+	private ToDoubleFunction<boolean[]> approximateFitness;
 	
-	public BooleanPrototype(Function<boolean[], Double> fitnessFunction, int variableCount) {	
+	/**
+	 * @param fitnessFunction the function to minimize. The passed array must not be
+	 *                        altered. See {@link ContextualFitness} to reuse
+	 *                        scratch memory between evaluations
+	 * @param variableCount   the number of genes of each individual
+	 */
+	public BooleanPrototype(ToDoubleFunction<boolean[]> fitnessFunction, int variableCount) {	
 		this.fitnessFunction = fitnessFunction;
 		this.variableCount = variableCount;
 	}
 	
+	/**
+	 * Evaluate offspring incrementally based on the parent they differ least
+	 * from.
+	 * 
+	 * @param deltaFitness the incremental fitness function
+	 * @return this prototype
+	 * @see DeltaFitness
+	 */
+	public BooleanPrototype withDeltaFitness(DeltaFitness<boolean[]> deltaFitness) {
+		this.deltaFitness = deltaFitness;
+		return this;
+	}
+
+	/**
+	 * Allow the evaluation of individuals to stop early once their fitness
+	 * exceeds a cutoff.
+	 * 
+	 * @param boundedFitness the fitness function supporting a cutoff
+	 * @return this prototype
+	 * @see BoundedFitness
+	 */
+	public BooleanPrototype withBoundedFitness(BoundedFitness<boolean[]> boundedFitness) {
+		this.boundedFitness = boundedFitness;
+		return this;
+	}
+
+	/**
+	 * Supply a cheap, low fidelity estimate of the fitness function.
+	 * 
+	 * @param approximateFitness the low fidelity fitness function
+	 * @return this prototype
+	 * @see Individual#calculateApproximateFitness()
+	 */
+	public BooleanPrototype withApproximateFitness(ToDoubleFunction<boolean[]> approximateFitness) {
+		this.approximateFitness = approximateFitness;
+		return this;
+	}
+
 	@Override
 	public Individual createIndividual() {
 		
 		boolean[] randomVars = new boolean[variableCount];
 		
-		for(int i = 0; i < variableCount; i++) {
-			randomVars[i] = RNG.nextBoolean();
-		}
+		RNG.nextBooleans(randomVars);
 		
 		return new BooleanIndividual(randomVars);
 	}
@@ -41,6 +102,18 @@ public class BooleanPrototype implements IndividualPrototype{
 
 
 
+	/**
+	 * @param parents boolean individuals
+	 * @return the backing gene arrays of the individuals
+	 */
+	private static boolean[][] genes(Individual[] parents) {
+		boolean[][] genes = new boolean[parents.length][];
+		for(int i = 0; i < parents.length; i++) {
+			genes[i] = ((BooleanIndividual) parents[i]).values;
+		}
+		return genes;
+	}
+	
 	public class BooleanIndividual extends Individual{
 		//Do we use bitsets double[] or BigInteger ?
 		//private BitSet values; 
@@ -74,6 +147,11 @@ public class BooleanPrototype implements IndividualPrototype{
 			return values.length;
 		}
 
+		@Override
+		public long fingerprint() {
+			return Fingerprint.of(values);
+		}
+
 		@Override
 		public Individual crossover(CrossoverStrategyFuzzy crossoverStrategy, Individual... crossoverParent) {
 			//Booleans are discrete values by definition. We can't use fuzzy strategies
@@ -83,13 +161,11 @@ public class BooleanPrototype implements IndividualPrototype{
 		@Override
 		public Individual crossover(CrossoverStrategyDiscrete crossoverStrategy, Individual... crossoverParent) {
 			boolean[] newValues = new boolean[values.length];
-			int[] crossoverVector = crossoverStrategy.getCrossoverVector(crossoverParent);
-			
-	 		for(int i = 0; i < crossoverVector.length; i++) {
-				int parentIndex = crossoverVector[i];
-				newValues[i] = crossoverParent[parentIndex].getValue(i);
-			}
-			return new BooleanIndividual(newValues);
+			GeneChanges changes = deltaFitness == null ? null : new GeneChanges(crossoverParent.length, values.length);
+			int source = crossoverStrategy.crossover(crossoverParent, genes(crossoverParent), newValues, changes);
+			BooleanIndividual child = new BooleanIndividual(newValues);
+			child.trackParents(source, crossoverParent, changes);
+			return child;
 		}
 	 	
 		
@@ -100,21 +176,66 @@ public class BooleanPrototype implements IndividualPrototype{
 			
 			boolean[] newValues = new boolean[values.length];
 			
+			//Flip mask
+			RNG.nextBooleans(newValues, probability);
+			
+			GeneChanges changes = deltaFitness == null ? null : new GeneChanges(1, values.length);
+			boolean changed = false;
 			for(int i = 0; i < values.length; i++) {
-				if(RNG.nextDouble() <= probability) {
-					newValues[i] = !values[i];
-				}else {
-					newValues[i] = values[i];
+				if(newValues[i]) {
+					changed = true;
+					if(changes != null) {
+						changes.add(0, i);
+					}
 				}
-			}			
-			return new BooleanIndividual(newValues);
+				newValues[i] ^= values[i];
+			}
+			BooleanIndividual child = new BooleanIndividual(newValues);
+			child.trackParents(changed ? -1 : 0, new Individual[] { this }, changes);
+			return child;
 		}
 	 	@Override
 		protected double calculateFitness() {
-			return fitnessFunction.apply(values);
+			return fitnessFunction.applyAsDouble(values);
 		}
-	 	
-	 	@Override
+
+		@Override
+		protected double calculateFitness(Individual parent, double parentFitness, int[] changedGenes) {
+			return deltaFitness.applyAsDouble(((BooleanIndividual) parent).values, parentFitness, values, changedGenes);
+		}
+
+		@Override
+		protected double calculateFitness(double cutoff) {
+			if (boundedFitness == null) {
+				return calculateFitness();
+			}
+			return boundedFitness.applyAsDouble(values, cutoff);
+		}
+
+		@Override
+		protected double calculateApproximateFitness() {
+			if (approximateFitness == null) {
+				return calculateFitness();
+			}
+			return approximateFitness.applyAsDouble(values);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected void calculateFitness(Individual[] batch, int count, double[] fitness) {
+			List<boolean[]> genomes = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				genomes.add(((BooleanIndividual) batch[i]).values);
+			}
+			System.arraycopy(((BatchFitness<boolean[]>) fitnessFunction).applyAll(genomes), 0, fitness, 0, count);
+		}
+
+		@Override
+		protected boolean hasBatchFitness() {
+			return fitnessFunction instanceof BatchFitness;
+		}
+
+		@Override
 		public int hashCode() {
 			final int prime = 31;
 			int result = 1;
@@ -153,6 +274,16 @@ public class BooleanPrototype implements IndividualPrototype{
 			//Allow the user to access the object without casting.
 			return (T) Boolean.valueOf(values[index]);
 		}
+
+		@Override
+		public boolean getBoolean(int index) {
+			return values[index];
+		}
+
+		@Override
+		public void copyGenes(boolean[] target) {
+			System.arraycopy(values, 0, target, 0, values.length);
+		}
 	 	
 	 	
 
@@ -0,0 +1,36 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+/**
+ * Fitness function which may stop early once the fitness is proven to exceed
+ * a cutoff. Objectives which are sums of non negative terms, e.g. clause
+ * penalties or the legs of a tour, can return the partial sum as soon as it is
+ * greater than the cutoff.
+ *
+ * <p>
+ * Supplied to the prototypes via {@code withBoundedFitness}. Only used if
+ * bounded evaluation is enabled in the genetic algorithm, otherwise the regular
+ * fitness function is evaluated.
+ *
+ * <pre>
+ * BoundedFitness&lt;int[]&gt; tour = (order, cutoff) -&gt; matrix.tourLength(order, cutoff);
+ * </pre>
+ *
+ * <p>
+ * Values less or equal to the cutoff have to equal the regular fitness function,
+ * values greater than the cutoff have to be a lower bound of it.
+ *
+ * @author Kilian
+ * @param <T> the genome type
+ * @see com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.IBuildStage#withBoundedEvaluation(int)
+ */
+@FunctionalInterface
+public interface BoundedFitness<T> {
+
+	/**
+	 * @param genes  the genes of the individual to evaluate. Must not be altered
+	 * @param cutoff the evaluation may stop as soon as the fitness is known to be
+	 *               greater than the cutoff
+	 * @return the fitness or a lower bound of the fitness greater than the cutoff
+	 */
+	double applyAsDouble(T genes, double cutoff);
+}
@@ -0,0 +1,200 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * General feasibility constraints of a genome, checked before the fitness
+ * function is invoked. Constraints are tested in increasing order of their
+ * declared cost and the check stops at the first violated constraint.
+ * Infeasible genomes are either repaired when they are created or receive a
+ * penalty fitness without evaluating the objective.
+ *
+ * <p>
+ * The set keeps track of how many genomes were checked and rejected, allowing
+ * to judge how many evaluations of the objective were saved. Statistics are
+ * updated atomically, genomes may be checked from multiple threads.
+ *
+ * @author Kilian
+ * @param <T> the genome type
+ * @see DoublePrototype#withConstraint(Predicate, double)
+ * @see IntPrototype#withConstraint(Predicate, double)
+ */
+public final class ConstraintSet<T> {
+
+	private final List<Constraint<T>> constraints = new ArrayList<>();
+
+	/** Fitness assigned to infeasible genomes */
+	private double penalty = Double.MAX_VALUE;
+
+	/** Optional repair operator applied to infeasible genomes */
+	private Consumer<? super T> repair;
+
+	private final LongAdder checked = new LongAdder();
+	private final LongAdder infeasible = new LongAdder();
+	private final LongAdder repaired = new LongAdder();
+
+	ConstraintSet() {
+	}
+
+	/**
+	 * Add a constraint. Constraints of equal cost are checked in the order they
+	 * were added.
+	 *
+	 * @param feasible returns true if the genome satisfies the constraint. The
+	 *                 passed genome must not be altered
+	 * @param cost     the relative cost of checking the constraint. Cheaper
+	 *                 constraints are checked first
+	 */
+	void add(Predicate<? super T> feasible, double cost) {
+		if (feasible == null) {
+			throw new IllegalArgumentException("Constraint may not be null");
+		}
+		if (!(cost >= 0)) {
+			throw new IllegalArgumentException("Constraint cost may not be negative. Actual: " + cost);
+		}
+		int index = constraints.size();
+		while (index > 0 && constraints.get(index - 1).cost > cost) {
+			index--;
+		}
+		constraints.add(index, new Constraint<>(feasible, cost));
+	}
+
+	void setPenalty(double penalty) {
+		if (Double.isNaN(penalty)) {
+			throw new IllegalArgumentException("Penalty may not be NaN");
+		}
+		this.penalty = penalty;
+	}
+
+	void setRepair(Consumer<? super T> repair) {
+		this.repair = repair;
+	}
+
+	/**
+	 * Check the constraints in increasing cost order, stopping at the first
+	 * violation. Recorded in the statistics.
+	 *
+	 * @param genome the genome to check
+	 * @return true if all constraints are satisfied
+	 */
+	boolean test(T genome) {
+		if (constraints.isEmpty()) {
+			return true;
+		}
+		checked.increment();
+		for (Constraint<T> constraint : constraints) {
+			if (!constraint.feasible.test(genome)) {
+				constraint.violations.increment();
+				infeasible.increment();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Repair the genome if it violates a constraint and a repair operator is
+	 * set. Not recorded in the check statistics.
+	 *
+	 * @param genome the newly created genome which may still be altered
+	 * @return true if the genome was passed to the repair operator
+	 */
+	boolean repair(T genome) {
+		if (repair == null || constraints.isEmpty()) {
+			return false;
+		}
+		for (Constraint<T> constraint : constraints) {
+			if (!constraint.feasible.test(genome)) {
+				repair.accept(genome);
+				repaired.increment();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the fitness assigned to infeasible genomes
+	 */
+	public double getPenalty() {
+		return penalty;
+	}
+
+	/**
+	 * @return the number of constraints
+	 */
+	public int size() {
+		return constraints.size();
+	}
+
+	/**
+	 * @return the number of genomes checked before evaluating the fitness
+	 */
+	public long getCheckedCount() {
+		return checked.sum();
+	}
+
+	/**
+	 * @return the number of checked genomes violating a constraint. The objective
+	 *         was not evaluated for these genomes
+	 */
+	public long getInfeasibleCount() {
+		return infeasible.sum();
+	}
+
+	/**
+	 * @return the number of genomes passed to the repair operator
+	 */
+	public long getRepairedCount() {
+		return repaired.sum();
+	}
+
+	/**
+	 * @param index the index of the constraint in increasing cost order
+	 * @return the number of genomes rejected by the constraint. Cheaper
+	 *         constraints are checked first, genomes are only counted for the first
+	 *         constraint they violate
+	 */
+	public long getViolationCount(int index) {
+		return constraints.get(index).violations.sum();
+	}
+
+	/**
+	 * @return the share of checked genomes for which the evaluation of the
+	 *         objective was skipped. Range [0 - 1]
+	 */
+	public double getSkippedShare() {
+		long checkedCount = getCheckedCount();
+		return checkedCount == 0 ? 0 : getInfeasibleCount() / (double) checkedCount;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("ConstraintSet [constraints=").append(size()).append(", checked=")
+				.append(getCheckedCount()).append(", infeasible=").append(getInfeasibleCount()).append(", repaired=")
+				.append(getRepairedCount()).append(", skipped=")
+				.append(String.format("%.2f%%", getSkippedShare() * 100)).append(", violations=[");
+		for (int i = 0; i < constraints.size(); i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(getViolationCount(i));
+		}
+		return sb.append("]]").toString();
+	}
+
+	private static final class Constraint<T> {
+		private final Predicate<? super T> feasible;
+		private final double cost;
+		private final LongAdder violations = new LongAdder();
+
+		Constraint(Predicate<? super T> feasible, double cost) {
+			this.feasible = feasible;
+			this.cost = cost;
+		}
+	}
+}
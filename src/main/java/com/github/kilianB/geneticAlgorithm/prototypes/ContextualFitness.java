@@ -0,0 +1,42 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Fitness function receiving the {@link EvaluationContext} of the evaluating
+ * thread, allowing to reuse scratch memory instead of allocating it on every
+ * call.
+ *
+ * <pre>
+ * var prototype = new IntPrototype(range, ContextualFitness.of((genes, context) -&gt; {
+ * 	Simulation simulation = context.get(SIMULATION);
+ * 	simulation.reset(genes);
+ * 	return simulation.run();
+ * }));
+ * </pre>
+ *
+ * @author Kilian
+ * @param <T> the genome type
+ */
+@FunctionalInterface
+public interface ContextualFitness<T> {
+
+	/**
+	 * @param genes   the genes of the individual to evaluate. Must not be altered
+	 * @param context the context of the evaluating thread
+	 * @return the fitness of the individual
+	 */
+	double applyAsDouble(T genes, EvaluationContext context);
+
+	/**
+	 * Adapt a contextual fitness function to the fitness function accepted by the
+	 * prototypes.
+	 *
+	 * @param <T>     the genome type
+	 * @param fitness the contextual fitness function
+	 * @return a fitness function passing the context of the calling thread
+	 */
+	static <T> ToDoubleFunction<T> of(ContextualFitness<T> fitness) {
+		return genes -> fitness.applyAsDouble(genes, EvaluationContext.current());
+	}
+}
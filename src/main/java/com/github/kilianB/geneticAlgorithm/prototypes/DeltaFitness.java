@@ -0,0 +1,49 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+/**
+ * Incremental fitness function used to evaluate offspring which only differ in
+ * a few genes from one of their parents. Instead of evaluating the entire
+ * genome the fitness of the parent is updated by the contribution of the
+ * changed genes.
+ *
+ * <p>
+ * Supplied to the prototypes via {@code withDeltaFitness}. Offspring which
+ * differ in less than half of their genes from one of their parents are
+ * evaluated incrementally based on the closest parent, all other offspring by
+ * the regular fitness function.
+ *
+ * <pre>
+ * // Sphere function: sum of x_i^2
+ * DeltaFitness&lt;double[]&gt; delta = (parent, parentFitness, child, changed) -&gt; {
+ * 	double fitness = parentFitness;
+ * 	for (int i : changed) {
+ * 		fitness += child[i] * child[i] - parent[i] * parent[i];
+ * 	}
+ * 	return fitness;
+ * };
+ * </pre>
+ *
+ * <p>
+ * The result has to equal the regular fitness function up to rounding errors.
+ * Long chains of incremental updates may accumulate errors, objectives prone to
+ * cancellation should be evaluated in full.
+ *
+ * @author Kilian
+ * @param <T> the genome type
+ */
+@FunctionalInterface
+public interface DeltaFitness<T> {
+
+	/**
+	 * @param parent        the genes of the parent. Must not be altered
+	 * @param parentFitness the fitness of the parent
+	 * @param child         the genes of the individual to evaluate. Must not be
+	 *                      altered
+	 * @param changedGenes  the ascending indices of the genes in which child and
+	 *                      parent differ. Reproduction operators which can not
+	 *                      cheaply tell if a written gene differs may include
+	 *                      genes holding the same value in both
+	 * @return the fitness of the child
+	 */
+	double applyAsDouble(T parent, double parentFitness, T child, int[] changedGenes);
+}
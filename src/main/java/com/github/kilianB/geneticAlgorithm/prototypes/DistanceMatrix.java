@@ -0,0 +1,131 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+/**
+ * Precomputed pairwise distances between n nodes used to evaluate tours and
+ * paths of a {@link PermutationPrototype}. The distances are stored in a single
+ * row major array to keep lookups of consecutive nodes cache friendly.
+ *
+ * <pre>
+ * var matrix = DistanceMatrix.euclidean(coordinates);
+ * var prototype = new PermutationPrototype(coordinates.length, matrix::tourLength);
+ * </pre>
+ *
+ * @author Kilian
+ */
+public final class DistanceMatrix {
+
+	private final int size;
+	private final double[] distances;
+
+	/**
+	 * @param distances square matrix holding the distance from node i to node j at
+	 *                  distances[i][j]. The matrix does not have to be
+	 *                  symmetric.
+	 */
+	public DistanceMatrix(double[][] distances) {
+		size = distances.length;
+		this.distances = new double[size * size];
+		for (int i = 0; i < size; i++) {
+			if (distances[i].length != size) {
+				throw new IllegalArgumentException("Distance matrix has to be square. Row " + i + " has "
+						+ distances[i].length + " entries. Expected: " + size);
+			}
+			System.arraycopy(distances[i], 0, this.distances, i * size, size);
+		}
+	}
+
+	private DistanceMatrix(int size, double[] distances) {
+		this.size = size;
+		this.distances = distances;
+	}
+
+	/**
+	 * Compute the euclidean distances between points
+	 *
+	 * @param coordinates the coordinates of each node. coordinates[node][dimension]
+	 * @return the distance matrix
+	 */
+	public static DistanceMatrix euclidean(double[][] coordinates) {
+		int n = coordinates.length;
+		double[] distances = new double[n * n];
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				double sum = 0;
+				for (int d = 0; d < coordinates[i].length; d++) {
+					double delta = coordinates[i][d] - coordinates[j][d];
+					sum += delta * delta;
+				}
+				double distance = Math.sqrt(sum);
+				distances[i * n + j] = distance;
+				distances[j * n + i] = distance;
+			}
+		}
+		return new DistanceMatrix(n, distances);
+	}
+
+	/**
+	 * @return the number of nodes
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param from the start node
+	 * @param to   the end node
+	 * @return the distance from the start to the end node
+	 */
+	public double distance(int from, int to) {
+		return distances[from * size + to];
+	}
+
+	/**
+	 * The length of the closed tour visiting the nodes in order and returning to
+	 * the first node.
+	 *
+	 * @param tour the order in which the nodes are visited
+	 * @return the length of the tour
+	 */
+	public double tourLength(int[] tour) {
+		if (tour.length == 0) {
+			return 0;
+		}
+		return pathLength(tour) + distances[tour[tour.length - 1] * size + tour[0]];
+	}
+
+	/**
+	 * The length of the closed tour, stopping as soon as the partial length
+	 * exceeds the cutoff. Suitable as {@link BoundedFitness}.
+	 *
+	 * @param tour   the order in which the nodes are visited
+	 * @param cutoff the length above which the exact length is not required
+	 * @return the length of the tour or a partial length greater than the cutoff
+	 */
+	public double tourLength(int[] tour, double cutoff) {
+		if (tour.length == 0) {
+			return 0;
+		}
+		double length = 0;
+		for (int i = 1; i < tour.length; i++) {
+			length += distances[tour[i - 1] * size + tour[i]];
+			if (length > cutoff) {
+				return length;
+			}
+		}
+		return length + distances[tour[tour.length - 1] * size + tour[0]];
+	}
+
+	/**
+	 * The length of the open path visiting the nodes in order.
+	 *
+	 * @param path the order in which the nodes are visited
+	 * @return the length of the path
+	 */
+	public double pathLength(int[] path) {
+		double length = 0;
+		for (int i = 1; i < path.length; i++) {
+			length += distances[path[i - 1] * size + path[i]];
+		}
+		return length;
+	}
+}
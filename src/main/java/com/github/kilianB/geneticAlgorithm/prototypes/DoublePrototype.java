@@ -3,11 +3,16 @@ package com.github.kilianB.geneticAlgorithm.prototypes;
 import static com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.RNG;
 
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.function.Function;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 
-import com.github.kilianB.MathUtil;
+import com.github.kilianB.geneticAlgorithm.GeneChanges;
 import com.github.kilianB.geneticAlgorithm.Individual;
+import com.github.kilianB.geneticAlgorithm.archive.Fingerprint;
 import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyDiscrete;
 import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyFuzzy;
 
@@ -21,9 +26,29 @@ public class DoublePrototype implements IndividualPrototype {
 	private final double rangeOfRange[];
 	private final double variableConstraints[][];
 
-	private final Function<double[], Double> fitnessFunction;
+	private final ToDoubleFunction<double[]> fitnessFunction;
 
-	public DoublePrototype(double[][] initialRange, Function<double[], Double> fitnessFunction) {
+	/**
+	 * Optional incremental fitness function. See {@link #withDeltaFitness(DeltaFitness)}
+	 */
+	private DeltaFitness<double[]> deltaFitness;
+
+	/**
+	 * Optional fitness function supporting a cutoff. See {@link #withBoundedFitness(BoundedFitness)}
+	 */
+	private BoundedFitness<double[]> boundedFitness;
+
+	/**
+	 * Optional low fidelity fitness function. See {@link #withApproximateFitness(ToDoubleFunction)}
+	 */
+	private ToDoubleFunction<double[]> approximateFitness;
+
+	/**
+	 * General feasibility constraints. See {@link #withConstraint(Predicate, double)}
+	 */
+	private final ConstraintSet<double[]> constraints = new ConstraintSet<>();
+
+	public DoublePrototype(double[][] initialRange, ToDoubleFunction<double[]> fitnessFunction) {
 		this(initialRange, null, fitnessFunction);
 	}
 
@@ -36,9 +61,11 @@ public class DoublePrototype implements IndividualPrototype {
 	 *                        [ - )
 	 * 
 	 * @param constraint
-	 * @param fitnessFunction
+	 * @param fitnessFunction the function to minimize. The passed array must not be
+	 *                        altered. See {@link ContextualFitness} to reuse
+	 *                        scratch memory between evaluations
 	 */
-	public DoublePrototype(double[][] initialRange, double[][] constraint, Function<double[], Double> fitnessFunction) {
+	public DoublePrototype(double[][] initialRange, double[][] constraint, ToDoubleFunction<double[]> fitnessFunction) {
 
 		// Check settings
 
@@ -87,22 +114,129 @@ public class DoublePrototype implements IndividualPrototype {
 		this.fitnessFunction = fitnessFunction;
 	}
 
+	/**
+	 * Evaluate offspring incrementally based on the parent they differ least
+	 * from.
+	 * 
+	 * @param deltaFitness the incremental fitness function
+	 * @return this prototype
+	 * @see DeltaFitness
+	 */
+	public DoublePrototype withDeltaFitness(DeltaFitness<double[]> deltaFitness) {
+		this.deltaFitness = deltaFitness;
+		return this;
+	}
+
+	/**
+	 * Allow the evaluation of individuals to stop early once their fitness
+	 * exceeds a cutoff.
+	 * 
+	 * @param boundedFitness the fitness function supporting a cutoff
+	 * @return this prototype
+	 * @see BoundedFitness
+	 */
+	public DoublePrototype withBoundedFitness(BoundedFitness<double[]> boundedFitness) {
+		this.boundedFitness = boundedFitness;
+		return this;
+	}
+
+	/**
+	 * Supply a cheap, low fidelity estimate of the fitness function.
+	 * 
+	 * @param approximateFitness the low fidelity fitness function
+	 * @return this prototype
+	 * @see Individual#calculateApproximateFitness()
+	 */
+	public DoublePrototype withApproximateFitness(ToDoubleFunction<double[]> approximateFitness) {
+		this.approximateFitness = approximateFitness;
+		return this;
+	}
+
+	/**
+	 * Declare a feasibility constraint in addition to the box constraints of each
+	 * variable. Constraints are checked lazily in increasing cost order before the
+	 * fitness function is invoked. Individuals violating a constraint receive the
+	 * penalty fitness without evaluating the objective, unless a repair operator
+	 * fixes them upon creation.
+	 * 
+	 * @param feasible returns true if the variables satisfy the constraint. The
+	 *                 passed array must not be altered
+	 * @param cost     the relative cost of checking the constraint. Cheaper
+	 *                 constraints are checked first
+	 * @return this prototype
+	 * @see #withConstraintPenalty(double)
+	 * @see #withRepair(Consumer)
+	 */
+	public DoublePrototype withConstraint(Predicate<double[]> feasible, double cost) {
+		constraints.add(feasible, cost);
+		return this;
+	}
+
+	/**
+	 * Set the fitness assigned to individuals violating a constraint.
+	 * 
+	 * <p>
+	 * Default value: Double.MAX_VALUE, ranking infeasible individuals last
+	 * 
+	 * @param penalty the fitness of infeasible individuals
+	 * @return this prototype
+	 */
+	public DoublePrototype withConstraintPenalty(double penalty) {
+		constraints.setPenalty(penalty);
+		return this;
+	}
+
+	/**
+	 * Repair newly created individuals violating a constraint instead of
+	 * penalizing them. The repaired variables are checked again before the
+	 * fitness is evaluated.
+	 * 
+	 * @param repair alters the passed variables to satisfy the constraints and the
+	 *               box constraints of each variable
+	 * @return this prototype
+	 */
+	public DoublePrototype withRepair(Consumer<double[]> repair) {
+		constraints.setRepair(repair);
+		return this;
+	}
+
+	/**
+	 * @return the constraints and the statistics of how many fitness evaluations
+	 *         were skipped due to infeasible individuals
+	 */
+	public ConstraintSet<double[]> getConstraints() {
+		return constraints;
+	}
+
 	@Override
 	public Individual createIndividual() {
 
 		double[] values = new double[initialRange.length];
 
+		RNG.nextDoubles(values);
+
 		// Create values
 		for (int i = 0; i < initialRange.length; i++) {
 			double min = initialRange[i][0];
-			double max = initialRange[i][1];
 			// Already checked that inital range is not > than Integer.MAXVALUE
-			double range = max - min;
-			values[i] = range * RNG.nextDouble() + min;
+			values[i] = rangeOfRange[i] * values[i] + min;
 		}
+		constraints.repair(values);
 		return new DoubleIndividual(values);
 	}
 
+	/**
+	 * @param parents double individuals
+	 * @return the backing gene arrays of the individuals
+	 */
+	private static double[][] genes(Individual[] parents) {
+		double[][] genes = new double[parents.length][];
+		for (int i = 0; i < parents.length; i++) {
+			genes[i] = ((DoubleIndividual) parents[i]).variables;
+		}
+		return genes;
+	}
+
 	public class DoubleIndividual extends Individual {
 
 		private final double[] variables;
@@ -116,28 +250,21 @@ public class DoublePrototype implements IndividualPrototype {
 			// We assume that both individuals are feasible and valid. No reason to check
 			// constraints
 			double[] newValues = new double[variables.length];
-			double[][] crossoverMatrix = crossoverStrategy.getCrossoverMatrix(crossoverParent);
-
-			for (int i = 0; i < variables.length; i++) {
-				double tempValue = 0;
-
-				for (int j = 0; j < crossoverParent.length; j++) {
-					tempValue += crossoverMatrix[j][i] * (double) crossoverParent[j].getValue(i);
-				}
-				newValues[i] = tempValue;
-			}
-			return new DoubleIndividual(newValues);
+			GeneChanges changes = deltaFitness == null ? null : new GeneChanges(crossoverParent.length, variables.length);
+			crossoverStrategy.crossover(crossoverParent, genes(crossoverParent), newValues, changes);
+			DoubleIndividual child = new DoubleIndividual(newValues);
+			child.trackParents(-1, crossoverParent, repair(newValues, -1, changes));
+			return child;
 		}
 
 		@Override
 		public Individual crossover(CrossoverStrategyDiscrete crossoverStrategy, Individual... crossoverParent) {
 			double[] newValues = new double[variables.length];
-			int[] crossoverVector = crossoverStrategy.getCrossoverVector(crossoverParent);
-			for (int i = 0; i < crossoverVector.length; i++) {
-				int parentIndex = crossoverVector[i];
-				newValues[i] = crossoverParent[parentIndex].getValue(i);
-			}
-			return new DoubleIndividual(newValues);
+			GeneChanges changes = deltaFitness == null ? null : new GeneChanges(crossoverParent.length, variables.length);
+			int source = crossoverStrategy.crossover(crossoverParent, genes(crossoverParent), newValues, changes);
+			DoubleIndividual child = new DoubleIndividual(newValues);
+			child.trackParents(source, crossoverParent, repair(newValues, source, changes));
+			return child;
 		}
 
 		@Override
@@ -145,36 +272,148 @@ public class DoublePrototype implements IndividualPrototype {
 			return variables.length;
 		}
 
+		@Override
+		public long fingerprint() {
+			return Fingerprint.of(variables);
+		}
+
 		@Override
 		@SuppressWarnings("unchecked")
 		public <T> T getValue(int i) {
 			return (T) Double.valueOf(variables[i]);
 		}
 
+		@Override
+		public double getDouble(int index) {
+			return variables[index];
+		}
+
+		@Override
+		public void copyGenes(double[] target) {
+			System.arraycopy(variables, 0, target, 0, variables.length);
+		}
+
+		/**
+		 * Check the constraints before the fitness function is invoked
+		 * 
+		 * @return true if the individual is infeasible and receives the penalty
+		 */
+		private boolean violatesConstraints() {
+			if (constraints.test(variables)) {
+				return false;
+			}
+			markInfeasible();
+			return true;
+		}
+
 		@Override
 		protected double calculateFitness() {
-			return fitnessFunction.apply(variables).doubleValue();
+			if (violatesConstraints()) {
+				return constraints.getPenalty();
+			}
+			return fitnessFunction.applyAsDouble(variables);
+		}
+
+		@Override
+		protected double calculateFitness(Individual parent, double parentFitness, int[] changedGenes) {
+			if (violatesConstraints()) {
+				return constraints.getPenalty();
+			}
+			return deltaFitness.applyAsDouble(((DoubleIndividual) parent).variables, parentFitness, variables, changedGenes);
+		}
+
+		@Override
+		protected double calculateFitness(double cutoff) {
+			if (boundedFitness == null) {
+				return calculateFitness();
+			}
+			if (violatesConstraints()) {
+				return constraints.getPenalty();
+			}
+			return boundedFitness.applyAsDouble(variables, cutoff);
+		}
+
+		@Override
+		protected double calculateApproximateFitness() {
+			if (approximateFitness == null) {
+				return calculateFitness();
+			}
+			if (violatesConstraints()) {
+				return constraints.getPenalty();
+			}
+			return approximateFitness.applyAsDouble(variables);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected void calculateFitness(Individual[] batch, int count, double[] fitness) {
+			List<double[]> genomes = new ArrayList<>(count);
+			int[] index = new int[count];
+			for (int i = 0; i < count; i++) {
+				DoubleIndividual individual = (DoubleIndividual) batch[i];
+				if (individual.violatesConstraints()) {
+					fitness[i] = constraints.getPenalty();
+				} else {
+					index[genomes.size()] = i;
+					genomes.add(individual.variables);
+				}
+			}
+			double[] values = ((BatchFitness<double[]>) fitnessFunction).applyAll(genomes);
+			for (int i = 0; i < values.length; i++) {
+				fitness[index[i]] = values[i];
+			}
+		}
+
+		@Override
+		protected boolean hasBatchFitness() {
+			return fitnessFunction instanceof BatchFitness;
+		}
+
+		/**
+		 * Repair altered children. The genes altered by the repair operator are not
+		 * recorded, repaired children are evaluated in full.
+		 * 
+		 * @param genes   the genes of the newly created individual
+		 * @param source  the index of the parent the child is identical to or -1
+		 * @param changes the genes recorded while the child was created or null
+		 * @return the recorded genes or null if the child was repaired
+		 */
+		private GeneChanges repair(double[] genes, int source, GeneChanges changes) {
+			// Parents were repaired upon creation, only altered children may violate constraints
+			return source < 0 && constraints.repair(genes) ? null : changes;
 		}
 
 		@Override
 		public DoubleIndividual mutate(double probability, double scaleFactor) {
 			double[] newValues = new double[variables.length];
-			double gaus = RNG.nextGaus();
+
+			// Decide which genes to mutate in one go.
+			boolean[] mutate = new boolean[variables.length];
+			RNG.nextBooleans(mutate, probability);
+
+			GeneChanges changes = deltaFitness == null ? null : new GeneChanges(1, variables.length);
+			boolean changed = false;
 			for (int i = 0; i < variables.length; i++) {
-				do {
-					if (RNG.nextDouble() <= probability) {
-						newValues[i] = variables[i]
-								+ MathUtil.fitGaussian(RNG.nextGaus(), scaleFactor * rangeOfRange[i], 0);
-					} else {
-						newValues[i] = variables[i];
+				if (mutate[i]) {
+					// Sample the gaussian directly within the constraints instead of retrying
+					newValues[i] = RNG.nextTruncatedGaus(variables[i], scaleFactor * rangeOfRange[i],
+							variableConstraints[i][0], variableConstraints[i][1]);
+					if (newValues[i] != variables[i]) {
+						changed = true;
+						if (changes != null) {
+							changes.add(0, i);
+						}
 					}
-
-					//// TODO can we adjust the slope of gaussian one sided so we don't have to
-					//// itterate and do a trial and error? ..
-				} while (newValues[i] < variableConstraints[i][0] || newValues[i] > variableConstraints[i][1]);
+				} else {
+					newValues[i] = variables[i];
+				}
 			}
 
-			return new DoubleIndividual(newValues);
+			// Inherit the fitness if no gene was altered
+			int source = changed ? -1 : 0;
+			DoubleIndividual child = new DoubleIndividual(newValues);
+			child.trackParents(source, new Individual[] { this }, repair(newValues, source, changes));
+			return child;
 		}
 
 		@Override
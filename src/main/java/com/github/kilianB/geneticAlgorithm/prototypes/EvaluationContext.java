@@ -0,0 +1,149 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Working memory of the thread evaluating a fitness function. Each thread owns
+ * exactly one context, holding scratch state (arrays, decoders, simulation
+ * state, ...) which is created lazily on first access and reused for every
+ * following evaluation on the same thread. Fitness functions may therefore
+ * work without allocating, and without synchronization as long as the state is
+ * only used for the duration of one evaluation.
+ *
+ * <p>
+ * State is addressed by keys, which are created once, usually as constants.
+ * Looking up a value is an array access.
+ *
+ * <pre>
+ * static final EvaluationContext.Key&lt;double[]&gt; BUFFER = EvaluationContext.key(() -&gt; new double[4096]);
+ *
+ * var prototype = new DoublePrototype(range, ContextualFitness.of((genes, context) -&gt; {
+ * 	double[] buffer = context.get(BUFFER);
+ * 	...
+ * }));
+ * </pre>
+ *
+ * <p>
+ * Delta, bounded and approximate fitness functions as well as constraints may
+ * access the same state via {@link #current()}.
+ *
+ * <p>
+ * Executors running every task on a new thread, e.g. on virtual threads, keep
+ * a pool of contexts created by {@link #create()} and {@link #bind(EvaluationContext)
+ * bind} one of them to the thread for the duration of a task, the state
+ * therefore survives the thread.
+ *
+ * @author Kilian
+ * @see ContextualFitness
+ */
+public final class EvaluationContext {
+
+	private static final ThreadLocal<EvaluationContext> CONTEXT = new ThreadLocal<>();
+
+	private static final AtomicInteger KEY_COUNT = new AtomicInteger();
+
+	/** State indexed by key id */
+	private Object[] values = new Object[Math.max(8, KEY_COUNT.get())];
+
+	private EvaluationContext() {
+	}
+
+	/**
+	 * @return the context of the calling thread. Created on first access if no
+	 *         context is bound to the thread
+	 */
+	public static EvaluationContext current() {
+		EvaluationContext context = CONTEXT.get();
+		if (context == null) {
+			context = new EvaluationContext();
+			CONTEXT.set(context);
+		}
+		return context;
+	}
+
+	/**
+	 * @return a new context which is not bound to any thread
+	 */
+	public static EvaluationContext create() {
+		return new EvaluationContext();
+	}
+
+	/**
+	 * Bind a context to the calling thread. The context may only be bound to one
+	 * thread at a time.
+	 *
+	 * @param context the context to bind or null to unbind the current context
+	 * @return the context previously bound to the thread or null. Pass it to this
+	 *         method once the task finished to restore it
+	 */
+	public static EvaluationContext bind(EvaluationContext context) {
+		EvaluationContext previous = CONTEXT.get();
+		if (context == null) {
+			CONTEXT.remove();
+		} else {
+			CONTEXT.set(context);
+		}
+		return previous;
+	}
+
+	/**
+	 * Create a key identifying a piece of per thread state.
+	 *
+	 * @param <S>     the type of the state
+	 * @param factory creates the state of a thread on first access. Invoked once
+	 *                per thread
+	 * @return a new key. Keys should be created once and reused, every key
+	 *         occupies a slot in the context of each thread
+	 */
+	public static <S> Key<S> key(Supplier<? extends S> factory) {
+		return new Key<>(KEY_COUNT.getAndIncrement(), Objects.requireNonNull(factory, "Factory may not be null"));
+	}
+
+	/**
+	 * @param <S> the type of the state
+	 * @param key the key of the state
+	 * @return the state of the calling thread. Created on first access
+	 */
+	@SuppressWarnings("unchecked")
+	public <S> S get(Key<S> key) {
+		int id = key.id;
+		if (id >= values.length) {
+			values = Arrays.copyOf(values, Math.max(id + 1, values.length * 2));
+		}
+		Object value = values[id];
+		if (value == null) {
+			value = Objects.requireNonNull(key.factory.get(), "Context state may not be null");
+			values[id] = value;
+		}
+		return (S) value;
+	}
+
+	/**
+	 * Discard the state of the key. It is created again on the next access.
+	 *
+	 * @param key the key of the state
+	 */
+	public void remove(Key<?> key) {
+		if (key.id < values.length) {
+			values[key.id] = null;
+		}
+	}
+
+	/**
+	 * Identifies a piece of state held by every context.
+	 *
+	 * @param <S> the type of the state
+	 */
+	public static final class Key<S> {
+		private final int id;
+		private final Supplier<? extends S> factory;
+
+		private Key(int id, Supplier<? extends S> factory) {
+			this.id = id;
+			this.factory = factory;
+		}
+	}
+}
@@ -2,11 +2,16 @@ package com.github.kilianB.geneticAlgorithm.prototypes;
 
 import static com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.RNG;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.function.Function;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 
-import com.github.kilianB.MathUtil;
+import com.github.kilianB.geneticAlgorithm.GeneChanges;
 import com.github.kilianB.geneticAlgorithm.Individual;
+import com.github.kilianB.geneticAlgorithm.archive.Fingerprint;
 import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyDiscrete;
 import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyFuzzy;
 
@@ -21,9 +26,29 @@ public class IntPrototype implements IndividualPrototype{
 	private final int rangeOfRange[];
 	private final int variableConstraints[][];
 	
-	private final Function<int[],Double> fitnessFunction;
+	private final ToDoubleFunction<int[]> fitnessFunction;
 
-	public IntPrototype(int[][] initialRange, Function<int[],Double> fitnessFunction) {
+	/**
+	 * Optional incremental fitness function. See {@link #withDeltaFitness(DeltaFitness)}
+	 */
+	private DeltaFitness<int[]> deltaFitness;
+
+	/**
+	 * Optional fitness function supporting a cutoff. See {@link #withBoundedFitness(BoundedFitness)}
+	 */
+	private BoundedFitness<int[]> boundedFitness;
+
+	/**
+	 * Optional low fidelity fitness function. See {@link #withApproximateFitness(ToDoubleFunction)}
+	 */
+	private ToDoubleFunction<int[]> approximateFitness;
+
+	/**
+	 * General feasibility constraints. See {@link #withConstraint(Predicate, double)}
+	 */
+	private final ConstraintSet<int[]> constraints = new ConstraintSet<>();
+
+	public IntPrototype(int[][] initialRange, ToDoubleFunction<int[]> fitnessFunction) {
 		this(initialRange,null,fitnessFunction);
 	}	
 	/**
@@ -38,9 +63,11 @@ public class IntPrototype implements IndividualPrototype{
 	 * [ - )
 	 * 
 	 * @param constraint
-	 * @param fitnessFunction
+	 * @param fitnessFunction the function to minimize. The passed array must not be
+	 *                        altered. See {@link ContextualFitness} to reuse
+	 *                        scratch memory between evaluations
 	 */
-	public IntPrototype(int[][] initialRange, int[][] constraint, Function<int[],Double> fitnessFunction) {
+	public IntPrototype(int[][] initialRange, int[][] constraint, ToDoubleFunction<int[]> fitnessFunction) {
 		
 		//Check settings
 		
@@ -87,6 +114,100 @@ public class IntPrototype implements IndividualPrototype{
 	}
 	
 	
+	/**
+	 * Evaluate offspring incrementally based on the parent they differ least
+	 * from.
+	 * 
+	 * @param deltaFitness the incremental fitness function
+	 * @return this prototype
+	 * @see DeltaFitness
+	 */
+	public IntPrototype withDeltaFitness(DeltaFitness<int[]> deltaFitness) {
+		this.deltaFitness = deltaFitness;
+		return this;
+	}
+
+	/**
+	 * Allow the evaluation of individuals to stop early once their fitness
+	 * exceeds a cutoff.
+	 * 
+	 * @param boundedFitness the fitness function supporting a cutoff
+	 * @return this prototype
+	 * @see BoundedFitness
+	 */
+	public IntPrototype withBoundedFitness(BoundedFitness<int[]> boundedFitness) {
+		this.boundedFitness = boundedFitness;
+		return this;
+	}
+
+	/**
+	 * Supply a cheap, low fidelity estimate of the fitness function.
+	 * 
+	 * @param approximateFitness the low fidelity fitness function
+	 * @return this prototype
+	 * @see Individual#calculateApproximateFitness()
+	 */
+	public IntPrototype withApproximateFitness(ToDoubleFunction<int[]> approximateFitness) {
+		this.approximateFitness = approximateFitness;
+		return this;
+	}
+
+	/**
+	 * Declare a feasibility constraint in addition to the box constraints of each
+	 * variable. Constraints are checked lazily in increasing cost order before the
+	 * fitness function is invoked. Individuals violating a constraint receive the
+	 * penalty fitness without evaluating the objective, unless a repair operator
+	 * fixes them upon creation.
+	 * 
+	 * @param feasible returns true if the variables satisfy the constraint. The
+	 *                 passed array must not be altered
+	 * @param cost     the relative cost of checking the constraint. Cheaper
+	 *                 constraints are checked first
+	 * @return this prototype
+	 * @see #withConstraintPenalty(double)
+	 * @see #withRepair(Consumer)
+	 */
+	public IntPrototype withConstraint(Predicate<int[]> feasible, double cost) {
+		constraints.add(feasible, cost);
+		return this;
+	}
+
+	/**
+	 * Set the fitness assigned to individuals violating a constraint.
+	 * 
+	 * <p>
+	 * Default value: Double.MAX_VALUE, ranking infeasible individuals last
+	 * 
+	 * @param penalty the fitness of infeasible individuals
+	 * @return this prototype
+	 */
+	public IntPrototype withConstraintPenalty(double penalty) {
+		constraints.setPenalty(penalty);
+		return this;
+	}
+
+	/**
+	 * Repair newly created individuals violating a constraint instead of
+	 * penalizing them. The repaired variables are checked again before the
+	 * fitness is evaluated.
+	 * 
+	 * @param repair alters the passed variables to satisfy the constraints and the
+	 *               box constraints of each variable
+	 * @return this prototype
+	 */
+	public IntPrototype withRepair(Consumer<int[]> repair) {
+		constraints.setRepair(repair);
+		return this;
+	}
+
+	/**
+	 * @return the constraints and the statistics of how many fitness evaluations
+	 *         were skipped due to infeasible individuals
+	 */
+	public ConstraintSet<int[]> getConstraints() {
+		return constraints;
+	}
+
 	@Override
 	public Individual createIndividual() {
 		
@@ -100,10 +221,23 @@ public class IntPrototype implements IndividualPrototype{
 			int range = max - min;
 			values[i] = RNG.nextInt(range) + min;
 		}
+		constraints.repair(values);
 		return new IntIndividual(values);
 	}
 	
 	
+	/**
+	 * @param parents int individuals
+	 * @return the backing gene arrays of the individuals
+	 */
+	private static int[][] genes(Individual[] parents) {
+		int[][] genes = new int[parents.length][];
+		for(int i = 0; i < parents.length; i++) {
+			genes[i] = ((IntIndividual) parents[i]).variables;
+		}
+		return genes;
+	}
+	
 	public class IntIndividual extends Individual{
 		
 		private final int[] variables;
@@ -116,6 +250,11 @@ public class IntPrototype implements IndividualPrototype{
 		public int getVariableCount() {
 			return variables.length;
 		}
+
+		@Override
+		public long fingerprint() {
+			return Fingerprint.of(variables);
+		}
 		
 
 		@Override
@@ -123,17 +262,11 @@ public class IntPrototype implements IndividualPrototype{
 			// We assume that both individuals are feasible and valid. No reason to check
 			// constraints
 			int[] newValues = new int[variables.length];
-			double[][] crossoverMatrix = crossoverStrategy.getCrossoverMatrix(crossoverParent);
-			
-			for (int i = 0; i < variables.length; i++) {
-				double tempValue = 0;
-				
-				for(int j = 0; j < crossoverParent.length; j++) {
-					tempValue += crossoverMatrix[j][i] * (int)(crossoverParent[j]).getValue(i);
-				}
-				newValues[i] = (int) Math.round(tempValue);
-			}
-			return new IntIndividual(newValues);
+			GeneChanges changes = deltaFitness == null ? null : new GeneChanges(crossoverParent.length, variables.length);
+			crossoverStrategy.crossover(crossoverParent, genes(crossoverParent), newValues, changes);
+			IntIndividual child = new IntIndividual(newValues);
+			child.trackParents(-1, crossoverParent, repair(newValues, -1, changes));
+			return child;
 		}
 
 		@Override
@@ -141,13 +274,11 @@ public class IntPrototype implements IndividualPrototype{
 			// We assume that both individuals are feasible and valid. No reason to check
 			// constraints
 			int[] newValues = new int[variables.length];
-			
-			int[] crossoverVector = crossoverStrategy.getCrossoverVector(crossoverParent);
-			for(int i = 0; i < crossoverVector.length; i++) {
-				int parentIndex = crossoverVector[i];
-				newValues[i] = crossoverParent[parentIndex].getValue(i);
-			}
-			return new IntIndividual(newValues);
+			GeneChanges changes = deltaFitness == null ? null : new GeneChanges(crossoverParent.length, variables.length);
+			int source = crossoverStrategy.crossover(crossoverParent, genes(crossoverParent), newValues, changes);
+			IntIndividual child = new IntIndividual(newValues);
+			child.trackParents(source, crossoverParent, repair(newValues, source, changes));
+			return child;
 		}
 		
 
@@ -156,28 +287,151 @@ public class IntPrototype implements IndividualPrototype{
 			return (T) Integer.valueOf(variables[i]);
 		}
 
+		@Override
+		public int getInt(int index) {
+			return variables[index];
+		}
+
+		@Override
+		public double getDouble(int index) {
+			return variables[index];
+		}
+
+		@Override
+		public void copyGenes(int[] target) {
+			System.arraycopy(variables, 0, target, 0, variables.length);
+		}
+
+		@Override
+		public void copyGenes(double[] target) {
+			for (int i = 0; i < variables.length; i++) {
+				target[i] = variables[i];
+			}
+		}
+
+		/**
+		 * Check the constraints before the fitness function is invoked
+		 * 
+		 * @return true if the individual is infeasible and receives the penalty
+		 */
+		private boolean violatesConstraints() {
+			if (constraints.test(variables)) {
+				return false;
+			}
+			markInfeasible();
+			return true;
+		}
+
 		@Override
 		protected double calculateFitness() {
-			return fitnessFunction.apply(variables).doubleValue();
+			if (violatesConstraints()) {
+				return constraints.getPenalty();
+			}
+			return fitnessFunction.applyAsDouble(variables);
+		}
+
+		@Override
+		protected double calculateFitness(Individual parent, double parentFitness, int[] changedGenes) {
+			if (violatesConstraints()) {
+				return constraints.getPenalty();
+			}
+			return deltaFitness.applyAsDouble(((IntIndividual) parent).variables, parentFitness, variables, changedGenes);
+		}
+
+		@Override
+		protected double calculateFitness(double cutoff) {
+			if (boundedFitness == null) {
+				return calculateFitness();
+			}
+			if (violatesConstraints()) {
+				return constraints.getPenalty();
+			}
+			return boundedFitness.applyAsDouble(variables, cutoff);
+		}
+
+		@Override
+		protected double calculateApproximateFitness() {
+			if (approximateFitness == null) {
+				return calculateFitness();
+			}
+			if (violatesConstraints()) {
+				return constraints.getPenalty();
+			}
+			return approximateFitness.applyAsDouble(variables);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected void calculateFitness(Individual[] batch, int count, double[] fitness) {
+			List<int[]> genomes = new ArrayList<>(count);
+			int[] index = new int[count];
+			for (int i = 0; i < count; i++) {
+				IntIndividual individual = (IntIndividual) batch[i];
+				if (individual.violatesConstraints()) {
+					fitness[i] = constraints.getPenalty();
+				} else {
+					index[genomes.size()] = i;
+					genomes.add(individual.variables);
+				}
+			}
+			double[] values = ((BatchFitness<int[]>) fitnessFunction).applyAll(genomes);
+			for (int i = 0; i < values.length; i++) {
+				fitness[index[i]] = values[i];
+			}
+		}
+
+		@Override
+		protected boolean hasBatchFitness() {
+			return fitnessFunction instanceof BatchFitness;
+		}
+
+		/**
+		 * Repair altered children. The genes altered by the repair operator are not
+		 * recorded, repaired children are evaluated in full.
+		 * 
+		 * @param genes   the genes of the newly created individual
+		 * @param source  the index of the parent the child is identical to or -1
+		 * @param changes the genes recorded while the child was created or null
+		 * @return the recorded genes or null if the child was repaired
+		 */
+		private GeneChanges repair(int[] genes, int source, GeneChanges changes) {
+			// Parents were repaired upon creation, only altered children may violate constraints
+			return source < 0 && constraints.repair(genes) ? null : changes;
 		}
 
 		@Override
 		public IntIndividual mutate(double probability, double scaleFactor) {
 			int[] newValues = new int[variables.length];
 			
+			//Decide which genes to mutate in one go.
+			boolean[] mutate = new boolean[variables.length];
+			RNG.nextBooleans(mutate, probability);
+			
+			GeneChanges changes = deltaFitness == null ? null : new GeneChanges(1, variables.length);
+			boolean changed = false;
 			for(int i = 0; i < variables.length; i++) {
-				//TODO care about integer over/underflow?
-				do {
-					if(RNG.nextDouble() <= probability) {
-						newValues[i] = variables[i] + (int)Math.round(MathUtil.fitGaussian(RNG.nextGaus(), scaleFactor* rangeOfRange[i],0));
-					}else {
-						newValues[i] = variables[i];
+				if(mutate[i]) {
+					//Every value in [min - 0.5, max + 0.5) rounds to a valid integer
+					int min = variableConstraints[i][0];
+					int max = variableConstraints[i][1];
+					long value = Math.round(RNG.nextTruncatedGaus(variables[i], scaleFactor* rangeOfRange[i], min - 0.5, max + 0.5));
+					newValues[i] = (int) Math.max(min, Math.min(max, value));
+					if(newValues[i] != variables[i]) {
+						changed = true;
+						if(changes != null) {
+							changes.add(0, i);
+						}
 					}
-					////TODO can we adjust the slope of gaussian one sided so we don't have to itterate and do a trial and error? ..
-				}while(newValues[i] < variableConstraints[i][0] || newValues[i] > variableConstraints[i][1]);
+				}else {
+					newValues[i] = variables[i];
+				}
 			}
 			
-			return new IntIndividual(newValues);
+			//Small scale factors often round back to the original value
+			int source = changed ? -1 : 0;
+			IntIndividual child = new IntIndividual(newValues);
+			child.trackParents(source, new Individual[] { this }, repair(newValues, source, changes));
+			return child;
 		}
 
 		@Override
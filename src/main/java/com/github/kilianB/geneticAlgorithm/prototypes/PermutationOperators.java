@@ -0,0 +1,320 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+import static com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.RNG;
+
+import com.github.kilianB.geneticAlgorithm.GeneChanges;
+
+/**
+ * Reproduction operators for permutations of the numbers [0 - n). All
+ * operators produce valid permutations and therefore do not require a repair
+ * pass. Crossovers run in O(n) by keeping an index array mapping each element
+ * to its position or usage state instead of searching the parents.
+ *
+ * @author Kilian
+ * @see PermutationPrototype
+ */
+public final class PermutationOperators {
+
+	private PermutationOperators() {
+	}
+
+	/**
+	 * Order crossover (OX). A random section of the first parent is copied to the
+	 * child. The remaining positions are filled with the missing elements in the
+	 * order they appear in the second parent, starting after the section.
+	 *
+	 * @param a       the first parent
+	 * @param b       the second parent
+	 * @param child   the array to write the offspring to
+	 * @param changes records the positions in which the child differs from a (0)
+	 *                and b (1). May be null
+	 */
+	public static void orderCrossover(int[] a, int[] b, int[] child, GeneChanges changes) {
+		int n = a.length;
+		int from = RNG.nextInt(n);
+		int to = RNG.nextInt(n);
+		if (from > to) {
+			int t = from;
+			from = to;
+			to = t;
+		}
+		orderCrossover(a, b, child, from, to + 1, changes);
+	}
+
+	/**
+	 * Order crossover (OX) keeping the section [from - to) of the first parent.
+	 *
+	 * @param a       the first parent
+	 * @param b       the second parent
+	 * @param child   the array to write the offspring to
+	 * @param from    the first index of the section inclusive
+	 * @param to      the last index of the section exclusive
+	 * @param changes records the positions in which the child differs from a (0)
+	 *                and b (1). May be null
+	 */
+	public static void orderCrossover(int[] a, int[] b, int[] child, int from, int to, GeneChanges changes) {
+		int n = a.length;
+		boolean[] used = new boolean[n];
+		for (int i = from; i < to; i++) {
+			child[i] = a[i];
+			used[a[i]] = true;
+			if (changes != null && a[i] != b[i]) {
+				changes.add(1, i);
+			}
+		}
+		int target = to % n;
+		for (int k = 0; k < n; k++) {
+			int element = b[(to + k) % n];
+			if (!used[element]) {
+				child[target] = element;
+				if (changes != null) {
+					if (element != a[target]) {
+						changes.add(0, target);
+					}
+					if (element != b[target]) {
+						changes.add(1, target);
+					}
+				}
+				target = (target + 1) % n;
+			}
+		}
+	}
+
+	/**
+	 * Partially mapped crossover (PMX). A random section of the first parent is
+	 * copied to the child. Elements of the second parent are kept at their
+	 * position if possible, conflicts are resolved by following the mapping
+	 * defined by the section.
+	 *
+	 * @param a       the first parent
+	 * @param b       the second parent
+	 * @param child   the array to write the offspring to
+	 * @param changes records the positions in which the child differs from b (1).
+	 *                May be null
+	 */
+	public static void partiallyMappedCrossover(int[] a, int[] b, int[] child, GeneChanges changes) {
+		int n = a.length;
+		int from = RNG.nextInt(n);
+		int to = RNG.nextInt(n);
+		if (from > to) {
+			int t = from;
+			from = to;
+			to = t;
+		}
+		partiallyMappedCrossover(a, b, child, from, to + 1, changes);
+	}
+
+	/**
+	 * Partially mapped crossover (PMX) keeping the section [from - to) of the
+	 * first parent.
+	 *
+	 * @param a       the first parent
+	 * @param b       the second parent
+	 * @param child   the array to write the offspring to
+	 * @param from    the first index of the section inclusive
+	 * @param to      the last index of the section exclusive
+	 * @param changes records the positions in which the child differs from b (1).
+	 *                The positions are not tracked relative to a, which differs
+	 *                from the child outside of the section. May be null
+	 */
+	public static void partiallyMappedCrossover(int[] a, int[] b, int[] child, int from, int to,
+			GeneChanges changes) {
+		int n = a.length;
+		System.arraycopy(b, 0, child, 0, n);
+		if (changes != null) {
+			changes.skip(0);
+		}
+		int[] position = positions(child);
+		// Swapping each section element into place is equivalent to following the
+		// mapping chain of the classic formulation
+		for (int i = from; i < to; i++) {
+			int element = a[i];
+			int displaced = child[i];
+			int j = position[element];
+			child[j] = displaced;
+			position[displaced] = j;
+			child[i] = element;
+			position[element] = i;
+			if (changes != null && i != j) {
+				// Later swaps may restore the element of b, which is still recorded
+				changes.add(1, i);
+				changes.add(1, j);
+			}
+		}
+	}
+
+	/**
+	 * Edge recombination crossover (ERX). The child is built by walking the union
+	 * of the edges of all parents, preferring neighbours which have the fewest
+	 * unvisited neighbours left. If no neighbour is left a random unvisited
+	 * element is chosen. Runs in O(n * parents).
+	 *
+	 * @param parents the parents
+	 * @param child   the array to write the offspring to
+	 * @param changes records the positions in which the child differs from each
+	 *                parent. May be null
+	 */
+	public static void edgeRecombination(int[][] parents, int[] child, GeneChanges changes) {
+		int n = child.length;
+		int slots = 2 * parents.length;
+
+		// Adjacency list with a fixed number of slots per element
+		int[] neighbours = new int[n * slots];
+		int[] degree = new int[n];
+		for (int[] parent : parents) {
+			for (int i = 0; i < n; i++) {
+				int element = parent[i];
+				addEdge(neighbours, degree, slots, element, parent[(i + 1) % n]);
+				addEdge(neighbours, degree, slots, element, parent[(i + n - 1) % n]);
+			}
+		}
+
+		// Unvisited elements stored in a dense list to allow O(1) random picks
+		int[] unvisited = new int[n];
+		int[] unvisitedIndex = new int[n];
+		for (int i = 0; i < n; i++) {
+			unvisited[i] = i;
+			unvisitedIndex[i] = i;
+		}
+		int remaining = n;
+
+		int current = parents[RNG.nextInt(parents.length)][0];
+		for (int k = 0; k < n; k++) {
+			child[k] = current;
+			if (changes != null) {
+				changes.record(k, parents, current);
+			}
+
+			// Mark as visited
+			int idx = unvisitedIndex[current];
+			int last = unvisited[--remaining];
+			unvisited[idx] = last;
+			unvisitedIndex[last] = idx;
+
+			// Remove the element from the lists of its neighbours
+			int base = current * slots;
+			for (int s = 0; s < degree[current]; s++) {
+				removeEdge(neighbours, degree, slots, neighbours[base + s], current);
+			}
+
+			if (remaining == 0) {
+				break;
+			}
+
+			int next = -1;
+			int best = Integer.MAX_VALUE;
+			int ties = 0;
+			for (int s = 0; s < degree[current]; s++) {
+				int candidate = neighbours[base + s];
+				int d = degree[candidate];
+				if (d < best) {
+					best = d;
+					next = candidate;
+					ties = 1;
+				} else if (d == best && RNG.nextInt(++ties) == 0) {
+					// Reservoir sampling among equally good candidates
+					next = candidate;
+				}
+			}
+			if (next == -1) {
+				next = unvisited[RNG.nextInt(remaining)];
+			}
+			current = next;
+		}
+	}
+
+	private static void addEdge(int[] neighbours, int[] degree, int slots, int from, int to) {
+		if (from == to) {
+			return;
+		}
+		int base = from * slots;
+		for (int s = 0; s < degree[from]; s++) {
+			if (neighbours[base + s] == to) {
+				return;
+			}
+		}
+		neighbours[base + degree[from]++] = to;
+	}
+
+	private static void removeEdge(int[] neighbours, int[] degree, int slots, int from, int to) {
+		int base = from * slots;
+		for (int s = 0; s < degree[from]; s++) {
+			if (neighbours[base + s] == to) {
+				neighbours[base + s] = neighbours[base + --degree[from]];
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Exchange the elements at position i and j
+	 *
+	 * @param permutation the permutation to alter
+	 * @param i           first position
+	 * @param j           second position
+	 */
+	public static void swap(int[] permutation, int i, int j) {
+		int t = permutation[i];
+		permutation[i] = permutation[j];
+		permutation[j] = t;
+	}
+
+	/**
+	 * Remove the element at position from and insert it at position to, shifting
+	 * the elements in between.
+	 *
+	 * @param permutation the permutation to alter
+	 * @param from        the position of the element to move
+	 * @param to          the new position of the element
+	 */
+	public static void insert(int[] permutation, int from, int to) {
+		int element = permutation[from];
+		if (from < to) {
+			System.arraycopy(permutation, from + 1, permutation, from, to - from);
+		} else {
+			System.arraycopy(permutation, to, permutation, to + 1, from - to);
+		}
+		permutation[to] = element;
+	}
+
+	/**
+	 * Reverse the section [i - j]. Applied to a tour this is the 2-opt move
+	 * replacing the edges entering i and leaving j.
+	 *
+	 * @param permutation the permutation to alter
+	 * @param i           the first position inclusive
+	 * @param j           the last position inclusive
+	 */
+	public static void reverse(int[] permutation, int i, int j) {
+		while (i < j) {
+			swap(permutation, i++, j--);
+		}
+	}
+
+	/**
+	 * @param permutation a permutation of [0 - n)
+	 * @return an array mapping each element to its position
+	 */
+	public static int[] positions(int[] permutation) {
+		int[] position = new int[permutation.length];
+		for (int i = 0; i < permutation.length; i++) {
+			position[permutation[i]] = i;
+		}
+		return position;
+	}
+
+	/**
+	 * @param values the array to check
+	 * @return true if the array contains each number [0 - n) exactly once
+	 */
+	public static boolean isPermutation(int[] values) {
+		boolean[] seen = new boolean[values.length];
+		for (int v : values) {
+			if (v < 0 || v >= values.length || seen[v]) {
+				return false;
+			}
+			seen[v] = true;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,421 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+import static com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.RNG;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import com.github.kilianB.geneticAlgorithm.GeneChanges;
+import com.github.kilianB.geneticAlgorithm.Individual;
+import com.github.kilianB.geneticAlgorithm.archive.Fingerprint;
+import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyDiscrete;
+import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyFuzzy;
+
+/**
+ * Prototype for genomes representing a permutation of the numbers [0 - n),
+ * e.g. the order in which cities are visited or jobs are scheduled.
+ *
+ * <p>
+ * The gene wise crossover strategies of the genetic algorithm do not preserve
+ * permutations. Instead the individuals use the order preserving operators of
+ * {@link PermutationOperators}. The discrete crossover strategy supplied to
+ * the algorithm only determines how many parents take part in a crossover.
+ * Order and partially mapped crossover combine the first two parents, edge
+ * recombination considers the edges of all parents.
+ *
+ * <pre>
+ * var matrix = DistanceMatrix.euclidean(cities);
+ * var prototype = new PermutationPrototype(cities.length, matrix::tourLength,
+ * 		PermutationPrototype.Crossover.EDGE_RECOMBINATION, PermutationPrototype.Mutation.INVERSION);
+ * </pre>
+ *
+ * @author Kilian
+ */
+public class PermutationPrototype implements IndividualPrototype {
+
+	/**
+	 * Order preserving crossover operators
+	 */
+	public enum Crossover {
+		/** @see PermutationOperators#orderCrossover(int[], int[], int[], GeneChanges) */
+		ORDER,
+		/** @see PermutationOperators#partiallyMappedCrossover(int[], int[], int[], GeneChanges) */
+		PARTIALLY_MAPPED,
+		/** @see PermutationOperators#edgeRecombination(int[][], int[], GeneChanges) */
+		EDGE_RECOMBINATION
+	}
+
+	/**
+	 * Order preserving mutation operators. Each gene selected for mutation
+	 * triggers one move. The scale factor limits the distance between the two
+	 * positions involved in a move.
+	 */
+	public enum Mutation {
+		/** Exchange two elements */
+		SWAP,
+		/** Move an element to a different position */
+		INSERT,
+		/** Reverse a section (2-opt move) */
+		INVERSION
+	}
+
+	private final int size;
+	private final ToDoubleFunction<int[]> fitnessFunction;
+	private final Crossover crossover;
+	private final Mutation mutation;
+
+	/**
+	 * Optional incremental fitness function. See {@link #withDeltaFitness(DeltaFitness)}
+	 */
+	private DeltaFitness<int[]> deltaFitness;
+
+	/**
+	 * Optional fitness function supporting a cutoff. See {@link #withBoundedFitness(BoundedFitness)}
+	 */
+	private BoundedFitness<int[]> boundedFitness;
+
+	/**
+	 * Optional low fidelity fitness function. See {@link #withApproximateFitness(ToDoubleFunction)}
+	 */
+	private ToDoubleFunction<int[]> approximateFitness;
+
+	/**
+	 * Create a permutation prototype using order crossover and inversion mutation
+	 *
+	 * @param size            the number of elements to permute
+	 * @param fitnessFunction the function to minimize. The passed array must not be
+	 *                        altered
+	 */
+	public PermutationPrototype(int size, ToDoubleFunction<int[]> fitnessFunction) {
+		this(size, fitnessFunction, Crossover.ORDER, Mutation.INVERSION);
+	}
+
+	/**
+	 * @param size            the number of elements to permute
+	 * @param fitnessFunction the function to minimize. The passed array must not be
+	 *                        altered
+	 * @param crossover       the crossover operator
+	 * @param mutation        the mutation operator
+	 */
+	public PermutationPrototype(int size, ToDoubleFunction<int[]> fitnessFunction, Crossover crossover,
+			Mutation mutation) {
+		if (size < 2) {
+			throw new IllegalArgumentException("A permutation requires at least 2 elements. Actual: " + size);
+		}
+		if (crossover == null || mutation == null) {
+			throw new IllegalArgumentException("Crossover and mutation operator have to be supplied");
+		}
+		this.size = size;
+		this.fitnessFunction = fitnessFunction;
+		this.crossover = crossover;
+		this.mutation = mutation;
+	}
+
+	/**
+	 * Evaluate offspring incrementally based on the parent they differ least
+	 * from.
+	 * 
+	 * @param deltaFitness the incremental fitness function
+	 * @return this prototype
+	 * @see DeltaFitness
+	 */
+	public PermutationPrototype withDeltaFitness(DeltaFitness<int[]> deltaFitness) {
+		this.deltaFitness = deltaFitness;
+		return this;
+	}
+
+	/**
+	 * Allow the evaluation of individuals to stop early once their fitness
+	 * exceeds a cutoff.
+	 * 
+	 * @param boundedFitness the fitness function supporting a cutoff
+	 * @return this prototype
+	 * @see BoundedFitness
+	 */
+	public PermutationPrototype withBoundedFitness(BoundedFitness<int[]> boundedFitness) {
+		this.boundedFitness = boundedFitness;
+		return this;
+	}
+
+	/**
+	 * Supply a cheap, low fidelity estimate of the fitness function.
+	 * 
+	 * @param approximateFitness the low fidelity fitness function
+	 * @return this prototype
+	 * @see Individual#calculateApproximateFitness()
+	 */
+	public PermutationPrototype withApproximateFitness(ToDoubleFunction<int[]> approximateFitness) {
+		this.approximateFitness = approximateFitness;
+		return this;
+	}
+
+	@Override
+	public Individual createIndividual() {
+		int[] order = new int[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		for (int i = size - 1; i > 0; i--) {
+			PermutationOperators.swap(order, i, RNG.nextInt(i + 1));
+		}
+		return new PermutationIndividual(order);
+	}
+
+	/**
+	 * Create an individual holding the supplied permutation
+	 *
+	 * @param order a permutation of [0 - size). The array is not copied
+	 * @return the individual
+	 */
+	public PermutationIndividual createIndividual(int[] order) {
+		if (order.length != size || !PermutationOperators.isPermutation(order)) {
+			throw new IllegalArgumentException("Expected a permutation of [0 - " + size + "). Actual: "
+					+ Arrays.toString(order));
+		}
+		return new PermutationIndividual(order);
+	}
+
+	@Override
+	public String toString() {
+		return "PermutationPrototype [size=" + size + ", crossover=" + crossover + ", mutation=" + mutation + "]";
+	}
+
+	/**
+	 * @param parents permutation individuals
+	 * @return the backing arrays of the individuals
+	 */
+	private static int[][] orders(Individual[] parents) {
+		int[][] orders = new int[parents.length][];
+		for (int i = 0; i < parents.length; i++) {
+			orders[i] = ((PermutationIndividual) parents[i]).order;
+		}
+		return orders;
+	}
+
+	public class PermutationIndividual extends Individual {
+
+		private final int[] order;
+
+		PermutationIndividual(int[] order) {
+			this.order = order;
+		}
+
+		@Override
+		public int getVariableCount() {
+			return order.length;
+		}
+
+		@Override
+		public long fingerprint() {
+			return Fingerprint.of(order);
+		}
+
+		@Override
+		public Individual crossover(CrossoverStrategyFuzzy crossoverStrategy, Individual... crossoverParent) {
+			throw new UnsupportedOperationException("Permutations do not support fuzzy crossover");
+		}
+
+		@Override
+		public Individual crossover(CrossoverStrategyDiscrete crossoverStrategy, Individual... crossoverParent) {
+			int[][] parents = orders(crossoverParent);
+			int[] genes = new int[size];
+			if (parents.length < 2) {
+				System.arraycopy(parents[0], 0, genes, 0, size);
+				PermutationIndividual child = new PermutationIndividual(genes);
+				child.trackParents(0, crossoverParent, null);
+				return child;
+			}
+			GeneChanges changes = null;
+			if (deltaFitness != null) {
+				// Order and partially mapped crossover only take the first two parents into account
+				changes = new GeneChanges(crossover == Crossover.EDGE_RECOMBINATION ? parents.length : 2, size);
+			}
+			switch (crossover) {
+			case ORDER:
+				PermutationOperators.orderCrossover(parents[0], parents[1], genes, changes);
+				break;
+			case PARTIALLY_MAPPED:
+				PermutationOperators.partiallyMappedCrossover(parents[0], parents[1], genes, changes);
+				break;
+			case EDGE_RECOMBINATION:
+				PermutationOperators.edgeRecombination(parents, genes, changes);
+				break;
+			}
+			PermutationIndividual child = new PermutationIndividual(genes);
+			child.trackParents(-1, crossoverParent, changes);
+			return child;
+		}
+
+		@Override
+		public Individual mutate(double probability, double scaleFactor) {
+			int[] newOrder = order.clone();
+
+			boolean[] mutate = new boolean[size];
+			RNG.nextBooleans(mutate, probability);
+
+			// Maximum distance between the positions of a move
+			int reach = Math.max(1, (int) Math.ceil(scaleFactor * (size - 1)));
+
+			// Records the positions touched by the moves
+			GeneChanges changes = deltaFitness == null ? null : new GeneChanges(1, size);
+			boolean changed = false;
+			for (int i = 0; i < size; i++) {
+				if (!mutate[i]) {
+					continue;
+				}
+				changed = true;
+				int offset = RNG.nextInt(reach) + 1;
+				int j = RNG.nextBoolean() ? i + offset : i - offset;
+				// Reflect back into range
+				if (j >= size) {
+					j = Math.max(0, i - offset);
+				} else if (j < 0) {
+					j = Math.min(size - 1, i + offset);
+				}
+				switch (mutation) {
+				case SWAP:
+					PermutationOperators.swap(newOrder, i, j);
+					if (changes != null) {
+						changes.add(0, i);
+						changes.add(0, j);
+					}
+					break;
+				case INSERT:
+					PermutationOperators.insert(newOrder, i, j);
+					record(changes, i, j);
+					break;
+				case INVERSION:
+					PermutationOperators.reverse(newOrder, Math.min(i, j), Math.max(i, j));
+					record(changes, i, j);
+					break;
+				}
+			}
+			PermutationIndividual child = new PermutationIndividual(newOrder);
+			child.trackParents(changed ? -1 : 0, new Individual[] { this }, changes);
+			return child;
+		}
+
+		/**
+		 * Record the positions [i - j] shifted by a move
+		 * 
+		 * @param changes the recorded positions or null
+		 * @param i       the first position of the move
+		 * @param j       the second position of the move
+		 */
+		private void record(GeneChanges changes, int i, int j) {
+			if (changes != null) {
+				for (int k = Math.min(i, j); k <= Math.max(i, j); k++) {
+					changes.add(0, k);
+				}
+			}
+		}
+
+		@Override
+		protected double calculateFitness() {
+			return fitnessFunction.applyAsDouble(order);
+		}
+
+		@Override
+		protected double calculateFitness(Individual parent, double parentFitness, int[] changedGenes) {
+			return deltaFitness.applyAsDouble(((PermutationIndividual) parent).order, parentFitness, order, changedGenes);
+		}
+
+		@Override
+		protected double calculateFitness(double cutoff) {
+			if (boundedFitness == null) {
+				return calculateFitness();
+			}
+			return boundedFitness.applyAsDouble(order, cutoff);
+		}
+
+		@Override
+		protected double calculateApproximateFitness() {
+			if (approximateFitness == null) {
+				return calculateFitness();
+			}
+			return approximateFitness.applyAsDouble(order);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected void calculateFitness(Individual[] batch, int count, double[] fitness) {
+			List<int[]> genomes = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				genomes.add(((PermutationIndividual) batch[i]).order);
+			}
+			System.arraycopy(((BatchFitness<int[]>) fitnessFunction).applyAll(genomes), 0, fitness, 0, count);
+		}
+
+		@Override
+		protected boolean hasBatchFitness() {
+			return fitnessFunction instanceof BatchFitness;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T> T getValue(int index) {
+			return (T) Integer.valueOf(order[index]);
+		}
+
+		@Override
+		public int getInt(int index) {
+			return order[index];
+		}
+
+		@Override
+		public double getDouble(int index) {
+			return order[index];
+		}
+
+		@Override
+		public void copyGenes(int[] target) {
+			System.arraycopy(order, 0, target, 0, order.length);
+		}
+
+		@Override
+		public String[] toCSV() {
+			String[] fields = new String[order.length + 1];
+			fields[0] = Double.toString(getFitness());
+			for (int i = 0; i < order.length; i++) {
+				fields[i + 1] = Integer.toString(order[i]);
+			}
+			return fields;
+		}
+
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + getOuterType().hashCode();
+			result = prime * result + Arrays.hashCode(order);
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null)
+				return false;
+			if (getClass() != obj.getClass())
+				return false;
+			PermutationIndividual other = (PermutationIndividual) obj;
+			if (!getOuterType().equals(other.getOuterType()))
+				return false;
+			if (!Arrays.equals(order, other.order))
+				return false;
+			return true;
+		}
+
+		@Override
+		public String toString() {
+			return "PermutationIndividual [order=" + Arrays.toString(order) + ", fitness=" + getFitness() + "]";
+		}
+
+		private PermutationPrototype getOuterType() {
+			return PermutationPrototype.this;
+		}
+	}
+}
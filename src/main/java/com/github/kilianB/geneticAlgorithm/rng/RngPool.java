@@ -1,6 +1,7 @@
 package com.github.kilianB.geneticAlgorithm.rng;
 
 import java.util.Random;
+import java.util.function.IntConsumer;
 
 /**
  * @author Kilian
@@ -47,11 +48,154 @@ public interface RngPool{
 	double nextGaus();
 
 	/**
-	 * The returned rng instance isn't guaranteed to be thread save and might even be used in a 
+	 * Return a gaus distributed number truncated to the range [lower - upper]. Opposed to
+	 * drawing gaussians until one falls into the range the number of draws needed
+	 * does not depend on the location of the bounds.
+	 *
+	 * @param mean  the mean of the untruncated distribution
+	 * @param std   the standard deviation of the untruncated distribution
+	 * @param lower the lower bound inclusive
+	 * @param upper the upper bound inclusive
+	 * @return a value in the range [lower - upper]
+	 * @see TruncatedGaussian
+	 */
+	default double nextTruncatedGaus(double mean, double std, double lower, double upper) {
+		return TruncatedGaussian.sample(this, mean, std, lower, upper);
+	}
+
+	/**
+	 * The returned rng instance isn't guaranteed to be thread save and might even be used in a
 	 * per thread context. {@link java.lang.ThreadLocal}. Therefore, it is not advised to keep a reference
 	 * to this object across thread usage.
 	 * @return the rng instance used to calculate the numbers
 	 */
 	Random getUnderlayingRNG();
-	
-}
\ No newline at end of file
+
+	/*
+	 * Bulk operations. The default implementations simply delegate to the single value
+	 * methods. Implementations are encouraged to override them and generate the values
+	 * in blocks.
+	 */
+
+	/**
+	 * Fill the array with randomly distributed doubles [0-1)
+	 *
+	 * @param target the array to fill
+	 */
+	default void nextDoubles(double[] target) {
+		nextDoubles(target, 0, target.length);
+	}
+
+	/**
+	 * Fill a section of the array with randomly distributed doubles [0-1)
+	 *
+	 * @param target the array to fill
+	 * @param offset the first index to write to
+	 * @param length the number of values to generate
+	 */
+	default void nextDoubles(double[] target, int offset, int length) {
+		for (int i = offset; i < offset + length; i++) {
+			target[i] = nextDouble();
+		}
+	}
+
+	/**
+	 * Fill the array with randomly generated ints
+	 *
+	 * @param target the array to fill
+	 */
+	default void nextInts(int[] target) {
+		for (int i = 0; i < target.length; i++) {
+			target[i] = nextInt();
+		}
+	}
+
+	/**
+	 * Fill the array with randomly generated integers between [0 - bound)
+	 *
+	 * @param target the array to fill
+	 * @param bound  the upper bound exclusively
+	 */
+	default void nextInts(int[] target, int bound) {
+		nextInts(target, 0, target.length, bound);
+	}
+
+	/**
+	 * Fill a section of the array with randomly generated integers between [0 -
+	 * bound)
+	 *
+	 * @param target the array to fill
+	 * @param offset the first index to write to
+	 * @param length the number of values to generate
+	 * @param bound  the upper bound exclusively
+	 */
+	default void nextInts(int[] target, int offset, int length, int bound) {
+		for (int i = offset; i < offset + length; i++) {
+			target[i] = nextInt(bound);
+		}
+	}
+
+	/**
+	 * Fill the array with randomly distributed longs
+	 *
+	 * @param target the array to fill
+	 */
+	default void nextLongs(long[] target) {
+		for (int i = 0; i < target.length; i++) {
+			target[i] = nextLong();
+		}
+	}
+
+	/**
+	 * Fill the array with booleans each having a 50% probability of being true
+	 *
+	 * @param target the array to fill
+	 */
+	default void nextBooleans(boolean[] target) {
+		for (int i = 0; i < target.length; i++) {
+			target[i] = nextBoolean();
+		}
+	}
+
+	/**
+	 * Fill the array with booleans each being true with the given probability.
+	 * Useful to decide which genes are altered during mutation.
+	 *
+	 * @param target      the array to fill
+	 * @param probability the probability of each entry being true [0 - 1]
+	 */
+	default void nextBooleans(boolean[] target, double probability) {
+		for (int i = 0; i < target.length; i++) {
+			target[i] = nextDouble() < probability;
+		}
+	}
+
+	/**
+	 * Perform a number of bernoulli trials and pass the index of each success to
+	 * the action in ascending order. Useful to alter genes in place without
+	 * creating a mask first.
+	 *
+	 * @param length      the number of trials
+	 * @param probability the success probability of each trial [0 - 1]
+	 * @param action      the action invoked with the index of each success
+	 */
+	default void nextSuccesses(int length, double probability, IntConsumer action) {
+		for (int i = 0; i < length; i++) {
+			if (nextDouble() < probability) {
+				action.accept(i);
+			}
+		}
+	}
+
+	/**
+	 * Fill the array with gaus distributed numbers with mean 0 and standard
+	 * deviation of 1
+	 *
+	 * @param target the array to fill
+	 */
+	default void nextGaussians(double[] target) {
+		for (int i = 0; i < target.length; i++) {
+			target[i] = nextGaus();
+		}
+	}
+}
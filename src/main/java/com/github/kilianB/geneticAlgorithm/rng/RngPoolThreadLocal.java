@@ -1,6 +1,8 @@
 package com.github.kilianB.geneticAlgorithm.rng;
 
+import java.util.Arrays;
 import java.util.Random;
+import java.util.function.IntConsumer;
 import java.util.function.Supplier;
 
 import com.github.kilianB.pcg.fast.PcgRSFast;
@@ -14,6 +16,14 @@ import com.github.kilianB.pcg.fast.PcgRSFast;
  */
 public class RngPoolThreadLocal implements RngPool{
 
+	/** 2^-53 used to map the upper 53 bits of a long to a double [0-1) */
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+	/** The number of values representable by an unsigned 32 bit int */
+	private static final long INT_RANGE = 1L << 32;
+
+	private static final long INT_MASK = 0xFFFFFFFFL;
+
 	private final ThreadLocal<Random> threadRNG;
 	
 	/**
@@ -61,7 +71,7 @@ public class RngPoolThreadLocal implements RngPool{
 	@Override
 	public double nextGaus() {
 		//TODO NaN check for debug purposes
-		double gaus = threadRNG.get().nextGaussian();
+		double gaus = ZigguratGaussian.nextGaussian(threadRNG.get());
 		assert !Double.isNaN(gaus) : "Gaus produced NaN value";
 		return gaus;
 	}
@@ -70,6 +80,132 @@ public class RngPoolThreadLocal implements RngPool{
 	public Random getUnderlayingRNG() {
 		return threadRNG.get();
 	}
+
+	/*
+	 * Bulk operations. The thread local rng is only resolved once per call and
+	 * every 64 bit block is fully consumed.
+	 */
+
+	@Override
+	public void nextDoubles(double[] target, int offset, int length) {
+		Random rng = threadRNG.get();
+		for (int i = offset; i < offset + length; i++) {
+			target[i] = (rng.nextLong() >>> 11) * DOUBLE_UNIT;
+		}
+	}
+
+	@Override
+	public void nextInts(int[] target) {
+		Random rng = threadRNG.get();
+		int i = 0;
+		for (; i < target.length - 1; i += 2) {
+			long bits = rng.nextLong();
+			target[i] = (int) bits;
+			target[i + 1] = (int) (bits >>> 32);
+		}
+		if (i < target.length) {
+			target[i] = rng.nextInt();
+		}
+	}
+
+	@Override
+	public void nextInts(int[] target, int offset, int length, int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("bound must be positive");
+		}
+		Random rng = threadRNG.get();
+
+		// Lemire's multiply and shift. Each long provides two 32 bit candidates. The
+		// threshold rejects the few values which would bias the lower numbers
+		long threshold = (INT_RANGE - bound) % bound;
+		int end = offset + length;
+		int i = offset;
+		while (i < end) {
+			long bits = rng.nextLong();
+
+			long m = (bits & INT_MASK) * bound;
+			if ((m & INT_MASK) >= threshold) {
+				target[i++] = (int) (m >>> 32);
+			}
+			if (i < end) {
+				m = (bits >>> 32) * bound;
+				if ((m & INT_MASK) >= threshold) {
+					target[i++] = (int) (m >>> 32);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void nextLongs(long[] target) {
+		Random rng = threadRNG.get();
+		for (int i = 0; i < target.length; i++) {
+			target[i] = rng.nextLong();
+		}
+	}
+
+	@Override
+	public void nextBooleans(boolean[] target) {
+		Random rng = threadRNG.get();
+		long bits = 0;
+		for (int i = 0; i < target.length; i++) {
+			if ((i & 63) == 0) {
+				bits = rng.nextLong();
+			}
+			target[i] = (bits & 1) != 0;
+			bits >>>= 1;
+		}
+	}
+
+	@Override
+	public void nextBooleans(boolean[] target, double probability) {
+		if (probability <= 0) {
+			Arrays.fill(target, false);
+			return;
+		}
+		if (probability >= 1) {
+			Arrays.fill(target, true);
+			return;
+		}
+		Arrays.fill(target, false);
+		nextSuccesses(target.length, probability, i -> target[i] = true);
+	}
+
+	@Override
+	public void nextSuccesses(int length, double probability, IntConsumer action) {
+		if (probability <= 0) {
+			return;
+		}
+		if (probability >= 1) {
+			for (int i = 0; i < length; i++) {
+				action.accept(i);
+			}
+			return;
+		}
+
+		Random rng = threadRNG.get();
+
+		// Jump directly to the next success. The gap between two successes of a
+		// bernoulli process is geometrically distributed, which means we only draw as
+		// many numbers as trials succeed instead of one per trial.
+		double logQ = Math.log1p(-probability);
+		int i = -1;
+		while (true) {
+			// (0 - 1]
+			double u = 1 - (rng.nextLong() >>> 11) * DOUBLE_UNIT;
+			double gap = Math.log(u) / logQ;
+			if (gap >= length - i - 1) {
+				break;
+			}
+			i += 1 + (int) gap;
+			action.accept(i);
+		}
+	}
+
+	@Override
+	public void nextGaussians(double[] target) {
+		ZigguratGaussian.nextGaussians(threadRNG.get(), target);
+	}
 	
 	
 	public static RngPoolThreadLocal pcgRS() {
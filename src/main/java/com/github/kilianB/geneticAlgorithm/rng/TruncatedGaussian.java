@@ -0,0 +1,194 @@
+package com.github.kilianB.geneticAlgorithm.rng;
+
+/**
+ * Sampler for normal distributions truncated to an interval [lower - upper].
+ *
+ * <p>
+ * Drawing a gaussian and retrying until it falls into the valid range may
+ * require an arbitrary amount of attempts if the mean lies close to a bound and
+ * the standard deviation is large. The truncated distribution is instead
+ * sampled by inversion: a single uniform value is mapped into the probability
+ * mass covered by the interval and transformed back via the normal quantile
+ * function. Intervals located in the far tail are sampled via the upper tail
+ * probability to not lose precision.
+ *
+ * <p>
+ * If the interval covers virtually the entire distribution simple rejection
+ * with the supplied {@link RngPool} is cheaper and is used instead. The chance
+ * of a rejection in this case is below 2e-9.
+ *
+ * @author Kilian
+ */
+public final class TruncatedGaussian {
+
+	/**
+	 * Standardized bound beyond which the interval is considered to cover the
+	 * entire distribution
+	 */
+	private static final double REJECTION_BOUND = 6;
+
+	private static final double SQRT_2 = Math.sqrt(2);
+
+	// Coefficients of Acklam's rational approximation of the normal quantile
+	private static final double[] A = { -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+			1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00 };
+	private static final double[] B = { -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+			6.680131188771972e+01, -1.328068155288572e+01 };
+	private static final double[] C = { -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+			-2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00 };
+	private static final double[] D = { 7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+			3.754408661907416e+00 };
+
+	private static final double P_LOW = 0.02425;
+	private static final double P_HIGH = 1 - P_LOW;
+
+	private TruncatedGaussian() {
+	}
+
+	/**
+	 * Draw a value from a normal distribution truncated to [lower - upper].
+	 *
+	 * @param rng   the source of randomness
+	 * @param mean  the mean of the untruncated distribution
+	 * @param std   the standard deviation of the untruncated distribution
+	 * @param lower the lower bound inclusive
+	 * @param upper the upper bound inclusive
+	 * @return a value in the range [lower - upper]
+	 */
+	public static double sample(RngPool rng, double mean, double std, double lower, double upper) {
+		if (!(std > 0)) {
+			return clamp(mean, lower, upper);
+		}
+		double a = (lower - mean) / std;
+		double b = (upper - mean) / std;
+
+		if (a <= -REJECTION_BOUND && b >= REJECTION_BOUND) {
+			double x;
+			do {
+				x = rng.nextGaus();
+			} while (x < a || x > b);
+			return clamp(mean + std * x, lower, upper);
+		}
+		return inverse(rng.nextDouble(), mean, std, lower, upper);
+	}
+
+	/**
+	 * Map a uniformly distributed value to a normal distribution truncated to
+	 * [lower - upper] via inversion.
+	 *
+	 * @param u     a uniformly distributed value [0 - 1)
+	 * @param mean  the mean of the untruncated distribution
+	 * @param std   the standard deviation of the untruncated distribution
+	 * @param lower the lower bound inclusive
+	 * @param upper the upper bound inclusive
+	 * @return a value in the range [lower - upper]
+	 */
+	public static double inverse(double u, double mean, double std, double lower, double upper) {
+		if (!(std > 0)) {
+			return clamp(mean, lower, upper);
+		}
+		double a = (lower - mean) / std;
+		double b = (upper - mean) / std;
+
+		double x;
+		if (a > 0) {
+			x = upperTail(u, a, b);
+		} else if (b < 0) {
+			// Mirror the interval into the upper tail
+			x = -upperTail(u, -b, -a);
+		} else {
+			double pa = cdf(a);
+			double pb = cdf(b);
+			x = quantile(pa + u * (pb - pa));
+		}
+		return clamp(mean + std * x, lower, upper);
+	}
+
+	/**
+	 * Sample a standard normal distribution truncated to [a - b] with 0 &lt; a
+	 * &lt; b.
+	 */
+	private static double upperTail(double u, double a, double b) {
+		double qa = complementaryCdf(a);
+		double qb = complementaryCdf(b);
+		if (qa > 0) {
+			double p = qa - u * (qa - qb);
+			if (p > 0) {
+				return -quantile(p);
+			}
+		}
+		// The tail mass underflowed. Far out in the tail the truncated normal
+		// converges to a shifted exponential distribution with rate a.
+		return a - Math.log1p(-u * -Math.expm1(-a * (b - a))) / a;
+	}
+
+	/**
+	 * The cumulative distribution function of the standard normal distribution.
+	 *
+	 * @param x the value
+	 * @return P(X &le; x)
+	 */
+	public static double cdf(double x) {
+		return 0.5 * erfc(-x / SQRT_2);
+	}
+
+	/**
+	 * The upper tail probability of the standard normal distribution. Opposed to
+	 * <code>1 - cdf(x)</code> precision is retained for large x.
+	 *
+	 * @param x the value
+	 * @return P(X &gt; x)
+	 */
+	public static double complementaryCdf(double x) {
+		return 0.5 * erfc(x / SQRT_2);
+	}
+
+	/**
+	 * The quantile function of the standard normal distribution with a relative
+	 * error of less than 1.15e-9.
+	 *
+	 * @param p the probability (0 - 1)
+	 * @return x such that P(X &le; x) = p
+	 */
+	public static double quantile(double p) {
+		if (p <= 0) {
+			return Double.NEGATIVE_INFINITY;
+		}
+		if (p >= 1) {
+			return Double.POSITIVE_INFINITY;
+		}
+		if (p < P_LOW) {
+			double q = Math.sqrt(-2 * Math.log(p));
+			return (((((C[0] * q + C[1]) * q + C[2]) * q + C[3]) * q + C[4]) * q + C[5])
+					/ ((((D[0] * q + D[1]) * q + D[2]) * q + D[3]) * q + 1);
+		}
+		if (p <= P_HIGH) {
+			double q = p - 0.5;
+			double r = q * q;
+			return (((((A[0] * r + A[1]) * r + A[2]) * r + A[3]) * r + A[4]) * r + A[5]) * q
+					/ (((((B[0] * r + B[1]) * r + B[2]) * r + B[3]) * r + B[4]) * r + 1);
+		}
+		double q = Math.sqrt(-2 * Math.log1p(-p));
+		return -(((((C[0] * q + C[1]) * q + C[2]) * q + C[3]) * q + C[4]) * q + C[5])
+				/ ((((D[0] * q + D[1]) * q + D[2]) * q + D[3]) * q + 1);
+	}
+
+	/**
+	 * Complementary error function with a fractional error of less than 1.2e-7
+	 * over the entire range.
+	 *
+	 * @see Numerical Recipes in C, 2nd edition, 6.2
+	 */
+	private static double erfc(double x) {
+		double z = Math.abs(x);
+		double t = 1 / (1 + 0.5 * z);
+		double ans = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+				+ t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587 + t * (-0.82215223
+						+ t * 0.17087277)))))))));
+		return x >= 0 ? ans : 2 - ans;
+	}
+
+	private static double clamp(double value, double lower, double upper) {
+		return value < lower ? lower : value > upper ? upper : value;
+	}
+}
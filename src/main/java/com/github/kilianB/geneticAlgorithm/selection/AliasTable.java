@@ -0,0 +1,153 @@
+package com.github.kilianB.geneticAlgorithm.selection;
+
+import com.github.kilianB.geneticAlgorithm.rng.RngPool;
+
+/**
+ * Discrete distribution sampler based on Vose's alias method.
+ *
+ * <p>
+ * Building the table takes O(n) while every draw afterwards is O(1) using a
+ * single random double. Opposed to walking the cumulative weights for each
+ * draw, selecting m items from a population of size n costs O(n + m) instead
+ * of O(n * m).
+ *
+ * <p>
+ * Weights which are negative or NaN are treated as 0. If no weight is positive
+ * all indices are equally likely.
+ *
+ * @author Kilian
+ * @see <a href="https://www.keithschwarz.com/darts-dice-coins/">Darts, Dice,
+ *      and Coins: Sampling from a Discrete Distribution</a>
+ */
+final class AliasTable {
+
+	/** Probability to keep the column index instead of using the alias */
+	private final double[] probability;
+	/** Index to return if the column is rejected */
+	private final int[] alias;
+
+	/**
+	 * @param weights the relative weights of each index. The weights do not need
+	 *                to be normalized.
+	 */
+	AliasTable(double[] weights) {
+		this(weights, weights.length);
+	}
+
+	/**
+	 * @param weights the relative weights of each index. The weights do not need
+	 *                to be normalized.
+	 * @param length  the number of weights to consider starting at index 0
+	 */
+	AliasTable(double[] weights, int length) {
+		int n = length;
+		if (n == 0) {
+			throw new IllegalArgumentException("At least one weight is required");
+		}
+		probability = new double[n];
+		alias = new int[n];
+
+		double sum = 0;
+		for (int i = 0; i < n; i++) {
+			if (weights[i] > 0) {
+				sum += weights[i];
+			}
+		}
+
+		// Scale weights so that the average column is exactly 1
+		double[] scaled = probability;
+		for (int i = 0; i < n; i++) {
+			scaled[i] = sum > 0 && sum < Double.POSITIVE_INFINITY ? (weights[i] > 0 ? weights[i] * n / sum : 0) : 1;
+		}
+
+		// Work lists of columns below and above average. Both share one array, small
+		// growing from the start, large growing from the end
+		int[] work = new int[n];
+		int small = 0;
+		int large = n;
+		for (int i = 0; i < n; i++) {
+			if (scaled[i] < 1) {
+				work[small++] = i;
+			} else {
+				work[--large] = i;
+			}
+		}
+
+		while (small > 0 && large < n) {
+			int less = work[--small];
+			int more = work[large++];
+
+			// probability[less] is final. Fill the remainder of the column with more
+			alias[less] = more;
+			scaled[more] = (scaled[more] + scaled[less]) - 1;
+
+			if (scaled[more] < 1) {
+				work[small++] = more;
+			} else {
+				work[--large] = more;
+			}
+		}
+
+		// Leftovers are only off by rounding errors
+		while (small > 0) {
+			int i = work[--small];
+			probability[i] = 1;
+			alias[i] = i;
+		}
+		while (large < n) {
+			int i = work[large++];
+			probability[i] = 1;
+			alias[i] = i;
+		}
+	}
+
+	/**
+	 * Draw an index with a probability proportional to its weight
+	 *
+	 * @param rng the source of randomness
+	 * @return an index [0 - n)
+	 */
+	int sample(RngPool rng) {
+		return lookup(rng.nextDouble());
+	}
+
+	/**
+	 * Fill the array with indices drawn with a probability proportional to their
+	 * weights
+	 *
+	 * @param rng    the source of randomness
+	 * @param target the array to fill
+	 */
+	void sample(RngPool rng, int[] target) {
+		double[] u = new double[target.length];
+		rng.nextDoubles(u);
+		for (int i = 0; i < target.length; i++) {
+			target[i] = lookup(u[i]);
+		}
+	}
+
+	/**
+	 * Map a uniformly distributed value to an index. The integer part of the
+	 * scaled value selects the column, the fractional part decides between the
+	 * column and its alias.
+	 *
+	 * @param u uniformly distributed value [0 - 1)
+	 * @return the index
+	 */
+	private int lookup(double u) {
+		double scaled = u * probability.length;
+		int column = (int) scaled;
+		// Guard against u being rounded up to 1
+		if (column >= probability.length) {
+			column = probability.length - 1;
+		}
+		return (scaled - column) < probability[column] ? column : alias[column];
+	}
+
+	/**
+	 * @return the number of entries in the table
+	 */
+	int size() {
+		return probability.length;
+	}
+}
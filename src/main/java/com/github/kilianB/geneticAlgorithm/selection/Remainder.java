@@ -15,6 +15,10 @@ import com.github.kilianB.geneticAlgorithm.fitnessScaling.FitnessScalingStrategy
  * probability that a parent is chosen in this step is proportional to the
  * fractional part of its scaled value.
  * 
+ * <p>
+ * The stochastic step draws from an {@link AliasTable} over the fractional
+ * parts, allowing each parent to be drawn in constant time.
+ * 
  * @author Kilian
  * @see https://se.mathworks.com/help/gads/genetic-algorithm-options.html#f6593
  */
@@ -22,48 +26,44 @@ public class Remainder implements SelectionStrategy {
 
 	@Override
 	public Individual[] selectParents(ScaledFitness[] scaledFitness, int count) {
-		
+		return selectParents(ScaledFitness.individuals(scaledFitness), ScaledFitness.scaledValues(scaledFitness),
+				count);
+	}
+
+	@Override
+	public Individual[] selectParents(Individual[] population, double[] scaledFitness, int count) {
 		
 		Individual[] generatedParents = new Individual[count];
 
 		//Remainder 
 		int curIndex = 0;
 		
-		//Calculate remaining roulette area
-		double rouletteArea = 0;
+		//Roulette area of each individual
+		double[] fractionalPart = new double[population.length];
 		
-		for(var item : scaledFitness) {
+		for(int j = 0; j < population.length; j++) {
 			
-			int intPart = (int)item.getScaledFitness();
+			double scaled = scaledFitness[j];
+			int intPart = (int)scaled;
 			
-			for(int i = 0; i < intPart; i++) {
-				generatedParents[curIndex++] = item.getIndividual();
+			for(int i = 0; i < intPart && curIndex < count; i++) {
+				generatedParents[curIndex++] = population[j];
 			}
 			
-			//Sum up the fractional parts
-			rouletteArea += (item.getScaledFitness() - intPart);
-			
+			//only consider the fractional part
+			fractionalPart[j] = scaled - intPart;
 		}
 		
 		int parentsNeeded = count - curIndex;
 		
-	
-		//Roulette 
-		
-		for (int i = 0; i < parentsNeeded; i++) {
-			// The total area is = the count of parents to generate
-			double currentCount = 0;
-			double roulette = RNG.nextDouble() * rouletteArea;
-			for (int j = 0; j < scaledFitness.length; j++) {
-				
-				//only consider the fractional part
-				currentCount += (scaledFitness[j].getScaledFitness()) - (int)scaledFitness[j].getScaledFitness();
-				
-				if (roulette <= currentCount) {
-					// The section of the wheel the ball landed on
-					generatedParents[curIndex++] = scaledFitness[j].getIndividual();
-					break;
-				}
+		if(parentsNeeded > 0) {
+			//Roulette 
+			int[] section = new int[parentsNeeded];
+			new AliasTable(fractionalPart).sample(RNG, section);
+			
+			for (int i = 0; i < parentsNeeded; i++) {
+				// The section of the wheel the ball landed on
+				generatedParents[curIndex++] = population[section[i]];
 			}
 		}
 		return generatedParents;
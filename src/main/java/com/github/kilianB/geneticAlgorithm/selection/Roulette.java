@@ -11,6 +11,10 @@ import com.github.kilianB.geneticAlgorithm.fitnessScaling.FitnessScalingStrategy
  * proportional to the individual's expectation. The algorithm uses a random
  * number to select one of the sections with a probability equal to its area.
  * 
+ * <p>
+ * The wheel is represented by an {@link AliasTable} built once per call,
+ * allowing each parent to be drawn in constant time.
+ * 
  * @author Kilian
  * @see https://se.mathworks.com/help/gads/genetic-algorithm-options.html#f6593
  */
@@ -18,23 +22,24 @@ public class Roulette implements SelectionStrategy {
 
 	@Override
 	public Individual[] selectParents(ScaledFitness[] scaledFitness, int count) {
+		return selectParents(ScaledFitness.individuals(scaledFitness), ScaledFitness.scaledValues(scaledFitness),
+				count);
+	}
+
+	@Override
+	public Individual[] selectParents(Individual[] population, double[] scaledFitness, int count) {
 
 		Individual[] generatedParents = new Individual[count];
 
-		for (int i = 0; i < count; i++) {
-			// The total area is = the count of parents to generate
-			double currentCount = 0;
-			double roulette = RNG.nextDouble() * count;
+		// The area of each section of the wheel
+		AliasTable wheel = new AliasTable(scaledFitness, population.length);
 
-			for (int j = 0; j < scaledFitness.length; j++) {
+		// The sections of the wheel the balls landed on
+		int[] section = new int[count];
+		wheel.sample(RNG, section);
 
-				currentCount += scaledFitness[j].getScaledFitness();
-				if (roulette <= currentCount) {
-					// The section of the wheel the ball landed on
-					generatedParents[i] = scaledFitness[j].getIndividual();
-					break;
-				}
-			}
+		for (int i = 0; i < count; i++) {
+			generatedParents[i] = population[section[i]];
 		}
 		return generatedParents;
 	}
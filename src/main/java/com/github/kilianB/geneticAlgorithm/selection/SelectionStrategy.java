@@ -8,6 +8,14 @@ import com.github.kilianB.geneticAlgorithm.fitnessScaling.FitnessScalingStrategy
  * The selection strategy defines which parents are nominated as parents for future generations
  * based on their scaled fitness values. The same individual may be picked as parent multiple
  * times. 
+ * 
+ * <p>
+ * Besides the object based {@link #selectParents(ScaledFitness[], int)} a
+ * primitive variant taking the scaled fitness as a <code>double[]</code> aligned
+ * with the population is offered. The genetic algorithm uses the primitive
+ * variant. Custom implementations only have to implement the object based
+ * method.
+ * 
  * @author Kilian
  *
  */
@@ -25,4 +33,25 @@ public interface SelectionStrategy {
 	 * 	yshould be randomly picked from the array!
 	 */
 	public Individual[] selectParents(ScaledFitness[] scaledFitness, int count);
+
+	/**
+	 * 
+	 * Nominate individuals to be parents for the next generation based on their scaled fitness value.
+	 * 
+	 * <p>
+	 * The default implementation wraps the values and delegates to
+	 * {@link #selectParents(ScaledFitness[], int)}.
+	 * 
+	 * @param population A population sorted by it's fitness value
+	 * @param scaledFitness The scaled fitness of the individual at the same index. Only the first 
+	 * 	<code>population.length</code> entries are considered.
+	 * @param count The count of parents that shall be selected
+	 * @return
+	 * 	The ordering of the array is unspecified and may or may not be sorted by the individuals
+	 * 	fitness value. Be aware that when selecting parents for reproduction the individuals 
+	 * 	yshould be randomly picked from the array!
+	 */
+	public default Individual[] selectParents(Individual[] population, double[] scaledFitness, int count) {
+		return selectParents(ScaledFitness.of(population, scaledFitness), count);
+	}
 }
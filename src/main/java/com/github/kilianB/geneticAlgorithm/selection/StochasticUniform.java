@@ -19,6 +19,12 @@ public class StochasticUniform implements SelectionStrategy{
 
 	@Override
 	public Individual[] selectParents(ScaledFitness[] scaledFitness, int count) {
+		return selectParents(ScaledFitness.individuals(scaledFitness), ScaledFitness.scaledValues(scaledFitness),
+				count);
+	}
+
+	@Override
+	public Individual[] selectParents(Individual[] population, double[] scaledFitness, int count) {
 		
 		Individual[] selectedParents = new Individual[count];
 				
@@ -33,10 +39,10 @@ public class StochasticUniform implements SelectionStrategy{
 			double location = i + RNG.nextDouble();
 			//since we are only increasing we can simply move forward
 			while(currentMaxLocationOfIndividual < location) {
-				currentMaxLocationOfIndividual += scaledFitness[curIndex++].getScaledFitness();
+				currentMaxLocationOfIndividual += scaledFitness[curIndex++];
 			};
 			//This is the parent we want to work with
-			selectedParents[i] = scaledFitness[curIndex-1].getIndividual();
+			selectedParents[i] = population[curIndex-1];
 		}
 		
 		return selectedParents;
@@ -2,9 +2,6 @@ package com.github.kilianB.geneticAlgorithm.selection;
 
 import static com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.RNG;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 import java.util.logging.Logger;
 
 import com.github.kilianB.geneticAlgorithm.Individual;
@@ -15,6 +12,11 @@ import com.github.kilianB.geneticAlgorithm.fitnessScaling.FitnessScalingStrategy
  * X individuals are randomly chosen from the population and the fittest is
  * selected to be the parent.
  * 
+ * <p>
+ * Contestants are drawn via a partial Fisher-Yates shuffle over an index buffer
+ * shared by all tournaments of a call. A tournament therefore costs O(X)
+ * independent of the population size and does not allocate.
+ * 
  * @author Kilian
  * @see https://se.mathworks.com/help/gads/genetic-algorithm-options.html#f6593
  */
@@ -25,7 +27,12 @@ public class Tournament implements SelectionStrategy {
 	/**
 	 * How many individuals are selected each tournament round
 	 */
-	private int tournamentSize;
+	private final int tournamentSize;
+
+	/**
+	 * Only warn once about the tournament size exceeding the population size
+	 */
+	private volatile boolean sizeWarningLogged;
 
 	public Tournament(int tournamentSize) {
 		if (tournamentSize < 2) {
@@ -36,35 +43,23 @@ public class Tournament implements SelectionStrategy {
 
 	@Override
 	public Individual[] selectParents(ScaledFitness[] scaledFitness, int count) {
+		return selectParents(ScaledFitness.individuals(scaledFitness), ScaledFitness.scaledValues(scaledFitness),
+				count);
+	}
+
+	@Override
+	public Individual[] selectParents(Individual[] population, double[] scaledFitness, int count) {
 
 		Individual[] selectedParents = new Individual[count];
 
-		if (tournamentSize > scaledFitness.length) {
-			tournamentSize = scaledFitness.length;
-			LOGGER.warning("Tournament size greater than individuals present. Adjust size to population size. " + scaledFitness.length);
-		}
+		int size = effectiveSize(population.length);
+		int[] candidates = identity(population.length);
 
 		// Tournament selects x DISTINCT! individuals not regarding the fitness value
 		// and simply chooses the best
 		// in the set
 		for (int i = 0; i < count; i++) {
-			List<ScaledFitness> nominationCandidates = new ArrayList<ScaledFitness>(Arrays.asList(scaledFitness));
-
-			// PriorityQueue<ScaledFitness> toutnamentCandidates = new PriorityQueue<>();
-			ScaledFitness mostFit = null;
-
-			for (var j = 0; j < tournamentSize; j++) {
-
-				ScaledFitness onTheHotSeat = nominationCandidates.remove(RNG.nextInt(nominationCandidates.size()));
-
-				if (mostFit == null) {
-					mostFit = onTheHotSeat;
-				} else if (mostFit.compareTo(onTheHotSeat) < 0) {
-					mostFit = onTheHotSeat;
-				}
-			}
-			selectedParents[i] = mostFit.getIndividual();
-			// Populated not choose the
+			selectedParents[i] = population[tournament(scaledFitness, candidates, size)];
 		}
 		return selectedParents;
 	}
@@ -78,31 +73,65 @@ public class Tournament implements SelectionStrategy {
 	@Deprecated
 	public ScaledFitness[] selectParentsUnitTest(ScaledFitness[] scaledFitness) {
 
-		if (tournamentSize > scaledFitness.length) {
-			tournamentSize = scaledFitness.length;
-			LOGGER.warning("Tournament size smaller than individuals present. Adjust size to population size.");
-		}
-
-		ScaledFitness[] selectedParents = new ScaledFitness[tournamentSize + 1];
-
-		List<ScaledFitness> nominationCandidates = new ArrayList<>(Arrays.asList(scaledFitness));
+		int size = effectiveSize(scaledFitness.length);
+		int[] candidates = identity(scaledFitness.length);
 
-		ScaledFitness mostFit = null;
+		int winner = tournament(ScaledFitness.scaledValues(scaledFitness), candidates, size);
 
-		for (var j = 0; j < tournamentSize; j++) {
-
-			ScaledFitness onTheHotSeat = nominationCandidates.remove(RNG.nextInt(nominationCandidates.size()));
+		ScaledFitness[] selectedParents = new ScaledFitness[size + 1];
+		// The contestants are located at the beginning of the buffer
+		for (int j = 0; j < size; j++) {
+			selectedParents[j] = scaledFitness[candidates[j]];
+		}
+		selectedParents[size] = scaledFitness[winner];
+		return selectedParents;
+	}
 
-			if (mostFit == null) {
-				mostFit = onTheHotSeat;
-			} else if (mostFit.compareTo(onTheHotSeat) < 0) {
+	/**
+	 * Perform a single tournament. The first <code>size</code> entries of the
+	 * candidate buffer are swapped with randomly chosen entries of the remainder.
+	 * The buffer stays a permutation of all indices, therefore it can be reused by
+	 * the next tournament without resetting it.
+	 * 
+	 * @param fitness    the scaled fitness of each individual
+	 * @param candidates a permutation of all indices of the population
+	 * @param size       the number of contestants
+	 * @return the index of the fittest contestant
+	 */
+	private static int tournament(double[] fitness, int[] candidates, int size) {
+		int n = candidates.length;
+		int mostFit = -1;
+		for (int j = 0; j < size; j++) {
+			int swap = j + RNG.nextInt(n - j);
+			int onTheHotSeat = candidates[swap];
+			candidates[swap] = candidates[j];
+			candidates[j] = onTheHotSeat;
+
+			if (mostFit == -1 || Double.compare(fitness[mostFit], fitness[onTheHotSeat]) < 0) {
 				mostFit = onTheHotSeat;
 			}
+		}
+		return mostFit;
+	}
 
-			selectedParents[j] = onTheHotSeat;
+	private int effectiveSize(int populationSize) {
+		if (tournamentSize > populationSize) {
+			if (!sizeWarningLogged) {
+				sizeWarningLogged = true;
+				LOGGER.warning("Tournament size greater than individuals present. Adjust size to population size. "
+						+ populationSize);
+			}
+			return populationSize;
 		}
-		selectedParents[tournamentSize] = mostFit;
-		return selectedParents;
+		return tournamentSize;
+	}
+
+	private static int[] identity(int length) {
+		int[] indices = new int[length];
+		for (int i = 0; i < length; i++) {
+			indices[i] = i;
+		}
+		return indices;
 	}
 
 	@Override
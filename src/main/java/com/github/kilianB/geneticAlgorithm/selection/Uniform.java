@@ -24,6 +24,16 @@ public class Uniform implements SelectionStrategy{
 		return returnValues;
 	}
 
+	@Override
+	public Individual[] selectParents(Individual[] population, double[] scaledFitness, int count) {
+		Individual[] returnValues = new Individual[count];
+		
+		for(int i = 0; i < count; i++) {
+			returnValues[i] = population[RNG.nextInt(population.length)];
+		}
+		return returnValues;
+	}
+
 	@Override
 	public String toString() {
 		return "Uniform(DEPRECATED!)";
@@ -0,0 +1,135 @@
+package com.github.kilianB.geneticAlgorithm.surrogate;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * k nearest neighbour regression with inverse distance weighting. The most
+ * recent samples are kept in a ring buffer, older samples are replaced as the
+ * population moves on. Predictions cost O(capacity * genes) and require no
+ * training step.
+ *
+ * <p>
+ * Distances are euclidean in gene space. Genes should be of comparable scale.
+ *
+ * @author Kilian
+ */
+public class NearestNeighbourSurrogate implements SurrogateModel {
+
+	private final int k;
+	private final int capacity;
+
+	/** Genes of the samples stored row wise */
+	private double[] genes;
+	private final double[] fitness;
+
+	/** The number of genes per sample. Set with the first sample */
+	private int dimension = -1;
+
+	/** The number of samples ever added */
+	private volatile long added;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * @param k        the number of neighbours taken into account
+	 * @param capacity the number of samples to keep
+	 */
+	public NearestNeighbourSurrogate(int k, int capacity) {
+		if (k <= 0 || capacity < k) {
+			throw new IllegalArgumentException(
+					"Neighbours have to be positive and may not exceed the capacity. Actual: " + k + " " + capacity);
+		}
+		this.k = k;
+		this.capacity = capacity;
+		this.fitness = new double[capacity];
+	}
+
+	@Override
+	public void add(double[] sample, double value) {
+		lock.writeLock().lock();
+		try {
+			if (dimension == -1) {
+				dimension = sample.length;
+				genes = new double[capacity * dimension];
+			} else if (sample.length != dimension) {
+				throw new IllegalArgumentException("Expected " + dimension + " genes. Actual: " + sample.length);
+			}
+			int slot = (int) (added++ % capacity);
+			System.arraycopy(sample, 0, genes, slot * dimension, dimension);
+			fitness[slot] = value;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public double predict(double[] sample) {
+		lock.readLock().lock();
+		try {
+			int n = size();
+			if (n == 0) {
+				return Double.NaN;
+			}
+			int neighbours = Math.min(k, n);
+
+			// Sorted list of the nearest samples found so far
+			double[] nearestDistance = new double[neighbours];
+			int[] nearest = new int[neighbours];
+			int found = 0;
+
+			for (int s = 0; s < n; s++) {
+				double distance = 0;
+				int offset = s * dimension;
+				for (int g = 0; g < dimension; g++) {
+					double delta = genes[offset + g] - sample[g];
+					distance += delta * delta;
+				}
+				if (distance == 0) {
+					return fitness[s];
+				}
+				if (found < neighbours || distance < nearestDistance[found - 1]) {
+					int pos = found < neighbours ? found++ : found - 1;
+					while (pos > 0 && nearestDistance[pos - 1] > distance) {
+						nearestDistance[pos] = nearestDistance[pos - 1];
+						nearest[pos] = nearest[pos - 1];
+						pos--;
+					}
+					nearestDistance[pos] = distance;
+					nearest[pos] = s;
+				}
+			}
+
+			double weightedSum = 0;
+			double weights = 0;
+			for (int i = 0; i < found; i++) {
+				double weight = 1 / nearestDistance[i];
+				weightedSum += weight * fitness[nearest[i]];
+				weights += weight;
+			}
+			return weightedSum / weights;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		return (int) Math.min(added, capacity);
+	}
+
+	@Override
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			added = 0;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "NearestNeighbourSurrogate [k=" + k + ", capacity=" + capacity + ", size=" + size() + "]";
+	}
+}
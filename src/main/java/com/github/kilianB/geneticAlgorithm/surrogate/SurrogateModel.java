@@ -0,0 +1,43 @@
+package com.github.kilianB.geneticAlgorithm.surrogate;
+
+/**
+ * Regression model approximating the fitness function. The model is trained
+ * online on the individuals evaluated by the genetic algorithm and used to
+ * predict the fitness of offspring before the real fitness function is
+ * invoked.
+ *
+ * <p>
+ * Implementations have to be thread safe, sub populations train and query the
+ * model concurrently.
+ *
+ * @author Kilian
+ * @see SurrogateScreening
+ */
+public interface SurrogateModel {
+
+	/**
+	 * Train the model with an evaluated genome
+	 *
+	 * @param genes   the genes of the individual. Must not be stored without
+	 *                copying
+	 * @param fitness the exact fitness of the individual
+	 */
+	void add(double[] genes, double fitness);
+
+	/**
+	 * @param genes the genes of the individual
+	 * @return the predicted fitness or NaN if the model does not hold any samples
+	 */
+	double predict(double[] genes);
+
+	/**
+	 * @return the number of samples the model was trained with
+	 */
+	int size();
+
+	/**
+	 * Remove all samples. Called if the fitness function changed and the samples
+	 * no longer describe it.
+	 */
+	void clear();
+}
@@ -0,0 +1,228 @@
+package com.github.kilianB.geneticAlgorithm.surrogate;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.kilianB.geneticAlgorithm.Individual;
+
+/**
+ * Surrogate assisted pre-screening of offspring. For every offspring the
+ * screening creates additional candidates by mutation, predicts the fitness of
+ * all candidates with a {@link SurrogateModel} and only hands the most
+ * promising candidate to the real fitness function. The model is trained with
+ * every exactly evaluated individual.
+ *
+ * <p>
+ * The quality of the model is tracked as the share of concordant pairs between
+ * predicted and exact fitness of each generation (0.5 equals guessing).
+ * Pre-screening is suspended while the smoothed concordance is below the
+ * threshold and resumes once the model, which keeps learning, recovers.
+ *
+ * <p>
+ * Genes are read via {@link Individual#copyGenes(double[])}, therefore the
+ * screening works with any individual offering numeric genes.
+ *
+ * @author Kilian
+ * @see com.github.kilianB.geneticAlgorithm.GeneticAlgorithm.IBuildStage#withSurrogate(SurrogateScreening)
+ */
+public class SurrogateScreening {
+
+	/** Weight of the latest generation in the smoothed concordance */
+	private static final double SMOOTHING = 0.3;
+
+	private final SurrogateModel model;
+
+	/** Candidates per offspring, including the offspring itself */
+	private final int candidates;
+
+	/** Samples required before screening starts */
+	private final int warmUp;
+
+	/** Concordance below which screening is suspended */
+	private final double minConcordance;
+
+	/** Smoothed concordance. NaN until the first generation was tracked */
+	private double concordance = Double.NaN;
+
+	/** Candidates rejected without evaluation */
+	private final LongAdder rejected = new LongAdder();
+
+	/**
+	 * Create a screening which starts after 50 samples and is suspended if the
+	 * concordance drops below 0.6.
+	 *
+	 * @param model      the surrogate model
+	 * @param candidates the number of candidates considered for each offspring,
+	 *                   including the offspring itself
+	 */
+	public SurrogateScreening(SurrogateModel model, int candidates) {
+		this(model, candidates, 50, 0.6);
+	}
+
+	/**
+	 * @param model          the surrogate model
+	 * @param candidates     the number of candidates considered for each
+	 *                       offspring, including the offspring itself
+	 * @param warmUp         the number of samples the model has to be trained
+	 *                       with before screening starts
+	 * @param minConcordance the share of correctly ordered pairs below which
+	 *                       screening is suspended. Range [0 - 1]
+	 */
+	public SurrogateScreening(SurrogateModel model, int candidates, int warmUp, double minConcordance) {
+		if (model == null) {
+			throw new IllegalArgumentException("Surrogate model may not be null");
+		}
+		if (candidates < 1) {
+			throw new IllegalArgumentException("At least 1 candidate is required. Actual: " + candidates);
+		}
+		if (minConcordance < 0 || minConcordance > 1) {
+			throw new IllegalArgumentException("Concordance has to be in range [0 - 1]. Actual: " + minConcordance);
+		}
+		this.model = model;
+		this.candidates = candidates;
+		this.warmUp = warmUp;
+		this.minConcordance = minConcordance;
+	}
+
+	/**
+	 * @return true if offspring are currently pre-screened
+	 */
+	public boolean isActive() {
+		double c = getConcordance();
+		return model.size() >= warmUp && (Double.isNaN(c) || c >= minConcordance);
+	}
+
+	/**
+	 * @param individual the individual
+	 * @return the predicted fitness or NaN if the model is empty
+	 */
+	public double predict(Individual individual) {
+		return model.predict(genes(individual));
+	}
+
+	/**
+	 * Create candidates by mutating the offspring and return the candidate with
+	 * the best predicted fitness.
+	 *
+	 * @param offspring   the offspring created by the genetic algorithm
+	 * @param probability the mutation probability
+	 * @param scale       the mutation scale factor
+	 * @return the most promising candidate
+	 */
+	public Individual preselect(Individual offspring, double probability, double scale) {
+		Individual best = offspring;
+		double bestPrediction = predict(offspring);
+		for (int i = 1; i < candidates; i++) {
+			Individual candidate = offspring.mutate(probability, scale);
+			double prediction = predict(candidate);
+			if (prediction < bestPrediction) {
+				best = candidate;
+				bestPrediction = prediction;
+			}
+		}
+		if (best != offspring) {
+			best.setBirth(offspring.getBirth());
+			best.setOrigin(offspring.getOrigin());
+		}
+		rejected.add(candidates - 1);
+		return best;
+	}
+
+	/**
+	 * Train the model with newly evaluated individuals and track the quality of
+	 * the predictions made for them. Individuals whose fitness is only a bound or
+	 * an approximation are ignored.
+	 *
+	 * @param individuals the evaluated individuals
+	 * @param predictions the fitness predicted before the evaluation or NaN
+	 * @param count       the number of individuals
+	 */
+	public void update(Individual[] individuals, double[] predictions, int count) {
+		double[] fitness = new double[count];
+		for (int i = 0; i < count; i++) {
+			Individual individual = individuals[i];
+			fitness[i] = individual.getFitness();
+			if (individual.isFitnessLowerBound() || individual.isFitnessApproximate()) {
+				fitness[i] = Double.NaN;
+			}
+		}
+
+		long concordant = 0;
+		long discordant = 0;
+		for (int i = 0; i < count; i++) {
+			if (Double.isNaN(fitness[i]) || Double.isNaN(predictions[i])) {
+				continue;
+			}
+			for (int j = i + 1; j < count; j++) {
+				if (Double.isNaN(fitness[j]) || Double.isNaN(predictions[j])) {
+					continue;
+				}
+				double product = (fitness[i] - fitness[j]) * (predictions[i] - predictions[j]);
+				if (product > 0) {
+					concordant++;
+				} else if (product < 0) {
+					discordant++;
+				}
+			}
+		}
+		if (concordant + discordant > 0) {
+			track((double) concordant / (concordant + discordant));
+		}
+
+		for (int i = 0; i < count; i++) {
+			if (!Double.isNaN(fitness[i])) {
+				model.add(genes(individuals[i]), fitness[i]);
+			}
+		}
+	}
+
+	private synchronized void track(double generationConcordance) {
+		concordance = Double.isNaN(concordance) ? generationConcordance
+				: SMOOTHING * generationConcordance + (1 - SMOOTHING) * concordance;
+	}
+
+	/**
+	 * Forget the model and the tracked concordance. Screening resumes once the
+	 * model was trained with enough samples of the changed fitness function.
+	 */
+	public void reset() {
+		model.clear();
+		synchronized (this) {
+			concordance = Double.NaN;
+		}
+	}
+
+	/**
+	 * @return the smoothed share of pairs ordered correctly by the model or NaN if
+	 *         no predictions were tracked yet
+	 */
+	public synchronized double getConcordance() {
+		return concordance;
+	}
+
+	/**
+	 * @return the number of candidates rejected by the model without evaluating
+	 *         the fitness function
+	 */
+	public long getRejectedCount() {
+		return rejected.sum();
+	}
+
+	/**
+	 * @return the surrogate model
+	 */
+	public SurrogateModel getModel() {
+		return model;
+	}
+
+	private static double[] genes(Individual individual) {
+		double[] genes = new double[individual.getVariableCount()];
+		individual.copyGenes(genes);
+		return genes;
+	}
+
+	@Override
+	public String toString() {
+		return "SurrogateScreening [model=" + model + ", candidates=" + candidates + ", concordance="
+				+ getConcordance() + ", rejected=" + getRejectedCount() + "]";
+	}
+}
@@ -0,0 +1,179 @@
+package com.github.kilianB.geneticAlgorithm;
+
+import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.range;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.Individual.Origin;
+import com.github.kilianB.geneticAlgorithm.archive.TabuFilter;
+import com.github.kilianB.geneticAlgorithm.prototypes.DoublePrototype;
+import com.github.kilianB.geneticAlgorithm.result.Result;
+import com.github.kilianB.geneticAlgorithm.result.Result.TerminationReason;
+import com.github.kilianB.geneticAlgorithm.surrogate.NearestNeighbourSurrogate;
+import com.github.kilianB.geneticAlgorithm.surrogate.SurrogateScreening;
+
+class DynamicProblemTest {
+
+	private static final int VARIABLES = 10;
+
+	/** Sphere around a center which may be moved */
+	private static ToDoubleFunction<double[]> sphere(double[] center, AtomicInteger evaluations) {
+		return x -> {
+			evaluations.incrementAndGet();
+			double sum = 0;
+			for (int i = 0; i < x.length; i++) {
+				double d = x[i] - center[i];
+				sum += d * d;
+			}
+			return sum;
+		};
+	}
+
+	private static GeneticAlgorithm build(ToDoubleFunction<double[]> fitness) {
+		return GeneticAlgorithm.builder().withPrototype(new DoublePrototype(range(VARIABLES), fitness))
+				.withMaxGenerationCount(2000).withTargetFitness(1e-2).population().withPopulationCount(40).advanced()
+				.withChangeResponse(3, 2, 0.1).build();
+	}
+
+	private static void move(double[] center) {
+		for (int i = 0; i < center.length; i++) {
+			center[i] += 0.3;
+		}
+	}
+
+	@Test
+	@DisplayName("Cached fitness values are discarded after a change")
+	void reevaluate() {
+		double[] center = new double[VARIABLES];
+		ToDoubleFunction<double[]> fitness = sphere(center, new AtomicInteger());
+		GeneticAlgorithm ga = build(fitness);
+		ga.calculate(0, 20, false);
+
+		move(center);
+		ga.problemChanged();
+		Result result = ga.calculate(1, 1, false);
+
+		double[] genes = new double[VARIABLES];
+		for (Individual individual : result.getGeneration(result.getGenerationCount(), 0)) {
+			individual.copyGenes(genes);
+			assertEquals(fitness.applyAsDouble(genes), individual.getFitness());
+		}
+	}
+
+	@Test
+	@DisplayName("Tracking a moved optimum is cheaper than a restart")
+	void tracking() {
+		int trackingEvaluations = 0;
+		int restartEvaluations = 0;
+		for (int run = 0; run < 3; run++) {
+			double[] center = new double[VARIABLES];
+			AtomicInteger evaluations = new AtomicInteger();
+			GeneticAlgorithm ga = build(sphere(center, evaluations));
+			assertEquals(TerminationReason.Fitness, ga.calculate(0, Integer.MAX_VALUE, false).getTerminationReason());
+
+			move(center);
+			evaluations.set(0);
+			ga.problemChanged();
+			Result tracked = ga.calculate(0, Integer.MAX_VALUE, false);
+			assertEquals(TerminationReason.Fitness, tracked.getTerminationReason());
+			trackingEvaluations += evaluations.get();
+
+			evaluations.set(0);
+			Result restarted = build(sphere(center, evaluations)).calculate(0, Integer.MAX_VALUE, false);
+			assertEquals(TerminationReason.Fitness, restarted.getTerminationReason());
+			restartEvaluations += evaluations.get();
+		}
+		assertTrue(trackingEvaluations < restartEvaluations,
+				"Tracking: " + trackingEvaluations + " Restart: " + restartEvaluations);
+	}
+
+	@Test
+	@DisplayName("Immigrants are only injected while responding")
+	void immigrants() {
+		double[] center = new double[VARIABLES];
+		GeneticAlgorithm ga = build(sphere(center, new AtomicInteger()));
+		Result before = ga.calculate(1, 5, false);
+		for (int generation : before.getAvailableGenerations()) {
+			assertFalse(hasImmigrant(before.getGeneration(generation, 0)));
+		}
+
+		move(center);
+		ga.problemChanged();
+		Result after = ga.calculate(1, 6, false);
+		List<Integer> generations = after.getAvailableGenerations();
+		// Initial population, 3 responding and 3 regular generations
+		assertTrue(hasImmigrant(after.getGeneration(generations.get(1), 0)));
+		assertTrue(hasImmigrant(after.getGeneration(generations.get(3), 0)));
+		assertFalse(hasImmigrant(after.getGeneration(generations.get(generations.size() - 1), 0)));
+	}
+
+	@Test
+	@DisplayName("Every change starts a new generation budget")
+	void phases() {
+		double[] center = new double[VARIABLES];
+		GeneticAlgorithm ga = GeneticAlgorithm.builder()
+				.withPrototype(new DoublePrototype(range(VARIABLES), sphere(center, new AtomicInteger())))
+				.withMaxGenerationCount(30).withTargetFitness(0).population().withPopulationCount(20).advanced()
+				.withChangeResponse(3, 2, 0.1).build();
+		Result first = ga.calculate(1, Integer.MAX_VALUE, false);
+		assertEquals(TerminationReason.Generation, first.getTerminationReason());
+
+		move(center);
+		ga.problemChanged();
+		Result second = ga.calculate(1, Integer.MAX_VALUE, false);
+		assertEquals(TerminationReason.Generation, second.getTerminationReason());
+		assertEquals(first.getAvailableGenerations().size(), second.getAvailableGenerations().size());
+	}
+
+	@Test
+	@DisplayName("Surrogate model and tabu filter are cleared after a change")
+	void resetState() {
+		double[] center = new double[VARIABLES];
+		var surrogate = new SurrogateScreening(new NearestNeighbourSurrogate(5, 10_000), 2);
+		var tabuFilter = new TabuFilter(100_000, 0.01);
+		GeneticAlgorithm ga = GeneticAlgorithm.builder()
+				.withPrototype(new DoublePrototype(range(VARIABLES), sphere(center, new AtomicInteger())))
+				.withMaxGenerationCount(2000).withTargetFitness(0).population().withPopulationCount(20).advanced()
+				.withChangeResponse(3, 2, 0.1).withTabuFilter(tabuFilter).withSurrogate(surrogate).build();
+		ga.calculate(0, 50, false);
+		int samples = surrogate.getModel().size();
+		long genomes = tabuFilter.size();
+
+		move(center);
+		ga.problemChanged();
+		ga.calculate(0, 1, false);
+		// Only the re-evaluated population and a single generation of offspring remain
+		assertTrue(surrogate.getModel().size() <= 40, "Samples: " + samples + " " + surrogate.getModel().size());
+		assertTrue(tabuFilter.size() <= 40, "Genomes: " + genomes + " " + tabuFilter.size());
+	}
+
+	private static boolean hasImmigrant(Individual[] population) {
+		for (Individual individual : population) {
+			if (individual.getOrigin() == Origin.RANDOM_IMMIGRANT) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Test
+	@DisplayName("Invalid change response")
+	void invalid() {
+		var prototype = new DoublePrototype(range(VARIABLES), x -> 0);
+		assertThrows(IllegalArgumentException.class, () -> GeneticAlgorithm.builder().withPrototype(prototype)
+				.withMaxGenerationCount(10).population().advanced().withChangeResponse(-1, 2, 0.1).build());
+		assertThrows(IllegalArgumentException.class, () -> GeneticAlgorithm.builder().withPrototype(prototype)
+				.withMaxGenerationCount(10).population().advanced().withChangeResponse(3, 0.5, 0.1).build());
+		assertThrows(IllegalArgumentException.class, () -> GeneticAlgorithm.builder().withPrototype(prototype)
+				.withMaxGenerationCount(10).population().advanced().withChangeResponse(3, 2, 1.5).build());
+	}
+}
@@ -1,6 +1,8 @@
 package com.github.kilianB.geneticAlgorithm;
 
 
+import java.util.function.ToDoubleFunction;
+
 import com.github.kilianB.example.imageRaster.DummyIndividual;
 
 public class IndividualTestSets {
@@ -30,4 +32,25 @@ public class IndividualTestSets {
 			new DummyIndividual(100),
 			new DummyIndividual(110),
 	};
+	
+	/** Sum of squares, minimal at the origin */
+	public static final ToDoubleFunction<double[]> SPHERE = x -> {
+		double sum = 0;
+		for (double d : x) {
+			sum += d * d;
+		}
+		return sum;
+	};
+	
+	/**
+	 * @param variables the number of variables
+	 * @return the range [-5, 5] for each variable
+	 */
+	public static double[][] range(int variables) {
+		double[][] range = new double[variables][];
+		for (int i = 0; i < variables; i++) {
+			range[i] = new double[] { -5, 5 };
+		}
+		return range;
+	}
 }
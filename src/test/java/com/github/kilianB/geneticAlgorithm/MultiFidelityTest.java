@@ -0,0 +1,71 @@
+package com.github.kilianB.geneticAlgorithm;
+
+import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.SPHERE;
+import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.range;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.prototypes.DoublePrototype;
+import com.github.kilianB.geneticAlgorithm.result.Result;
+
+class MultiFidelityTest {
+
+	private static final int VARIABLES = 10;
+
+	@Test
+	@DisplayName("Only promoted offspring are evaluated exactly")
+	void promotion() {
+		AtomicInteger exact = new AtomicInteger();
+		AtomicInteger approximate = new AtomicInteger();
+		var prototype = new DoublePrototype(range(VARIABLES), x -> {
+			exact.incrementAndGet();
+			return SPHERE.applyAsDouble(x);
+		}).withApproximateFitness(x -> {
+			approximate.incrementAndGet();
+			// Low resolution: only look at every second variable
+			double sum = 0;
+			for (int i = 0; i < x.length; i += 2) {
+				sum += 2 * x[i] * x[i];
+			}
+			return sum;
+		});
+
+		Result result = GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(400)
+				.withTargetFitness(0).population().withPopulationCount(50).advanced().withMultiFidelity(0.1)
+				.build().calculate(1, Integer.MAX_VALUE, false);
+
+		assertTrue(exact.get() * 5 < approximate.get(), "Exact: " + exact + " Approximate: " + approximate);
+
+		Individual best = result.getBestResult();
+		assertFalse(best.isFitnessApproximate());
+		double[] genes = new double[VARIABLES];
+		best.copyGenes(genes);
+		assertEquals(SPHERE.applyAsDouble(genes), best.getFitness());
+		assertTrue(best.getFitness() < 1, "Best: " + best.getFitness());
+
+		// Exact individuals are ranked first
+		List<Integer> generations = result.getAvailableGenerations();
+		Individual[] population = result.getGeneration(generations.get(generations.size() - 1), 0);
+		boolean approximated = false;
+		for (Individual individual : population) {
+			approximated |= individual.isFitnessApproximate();
+			assertTrue(individual.isFitnessApproximate() == approximated);
+		}
+	}
+
+	@Test
+	@DisplayName("Invalid promotion fraction")
+	void invalidFraction() {
+		var prototype = new DoublePrototype(range(VARIABLES), SPHERE);
+		assertThrows(IllegalArgumentException.class, () -> GeneticAlgorithm.builder().withPrototype(prototype)
+				.withMaxGenerationCount(10).population().advanced().withMultiFidelity(1.5).build());
+	}
+}
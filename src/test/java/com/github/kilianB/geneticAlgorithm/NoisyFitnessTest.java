@@ -0,0 +1,158 @@
+package com.github.kilianB.geneticAlgorithm;
+
+import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.SPHERE;
+import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.range;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.prototypes.DoublePrototype;
+import com.github.kilianB.geneticAlgorithm.result.Result;
+import com.github.kilianB.geneticAlgorithm.result.Result.TerminationReason;
+import com.github.kilianB.geneticAlgorithm.result.ResultListener;
+
+class NoisyFitnessTest {
+
+	private static final int VARIABLES = 5;
+
+	/** Shifted sphere, keeping noisy samples positive */
+	private static final ToDoubleFunction<double[]> SHIFTED_SPHERE = x -> 10 + SPHERE.applyAsDouble(x);
+
+	private static ToDoubleFunction<double[]> noisy(AtomicInteger evaluations, long seed) {
+		Random noise = new Random(seed);
+		return x -> {
+			evaluations.incrementAndGet();
+			synchronized (noise) {
+				return SHIFTED_SPHERE.applyAsDouble(x) + noise.nextGaussian();
+			}
+		};
+	}
+
+	@Test
+	@DisplayName("Re-sampling keeps the running mean and variance")
+	void runningStatistics() {
+		double[] samples = { 1, 2, 3, 4 };
+		AtomicInteger index = new AtomicInteger();
+		Individual individual = new DoublePrototype(range(VARIABLES), x -> samples[index.getAndIncrement()])
+				.createIndividual();
+
+		assertEquals(0, individual.getSampleCount());
+		assertEquals(1, individual.getFitness());
+		assertEquals(1, individual.getSampleCount());
+		assertTrue(Double.isNaN(individual.getFitnessVariance()));
+
+		for (int i = 1; i < samples.length; i++) {
+			individual.resample();
+		}
+		assertEquals(4, individual.getSampleCount());
+		assertEquals(2.5, individual.getFitness(), 1e-12);
+		assertEquals(5 / 3d, individual.getFitnessVariance(), 1e-12);
+	}
+
+	@Test
+	@DisplayName("Deterministic fitness functions are barely re-sampled")
+	void deterministic() {
+		AtomicInteger evaluations = new AtomicInteger();
+		var prototype = new DoublePrototype(range(VARIABLES), x -> {
+			evaluations.incrementAndGet();
+			return SHIFTED_SPHERE.applyAsDouble(x);
+		});
+		Result result = GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(50)
+				.withTargetFitness(0).population().withPopulationCount(40).advanced().withNoisyFitness(40, 0.95)
+				.build().calculate(1, Integer.MAX_VALUE, false);
+
+		// Without noise every tie is resolved once a variance estimate exists
+		int baseline = 40 * (result.getGenerationCount() + 1);
+		assertTrue(evaluations.get() < baseline + 6 * (result.getGenerationCount() + 1),
+				"Evaluations: " + evaluations + " Baseline: " + baseline);
+	}
+
+	@Test
+	@DisplayName("Racing reduces the bias of the best individual")
+	void bias() {
+		double biasSingle = 0;
+		double biasRacing = 0;
+		for (int run = 0; run < 5; run++) {
+			biasSingle += bias(0, run);
+			biasRacing += bias(40, run);
+		}
+		assertTrue(biasSingle < 0);
+		assertTrue(Math.abs(biasRacing) < Math.abs(biasSingle), "Racing: " + biasRacing + " Single: " + biasSingle);
+	}
+
+	private static double bias(int budget, long seed) {
+		AtomicInteger evaluations = new AtomicInteger();
+		var prototype = new DoublePrototype(range(VARIABLES), noisy(evaluations, seed));
+		var builder = GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(100)
+				.withTargetFitness(0).population().withPopulationCount(40).advanced();
+		if (budget > 0) {
+			builder.withNoisyFitness(budget, 0.95);
+		}
+		Result result = builder.build().calculate(1, Integer.MAX_VALUE, false);
+
+		int generations = result.getGenerationCount() + 1;
+		assertTrue(evaluations.get() <= (40 + budget) * generations);
+
+		Individual best = result.getBestResult();
+		double[] genes = new double[VARIABLES];
+		best.copyGenes(genes);
+		return best.getFitness() - SHIFTED_SPHERE.applyAsDouble(genes);
+	}
+
+	@Test
+	@DisplayName("Migrants shared by sub populations keep their fitness")
+	void migrants() {
+		for (int run = 0; run < 3; run++) {
+			var prototype = new DoublePrototype(range(VARIABLES), noisy(new AtomicInteger(), run));
+			GeneticAlgorithm ga = GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(60)
+					.withTargetFitness(0).population().withPopulationCount(40).advanced().withNoisyFitness(40, 0.95)
+					.migration(1).withNewSubpopulations(4).build();
+
+			Map<Individual, Integer> shared = new IdentityHashMap<>();
+			ga.addResultListener(new ResultListener() {
+				@Override
+				public void intermediateResult(Result result) {
+					for (Individual[] subPopulation : result.getGeneration(result.getGenerationCount())) {
+						for (int i = 0; i < subPopulation.length; i++) {
+							Individual individual = subPopulation[i];
+							if (i > 0) {
+								assertTrue(subPopulation[i - 1].compareTo(individual) <= 0);
+							}
+							if (individual.isShared()) {
+								Integer samples = shared.putIfAbsent(individual, individual.getSampleCount());
+								assertTrue(samples == null || samples == individual.getSampleCount());
+							}
+						}
+					}
+				}
+
+				@Override
+				public void finalResult(Result result) {
+				}
+			});
+			Result result = ga.calculate(1, Integer.MAX_VALUE, false);
+			assertEquals(TerminationReason.Generation, result.getTerminationReason());
+			assertFalse(shared.isEmpty());
+		}
+	}
+
+	@Test
+	@DisplayName("Invalid racing settings")
+	void invalid() {
+		var prototype = new DoublePrototype(range(VARIABLES), SPHERE);
+		assertThrows(IllegalArgumentException.class, () -> GeneticAlgorithm.builder().withPrototype(prototype)
+				.withMaxGenerationCount(10).population().advanced().withNoisyFitness(-1, 0.95).build());
+		assertThrows(IllegalArgumentException.class, () -> GeneticAlgorithm.builder().withPrototype(prototype)
+				.withMaxGenerationCount(10).population().advanced().withNoisyFitness(10, 1).build());
+	}
+}
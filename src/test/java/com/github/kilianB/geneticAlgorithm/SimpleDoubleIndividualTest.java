@@ -0,0 +1,90 @@
+package com.github.kilianB.geneticAlgorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.crossover.ScatteredDiscrete;
+import com.github.kilianB.geneticAlgorithm.prototypes.DoublePrototype;
+
+class SimpleDoubleIndividualTest {
+
+	private static class Genes extends SimpleDoubleIndividual {
+
+		private static int evaluations;
+
+		Genes(double... currentGenes) {
+			super(currentGenes);
+		}
+
+		@Override
+		protected Individual createIndividual(double[] newGenes) {
+			return new Genes(newGenes);
+		}
+
+		@Override
+		protected double mutateValue(int index, double oldGene, double scaleFactor) {
+			return -oldGene;
+		}
+
+		@Override
+		protected double calculateFitness() {
+			evaluations++;
+			double sum = 0;
+			for (double d : values) {
+				sum += d;
+			}
+			return sum;
+		}
+	}
+
+	@Test
+	@DisplayName("Primitive accessors")
+	void accessors() {
+		Genes genes = new Genes(1, 2, 3);
+		assertEquals(2d, genes.getDouble(1));
+		assertEquals(Double.valueOf(3), genes.getValue(2));
+		double[] copy = new double[3];
+		genes.copyGenes(copy);
+		assertArrayEquals(new double[] { 1, 2, 3 }, copy);
+	}
+
+	@Test
+	@DisplayName("Mutate every gene")
+	void mutate() {
+		Individual mutated = new Genes(1, 2, 3).mutate(1, 1);
+		assertEquals(-6, mutated.getFitness());
+	}
+
+	@Test
+	@DisplayName("Unchanged offspring inherit the fitness")
+	void inheritFitness() {
+		Genes parent = new Genes(1, 2, 3);
+		int before = Genes.evaluations;
+		Individual copy = parent.mutate(0, 1);
+		assertEquals(6, copy.getFitness());
+		assertEquals(6, parent.getFitness());
+		assertEquals(before + 1, Genes.evaluations);
+
+		Individual clone = parent.crossover(new ScatteredDiscrete(2, false), parent, parent);
+		assertEquals(6, clone.getFitness());
+		// Selecting the same parent twice yields a copy
+		assertEquals(before + 1, Genes.evaluations);
+	}
+
+	@Test
+	@DisplayName("Crossover with a foreign individual")
+	void crossoverMixed() {
+		DoublePrototype prototype = new DoublePrototype(new double[][] { { 5, 6 }, { 5, 6 }, { 5, 6 } },
+				x -> x[0]);
+		Individual foreign = prototype.createIndividual();
+		Genes genes = new Genes(1, 2, 3);
+		Individual child = genes.crossover(new ScatteredDiscrete(2), genes, foreign);
+		for (int i = 0; i < 3; i++) {
+			double gene = child.getDouble(i);
+			assertEquals(true, gene == i + 1 || gene == foreign.getDouble(i));
+		}
+	}
+}
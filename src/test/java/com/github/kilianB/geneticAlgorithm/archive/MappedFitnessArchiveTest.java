@@ -0,0 +1,178 @@
+package com.github.kilianB.geneticAlgorithm.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.example.generateString.simple.TextIndividualSimple;
+import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
+import com.github.kilianB.geneticAlgorithm.Individual;
+import com.github.kilianB.geneticAlgorithm.prototypes.BitGenome;
+import com.github.kilianB.geneticAlgorithm.prototypes.IntPrototype;
+
+class MappedFitnessArchiveTest {
+
+	private Path file;
+
+	@BeforeEach
+	void createFile() throws IOException {
+		file = Files.createTempFile("darwin", ".archive");
+		// The archive only initializes empty files
+		Files.write(file, new byte[0]);
+	}
+
+	@AfterEach
+	void deleteFile() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	@DisplayName("Stored values are returned")
+	void putGet() throws IOException {
+		try (var archive = new MappedFitnessArchive(file, 1, 64)) {
+			assertTrue(Double.isNaN(archive.get(42)));
+			archive.put(42, 3.5);
+			archive.put(0, 0d);
+			archive.put(-1, -7);
+			assertEquals(3.5, archive.get(42));
+			assertEquals(0d, archive.get(0));
+			assertEquals(-7d, archive.get(-1));
+			assertTrue(Double.isNaN(archive.get(43)));
+			assertEquals(3, archive.size());
+		}
+	}
+
+	@Test
+	@DisplayName("Default fingerprints only depend on the values of the genes")
+	void defaultFingerprint() {
+		char[] target = "darwin".toCharArray();
+		Character[] genes = { 'd', 'a', 'r', 'w', 'i', 'n' };
+		Individual individual = new TextIndividualSimple(target, genes);
+		assertEquals(Fingerprint.of((Object[]) genes), individual.fingerprint());
+		assertEquals(individual.fingerprint(), new TextIndividualSimple(target, genes.clone()).fingerprint());
+	}
+
+	@Test
+	@DisplayName("Entries survive reopening the file")
+	void persistent() throws IOException {
+		try (var archive = new MappedFitnessArchive(file, 1, 100)) {
+			assertEquals(128, archive.capacity());
+			archive.put(7, 1.25);
+		}
+		// Capacity is taken from the existing file
+		try (var archive = new MappedFitnessArchive(file, 1, 16)) {
+			assertEquals(128, archive.capacity());
+			assertEquals(1.25, archive.get(7));
+		}
+	}
+
+	@Test
+	@DisplayName("Problems with different ids do not share entries")
+	void problemId() throws IOException {
+		try (var first = new MappedFitnessArchive(file, 1, 64); var second = new MappedFitnessArchive(file, 2, 64)) {
+			first.put(7, 1);
+			second.put(7, 2);
+			assertEquals(1d, first.get(7));
+			assertEquals(2d, second.get(7));
+		}
+	}
+
+	@Test
+	@DisplayName("New entries are dropped once the table is 3/4 full")
+	void capacity() throws IOException {
+		try (var archive = new MappedFitnessArchive(file, 1, 16)) {
+			for (int i = 0; i < 32; i++) {
+				archive.put(i, i);
+			}
+			assertEquals(12, archive.size());
+			assertEquals(0d, archive.get(0));
+			assertTrue(Double.isNaN(archive.get(31)));
+		}
+	}
+
+	@Test
+	@DisplayName("Concurrent writers do not lose entries")
+	void concurrent() throws Exception {
+		int threads = 4;
+		int perThread = 2000;
+		try (var archive = new MappedFitnessArchive(file, 1, threads * perThread * 2)) {
+			List<Thread> workers = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				final int offset = t * perThread / 2;
+				// Overlapping ranges to provoke races on the same keys
+				Thread worker = new Thread(() -> {
+					for (int i = offset; i < offset + perThread; i++) {
+						archive.put(i, i * 0.5);
+					}
+				});
+				workers.add(worker);
+				worker.start();
+			}
+			for (Thread worker : workers) {
+				worker.join();
+			}
+			int distinct = (threads - 1) * perThread / 2 + perThread;
+			assertEquals(distinct, archive.size());
+			for (int i = 0; i < distinct; i++) {
+				assertEquals(i * 0.5, archive.get(i));
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Files which are no archive are rejected")
+	void invalidFile() throws IOException {
+		Files.write(file, new byte[128]);
+		assertThrows(IOException.class, () -> new MappedFitnessArchive(file, 1, 16));
+	}
+
+	@Test
+	@DisplayName("Packed and unpacked bits share the same fingerprint")
+	void bitFingerprint() {
+		boolean[] bits = new boolean[130];
+		bits[0] = bits[64] = bits[129] = true;
+		assertEquals(Fingerprint.of(bits), Fingerprint.of(BitGenome.toWords(bits), bits.length));
+	}
+
+	@Test
+	@DisplayName("Archived genomes are not evaluated again")
+	void geneticAlgorithm() throws IOException {
+		int variables = 4;
+		int[][] range = new int[variables][];
+		for (int i = 0; i < variables; i++) {
+			range[i] = new int[] { 0, 3 };
+		}
+		AtomicInteger calls = new AtomicInteger();
+		var prototype = new IntPrototype(range, range, x -> {
+			calls.incrementAndGet();
+			double sum = 0;
+			for (int v : x) {
+				sum += v;
+			}
+			return sum;
+		});
+
+		try (var archive = new MappedFitnessArchive(file, 1, 1024)) {
+			for (int run = 0; run < 3; run++) {
+				GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(30).withTargetFitness(-1)
+						.population().withPopulationCount(20).advanced().withForceCloneMutation(false, 0)
+						.withFitnessArchive(archive).build().calculate(0, Integer.MAX_VALUE, false);
+			}
+			// 4^4 possible genomes. Each one is evaluated at most once
+			assertTrue(calls.get() <= 256, "Evaluations: " + calls.get());
+			assertEquals(calls.get(), archive.size());
+		}
+	}
+}
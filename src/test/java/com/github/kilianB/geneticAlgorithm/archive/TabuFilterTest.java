@@ -0,0 +1,118 @@
+package com.github.kilianB.geneticAlgorithm.archive;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
+import com.github.kilianB.geneticAlgorithm.prototypes.BooleanPrototype;
+
+class TabuFilterTest {
+
+	@Test
+	@DisplayName("Added genomes are always reported as known")
+	void noFalseNegatives() {
+		TabuFilter filter = new TabuFilter(10_000, 0.01);
+		for (long i = 0; i < 10_000; i++) {
+			filter.add(Fingerprint.mix(i));
+		}
+		for (long i = 0; i < 10_000; i++) {
+			assertTrue(filter.mightContain(Fingerprint.mix(i)));
+			assertFalse(filter.add(Fingerprint.mix(i)));
+		}
+	}
+
+	@Test
+	@DisplayName("False positive rate stays close to the configured rate")
+	void falsePositiveRate() {
+		TabuFilter filter = new TabuFilter(10_000, 0.01);
+		for (long i = 0; i < 10_000; i++) {
+			filter.add(Fingerprint.mix(i));
+		}
+		int falsePositives = 0;
+		for (long i = 10_000; i < 110_000; i++) {
+			if (filter.mightContain(Fingerprint.mix(i))) {
+				falsePositives++;
+			}
+		}
+		// The filter is rounded up to a power of 2 bits and therefore usually better
+		assertTrue(falsePositives < 1000, "False positives: " + falsePositives);
+		assertTrue(filter.falsePositiveRate() <= 0.01);
+	}
+
+	@Test
+	@DisplayName("Concurrent adds do not lose genomes")
+	void concurrent() throws InterruptedException {
+		TabuFilter filter = new TabuFilter(40_000, 1e-6);
+		AtomicInteger added = new AtomicInteger();
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			Thread worker = new Thread(() -> {
+				for (long i = 0; i < 10_000; i++) {
+					if (filter.add(Fingerprint.mix(i))) {
+						added.incrementAndGet();
+					}
+				}
+			});
+			workers.add(worker);
+			worker.start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		// Racing threads may both consider a genome new
+		assertTrue(added.get() >= 10_000 && added.get() < 10_100, "Added: " + added.get());
+		for (long i = 0; i < 10_000; i++) {
+			assertTrue(filter.mightContain(Fingerprint.mix(i)));
+		}
+	}
+
+	@Test
+	@DisplayName("Invalid arguments")
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new TabuFilter(0, 0.01));
+		assertThrows(IllegalArgumentException.class, () -> new TabuFilter(100, 0));
+		assertThrows(IllegalArgumentException.class, () -> new TabuFilter(100, 1));
+	}
+
+	@Test
+	@DisplayName("Genomes evaluated in earlier generations are not evaluated again")
+	void geneticAlgorithm() {
+		int withoutFilter = duplicateEvaluations(null);
+		int withFilter = duplicateEvaluations(new TabuFilter(100_000, 1e-4));
+		assertTrue(withFilter * 4 < withoutFilter, "Duplicates with filter: " + withFilter + " without: " + withoutFilter);
+	}
+
+	private static int duplicateEvaluations(TabuFilter filter) {
+		Set<String> seen = new HashSet<>();
+		AtomicInteger duplicates = new AtomicInteger();
+		var prototype = new BooleanPrototype(genes -> {
+			synchronized (seen) {
+				if (!seen.add(Arrays.toString(genes))) {
+					duplicates.incrementAndGet();
+				}
+			}
+			double sum = 0;
+			for (boolean b : genes) {
+				if (!b) {
+					sum++;
+				}
+			}
+			return sum;
+		}, 20);
+		GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(100).withTargetFitness(-1)
+				.population().withPopulationCount(40).advanced().withForceCloneMutation(false, 10)
+				.withTabuFilter(filter).build().calculate(0, Integer.MAX_VALUE, false);
+		return duplicates.get();
+	}
+}
@@ -0,0 +1,146 @@
+package com.github.kilianB.geneticAlgorithm.crossover;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.example.imageRaster.DummyIndividual;
+import com.github.kilianB.geneticAlgorithm.GeneChanges;
+import com.github.kilianB.geneticAlgorithm.Individual;
+
+class CrossoverKernelTest {
+
+	private static final Individual[] PARENTS = { new DummyIndividual(0.1), new DummyIndividual(0.2),
+			new DummyIndividual(0.3) };
+
+	private static final double[][] GENES = { { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 },
+			{ 10, 11, 12, 13, 14, 15, 16, 17, 18, 19 }, { 20, 21, 22, 23, 24, 25, 26, 27, 28, 29 } };
+
+	@Test
+	@DisplayName("Fuzzy to discrete")
+	void fuzzyToDiscrete() {
+		double[][] fuzzy = { { 0.2, 0.5, 0.0, 0.1 }, { 0.7, 0.5, 0.0, 0.3 }, { 0.1, 0.0, 0.0, 0.6 } };
+		assertArrayEquals(new int[] { 1, 0, -1, 2 }, CrossoverStrategyFuzzy.fuzzyToDiscrete(fuzzy));
+	}
+
+	@Test
+	@DisplayName("Discrete genes originate from the same position")
+	void discreteKernel() {
+		for (CrossoverStrategyDiscrete strategy : new CrossoverStrategyDiscrete[] { new ScatteredDiscrete(3),
+				new SinglePointDiscrete(3) }) {
+			double[] child = new double[GENES[0].length];
+			strategy.crossover(PARENTS, GENES, child, null);
+			for (int i = 0; i < child.length; i++) {
+				int parent = (int) child[i] / 10;
+				assertTrue(parent >= 0 && parent < PARENTS.length);
+				assertEquals(GENES[parent][i], child[i]);
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Fuzzy genes are weighted averages")
+	void fuzzyKernel() {
+		double[] child = new double[GENES[0].length];
+		new ScatteredFuzzy(3).crossover(PARENTS, GENES, child, null);
+		for (int i = 0; i < child.length; i++) {
+			// The weights sum up to 1
+			assertTrue(child[i] >= GENES[0][i] && child[i] <= GENES[2][i]);
+		}
+	}
+
+	@Test
+	@DisplayName("Kernels record the genes differing from each parent")
+	void recordChanges() {
+		int length = 300;
+		Random rng = new Random(0);
+		double[][] genes = new double[3][length];
+		long[][] words = new long[3][(length + 63) / 64];
+		for (int j = 0; j < genes.length; j++) {
+			for (int i = 0; i < length; i++) {
+				// Parents share most of their genes
+				if (rng.nextInt(10) == 0) {
+					genes[j][i] = 1;
+					words[j][i >>> 6] |= 1L << i;
+				}
+			}
+		}
+		for (CrossoverStrategyDiscrete strategy : new CrossoverStrategyDiscrete[] { new ScatteredDiscrete(3),
+				new SinglePointDiscrete(3) }) {
+			for (int k = 0; k < 20; k++) {
+				double[] child = new double[length];
+				GeneChanges changes = new GeneChanges(3, length);
+				strategy.crossover(PARENTS, genes, child, changes);
+				assertChanges(genes, child, changes);
+
+				long[] childWords = new long[words[0].length];
+				changes = new GeneChanges(3, length);
+				strategy.crossover(PARENTS, words, childWords, length, changes);
+				double[] bits = new double[length];
+				for (int i = 0; i < length; i++) {
+					bits[i] = childWords[i >>> 6] >>> i & 1;
+				}
+				assertChanges(genes, bits, changes);
+			}
+		}
+		// Scattered crossover blends the words of two parents directly
+		long[][] twoParents = Arrays.copyOf(words, 2);
+		for (int k = 0; k < 20; k++) {
+			long[] childWords = new long[words[0].length];
+			GeneChanges changes = new GeneChanges(2, length);
+			new ScatteredDiscrete(2).crossover(Arrays.copyOf(PARENTS, 2), twoParents, childWords, length, changes);
+			double[] bits = new double[length];
+			for (int i = 0; i < length; i++) {
+				bits[i] = childWords[i >>> 6] >>> i & 1;
+			}
+			assertChanges(Arrays.copyOf(genes, 2), bits, changes);
+		}
+		for (int k = 0; k < 20; k++) {
+			double[] child = new double[length];
+			GeneChanges changes = new GeneChanges(3, length);
+			new SinglePointFuzzy(3).crossover(PARENTS, genes, child, changes);
+			assertChanges(genes, child, changes);
+		}
+	}
+
+	private static void assertChanges(double[][] parentGenes, double[] child, GeneChanges changes) {
+		for (int j = 0; j < parentGenes.length; j++) {
+			int[] expected = new int[child.length];
+			int count = 0;
+			for (int i = 0; i < child.length; i++) {
+				if (parentGenes[j][i] != child[i]) {
+					expected[count++] = i;
+				}
+			}
+			int[] recorded = changes.getChanges(j);
+			if (count > child.length / 2) {
+				assertEquals(null, recorded);
+			} else {
+				assertArrayEquals(Arrays.copyOf(expected, count), recorded);
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Single point fuzzy matches discrete layout")
+	void singlePointFuzzy() {
+		int[][] genes = new int[3][10];
+		for (int j = 0; j < genes.length; j++) {
+			for (int i = 0; i < genes[j].length; i++) {
+				genes[j][i] = j;
+			}
+		}
+		int[] child = new int[10];
+		new SinglePointFuzzy(3).crossover(PARENTS, genes, child, null);
+		// Sections are contiguous and in ascending parent order
+		for (int i = 1; i < child.length; i++) {
+			assertTrue(child[i] >= child[i - 1]);
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package com.github.kilianB.geneticAlgorithm.execution;
+
+import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.SPHERE;
+import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.range;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
+import com.github.kilianB.geneticAlgorithm.prototypes.DoublePrototype;
+import com.github.kilianB.geneticAlgorithm.result.Result;
+
+class ExecutionBackendTest {
+
+	/** Outer tasks each waiting for nested tasks of the same backend */
+	private static void nested(ExecutionBackend backend) throws InterruptedException, ExecutionException {
+		List<Callable<Integer>> outer = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			int base = i * 10;
+			outer.add(() -> {
+				List<Callable<Integer>> inner = new ArrayList<>();
+				for (int j = 0; j < 10; j++) {
+					int value = base + j;
+					inner.add(() -> value);
+				}
+				int sum = 0;
+				for (int value : backend.invokeAll(inner)) {
+					sum += value;
+				}
+				return sum;
+			});
+		}
+		List<Integer> results = backend.invokeAll(outer);
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i * 100 + 45, (int) results.get(i));
+		}
+	}
+
+	@Test
+	@DisplayName("Nested tasks")
+	void nestedTasks() throws InterruptedException, ExecutionException {
+		nested(new DirectBackend());
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			nested(new ForkJoinBackend(pool));
+		} finally {
+			pool.shutdown();
+		}
+		// Every pool thread is blocked by an outer task
+		try (FixedPoolBackend backend = new FixedPoolBackend(2)) {
+			nested(backend);
+		}
+	}
+
+	@Test
+	@DisplayName("Exceptions are reported")
+	void exception() {
+		List<Callable<Integer>> tasks = List.of(() -> 1, () -> {
+			throw new IllegalStateException();
+		});
+		assertThrows(ExecutionException.class, () -> new DirectBackend().invokeAll(tasks));
+		assertThrows(ExecutionException.class, () -> new ForkJoinBackend().invokeAll(tasks));
+		try (FixedPoolBackend backend = new FixedPoolBackend(2)) {
+			assertThrows(ExecutionException.class, () -> backend.invokeAll(tasks));
+		}
+	}
+
+	@Test
+	@DisplayName("Invalid thread count")
+	void invalid() {
+		assertThrows(IllegalArgumentException.class, () -> new FixedPoolBackend(0));
+		assertThrows(IllegalArgumentException.class, () -> new ForkJoinBackend(null));
+	}
+
+	@Test
+	@DisplayName("Direct backend runs on the calling thread")
+	void direct() {
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		var prototype = new DoublePrototype(range(5), x -> {
+			threads.add(Thread.currentThread());
+			return SPHERE.applyAsDouble(x);
+		});
+		GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(20).population()
+				.withPopulationCount(20).advanced().withExecutionBackend(new DirectBackend()).withParallelEvaluation(true)
+				.migration(5).withNewSubpopulation().build().calculate(0, Integer.MAX_VALUE, false);
+		assertEquals(Set.of(Thread.currentThread()), threads);
+	}
+
+	@Test
+	@DisplayName("Genetic algorithms share a bounded backend")
+	void shared() throws InterruptedException, ExecutionException {
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		Thread caller = Thread.currentThread();
+		try (FixedPoolBackend backend = new FixedPoolBackend(3)) {
+			List<Callable<Double>> runs = new ArrayList<>();
+			for (int i = 0; i < 2; i++) {
+				runs.add(() -> {
+					var prototype = new DoublePrototype(range(5), x -> {
+						threads.add(Thread.currentThread());
+						return SPHERE.applyAsDouble(x);
+					});
+					Result result = GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(200)
+							.withTargetFitness(0).population().withPopulationCount(30).advanced()
+							.withExecutionBackend(backend).withParallelEvaluation(true).migration(10)
+							.withNewSubpopulations(2).build()
+							.calculate(0, Integer.MAX_VALUE, false);
+					return result.getBestResult().getFitness();
+				});
+			}
+			for (double fitness : backend.invokeAll(runs)) {
+				assertTrue(fitness < 1e-2, "Fitness: " + fitness);
+			}
+		}
+		threads.remove(caller);
+		// Initial populations are created on the calling threads
+		assertTrue(threads.size() <= 3, "Threads: " + threads);
+	}
+}
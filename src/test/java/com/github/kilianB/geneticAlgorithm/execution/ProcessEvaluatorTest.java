@@ -0,0 +1,170 @@
+package com.github.kilianB.geneticAlgorithm.execution;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
+import com.github.kilianB.geneticAlgorithm.prototypes.DoublePrototype;
+import com.github.kilianB.geneticAlgorithm.result.Result;
+
+class ProcessEvaluatorTest {
+
+	/**
+	 * Stub worker answering the sum of squares of each line. Exits after the given
+	 * number of requests if passed as first argument and hangs on genomes whose
+	 * first gene is negative if "hang" is passed as second argument.
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int exitAfter = args.length > 0 ? Integer.parseInt(args[0]) : Integer.MAX_VALUE;
+		boolean hang = args.length > 1 && args[1].equals("hang");
+		BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+		String line;
+		int requests = 0;
+		while ((line = in.readLine()) != null) {
+			if (requests++ == exitAfter) {
+				System.exit(1);
+			}
+			String[] genes = line.split(" ");
+			if (hang && Double.parseDouble(genes[0]) < 0) {
+				Thread.sleep(Long.MAX_VALUE);
+			}
+			double sum = 0;
+			for (String gene : genes) {
+				double value = Double.parseDouble(gene);
+				sum += value * value;
+			}
+			System.out.println(sum);
+		}
+	}
+
+	private static List<String> stub(String... args) {
+		List<String> command = new ArrayList<>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(ProcessEvaluatorTest.class.getName());
+		command.addAll(List.of(args));
+		return command;
+	}
+
+	private static List<double[]> genomes(int count) {
+		List<double[]> genomes = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			genomes.add(new double[] { i, 0.5 });
+		}
+		return genomes;
+	}
+
+	private static double[] expected(List<double[]> genomes) {
+		double[] expected = new double[genomes.size()];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = genomes.get(i)[0] * genomes.get(i)[0] + 0.25;
+		}
+		return expected;
+	}
+
+	@Test
+	@DisplayName("Workers are reused")
+	void evaluate() {
+		try (var evaluator = ProcessEvaluator.ofDoubles(stub(), 3)) {
+			assertEquals(4.25, evaluator.applyAsDouble(new double[] { 2, 0.5 }));
+			List<double[]> genomes = genomes(50);
+			assertArrayEquals(expected(genomes), evaluator.applyAll(genomes));
+			assertEquals(51, evaluator.getEvaluationCount());
+			assertTrue(evaluator.getStartCount() <= 3);
+		}
+	}
+
+	@Test
+	@DisplayName("Crashed workers are restarted")
+	void crash() {
+		try (var evaluator = ProcessEvaluator.ofDoubles(stub("7"), 2)) {
+			List<double[]> genomes = genomes(30);
+			assertArrayEquals(expected(genomes), evaluator.applyAll(genomes));
+			for (double[] genome : genomes) {
+				assertEquals(genome[0] * genome[0] + 0.25, evaluator.applyAsDouble(genome));
+			}
+			assertTrue(evaluator.getCrashCount() > 0);
+			assertEquals(evaluator.getCrashCount() + 2, evaluator.getStartCount());
+		}
+	}
+
+	@Test
+	@DisplayName("Hanging workers are killed")
+	void timeout() {
+		try (var evaluator = ProcessEvaluator.ofDoubles(stub("1000", "hang"), 1).withTimeout(2, TimeUnit.SECONDS)
+				.withMaxAttempts(1).withFailureFitness(1e9)) {
+			assertEquals(1e9, evaluator.applyAsDouble(new double[] { -1, 0 }));
+			assertEquals(1, evaluator.getTimeoutCount());
+			assertEquals(4, evaluator.applyAsDouble(new double[] { 2, 0 }));
+			assertEquals(2, evaluator.getStartCount());
+		}
+		try (var evaluator = ProcessEvaluator.ofDoubles(stub("1000", "hang"), 1).withTimeout(2, TimeUnit.SECONDS)
+				.withMaxAttempts(1)) {
+			assertThrows(IllegalStateException.class, () -> evaluator.applyAsDouble(new double[] { -1, 0 }));
+		}
+	}
+
+	@Test
+	@DisplayName("Workers with outstanding answers are not reused")
+	void outstanding() throws InterruptedException {
+		try (var evaluator = ProcessEvaluator.ofDoubles(stub("1000", "hang"), 2).withTimeout(1, TimeUnit.SECONDS)
+				.withMaxAttempts(1)) {
+			List<double[]> genomes = genomes(10);
+			genomes.set(0, new double[] { -1, 0 });
+			assertThrows(IllegalStateException.class, () -> evaluator.applyAll(genomes));
+			for (int i = 0; i < 4; i++) {
+				assertEquals(9, evaluator.applyAsDouble(new double[] { 3, 0 }));
+			}
+		}
+		try (var evaluator = ProcessEvaluator.ofDoubles(stub("1000", "hang"), 1)) {
+			Thread evaluating = new Thread(() -> {
+				assertThrows(IllegalStateException.class, () -> evaluator.applyAsDouble(new double[] { -1, 0 }));
+			});
+			evaluating.start();
+			Thread.sleep(500);
+			evaluating.interrupt();
+			evaluating.join();
+			assertEquals(9, evaluator.applyAsDouble(new double[] { 3, 0 }));
+		}
+	}
+
+	@Test
+	@DisplayName("Invalid settings")
+	void invalid() {
+		assertThrows(IllegalArgumentException.class, () -> ProcessEvaluator.ofDoubles(List.of(), 1));
+		assertThrows(IllegalArgumentException.class, () -> ProcessEvaluator.ofDoubles(stub(), 0));
+		assertThrows(IllegalArgumentException.class,
+				() -> ProcessEvaluator.ofDoubles(stub(), 1).withTimeout(0, TimeUnit.SECONDS));
+		var closed = ProcessEvaluator.ofDoubles(stub(), 1);
+		closed.close();
+		assertThrows(IllegalStateException.class, () -> closed.applyAsDouble(new double[] { 1 }));
+	}
+
+	@Test
+	@DisplayName("Genetic algorithm with worker processes")
+	void geneticAlgorithm() {
+		try (var evaluator = ProcessEvaluator.ofDoubles(stub(), 2)) {
+			double[][] range = { { -5, 5 }, { -5, 5 } };
+			Result result = GeneticAlgorithm.builder().withPrototype(new DoublePrototype(range, evaluator))
+					.withMaxGenerationCount(30).population().withPopulationCount(20).advanced()
+					.withEvaluationBackend(new VirtualThreadBackend(2)).build()
+					.calculate(0, Integer.MAX_VALUE, false);
+			assertTrue(result.getBestResult().getFitness() < 1);
+			assertTrue(evaluator.getStartCount() <= 2);
+		}
+	}
+}
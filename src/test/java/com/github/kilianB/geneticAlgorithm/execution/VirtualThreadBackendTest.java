@@ -0,0 +1,144 @@
+package com.github.kilianB.geneticAlgorithm.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
+import com.github.kilianB.geneticAlgorithm.prototypes.DoublePrototype;
+import com.github.kilianB.geneticAlgorithm.prototypes.EvaluationContext;
+import com.github.kilianB.geneticAlgorithm.result.Result;
+
+class VirtualThreadBackendTest {
+
+	/** Tracks the number of tasks in flight */
+	private static class Gauge {
+		private final AtomicInteger current = new AtomicInteger();
+		private final AtomicInteger peak = new AtomicInteger();
+
+		void enter() {
+			peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+		}
+
+		void exit() {
+			current.decrementAndGet();
+		}
+	}
+
+	private static void block(Gauge gauge) {
+		gauge.enter();
+		try {
+			Thread.sleep(5);
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		} finally {
+			gauge.exit();
+		}
+	}
+
+	@Test
+	@DisplayName("Concurrency is limited")
+	void limit() throws InterruptedException, ExecutionException {
+		Gauge gauge = new Gauge();
+		List<Callable<Integer>> tasks = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			int value = i;
+			tasks.add(() -> {
+				block(gauge);
+				return value;
+			});
+		}
+		List<Integer> results = new VirtualThreadBackend(16).invokeAll(tasks);
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i, (int) results.get(i));
+		}
+		assertTrue(gauge.peak.get() <= 16, "Peak: " + gauge.peak);
+		assertTrue(gauge.peak.get() > 1, "Peak: " + gauge.peak);
+	}
+
+	@Test
+	@DisplayName("Nested tasks release their permit while waiting")
+	void nested() throws InterruptedException, ExecutionException {
+		VirtualThreadBackend backend = new VirtualThreadBackend(2);
+		List<Callable<Integer>> outer = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			outer.add(() -> backend.invokeAll(List.<Callable<Integer>>of(() -> 1, () -> 2, () -> 3)).stream()
+					.mapToInt(Integer::intValue).sum());
+		}
+		for (int sum : backend.invokeAll(outer)) {
+			assertEquals(6, sum);
+		}
+	}
+
+	@Test
+	@DisplayName("Evaluation contexts are reused across tasks")
+	void contexts() throws InterruptedException, ExecutionException {
+		AtomicInteger created = new AtomicInteger();
+		EvaluationContext.Key<double[]> scratch = EvaluationContext.key(() -> {
+			created.incrementAndGet();
+			return new double[16];
+		});
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		List<Callable<Integer>> tasks = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			tasks.add(() -> {
+				threads.add(Thread.currentThread());
+				return EvaluationContext.current().get(scratch).length;
+			});
+		}
+		VirtualThreadBackend backend = new VirtualThreadBackend(4);
+		for (int round = 0; round < 3; round++) {
+			backend.invokeAll(tasks);
+		}
+		// Every task runs on a new thread
+		assertEquals(150, threads.size());
+		assertTrue(created.get() <= 4, "Created: " + created);
+	}
+
+	@Test
+	@DisplayName("Exceptions are reported")
+	void exception() {
+		List<Callable<Integer>> tasks = List.of(() -> 1, () -> {
+			throw new IllegalStateException();
+		});
+		assertThrows(ExecutionException.class, () -> new VirtualThreadBackend(4).invokeAll(tasks));
+	}
+
+	@Test
+	@DisplayName("Platform threads are used if requested or not supported")
+	void fallback() {
+		assertTrue(!new VirtualThreadBackend(4, false).isVirtual());
+		assertEquals(VirtualThreadBackend.isVirtualThreadSupported(), new VirtualThreadBackend(4).isVirtual());
+		assertThrows(IllegalArgumentException.class, () -> new VirtualThreadBackend(0));
+	}
+
+	@Test
+	@DisplayName("Blocking evaluations are in flight concurrently")
+	void blockingFitness() {
+		Gauge gauge = new Gauge();
+		double[][] range = { { -5, 5 }, { -5, 5 } };
+		var prototype = new DoublePrototype(range, x -> {
+			block(gauge);
+			return x[0] * x[0] + x[1] * x[1];
+		});
+		Result result = GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(10).population()
+				.withPopulationCount(64).advanced().withExecutionBackend(new DirectBackend())
+				.withEvaluationBackend(new VirtualThreadBackend(48)).build().calculate(0, Integer.MAX_VALUE, false);
+
+		assertTrue(result.getBestResult().getFitness() < 1);
+		// The islands run on the calling thread, evaluations are dispatched
+		assertTrue(gauge.peak.get() > 8, "Peak: " + gauge.peak);
+		assertTrue(gauge.peak.get() <= 48, "Peak: " + gauge.peak);
+	}
+}
@@ -15,6 +15,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import com.github.kilianB.example.imageRaster.DummyIndividual;
+import com.github.kilianB.geneticAlgorithm.Individual;
 import com.github.kilianB.geneticAlgorithm.fitnessScaling.FitnessScalingStrategy.ScaledFitness;
 
 //TODO
@@ -114,5 +116,54 @@ class AgeScalingTest {
 		double[] scaledFitness = Arrays.stream(result).mapToDouble(item -> item.getScaledFitness()).toArray();
 		assertArrayEquals(expectedScaledValue, scaledFitness, 1e-6);
 	}
+	
+	@Test
+	@DisplayName("Newest individuals ranked first")
+	void testAgeRanks() {
+		int[] births = {3, -1, 5, 3, 0, 5, 5};
+		Individual[] population = new Individual[births.length];
+		for(int i = 0; i < births.length; i++) {
+			population[i] = new DummyIndividual(i);
+			population[i].setBirth(births[i]);
+		}
+		assertArrayEquals(new int[] {4, 7, 1, 4, 6, 1, 1}, AgeScaling.ageRanks(population));
+	}
+	
+	@Test
+	@DisplayName("Sparse birth range")
+	void testAgeRanksSparse() {
+		int[] births = {Integer.MAX_VALUE, -1, Integer.MIN_VALUE, -1, 2_000_000};
+		Individual[] population = new Individual[births.length];
+		for(int i = 0; i < births.length; i++) {
+			population[i] = new DummyIndividual(i);
+			population[i].setBirth(births[i]);
+		}
+		assertArrayEquals(new int[] {1, 3, 5, 3, 2}, AgeScaling.ageRanks(population));
+	}
+	
+	@Test
+	@DisplayName("Age weight applied")
+	void testAgeScaledValues() {
+		Individual[] population = {
+				new DummyIndividual(0.1),
+				new DummyIndividual(0.2),
+				new DummyIndividual(0.3)
+		};
+		//The fittest individual is the oldest
+		population[0].setBirth(0);
+		population[1].setBirth(2);
+		population[2].setBirth(1);
+		
+		double[] expected = {
+				1/Math.sqrt(1) * 1/Math.sqrt(3),
+				1/Math.sqrt(2) * 1/Math.sqrt(1),
+				1/Math.sqrt(3) * 1/Math.sqrt(2)
+		};
+		double sum = Arrays.stream(expected).sum();
+		
+		double[] scaledFitness = new double[population.length];
+		scaler.scaleFitness(population, 2, scaledFitness);
+		assertArrayEquals(Arrays.stream(expected).map(d -> d * 2 / sum).toArray(), scaledFitness, 1e-10);
+	}
 
 }
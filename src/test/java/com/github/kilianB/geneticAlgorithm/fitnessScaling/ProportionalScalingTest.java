@@ -2,6 +2,7 @@ package com.github.kilianB.geneticAlgorithm.fitnessScaling;
 
 import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.SMALL_TEST_SET_DISTINCT;
 import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.TEST_SET;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -12,6 +13,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import com.github.kilianB.example.imageRaster.DummyIndividual;
+import com.github.kilianB.geneticAlgorithm.Individual;
 import com.github.kilianB.geneticAlgorithm.fitnessScaling.FitnessScalingStrategy.ScaledFitness;
 
 class ProportionalScalingTest {
@@ -83,4 +86,20 @@ class ProportionalScalingTest {
 		}
 		
 	}
+	
+	@Test
+	@DisplayName("Perfect individuals share all parents")
+	void testZeroFitness() {
+		Individual[] population = {
+				new DummyIndividual(0),
+				new DummyIndividual(0),
+				new DummyIndividual(0),
+				new DummyIndividual(0.5)
+		};
+		
+		double[] scaledFitness = new double[population.length];
+		scaler.scaleFitness(population, 6, scaledFitness);
+		
+		assertArrayEquals(new double[] {2,2,2,0}, scaledFitness, 1e-10);
+	}
 }
@@ -15,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import com.github.kilianB.geneticAlgorithm.Individual;
 import com.github.kilianB.geneticAlgorithm.fitnessScaling.FitnessScalingStrategy.ScaledFitness;
 
 class RankScalingTest {
@@ -115,5 +116,22 @@ class RankScalingTest {
 		assertArrayEquals(expectedScaledValue, scaledFitness, 1e-6);
 	}
 	
+	@Test
+	@DisplayName("Primitive scaling equals object scaling")
+	void testPrimitiveScaling() {
+		RankScaling rankScaling = new RankScaling();
+		
+		//Alternate population sizes to exercise the cached rank weights
+		for(var population : new Individual[][] {SMALL_TEST_SET_DUPLICATES, TEST_SET, SMALL_TEST_SET_DISTINCT}) {
+			double[] expected = Arrays.stream(new RankScaling().scaleFitness(population,4))
+					.mapToDouble(item -> item.getScaledFitness()).toArray();
+			
+			//Buffer larger than the population
+			double[] buffer = new double[TEST_SET.length];
+			rankScaling.scaleFitness(population, 4, buffer);
+			assertArrayEquals(expected, Arrays.copyOf(buffer, population.length), 1e-10);
+		}
+	}
+	
 	
 }
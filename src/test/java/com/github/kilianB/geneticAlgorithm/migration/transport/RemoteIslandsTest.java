@@ -0,0 +1,300 @@
+package com.github.kilianB.geneticAlgorithm.migration.transport;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
+import com.github.kilianB.geneticAlgorithm.Individual;
+import com.github.kilianB.geneticAlgorithm.Individual.Origin;
+import com.github.kilianB.geneticAlgorithm.migration.strategy.Elitism;
+import com.github.kilianB.geneticAlgorithm.prototypes.BooleanPrototype;
+import com.github.kilianB.geneticAlgorithm.prototypes.DoublePrototype;
+import com.github.kilianB.geneticAlgorithm.prototypes.PermutationPrototype;
+import com.github.kilianB.geneticAlgorithm.result.Result;
+
+class RemoteIslandsTest {
+
+	private static final double[][] RANGE = { { -5, 5 }, { -5, 5 }, { -5, 5 } };
+
+	private static DoublePrototype sphere() {
+		return new DoublePrototype(RANGE, x -> x[0] * x[0] + x[1] * x[1] + x[2] * x[2]);
+	}
+
+	private static Individual roundTrip(MigrantCodec codec, Individual individual) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		codec.write(individual, new DataOutputStream(bytes));
+		return codec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+	}
+
+	@Test
+	@DisplayName("Codecs restore the genes")
+	void codec() throws IOException {
+		DoublePrototype doubles = sphere();
+		Individual individual = doubles.createIndividual();
+		Individual copy = roundTrip(MigrantCodec.of(doubles), individual);
+		double[] expected = new double[3];
+		double[] actual = new double[3];
+		individual.copyGenes(expected);
+		copy.copyGenes(actual);
+		assertArrayEquals(expected, actual);
+		assertEquals(individual.getFitness(), copy.getFitness());
+
+		BooleanPrototype booleans = new BooleanPrototype(x -> 0, 11);
+		individual = booleans.createIndividual();
+		copy = roundTrip(MigrantCodec.of(booleans), individual);
+		for (int i = 0; i < 11; i++) {
+			assertEquals(individual.getBoolean(i), copy.getBoolean(i));
+		}
+
+		PermutationPrototype permutation = new PermutationPrototype(7, x -> 0);
+		individual = permutation.createIndividual();
+		copy = roundTrip(MigrantCodec.of(permutation), individual);
+		for (int i = 0; i < 7; i++) {
+			assertEquals(individual.getInt(i), copy.getInt(i));
+		}
+	}
+
+	@Test
+	@DisplayName("Codecs reject gene counts of other prototypes before allocating")
+	void codecLength() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		new DataOutputStream(bytes).writeInt(Integer.MAX_VALUE);
+		byte[] frame = bytes.toByteArray();
+		for (MigrantCodec codec : List.of(MigrantCodec.of(sphere()), MigrantCodec.of(new BooleanPrototype(x -> 0, 11)),
+				MigrantCodec.of(new PermutationPrototype(7, x -> 0)))) {
+			assertThrows(IOException.class, () -> codec.read(new DataInputStream(new ByteArrayInputStream(frame))));
+		}
+
+		Individual individual = new BooleanPrototype(x -> 0, 12).createIndividual();
+		assertThrows(IOException.class, () -> roundTrip(MigrantCodec.of(new BooleanPrototype(x -> 0, 11)), individual));
+	}
+
+	@Test
+	@DisplayName("Memory mapped slots are shared")
+	void mappedFile() throws IOException {
+		Path file = Files.createTempFile("migration", ".ring");
+		try (var first = new MappedFileTransport(file, 2, 64); var second = new MappedFileTransport(file, 2, 64)) {
+			assertNull(second.receive(0));
+			first.send(0, 5, new byte[] { 1, 2, 3 });
+			MigrantBatch batch = second.receive(0);
+			assertEquals(5, batch.getGeneration());
+			assertArrayEquals(new byte[] { 1, 2, 3 }, batch.getMigrants());
+
+			first.send(0, 6, new byte[] { 4 });
+			assertArrayEquals(new byte[] { 4 }, second.receive(0).getMigrants());
+
+			assertThrows(IllegalArgumentException.class, () -> first.send(0, 7, new byte[65]));
+			assertThrows(IllegalArgumentException.class, () -> first.send(2, 7, new byte[1]));
+			assertThrows(IllegalArgumentException.class, () -> new MappedFileTransport(file, 3, 64));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	@DisplayName("Batches are exchanged over TCP")
+	void tcp() throws IOException, InterruptedException {
+		try (var receiver = new TcpTransport(0, List.of());
+				var sender = new TcpTransport(0, List.of(new InetSocketAddress("localhost", receiver.getPort())))) {
+			sender.send(1, 3, new byte[] { 7, 8 });
+			MigrantBatch batch = await(receiver, 1);
+			assertNotNull(batch);
+			assertEquals(3, batch.getGeneration());
+			assertArrayEquals(new byte[] { 7, 8 }, batch.getMigrants());
+		}
+	}
+
+	@Test
+	@DisplayName("Unreachable peers don't block")
+	void deadPeer() throws IOException {
+		int port;
+		try (ServerSocket unused = new ServerSocket(0)) {
+			port = unused.getLocalPort();
+		}
+		try (var transport = new TcpTransport(0, List.of(new InetSocketAddress("localhost", port)))) {
+			long start = System.nanoTime();
+			for (int i = 0; i < 100; i++) {
+				transport.send(0, i, new byte[16]);
+			}
+			assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+		}
+	}
+
+	private static MigrantBatch await(MigrationTransport transport, int island) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		MigrantBatch batch;
+		while ((batch = transport.receive(island)) == null && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		return batch;
+	}
+
+	private static GeneticAlgorithm island(DoublePrototype prototype, MigrationTransport transport, int index,
+			long timeoutMillis) {
+		return GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(200).population()
+				.withPopulationCount(20).migration(2)
+				.withRemoteIslands(new RemoteIslands(transport, MigrantCodec.of(prototype), index, 2)
+						.withTimeout(timeoutMillis, TimeUnit.MILLISECONDS))
+				.build();
+	}
+
+	private static boolean receivedMigrants(Result result) {
+		for (int generation : result.getAvailableGenerations()) {
+			for (Individual individual : result.getGeneration(generation, 0)) {
+				if (individual.getOrigin() == Origin.REMOTE_MIGRANT) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@Test
+	@DisplayName("Islands of different genetic algorithms exchange migrants")
+	void exchange() throws IOException {
+		Path file = Files.createTempFile("migration", ".ring");
+		try (var transportA = new MappedFileTransport(file, 2, 4096);
+				var transportB = new MappedFileTransport(file, 2, 4096)) {
+			DoublePrototype prototypeA = sphere();
+			DoublePrototype prototypeB = sphere();
+			GeneticAlgorithm a = island(prototypeA, transportA, 0, 60_000);
+			GeneticAlgorithm b = island(prototypeB, transportB, 1, 60_000);
+
+			// No remote island published yet
+			assertFalse(receivedMigrants(a.calculate(1, 5, false)));
+			assertNotNull(transportB.receive(0));
+			assertTrue(receivedMigrants(b.calculate(1, 5, false)));
+			assertTrue(receivedMigrants(a.calculate(1, 5, false)));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	@DisplayName("Migrants of a silent island are ignored after the timeout")
+	void staleIsland() throws IOException, InterruptedException {
+		Path file = Files.createTempFile("migration", ".ring");
+		try (var transportA = new MappedFileTransport(file, 2, 4096);
+				var transportB = new MappedFileTransport(file, 2, 4096)) {
+			GeneticAlgorithm a = island(sphere(), transportA, 0, 60_000);
+			GeneticAlgorithm b = island(sphere(), transportB, 1, 50);
+			a.calculate(1, 5, false);
+			Thread.sleep(200);
+			assertFalse(receivedMigrants(b.calculate(1, 5, false)));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	@DisplayName("Every sub population receives its own copy of a remote migrant")
+	void copies() throws IOException {
+		Path file = Files.createTempFile("migration", ".ring");
+		try (var transportA = new MappedFileTransport(file, 3, 4096);
+				var transportB = new MappedFileTransport(file, 3, 4096)) {
+			DoublePrototype prototypeA = sphere();
+			DoublePrototype prototypeB = sphere();
+			GeneticAlgorithm a = GeneticAlgorithm.builder().withPrototype(prototypeA).withMaxGenerationCount(200)
+					.population().withPopulationCount(20).migration(2)
+					.withRemoteIslands(new RemoteIslands(transportA, MigrantCodec.of(prototypeA), 0, 3)).build();
+			// Both local islands only receive migrants of the remote island
+			GeneticAlgorithm b = GeneticAlgorithm.builder().withPrototype(prototypeB).withMaxGenerationCount(200)
+					.population().withPopulationCount(20).migration(2)
+					.withMigrationProcess((islands, target, count, strategy) -> strategy
+							.getMigrationCandidates(islands.get(0), count))
+					.withRemoteIslands(new RemoteIslands(transportB, MigrantCodec.of(prototypeB), 1, 3))
+					.withNewSubpopulations(2).build();
+			a.calculate(1, 5, false);
+			Result result = b.calculate(1, 5, false);
+
+			Set<Individual> first = Collections.newSetFromMap(new IdentityHashMap<>());
+			Set<Individual> second = Collections.newSetFromMap(new IdentityHashMap<>());
+			Set<Integer> births = new HashSet<>();
+			for (int generation : result.getAvailableGenerations()) {
+				for (int subPopulation = 0; subPopulation < 2; subPopulation++) {
+					for (Individual individual : result.getGeneration(generation, subPopulation)) {
+						if (individual.getOrigin() == Origin.REMOTE_MIGRANT) {
+							(subPopulation == 0 ? first : second).add(individual);
+							births.add(individual.getBirth());
+						}
+					}
+				}
+			}
+			assertFalse(first.isEmpty());
+			assertFalse(second.isEmpty());
+			first.retainAll(second);
+			assertTrue(first.isEmpty());
+			// Inserted at every migration
+			assertEquals(2, births.size());
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	@DisplayName("Only migrants with exact fitness are published")
+	void exactFitness() throws IOException {
+		Path file = Files.createTempFile("migration", ".ring");
+		try (var transport = new MappedFileTransport(file, 2, 4096)) {
+			DoublePrototype prototype = sphere().withApproximateFitness(x -> 2 * x[0] * x[0]);
+			MigrantCodec codec = MigrantCodec.of(prototype);
+			GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(200).population()
+					.withPopulationCount(20).advanced().withMultiFidelity(0.2).migration(2)
+					.withMigrationStrategy(new Elitism(20))
+					.withRemoteIslands(new RemoteIslands(transport, codec, 0, 2)).build().calculate(1, 3, false);
+
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(transport.receive(0).getMigrants()));
+			int count = in.readInt();
+			assertTrue(count > 0 && count < 20, "Published: " + count);
+			double[] genes = new double[3];
+			for (int i = 0; i < count; i++) {
+				double fitness = in.readDouble();
+				codec.read(in).copyGenes(genes);
+				assertEquals(genes[0] * genes[0] + genes[1] * genes[1] + genes[2] * genes[2], fitness);
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	@DisplayName("Invalid island layout")
+	void invalid() throws IOException {
+		Path file = Files.createTempFile("migration", ".ring");
+		try (var transport = new MappedFileTransport(file, 2, 64)) {
+			DoublePrototype prototype = sphere();
+			MigrantCodec codec = MigrantCodec.of(prototype);
+			assertThrows(IllegalArgumentException.class, () -> new RemoteIslands(transport, codec, 2, 2));
+			assertThrows(IllegalArgumentException.class,
+					() -> GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(10).population()
+							.migration(2).withRemoteIslands(new RemoteIslands(transport, codec, 1, 2))
+							.withNewSubpopulations(2).build());
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.SPHERE;
+import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.range;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
+import com.github.kilianB.geneticAlgorithm.Individual;
+import com.github.kilianB.geneticAlgorithm.result.Result;
+
+class BatchFitnessTest {
+
+	/** Sphere counting single and batch calls */
+	private static class CountingSphere implements BatchFitness<double[]> {
+
+		final AtomicInteger single = new AtomicInteger();
+		final AtomicInteger batches = new AtomicInteger();
+		final AtomicInteger batched = new AtomicInteger();
+
+		@Override
+		public double applyAsDouble(double[] genes) {
+			single.incrementAndGet();
+			return SPHERE.applyAsDouble(genes);
+		}
+
+		@Override
+		public double[] applyAll(List<? extends double[]> genomes) {
+			batches.incrementAndGet();
+			batched.addAndGet(genomes.size());
+			double[] fitness = new double[genomes.size()];
+			for (int i = 0; i < fitness.length; i++) {
+				fitness[i] = SPHERE.applyAsDouble(genomes.get(i));
+			}
+			return fitness;
+		}
+	}
+
+	@Test
+	@DisplayName("Parallel evaluation hands the offspring over as batch")
+	void batches() {
+		CountingSphere fitness = new CountingSphere();
+		Result result = GeneticAlgorithm.builder().withPrototype(new DoublePrototype(range(5), fitness))
+				.withMaxGenerationCount(20).population().withPopulationCount(30).advanced()
+				.withParallelEvaluation(true).build().calculate(0, Integer.MAX_VALUE, false);
+
+		assertEquals(0, fitness.single.get());
+		// Initial population and one batch per generation
+		assertTrue(fitness.batches.get() >= 20, "Batches: " + fitness.batches.get());
+		assertTrue(fitness.batched.get() > fitness.batches.get() * 10);
+
+		double[] genes = new double[5];
+		Individual best = result.getBestResult();
+		best.copyGenes(genes);
+		assertEquals(SPHERE.applyAsDouble(genes), best.getFitness());
+	}
+
+	@Test
+	@DisplayName("Infeasible genomes are not part of the batch")
+	void constraints() {
+		CountingSphere fitness = new CountingSphere();
+		DoublePrototype prototype = new DoublePrototype(range(5), fitness).withConstraint(v -> v[0] < 0, 1)
+				.withConstraintPenalty(1e6);
+		Result result = GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(20).population()
+				.withPopulationCount(30).advanced().withParallelEvaluation(true).build()
+				.calculate(1, Integer.MAX_VALUE, false);
+
+		assertEquals(0, fitness.single.get());
+		for (int generation : result.getAvailableGenerations()) {
+			for (Individual individual : result.getGeneration(generation, 0)) {
+				double[] genes = new double[5];
+				individual.copyGenes(genes);
+				assertEquals(genes[0] < 0 ? SPHERE.applyAsDouble(genes) : 1e6, individual.getFitness());
+			}
+		}
+	}
+}
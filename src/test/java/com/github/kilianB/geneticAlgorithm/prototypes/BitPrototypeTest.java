@@ -0,0 +1,102 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.Individual;
+import com.github.kilianB.geneticAlgorithm.crossover.CrossoverStrategyDiscrete;
+import com.github.kilianB.geneticAlgorithm.crossover.ScatteredDiscrete;
+import com.github.kilianB.geneticAlgorithm.crossover.SinglePointDiscrete;
+import com.github.kilianB.geneticAlgorithm.prototypes.BitPrototype.BitIndividual;
+
+class BitPrototypeTest {
+
+	private static final int BITS = 200;
+
+	private final BitPrototype prototype = new BitPrototype(BitGenome::cardinality, BITS);
+
+	@Test
+	@DisplayName("Cardinality of ranges")
+	void cardinality() {
+		boolean[] values = new boolean[BITS];
+		for (int i = 0; i < BITS; i += 3) {
+			values[i] = true;
+		}
+		BitGenome genome = BitGenome.of(values);
+		for (int from = 0; from < BITS; from += 7) {
+			for (int to = from; to <= BITS; to += 11) {
+				int expected = 0;
+				for (int i = from; i < to; i++) {
+					expected += values[i] ? 1 : 0;
+				}
+				assertEquals(expected, genome.cardinality(from, to));
+			}
+		}
+		assertEquals(genome.cardinality(0, BITS), genome.cardinality());
+	}
+
+	@Test
+	@DisplayName("Offspring bits originate from the same position")
+	void crossover() {
+		BitIndividual zeros = prototype.createIndividual(new boolean[BITS]);
+		boolean[] ones = new boolean[BITS];
+		java.util.Arrays.fill(ones, true);
+		BitIndividual all = prototype.createIndividual(ones);
+
+		for (CrossoverStrategyDiscrete strategy : new CrossoverStrategyDiscrete[] { new ScatteredDiscrete(2),
+				new SinglePointDiscrete(2), new ScatteredDiscrete(3), new SinglePointDiscrete(3) }) {
+			Individual[] parents = strategy.getParentCount() == 2 ? new Individual[] { zeros, all }
+					: new Individual[] { zeros, all, zeros };
+			BitIndividual child = (BitIndividual) zeros.crossover(strategy, parents);
+			int cardinality = child.getGenome().cardinality();
+			// Clones are rejected
+			assertTrue(cardinality > 0 && cardinality < BITS, strategy + " " + cardinality);
+			assertEquals(cardinality, child.getGenome().toString().replace("0", "").length());
+		}
+	}
+
+	@Test
+	@DisplayName("Word kernels keep the distribution of the crossover vector")
+	void crossoverDistribution() {
+		BitIndividual zeros = prototype.createIndividual(new boolean[BITS]);
+		boolean[] ones = new boolean[BITS];
+		java.util.Arrays.fill(ones, true);
+		BitIndividual all = prototype.createIndividual(ones);
+
+		// Each bit is taken from the single parent holding ones with probability 1 / 5
+		Individual[] parents = { zeros, all, prototype.createIndividual(new boolean[BITS]),
+				prototype.createIndividual(new boolean[BITS]), prototype.createIndividual(new boolean[BITS]) };
+		CrossoverStrategyDiscrete scattered = new ScatteredDiscrete(5);
+		int set = 0;
+		int runs = 1000;
+		for (int i = 0; i < runs; i++) {
+			set += ((BitIndividual) zeros.crossover(scattered, parents)).getGenome().cardinality();
+		}
+		assertEquals(0.2, set / (double) (runs * BITS), 0.01);
+
+		// A single point crossover copies one contiguous section of each parent
+		CrossoverStrategyDiscrete singlePoint = new SinglePointDiscrete(3);
+		for (int i = 0; i < runs; i++) {
+			String genome = ((BitIndividual) zeros.crossover(singlePoint, zeros, all, zeros)).getGenome().toString();
+			assertTrue(genome.matches("0*1*0*"), genome);
+		}
+	}
+
+	@Test
+	@DisplayName("Mutation flips the expected number of bits")
+	void mutate() {
+		BitIndividual zeros = prototype.createIndividual(new boolean[BITS]);
+		assertEquals(BITS, ((BitIndividual) zeros.mutate(1, 1)).getGenome().cardinality());
+		assertEquals(0, ((BitIndividual) zeros.mutate(0, 1)).getGenome().cardinality());
+
+		int flipped = 0;
+		int runs = 1000;
+		for (int i = 0; i < runs; i++) {
+			flipped += ((BitIndividual) zeros.mutate(0.1, 1)).getGenome().cardinality();
+		}
+		assertEquals(0.1, flipped / (double) (runs * BITS), 0.01);
+	}
+}
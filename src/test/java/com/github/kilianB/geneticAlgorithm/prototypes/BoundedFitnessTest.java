@@ -0,0 +1,113 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
+import com.github.kilianB.geneticAlgorithm.Individual;
+import com.github.kilianB.geneticAlgorithm.result.Result;
+
+class BoundedFitnessTest {
+
+	private static DistanceMatrix cities(int count) {
+		Random rng = new Random(0);
+		double[][] coordinates = new double[count][];
+		for (int i = 0; i < count; i++) {
+			coordinates[i] = new double[] { rng.nextDouble(), rng.nextDouble() };
+		}
+		return DistanceMatrix.euclidean(coordinates);
+	}
+
+	@Test
+	@DisplayName("Bounded tour length is exact below the cutoff")
+	void tourLength() {
+		DistanceMatrix matrix = cities(20);
+		int[] tour = PermutationOperators.positions(new int[] { 3, 1, 4, 0, 2, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15,
+				16, 17, 18, 19 });
+		double length = matrix.tourLength(tour);
+		assertEquals(length, matrix.tourLength(tour, length));
+		assertEquals(length, matrix.tourLength(tour, Double.POSITIVE_INFINITY));
+		double bound = matrix.tourLength(tour, length / 2);
+		assertTrue(bound > length / 2 && bound <= length);
+	}
+
+	@Test
+	@DisplayName("Partially evaluated individuals are ranked behind the exact ones")
+	void ranking() {
+		int rank = 10;
+		DistanceMatrix matrix = cities(60);
+		AtomicInteger aborted = new AtomicInteger();
+		var prototype = new PermutationPrototype(60, matrix::tourLength).withBoundedFitness((tour, cutoff) -> {
+			double length = matrix.tourLength(tour, cutoff);
+			if (length > cutoff) {
+				aborted.incrementAndGet();
+			}
+			return length;
+		});
+
+		Result result = GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(50)
+				.withTargetFitness(0).population().withPopulationCount(40).advanced().withBoundedEvaluation(rank)
+				.build().calculate(1, Integer.MAX_VALUE, false);
+
+		assertTrue(aborted.get() > 0);
+
+		List<Integer> generations = result.getAvailableGenerations();
+		Individual[] population = result.getGeneration(generations.get(generations.size() - 1), 0);
+		boolean bounded = false;
+		for (int i = 0; i < population.length; i++) {
+			Individual individual = population[i];
+			if (i < rank) {
+				assertFalse(individual.isFitnessLowerBound());
+			}
+			// Lower bounds are ranked behind all exact fitness values
+			bounded |= individual.isFitnessLowerBound();
+			assertEquals(bounded, individual.isFitnessLowerBound());
+			if (!individual.isFitnessLowerBound()) {
+				int[] order = new int[60];
+				individual.copyGenes(order);
+				assertEquals(matrix.tourLength(order), individual.getFitness());
+			} else {
+				assertTrue(individual.getFitness() > population[rank - 1].getFitness());
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Elites are evaluated exactly")
+	void elites() {
+		DistanceMatrix matrix = cities(60);
+		var prototype = new PermutationPrototype(60, matrix::tourLength).withBoundedFitness(matrix::tourLength);
+
+		// More elites than exactly evaluated individuals
+		Result result = GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(10)
+				.withTargetFitness(0).population().withPopulationCount(40).withEliteFraction(0.5f)
+				.withCrossoverFraction(0.3f).advanced().withBoundedEvaluation(2).build()
+				.calculate(1, Integer.MAX_VALUE, false);
+
+		List<Integer> generations = result.getAvailableGenerations();
+		for (int g = 1; g < generations.size(); g++) {
+			Set<Individual> previous = Collections.newSetFromMap(new IdentityHashMap<>());
+			previous.addAll(Arrays.asList(result.getGeneration(generations.get(g - 1), 0)));
+			for (Individual individual : result.getGeneration(generations.get(g), 0)) {
+				if (previous.contains(individual)) {
+					assertFalse(individual.isFitnessLowerBound());
+					int[] order = new int[60];
+					individual.copyGenes(order);
+					assertEquals(matrix.tourLength(order), individual.getFitness());
+				}
+			}
+		}
+	}
+}
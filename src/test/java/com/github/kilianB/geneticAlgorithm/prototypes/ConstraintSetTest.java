@@ -0,0 +1,161 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.SPHERE;
+import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.range;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
+import com.github.kilianB.geneticAlgorithm.Individual;
+import com.github.kilianB.geneticAlgorithm.result.Result;
+
+class ConstraintSetTest {
+
+	private static final double[][] RANGE = { { -5, 5 }, { -5, 5 } };
+
+	/** Squared distance to (2,2). Constrained to x + y <= 1 the optimum is 4.5 */
+	private static double distance(double[] v) {
+		double dx = v[0] - 2;
+		double dy = v[1] - 2;
+		return dx * dx + dy * dy;
+	}
+
+	@Test
+	@DisplayName("Constraints are checked in increasing cost order")
+	void costOrder() {
+		List<String> order = new ArrayList<>();
+		ConstraintSet<double[]> set = new ConstraintSet<>();
+		set.add(v -> order.add("expensive"), 10);
+		set.add(v -> order.add("cheap"), 1);
+		set.add(v -> order.add("medium"), 5);
+		set.add(v -> order.add("cheap2"), 1);
+
+		assertTrue(set.test(new double[0]));
+		assertEquals(List.of("cheap", "cheap2", "medium", "expensive"), order);
+	}
+
+	@Test
+	@DisplayName("Checks stop at the first violated constraint")
+	void lazy() {
+		AtomicInteger expensive = new AtomicInteger();
+		ConstraintSet<double[]> set = new ConstraintSet<>();
+		set.add(v -> expensive.incrementAndGet() >= 0, 10);
+		set.add(v -> v[0] >= 0, 1);
+
+		assertFalse(set.test(new double[] { -1 }));
+		assertEquals(0, expensive.get());
+		assertTrue(set.test(new double[] { 1 }));
+		assertEquals(1, expensive.get());
+
+		assertEquals(2, set.getCheckedCount());
+		assertEquals(1, set.getInfeasibleCount());
+		assertEquals(1, set.getViolationCount(0));
+		assertEquals(0, set.getViolationCount(1));
+		assertEquals(0.5, set.getSkippedShare());
+	}
+
+	@Test
+	@DisplayName("Negative cost")
+	void negativeCost() {
+		ConstraintSet<double[]> set = new ConstraintSet<>();
+		assertThrows(IllegalArgumentException.class, () -> set.add(v -> true, -1));
+	}
+
+	@Test
+	@DisplayName("Infeasible individuals receive the penalty without evaluating the objective")
+	void penalty() {
+		AtomicInteger evaluations = new AtomicInteger();
+		ToDoubleFunction<double[]> fitness = v -> {
+			evaluations.incrementAndGet();
+			return distance(v);
+		};
+		DoublePrototype prototype = new DoublePrototype(RANGE, fitness).withConstraint(v -> v[0] + v[1] <= 1, 1)
+				.withConstraintPenalty(1000);
+
+		Result result = GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(100)
+				.withTargetFitness(0).population().withPopulationCount(30).build().calculate(1, Integer.MAX_VALUE, false);
+
+		ConstraintSet<double[]> constraints = prototype.getConstraints();
+		assertTrue(constraints.getInfeasibleCount() > 0);
+		assertEquals(constraints.getCheckedCount() - constraints.getInfeasibleCount(), evaluations.get());
+
+		Individual best = result.getBestResult();
+		assertTrue(best.getDouble(0) + best.getDouble(1) <= 1);
+		// The unconstrained optimum at (2,2) is infeasible
+		assertTrue(best.getFitness() >= 4.5 && best.getFitness() < 6);
+	}
+
+	@Test
+	@DisplayName("Offspring of infeasible parents are evaluated in full")
+	void infeasibleDeltaParent() {
+		double[][] range = range(10);
+		AtomicInteger deltaCalls = new AtomicInteger();
+		double[] origin = new double[range.length];
+		DoublePrototype prototype = new DoublePrototype(range, SPHERE)
+				.withConstraint(v -> !Arrays.equals(v, origin), 1)
+				.withDeltaFitness((parent, parentFitness, child, changed) -> {
+					deltaCalls.incrementAndGet();
+					double fitness = parentFitness;
+					for (int i : changed) {
+						fitness += child[i] * child[i] - parent[i] * parent[i];
+					}
+					return fitness;
+				});
+
+		Individual parent = prototype.new DoubleIndividual(origin.clone());
+		assertEquals(Double.MAX_VALUE, parent.getFitness());
+		for (int i = 0; i < 50; i++) {
+			// Every altered gene renders the child feasible
+			Individual child = parent.mutate(0.2, 0.1);
+			double[] genes = new double[range.length];
+			child.copyGenes(genes);
+			assertEquals(Arrays.equals(genes, origin) ? Double.MAX_VALUE : SPHERE.applyAsDouble(genes), child.getFitness(), 1e-9);
+		}
+		assertEquals(0, deltaCalls.get());
+
+		// Feasible parents are still used incrementally
+		Individual feasible = parent.mutate(1, 0.1);
+		feasible.getFitness();
+		for (int i = 0; i < 50; i++) {
+			feasible.mutate(0.2, 0.1).getFitness();
+		}
+		assertTrue(deltaCalls.get() > 0);
+	}
+
+	@Test
+	@DisplayName("Repaired individuals are feasible")
+	void repair() {
+		IntPrototype prototype = new IntPrototype(new int[][] { { 0, 10 }, { 0, 10 } }, new int[][] { { 0, 10 }, { 0, 10 } },
+				v -> Math.abs(v[0] - 8) + Math.abs(v[1] - 8)).withConstraint(v -> v[0] + v[1] <= 10, 1)
+						.withRepair(v -> {
+							while (v[0] + v[1] > 10) {
+								v[v[0] > v[1] ? 0 : 1]--;
+							}
+						});
+
+		Result result = GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(50)
+				.withTargetFitness(0).population().withPopulationCount(20).build().calculate(1, Integer.MAX_VALUE, false);
+
+		ConstraintSet<int[]> constraints = prototype.getConstraints();
+		assertTrue(constraints.getRepairedCount() > 0);
+		assertEquals(0, constraints.getInfeasibleCount());
+
+		for (int generation : result.getAvailableGenerations()) {
+			for (Individual individual : result.getGeneration(generation, 0)) {
+				assertTrue(individual.getInt(0) + individual.getInt(1) <= 10);
+			}
+		}
+		assertEquals(6, result.getBestResult().getFitness());
+	}
+}
@@ -0,0 +1,123 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.SPHERE;
+import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.range;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.Individual;
+import com.github.kilianB.geneticAlgorithm.crossover.SinglePointDiscrete;
+
+class DeltaFitnessTest {
+
+	private static final int VARIABLES = 50;
+
+	@Test
+	@DisplayName("Mutated offspring are evaluated incrementally")
+	void mutation() {
+		AtomicInteger calls = new AtomicInteger();
+		DoublePrototype prototype = new DoublePrototype(range(VARIABLES), SPHERE)
+				.withDeltaFitness((parent, parentFitness, child, changed) -> {
+					calls.incrementAndGet();
+					double fitness = parentFitness;
+					for (int i : changed) {
+						fitness += child[i] * child[i] - parent[i] * parent[i];
+					}
+					return fitness;
+				});
+
+		Individual parent = prototype.createIndividual();
+		parent.getFitness();
+		for (int i = 0; i < 100; i++) {
+			// High enough to always alter a gene. Unchanged offspring inherit the fitness
+			Individual child = parent.mutate(0.2, 0.1);
+			double[] genes = new double[VARIABLES];
+			child.copyGenes(genes);
+			assertEquals(SPHERE.applyAsDouble(genes), child.getFitness(), 1e-9);
+		}
+		assertEquals(100, calls.get());
+	}
+
+	@Test
+	@DisplayName("Full evaluation if the parent was not evaluated")
+	void unevaluatedParent() {
+		AtomicInteger calls = new AtomicInteger();
+		DoublePrototype prototype = new DoublePrototype(range(VARIABLES), SPHERE)
+				.withDeltaFitness((parent, parentFitness, child, changed) -> {
+					calls.incrementAndGet();
+					return 0;
+				});
+		prototype.createIndividual().mutate(0.05, 0.1).getFitness();
+		assertEquals(0, calls.get());
+	}
+
+	@Test
+	@DisplayName("Crossover uses the closest parent")
+	void crossoverBits() {
+		int bits = 300;
+		AtomicInteger changedGenes = new AtomicInteger(-1);
+		BitPrototype prototype = new BitPrototype(BitGenome::cardinality, bits)
+				.withDeltaFitness((parent, parentFitness, child, changed) -> {
+					changedGenes.set(changed.length);
+					double fitness = parentFitness;
+					for (int i : changed) {
+						fitness += child.get(i) ? 1 : -1;
+					}
+					return fitness;
+				});
+		Individual a = prototype.createIndividual();
+		Individual b = prototype.createIndividual();
+		a.getFitness();
+		b.getFitness();
+		for (int i = 0; i < 50; i++) {
+			BitPrototype.BitIndividual child = (BitPrototype.BitIndividual) a.crossover(new SinglePointDiscrete(2), a, b);
+			assertEquals(child.getGenome().cardinality(), child.getFitness());
+			assertTrue(changedGenes.get() <= bits / 2);
+		}
+	}
+
+	@Test
+	@DisplayName("Permutation offspring are evaluated incrementally")
+	void permutation() {
+		int size = 60;
+		// Weighted sum of the positions of each element
+		ToDoubleFunction<int[]> fitness = order -> {
+			double sum = 0;
+			for (int i = 0; i < order.length; i++) {
+				sum += i * order[i];
+			}
+			return sum;
+		};
+		for (PermutationPrototype.Crossover crossover : PermutationPrototype.Crossover.values()) {
+			for (PermutationPrototype.Mutation mutation : PermutationPrototype.Mutation.values()) {
+				AtomicInteger calls = new AtomicInteger();
+				PermutationPrototype prototype = new PermutationPrototype(size, fitness, crossover, mutation)
+						.withDeltaFitness((parent, parentFitness, child, changed) -> {
+							calls.incrementAndGet();
+							double value = parentFitness;
+							for (int i : changed) {
+								value += i * (child[i] - parent[i]);
+							}
+							return value;
+						});
+				Individual a = prototype.createIndividual();
+				Individual b = a.mutate(0.05, 0.1);
+				a.getFitness();
+				b.getFitness();
+				for (int i = 0; i < 50; i++) {
+					Individual child = a.crossover(new SinglePointDiscrete(2), a, b).mutate(0.05, 0.1);
+					int[] genes = new int[size];
+					child.copyGenes(genes);
+					assertEquals(fitness.applyAsDouble(genes), child.getFitness(), 1e-9);
+				}
+				assertTrue(calls.get() > 0, crossover + " " + mutation);
+			}
+		}
+	}
+}
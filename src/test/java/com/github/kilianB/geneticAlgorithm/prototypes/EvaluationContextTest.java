@@ -0,0 +1,98 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
+import com.github.kilianB.geneticAlgorithm.result.Result;
+
+class EvaluationContextTest {
+
+	@Test
+	@DisplayName("State is created lazily once per thread")
+	void lazy() throws InterruptedException {
+		AtomicInteger created = new AtomicInteger();
+		EvaluationContext.Key<double[]> key = EvaluationContext.key(() -> {
+			created.incrementAndGet();
+			return new double[16];
+		});
+		assertEquals(0, created.get());
+
+		EvaluationContext context = EvaluationContext.current();
+		double[] buffer = context.get(key);
+		assertSame(buffer, context.get(key));
+		assertSame(context, EvaluationContext.current());
+		assertEquals(1, created.get());
+
+		double[][] other = new double[1][];
+		Thread thread = new Thread(() -> other[0] = EvaluationContext.current().get(key));
+		thread.start();
+		thread.join();
+		assertNotSame(buffer, other[0]);
+		assertEquals(2, created.get());
+
+		context.remove(key);
+		assertNotSame(buffer, context.get(key));
+		assertEquals(3, created.get());
+	}
+
+	@Test
+	@DisplayName("Contexts grow with the number of keys")
+	void manyKeys() {
+		List<EvaluationContext.Key<Integer>> keys = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			int value = i;
+			keys.add(EvaluationContext.key(() -> value));
+		}
+		EvaluationContext context = EvaluationContext.current();
+		for (int i = 0; i < keys.size(); i++) {
+			assertEquals(i, (int) context.get(keys.get(i)));
+		}
+	}
+
+	@Test
+	@DisplayName("Scratch memory is reused across evaluations")
+	void reuse() {
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		AtomicInteger created = new AtomicInteger();
+		AtomicInteger evaluations = new AtomicInteger();
+		EvaluationContext.Key<double[]> squares = EvaluationContext.key(() -> {
+			created.incrementAndGet();
+			return new double[10];
+		});
+
+		double[][] range = new double[10][];
+		for (int i = 0; i < range.length; i++) {
+			range[i] = new double[] { -5, 5 };
+		}
+		var prototype = new DoublePrototype(range, ContextualFitness.of((genes, context) -> {
+			threads.add(Thread.currentThread());
+			evaluations.incrementAndGet();
+			double[] buffer = context.get(squares);
+			double sum = 0;
+			for (int i = 0; i < genes.length; i++) {
+				buffer[i] = genes[i] * genes[i];
+				sum += buffer[i];
+			}
+			return sum;
+		}));
+
+		Result result = GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(100)
+				.withTargetFitness(0).population().withPopulationCount(30).build().calculate(0, Integer.MAX_VALUE, false);
+
+		assertTrue(result.getBestResult().getFitness() < 1);
+		assertEquals(threads.size(), created.get());
+		assertTrue(created.get() < evaluations.get());
+	}
+}
@@ -0,0 +1,78 @@
+package com.github.kilianB.geneticAlgorithm.prototypes;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.Individual;
+import com.github.kilianB.geneticAlgorithm.crossover.ScatteredDiscrete;
+
+class PermutationOperatorsTest {
+
+	private static final int[] A = { 0, 1, 2, 3, 4, 5, 6, 7, 8 };
+	private static final int[] B = { 8, 2, 6, 7, 1, 5, 4, 0, 3 };
+
+	@Test
+	@DisplayName("Order crossover")
+	void orderCrossover() {
+		int[] child = new int[A.length];
+		PermutationOperators.orderCrossover(A, B, child, 3, 6, null);
+		// Section 3,4,5 from A. Remaining in order of B starting after the section
+		assertArrayEquals(new int[] { 6, 7, 1, 3, 4, 5, 0, 8, 2 }, child);
+	}
+
+	@Test
+	@DisplayName("Partially mapped crossover")
+	void partiallyMappedCrossover() {
+		int[] child = new int[A.length];
+		PermutationOperators.partiallyMappedCrossover(A, B, child, 3, 6, null);
+		// 3<->7, 4<->1, 5<->5. The conflicting 4 and 3 of B are replaced by 1 and 7
+		assertArrayEquals(new int[] { 8, 2, 6, 3, 4, 5, 1, 0, 7 }, child);
+	}
+
+	@Test
+	@DisplayName("Edge recombination of identical parents keeps the tour")
+	void edgeRecombination() {
+		int[] child = new int[B.length];
+		PermutationOperators.edgeRecombination(new int[][] { B, B }, child, null);
+		assertTrue(PermutationOperators.isPermutation(child));
+		int[] position = PermutationOperators.positions(B);
+		for (int i = 0; i < child.length; i++) {
+			int distance = Math.abs(position[child[i]] - position[child[(i + 1) % child.length]]);
+			assertTrue(distance == 1 || distance == child.length - 1);
+		}
+	}
+
+	@Test
+	@DisplayName("Reproduction produces permutations")
+	void validPermutations() {
+		DistanceMatrix matrix = DistanceMatrix.euclidean(new double[][] { { 0, 0 }, { 0, 1 }, { 1, 1 }, { 1, 0 },
+				{ 2, 0 }, { 2, 1 }, { 3, 3 } });
+		for (PermutationPrototype.Crossover crossover : PermutationPrototype.Crossover.values()) {
+			for (PermutationPrototype.Mutation mutation : PermutationPrototype.Mutation.values()) {
+				PermutationPrototype prototype = new PermutationPrototype(matrix.size(), matrix::tourLength,
+						crossover, mutation);
+				for (int k = 0; k < 200; k++) {
+					Individual a = prototype.createIndividual();
+					Individual b = prototype.createIndividual();
+					Individual child = a.crossover(new ScatteredDiscrete(2), a, b).mutate(0.3, k / 200d);
+					int[] order = new int[matrix.size()];
+					child.copyGenes(order);
+					assertTrue(PermutationOperators.isPermutation(order), crossover + " " + mutation);
+				}
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Tour length")
+	void tourLength() {
+		DistanceMatrix matrix = DistanceMatrix.euclidean(new double[][] { { 0, 0 }, { 0, 1 }, { 1, 1 }, { 1, 0 } });
+		assertEquals(4, matrix.tourLength(new int[] { 0, 1, 2, 3 }), 1e-9);
+		assertEquals(3, matrix.pathLength(new int[] { 0, 1, 2, 3 }), 1e-9);
+		assertEquals(2 + 2 * Math.sqrt(2), matrix.tourLength(new int[] { 0, 2, 1, 3 }), 1e-9);
+	}
+}
@@ -0,0 +1,57 @@
+package com.github.kilianB.geneticAlgorithm.rng;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TruncatedGaussianTest {
+
+	@Test
+	void quantileInvertsCdf() {
+		// Above 5 cdf(x) is too close to 1 to be inverted precisely
+		for (double x = -8; x <= 5; x += 0.25) {
+			assertEquals(x, TruncatedGaussian.quantile(TruncatedGaussian.cdf(x)), 1e-5);
+		}
+	}
+
+	@Test
+	void inverseWithinBounds() {
+		double[][] bounds = { { -1, 1 }, { 0.5, 100 }, { 5, 6 }, { -6, -5 }, { 40, 41 } };
+		for (double[] b : bounds) {
+			for (double u = 0; u < 1; u += 0.01) {
+				double x = TruncatedGaussian.inverse(u, 0, 1, b[0], b[1]);
+				assertTrue(x >= b[0] && x <= b[1], x + " not in " + b[0] + " " + b[1]);
+			}
+		}
+	}
+
+	@Test
+	void inverseMonotone() {
+		double last = Double.NEGATIVE_INFINITY;
+		for (double u = 0; u < 1; u += 0.001) {
+			double x = TruncatedGaussian.inverse(u, 2, 3, -4, 2.5);
+			assertTrue(x >= last);
+			last = x;
+		}
+	}
+
+	@Test
+	void tailMean() {
+		// The mean of a standard normal truncated to [a - inf) is phi(a) / (1 - cdf(a))
+		double a = 5;
+		double expected = Math.exp(-a * a / 2) / Math.sqrt(2 * Math.PI) / TruncatedGaussian.complementaryCdf(a);
+		int samples = 100_000;
+		double sum = 0;
+		for (int i = 0; i < samples; i++) {
+			sum += TruncatedGaussian.inverse((i + 0.5) / samples, 0, 1, a, Double.POSITIVE_INFINITY);
+		}
+		assertEquals(expected, sum / samples, 1e-3);
+	}
+
+	@Test
+	void degenerateStd() {
+		assertEquals(3, TruncatedGaussian.inverse(0.3, 5, 0, 0, 3));
+		assertEquals(1, TruncatedGaussian.inverse(0.3, 1, 0, 0, 3));
+	}
+}
@@ -0,0 +1,77 @@
+package com.github.kilianB.geneticAlgorithm.rng;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ZigguratGaussianTest {
+
+	private static final int SAMPLES = 2_000_000;
+
+	/** The start of the tail handled separately from the layers */
+	private static final double R = 3.442619855899;
+
+	private static double[] sample(long seed) {
+		double[] values = new double[SAMPLES];
+		ZigguratGaussian.nextGaussians(new Random(seed), values);
+		return values;
+	}
+
+	@Test
+	void meanAndVariance() {
+		double[] values = sample(0);
+		double sum = 0;
+		for (double x : values) {
+			sum += x;
+		}
+		double mean = sum / SAMPLES;
+		double squaredDeviations = 0;
+		for (double x : values) {
+			squaredDeviations += (x - mean) * (x - mean);
+		}
+		// Standard error of the mean is 1 / sqrt(n) ~ 7e-4, of the variance sqrt(2 / n) ~ 1e-3
+		assertEquals(0, mean, 5e-3);
+		assertEquals(1, squaredDeviations / (SAMPLES - 1), 5e-3);
+	}
+
+	@Test
+	void tailMass() {
+		double[] values = sample(1);
+		int upper = 0;
+		int lower = 0;
+		double tailSum = 0;
+		for (double x : values) {
+			if (x > R) {
+				upper++;
+				tailSum += x;
+			} else if (x < -R) {
+				lower++;
+				tailSum -= x;
+			}
+		}
+		// About 576 draws per tail, a standard deviation of 24
+		double expected = SAMPLES * TruncatedGaussian.complementaryCdf(R);
+		assertEquals(expected, upper, 5 * Math.sqrt(expected));
+		assertEquals(expected, lower, 5 * Math.sqrt(expected));
+
+		// The mean of a standard normal truncated to [R - inf) is phi(R) / (1 - cdf(R))
+		double tailMean = Math.exp(-R * R / 2) / Math.sqrt(2 * Math.PI) / TruncatedGaussian.complementaryCdf(R);
+		assertEquals(tailMean, tailSum / (upper + lower), 0.05);
+	}
+
+	@Test
+	void centralMass() {
+		double[] values = sample(2);
+		int within = 0;
+		for (double x : values) {
+			if (Math.abs(x) < 1) {
+				within++;
+			}
+		}
+		// Covers the wedges of the inner layers
+		double expected = SAMPLES * (1 - 2 * TruncatedGaussian.complementaryCdf(1));
+		assertEquals(expected, within, 5 * Math.sqrt(SAMPLES * 0.6827 * 0.3173));
+	}
+}
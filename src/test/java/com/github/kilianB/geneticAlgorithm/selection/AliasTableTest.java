@@ -0,0 +1,54 @@
+package com.github.kilianB.geneticAlgorithm.selection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.rng.RngPool;
+import com.github.kilianB.geneticAlgorithm.rng.RngPoolThreadLocal;
+
+class AliasTableTest {
+
+	private static final RngPool RNG = RngPoolThreadLocal.mersenneTwister();
+
+	@Test
+	void proportionalToWeight() {
+		double[] weights = { 20, 10, 10, 8, 5, 3, 2, 1, 1 };
+		double sum = 60;
+		AliasTable table = new AliasTable(weights);
+
+		int draws = 600_000;
+		int[] sampled = new int[draws];
+		table.sample(RNG, sampled);
+
+		int[] hits = new int[weights.length];
+		for (int index : sampled) {
+			hits[index]++;
+		}
+		for (int i = 0; i < weights.length; i++) {
+			assertEquals(weights[i] / sum, hits[i] / (double) draws, 0.005);
+		}
+	}
+
+	@Test
+	void zeroWeightNeverSampled() {
+		AliasTable table = new AliasTable(new double[] { 0, 1, 0, 3, -2, Double.NaN });
+		for (int i = 0; i < 100_000; i++) {
+			int index = table.sample(RNG);
+			assertTrue(index == 1 || index == 3);
+		}
+	}
+
+	@Test
+	void allZeroUniform() {
+		AliasTable table = new AliasTable(new double[] { 0, 0, 0, 0 });
+		int[] hits = new int[4];
+		for (int i = 0; i < 100_000; i++) {
+			hits[table.sample(RNG)]++;
+		}
+		for (int hit : hits) {
+			assertEquals(0.25, hit / 100_000d, 0.01);
+		}
+	}
+}
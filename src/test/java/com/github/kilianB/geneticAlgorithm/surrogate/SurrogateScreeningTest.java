@@ -0,0 +1,123 @@
+package com.github.kilianB.geneticAlgorithm.surrogate;
+
+import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.SPHERE;
+import static com.github.kilianB.geneticAlgorithm.IndividualTestSets.range;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.kilianB.geneticAlgorithm.GeneticAlgorithm;
+import com.github.kilianB.geneticAlgorithm.archive.Fingerprint;
+import com.github.kilianB.geneticAlgorithm.archive.TabuFilter;
+import com.github.kilianB.geneticAlgorithm.prototypes.DoublePrototype;
+
+class SurrogateScreeningTest {
+
+	private static final int VARIABLES = 5;
+
+	@Test
+	@DisplayName("Nearest neighbour model interpolates known samples")
+	void nearestNeighbour() {
+		var model = new NearestNeighbourSurrogate(3, 500);
+		assertTrue(Double.isNaN(model.predict(new double[VARIABLES])));
+
+		Random rng = new Random(0);
+		for (int i = 0; i < 500; i++) {
+			double[] x = new double[VARIABLES];
+			for (int g = 0; g < VARIABLES; g++) {
+				x[g] = rng.nextDouble() * 10 - 5;
+			}
+			model.add(x, SPHERE.applyAsDouble(x));
+		}
+		assertEquals(500, model.size());
+
+		double[] center = new double[VARIABLES];
+		double[] corner = { 4, 4, 4, 4, 4 };
+		assertTrue(model.predict(center) < model.predict(corner));
+
+		double[] known = { 1, 2, 3, 4, 5 };
+		model.add(known, 42);
+		assertEquals(42d, model.predict(known));
+		assertEquals(500, model.size());
+	}
+
+	@Test
+	@DisplayName("Screening is suspended if the model does not order offspring")
+	void suspension() {
+		Random rng = new Random(0);
+		SurrogateModel guessing = new SurrogateModel() {
+			@Override
+			public void add(double[] genes, double fitness) {
+			}
+
+			@Override
+			public double predict(double[] genes) {
+				return rng.nextDouble();
+			}
+
+			@Override
+			public int size() {
+				return Integer.MAX_VALUE;
+			}
+
+			@Override
+			public void clear() {
+			}
+		};
+		var screening = new SurrogateScreening(guessing, 4);
+		assertTrue(screening.isActive());
+
+		GeneticAlgorithm.builder().withPrototype(new DoublePrototype(range(VARIABLES), SPHERE)).withMaxGenerationCount(30)
+				.withTargetFitness(-1).population().withPopulationCount(30).advanced().withSurrogate(screening)
+				.build().calculate(0, Integer.MAX_VALUE, false);
+
+		assertTrue(screening.getConcordance() < 0.6, "Concordance: " + screening.getConcordance());
+		assertFalse(screening.isActive());
+	}
+
+	@Test
+	@DisplayName("Candidates are rejected by a model ordering offspring correctly")
+	void screening() {
+		var screening = new SurrogateScreening(new NearestNeighbourSurrogate(4, 1000), 5);
+
+		var result = GeneticAlgorithm.builder().withPrototype(new DoublePrototype(range(VARIABLES), SPHERE))
+				.withMaxGenerationCount(100).withTargetFitness(-1).population().withPopulationCount(30).advanced()
+				.withSurrogate(screening).build().calculate(0, Integer.MAX_VALUE, false);
+
+		assertTrue(screening.getRejectedCount() > 0);
+		assertTrue(screening.getConcordance() > 0.6, "Concordance: " + screening.getConcordance());
+		assertTrue(result.getBestResult().getFitness() < 0.1);
+	}
+
+	@Test
+	@DisplayName("Only offspring chosen by the surrogate become tabu")
+	void tabu() {
+		var screening = new SurrogateScreening(new NearestNeighbourSurrogate(4, 1000), 5);
+		var tabuFilter = new TabuFilter(100_000, 1e-6);
+		AtomicInteger evaluations = new AtomicInteger();
+		AtomicInteger unknown = new AtomicInteger();
+		var prototype = new DoublePrototype(range(VARIABLES), x -> {
+			evaluations.incrementAndGet();
+			if (!tabuFilter.mightContain(Fingerprint.of(x))) {
+				unknown.incrementAndGet();
+			}
+			return SPHERE.applyAsDouble(x);
+		});
+
+		GeneticAlgorithm.builder().withPrototype(prototype).withMaxGenerationCount(50).withTargetFitness(-1)
+				.population().withPopulationCount(30).advanced().withSurrogate(screening).withTabuFilter(tabuFilter)
+				.build().calculate(0, Integer.MAX_VALUE, false);
+
+		assertTrue(screening.getRejectedCount() > 0);
+		assertEquals(0, unknown.get());
+		// Rejected candidates are not added to the filter
+		assertTrue(tabuFilter.size() <= evaluations.get(),
+				"Tabu: " + tabuFilter.size() + " Evaluations: " + evaluations);
+	}
+}